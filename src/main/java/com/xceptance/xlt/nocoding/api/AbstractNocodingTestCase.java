@@ -2,9 +2,7 @@ package com.xceptance.xlt.nocoding.api;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
@@ -20,12 +18,14 @@ import com.xceptance.xlt.nocoding.parser.ParserFactory;
 import com.xceptance.xlt.nocoding.parser.csv.CsvParser;
 import com.xceptance.xlt.nocoding.parser.yaml.YamlParser;
 import com.xceptance.xlt.nocoding.util.FileFinderUtils;
+import com.xceptance.xlt.nocoding.util.Metrics;
 import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
-import com.xceptance.xlt.nocoding.util.ObjectUtils;
+import com.xceptance.xlt.nocoding.util.ScriptAnalysis;
+import com.xceptance.xlt.nocoding.util.ScriptCache;
 import com.xceptance.xlt.nocoding.util.context.Context;
-import com.xceptance.xlt.nocoding.util.context.DomContext;
-import com.xceptance.xlt.nocoding.util.context.LightWeightContext;
-import com.xceptance.xlt.nocoding.util.context.RequestContext;
+import com.xceptance.xlt.nocoding.util.context.ContextPool;
+import com.xceptance.xlt.nocoding.util.storage.SharedVariables;
+import com.xceptance.xlt.nocoding.util.storage.unit.unique.UniqueStorage;
 
 /**
  * Executes a xlt-nocoding test case by parsing the file specified in the classpath or the properties and executing the
@@ -35,11 +35,6 @@ import com.xceptance.xlt.nocoding.util.context.RequestContext;
  */
 public abstract class AbstractNocodingTestCase extends AbstractTestCase
 {
-    /**
-     * Cache of all parsed data.
-     */
-    private static final Map<String, List<Command>> DATA_CACHE = new HashMap<>();
-
     /**
      * The parser to use for parsing
      */
@@ -88,24 +83,14 @@ public abstract class AbstractNocodingTestCase extends AbstractTestCase
             XltLogger.runTimeLogger.info("No mode supplied, assuming default mode: " + NoCodingPropertyAdmin.MODE_DEFAULT);
             mode = NoCodingPropertyAdmin.MODE_DEFAULT;
         }
-        switch (mode)
+        // Either reuse the context of this thread, or create a new one
+        if (properties.getProperty(NoCodingPropertyAdmin.REUSECONTEXT, NoCodingPropertyAdmin.REUSECONTEXT_DEFAULT))
         {
-            case NoCodingPropertyAdmin.LIGHTWEIGHT:
-                context = new LightWeightContext(properties);
-                break;
-
-            case NoCodingPropertyAdmin.DOM:
-                context = new DomContext(properties);
-                break;
-
-            case NoCodingPropertyAdmin.REQUEST:
-                context = new RequestContext(properties);
-                break;
-
-            default:
-                // Mode is neither of the two options, therefore throw an error
-                throw new IllegalStateException("Mode must be " + NoCodingPropertyAdmin.LIGHTWEIGHT + ", " + NoCodingPropertyAdmin.REQUEST
-                                                + " or " + NoCodingPropertyAdmin.DOM + " but is " + mode);
+            context = ContextPool.getInstance().getContext(mode, properties);
+        }
+        else
+        {
+            context = ContextPool.createContext(mode, new NoCodingPropertyAdmin(properties));
         }
         // Get the possible filePaths
         final List<String> filepaths = getAllPossibleFilepaths();
@@ -113,8 +98,36 @@ public abstract class AbstractNocodingTestCase extends AbstractTestCase
         final String filepath = FileFinderUtils.getExistingFilepath(filepaths);
         // Create the appropriate parser
         parser = getParserFor(filepath);
-        // Get or parse the file
-        itemList = getOrParse(filepath);
+        // Get or parse and analyze the file
+        final ScriptAnalysis scriptAnalysis = getOrAnalyze(filepath);
+        itemList = scriptAnalysis.getScript();
+        context.setScriptAnalysis(scriptAnalysis);
+        // Get or load the variables shared by all users
+        context.setSharedVariables(getSharedVariables());
+    }
+
+    /**
+     * Gets the variables shared by all users of the agent from {@link SharedVariables}, if a file is specified in the
+     * properties. The file is searched in the classpath and the provided directory in the properties, like the script.
+     *
+     * @return The shared variables, or <code>null</code> if no file is specified
+     * @throws Exception
+     *             if the file cannot be found or read
+     */
+    protected UniqueStorage getSharedVariables() throws Exception
+    {
+        final String fileName = context.getPropertyByKey(NoCodingPropertyAdmin.SHAREDVARIABLES);
+        if (StringUtils.isBlank(fileName))
+        {
+            return null;
+        }
+        final List<String> filepaths = new ArrayList<>(3);
+        filepaths.add(fileName);
+        filepaths.add(getDirectoryToClasspath() + fileName);
+        filepaths.add(getDirectoryFromProperties() + fileName);
+        final long checkInterval = context.getPropertyByKey(NoCodingPropertyAdmin.SCRIPTCHECKINTERVAL,
+                                                            NoCodingPropertyAdmin.SCRIPTCHECKINTERVAL_DEFAULT);
+        return SharedVariables.getInstance().get(FileFinderUtils.getExistingFilepath(filepaths), checkInterval);
     }
 
     /**
@@ -205,44 +218,74 @@ public abstract class AbstractNocodingTestCase extends AbstractTestCase
     }
 
     /**
-     * Gets the list of <code>ScriptItem</code>s either by parsing them or from the cache. <br>
-     * On the first execution, it gets the list from the parser and saves it in {@link #DATA_CACHE}. Then, it gets the
-     * list out of a deep copy from the {@link #DATA_CACHE}.
+     * Gets the list of <code>ScriptItem</code>s with their {@link ScriptAnalysis} either by parsing them or from the
+     * {@link ScriptCache}. <br>
+     * On the first execution, it gets the list from the parser, analyzes it and saves it as unmodifiable list in the
+     * cache. Every following execution gets the very same list until the file changes. Since {@link Command}s never
+     * modify themselves during the execution, the list is shared between all test iterations without copying it.
      *
      * @param filePath
      *            The path to the file that is to be parsed
-     * @return A list of <code>ScriptItem</code>s generated from the provided file
+     * @return The analysis of the <code>ScriptItem</code>s generated from the provided file
      * @throws Exception
      */
-    protected List<Command> getOrParse(final String filePath) throws Exception
+    protected ScriptAnalysis getOrAnalyze(final String filePath) throws Exception
     {
-        synchronized (DATA_CACHE)
+        final long checkInterval = context.getPropertyByKey(NoCodingPropertyAdmin.SCRIPTCHECKINTERVAL,
+                                                            NoCodingPropertyAdmin.SCRIPTCHECKINTERVAL_DEFAULT);
+        final Metrics metrics = context.getMetrics();
+        final long start = metrics.start();
+        try
         {
-            List<Command> result = DATA_CACHE.get(filePath);
-            if (result == null)
-            {
-                XltLogger.runTimeLogger.debug("Parsing file...");
-                result = parser.parse(filePath);
-                // Put a clone of the parsed data in the cache
-                DATA_CACHE.put(filePath, ObjectUtils.cloneObject(result));
-            }
-            // Otherwise, clone the objects, so we do not have problems with concurrency
-            else
-            {
-                result = ObjectUtils.cloneObject(DATA_CACHE.get(filePath));
-            }
-            return result;
+            return ScriptCache.getInstance().getOrAnalyze(filePath, parser, checkInterval);
         }
+        finally
+        {
+            metrics.stop(Metrics.SCRIPT, start);
+        }
+    }
+
+    /**
+     * Gets the list of <code>ScriptItem</code>s either by parsing them or from the {@link ScriptCache}. The list is
+     * shared between all test iterations, so it must not be modified.
+     *
+     * @param filePath
+     *            The path to the file that is to be parsed
+     * @return A list of <code>ScriptItem</code>s generated from the provided file
+     * @throws Exception
+     * @see #getOrAnalyze(String)
+     */
+    protected List<Command> getOrParse(final String filePath) throws Exception
+    {
+        return getOrAnalyze(filePath).getScript();
     }
 
     /**
-     * Executes the test case
+     * Executes the test case and reports the {@link Metrics} of the iteration afterwards
      *
      * @throws Throwable
      *             Most Throwable that happen during execution
      */
     @Test
     public void execute() throws Throwable
+    {
+        try
+        {
+            executeItems();
+        }
+        finally
+        {
+            context.getMetrics().report();
+        }
+    }
+
+    /**
+     * Executes all items of the test case
+     *
+     * @throws Throwable
+     *             Most Throwable that happen during execution
+     */
+    protected void executeItems() throws Throwable
     {
         XltLogger.runTimeLogger.info("Starting Testcase : " + toString());
         // If there are ScriptItems in the itemList
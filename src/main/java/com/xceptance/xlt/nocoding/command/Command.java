@@ -10,7 +10,8 @@ import com.xceptance.xlt.nocoding.util.context.Context;
 public interface Command extends Serializable
 {
     /**
-     * The method, which executes the ScriptItem.
+     * The method, which executes the ScriptItem. Since the parsed script is shared between all test iterations, an
+     * implementation must not modify its own state but keep everything it resolves local to the execution.
      *
      * @param context
      *            The current {@link Context}
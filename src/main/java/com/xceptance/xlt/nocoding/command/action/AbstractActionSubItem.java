@@ -14,7 +14,7 @@ import com.xceptance.xlt.nocoding.util.context.Context;
 public abstract class AbstractActionSubItem implements Serializable
 {
     /**
-     * Executes the action item
+     * Executes the action item without modifying it, since it is shared between all test iterations
      *
      * @param context
      *            The {@link Context} for the {@link AbstractActionSubItem}
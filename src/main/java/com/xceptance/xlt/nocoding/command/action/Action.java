@@ -8,9 +8,12 @@ import org.openqa.selenium.InvalidArgumentException;
 import com.xceptance.xlt.api.util.XltLogger;
 import com.xceptance.xlt.nocoding.command.Command;
 import com.xceptance.xlt.nocoding.command.action.subrequest.StaticSubrequest;
+import com.xceptance.xlt.nocoding.util.ActionSubItemPlan;
 import com.xceptance.xlt.nocoding.util.ActionSubItemUtil;
+import com.xceptance.xlt.nocoding.util.ScriptAnalysis;
 import com.xceptance.xlt.nocoding.util.WebAction;
 import com.xceptance.xlt.nocoding.util.context.Context;
+import com.xceptance.xlt.nocoding.util.context.PageModel;
 import com.xceptance.xlt.nocoding.util.resolver.VariableResolver;
 import com.xceptance.xlt.nocoding.util.storage.DataStorage;
 
@@ -32,12 +35,19 @@ public class Action implements Command
      */
     protected final List<AbstractActionSubItem> actionItems;
 
+    /**
+     * The actionItems with the default request and response, which only depend on the script and are therefore
+     * computed only once
+     */
+    private final ActionSubItemPlan plan;
+
     /**
      * Creates an instance of {@link Action} that sets {@link #actionItems} to an ArrayList of size 1.
      */
     public Action()
     {
         actionItems = new ArrayList<>(1);
+        plan = new ActionSubItemPlan(actionItems);
     }
 
     /**
@@ -52,6 +62,7 @@ public class Action implements Command
     {
         this.name = name;
         this.actionItems = actionItems;
+        plan = new ActionSubItemPlan(actionItems);
     }
 
     public List<AbstractActionSubItem> getActionItems()
@@ -70,29 +81,48 @@ public class Action implements Command
     }
 
     /**
-     * Fills in the default data for name, request, response if it isn't specified and verifies there is only one
-     * request, response and in the correct order. Finally, it adds the default static subrequests.
+     * Adds the default static subrequests, if there are any.
      *
      * @param context
      *            The {@link Context} with the {@link DataStorage}.
      */
-    protected void fillDefaultData(final Context<?> context)
+    private void addDefaultStatics(final Context<?> context)
     {
-        if (name == null || name.isEmpty())
-        {
-            setName(ActionSubItemUtil.getDefaultName(context, "Action"));
-        }
-        ActionSubItemUtil.assertOrder(actionItems);
-        ActionSubItemUtil.fillDefaultData(actionItems, context);
-
-        // Add default static requests
-        if (context.getDefaultStatics() != null && !context.getDefaultStatics().getItems().isEmpty())
+        final StaticSubrequest defaultStatics = context.getDefaultStaticSubrequest();
+        if (defaultStatics != null)
         {
-            actionItems.add(new StaticSubrequest(context.getDefaultStatics().getItems()));
+            actionItems.add(defaultStatics);
             XltLogger.runTimeLogger.debug("Added default static subrequests to Action " + name);
         }
     }
 
+    /**
+     * @return An unmodifiable list with the {@link #actionItems} and the default request and response
+     */
+    List<AbstractActionSubItem> getPlannedItems()
+    {
+        return plan.getItems();
+    }
+
+    /**
+     * Creates a working copy of this action, that is ready to be executed. Therefore, it uses the planned items with
+     * the default request and response, and fills in the default name and the default static subrequests.
+     *
+     * @param context
+     *            The {@link Context} with the {@link DataStorage}.
+     * @return The working copy
+     */
+    Action prepare(final Context<?> context)
+    {
+        final List<AbstractActionSubItem> items = getPlannedItems();
+        final Action action = new Action(ActionSubItemUtil.getNameOrDefault(getName(), context, "Action"),
+                                         new ArrayList<>(items.size() + 1));
+        action.actionItems.addAll(items);
+        // Fill default data, that is not part of the plan
+        action.addDefaultStatics(context);
+        return action;
+    }
+
     /**
      * Tries to resolve all variables of non-null attributes
      *
@@ -111,7 +141,10 @@ public class Action implements Command
     /**
      * Executes the {@link Action} by building a {@link WebAction} with the {@link #actionItems}. The
      * <code>WebAction</code> then executes the <code>actionItems</code>. In the end, the loaded page gets appended to
-     * the result browser.
+     * the result browser.<br>
+     * Since the parsed script is shared between all test iterations, default data and resolved values are applied to a
+     * working copy of this action. This instance is never modified.<br>
+     * The action stores variables in its own scope, that is exported, once the action succeeded.
      *
      * @throws Throwable
      *             if a Throwable occurs during the execution or when the page is appended to the result browser
@@ -119,23 +152,32 @@ public class Action implements Command
     @Override
     public void execute(final Context<?> context) throws Throwable
     {
-        // Fill default data
-        fillDefaultData(context);
+        // Create a working copy, so the shared action stays untouched
+        final Action action = prepare(context);
         // Resolve values
-        resolveValues(context);
+        action.resolveValues(context);
+
+        // Tell the context, if the page of the response is needed
+        final ScriptAnalysis scriptAnalysis = context.getScriptAnalysis();
+        context.setRequiredPageModel(scriptAnalysis != null ? scriptAnalysis.getPageModel(this) : PageModel.SGML_PAGE);
+
+        // Create the WebAction with the data of the working copy
+        final WebAction webAction = new WebAction(action.getName(), context, action.getActionItems());
 
-        // Create the WebAction with the data of this action
-        final WebAction webAction = new WebAction(name, context, getActionItems());
+        // Variables stored by the action only become visible to the following actions, if it succeeds
+        context.openVariableScope();
+        boolean succeeded = false;
 
         // Try to execute it
         try
         {
             // Execute the requests, responses and subrequests via xlt api
             webAction.run();
+            succeeded = true;
         }
         catch (final Exception | Error e)
         {
-            final String errorMessage = "Execution Step '" + getName() + "' failed: " + e.getMessage();
+            final String errorMessage = "Execution Step '" + action.getName() + "' failed: " + e.getMessage();
             if (e instanceof Exception)
             {
                 throw new Exception(errorMessage, e);
@@ -149,6 +191,7 @@ public class Action implements Command
         // And always append the page to the result browser
         finally
         {
+            context.closeVariableScope(succeeded);
             // Append the page to the result browser
             if (context.getWebResponse() != null)
             {
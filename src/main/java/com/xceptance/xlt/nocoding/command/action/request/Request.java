@@ -6,7 +6,6 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,12 +17,13 @@ import com.gargoylesoftware.htmlunit.HttpMethod;
 import com.gargoylesoftware.htmlunit.WebRequest;
 import com.gargoylesoftware.htmlunit.WebResponse;
 import com.gargoylesoftware.htmlunit.util.NameValuePair;
-import com.gargoylesoftware.htmlunit.util.UrlUtils;
 import com.xceptance.xlt.engine.XltWebClient;
 import com.xceptance.xlt.nocoding.command.action.AbstractActionSubItem;
 import com.xceptance.xlt.nocoding.util.Constants;
-import com.xceptance.xlt.nocoding.util.RecentKeyTreeMap;
+import com.xceptance.xlt.nocoding.util.HeaderMap;
+import com.xceptance.xlt.nocoding.util.UrlBuilder;
 import com.xceptance.xlt.nocoding.util.context.Context;
+import com.xceptance.xlt.nocoding.util.resolver.BodyTemplate;
 import com.xceptance.xlt.nocoding.util.resolver.VariableResolver;
 import com.xceptance.xlt.nocoding.util.storage.DataStorage;
 
@@ -79,6 +79,11 @@ public class Request extends AbstractActionSubItem
      */
     private String encodeBody;
 
+    /**
+     * The path to the file, whose content is the body of the {@link WebRequest}
+     */
+    private String bodyFile;
+
     /**
      * Creates an instance of {@link Request}, that sets {@link #url} to null.
      */
@@ -98,7 +103,31 @@ public class Request extends AbstractActionSubItem
         this.url = url;
         parameters = new ArrayList<>();
         cookies = new LinkedHashMap<>();
-        headers = new RecentKeyTreeMap();
+        headers = new HeaderMap();
+    }
+
+    /**
+     * Creates a copy of this {@link Request}. The parameters, cookies and headers are copied into new collections, so
+     * the copy can be modified without affecting the original.
+     *
+     * @return The copy of this request
+     */
+    public Request copy()
+    {
+        final Request request = new Request(url);
+        request.httpMethod = httpMethod;
+        request.xhr = xhr;
+        request.encodeParameters = encodeParameters;
+        request.parameters = parameters != null ? new ArrayList<>(parameters) : null;
+        request.cookies = cookies != null ? new LinkedHashMap<>(cookies) : null;
+        if (headers != null && !headers.isEmpty())
+        {
+            request.headers = new HeaderMap(headers);
+        }
+        request.body = body;
+        request.encodeBody = encodeBody;
+        request.bodyFile = bodyFile;
+        return request;
     }
 
     public String getUrl()
@@ -167,7 +196,7 @@ public class Request extends AbstractActionSubItem
     }
 
     /**
-     * Create a {@link RecentKeyTreeMap} out of the specified map, so headers are always treated case insensitive.
+     * Create a {@link HeaderMap} out of the specified map, so headers are always treated case insensitive.
      *
      * @param headers
      *            The map with the headers
@@ -176,8 +205,7 @@ public class Request extends AbstractActionSubItem
     {
         if (headers != null && !headers.isEmpty())
         {
-            this.headers = new RecentKeyTreeMap();
-            this.headers.putAll(headers);
+            this.headers = new HeaderMap(headers);
         }
     }
 
@@ -201,6 +229,16 @@ public class Request extends AbstractActionSubItem
         this.encodeBody = encodeBody;
     }
 
+    public String getBodyFile()
+    {
+        return bodyFile;
+    }
+
+    public void setBodyFile(final String bodyFile)
+    {
+        this.bodyFile = bodyFile;
+    }
+
     /**
      * Fills in the default values for all unspecified attributes.<br>
      * Note, that default headers and cookies are already set at the WebClient..
@@ -238,25 +276,14 @@ public class Request extends AbstractActionSubItem
          * Set default parameters
          */
 
-        if (context.getDefaultParameters() != null && !context.getDefaultParameters().getItems().isEmpty())
+        if (context.getDefaultParameters() != null && getParameters() != null)
         {
-            // Get default parameters
-            final List<NameValuePair> defaultParameters = context.getDefaultParameters().getItems();
-            // Overwrite the default values with the current ones or add the current ones
-            if (getParameters() != null)
-            {
-                for (final NameValuePair defaultParameter : defaultParameters)
-                {
-                    if (!getParameters().contains(defaultParameter))
-                    {
-                        getParameters().add(defaultParameter);
-                    }
-                }
-            }
+            // Add the default parameters, that are not specified yet
+            context.getDefaultParameters().mergeInto(getParameters());
         }
 
-        // Set default body if it isn't specified
-        if (getBody() == null)
+        // Set default body if neither a body nor a body file is specified
+        if (getBody() == null && getBodyFile() == null)
         {
             setBody(context.getDefaultItems().get(Constants.BODY));
         }
@@ -325,13 +352,13 @@ public class Request extends AbstractActionSubItem
         if (getHeaders() != null && !getHeaders().isEmpty())
         {
             // Create a new map
-            final Map<String, String> resolvedHeaders = new HashMap<>();
+            final HeaderMap resolvedHeaders = new HeaderMap(getHeaders().size());
             // And insert the resolved key and value of the old map into the new one
             getHeaders().forEach((final String key, final String value) -> {
                 resolvedHeaders.put(context.resolveString(key), context.resolveString(value));
             });
             // Reassign the header to its resolved values
-            setHeaders(resolvedHeaders);
+            headers = resolvedHeaders;
         }
 
         // Resolve encodeBody if it isn't null
@@ -347,11 +374,19 @@ public class Request extends AbstractActionSubItem
             resolvedValue = context.resolveString(getBody());
             setBody(resolvedValue);
         }
+
+        // Resolve the path to the body file if it isn't null
+        if (getBodyFile() != null)
+        {
+            resolvedValue = context.resolveString(getBodyFile());
+            setBodyFile(resolvedValue);
+        }
     }
 
     /**
      * Builds the {@link WebRequest} with the given {@link Context} and sends the <code>WebRequest</code>. Finally, it
-     * stores the corresponding {@link WebResponse} with {@link Context#setWebResponse(WebResponse)}.
+     * stores the corresponding {@link WebResponse} with {@link Context#setWebResponse(WebResponse)}.<br>
+     * Default data and resolved values are applied to a copy of this request, so this instance is never modified.
      *
      * @param context
      *            The {@link Context} with the {@link DataStorage}, {@link VariableResolver} and {@link XltWebClient}
@@ -362,26 +397,46 @@ public class Request extends AbstractActionSubItem
     @Override
     public void execute(final Context<?> context) throws FailingHttpStatusCodeException, IOException
     {
+        // Build the WebRequest
+        final WebRequest webRequest = prepareWebRequest(context);
+
+        // Check that the webRequest isn't null
+        if (webRequest != null)
+        {
+            // Load the webResponse
+            context.loadWebResponse(webRequest);
+        }
+    }
+
+    /**
+     * Builds the {@link WebRequest} with the given {@link Context} without sending it. Default data and resolved values
+     * are applied to a copy of this request, so this instance is never modified.
+     *
+     * @param context
+     *            The {@link Context} with the {@link DataStorage}, {@link VariableResolver} and {@link XltWebClient}
+     * @return The <code>WebRequest</code> to send
+     * @throws MalformedURLException
+     *             if the url cannot be transformed to a URL
+     * @throws UnsupportedEncodingException
+     *             if the parameters or body cannot be decoded
+     */
+    public WebRequest prepareWebRequest(final Context<?> context) throws MalformedURLException, UnsupportedEncodingException
+    {
+        // Create a working copy, so the shared request stays untouched
+        final Request request = copy();
         // Fill in the default data if the attribute is not specified
-        fillDefaultData(context);
+        request.fillDefaultData(context);
         // Then resolve all variables
-        resolveValues(context);
+        request.resolveValues(context);
 
         // Throw an error if the url is null or empty
-        if (url == null || url.isEmpty())
+        if (request.getUrl() == null || request.getUrl().isEmpty())
         {
             throw new InvalidArgumentException("Url is empty. Please set a default url or specify a url.");
         }
 
         // Build the WebRequest
-        final WebRequest webRequest = buildWebRequest(context);
-
-        // Check that the webRequest isn't null
-        if (webRequest != null)
-        {
-            // Load the webResponse
-            context.loadWebResponse(webRequest);
-        }
+        return request.buildWebRequest(context);
     }
 
     /**
@@ -389,14 +444,13 @@ public class Request extends AbstractActionSubItem
      *
      * @param context
      *            The current {@link Context}
-     * @throws MalformedURLException
-     *             If {@link #url} of this request cannot be transformed to a URL
+     * @param url
+     *            The parsed {@link #url} of this request
      */
-    private void setCookiesAtWebClient(final Context<?> context) throws MalformedURLException
+    private void setCookiesAtWebClient(final Context<?> context, final URL url)
     {
         if (getCookies() != null && !getCookies().isEmpty())
         {
-            final URL url = new URL(getUrl());
             cookies.forEach((key, value) -> {
                 context.getWebClient().addCookie(key + "=" + value, url, this);
             });
@@ -414,18 +468,29 @@ public class Request extends AbstractActionSubItem
      */
     WebRequest buildWebRequest(final Context<?> context) throws MalformedURLException, UnsupportedEncodingException
     {
-        // Create a URL object
+        // Create a URL object, which is parsed only once
         final URL url = new URL(this.url);
+        final HttpMethod method = HttpMethod.valueOf(getHttpMethod());
+        final boolean hasParameters = getParameters() != null && !getParameters().isEmpty();
+        // Decode parameters and body if they are specified and set to "false"
+        final boolean decode = getEncodeParameters() != null && !Boolean.valueOf(getEncodeParameters());
+        final boolean decodeBody = getEncodeBody() != null && !Boolean.valueOf(getEncodeBody());
+        // POST as well as PUT and PATCH send the parameters in the body
+        final boolean parametersInBody = method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH;
+        // Add the parameters to the query, if they are not sent in the body
+        final URL requestUrl = hasParameters && !parametersInBody ? UrlBuilder.appendQuery(url, getParameters(), decode) : url;
         // Create a WebRequest
-        final WebRequest webRequest = new WebRequest(url, HttpMethod.valueOf(getHttpMethod()));
-        // Set headers if they aren't null or empty
-        if (getHeaders() != null || !getHeaders().isEmpty())
+        final WebRequest webRequest = new WebRequest(requestUrl, method);
+        // Set the headers, so the default headers of the WebRequest are treated case insensitive, too
+        final Map<String, String> defaultHeaders = webRequest.getAdditionalHeaders();
+        // Leave room for the Xhr headers
+        final HeaderMap headerExchange = new HeaderMap(defaultHeaders.size() + (getHeaders() != null ? getHeaders().size() : 0) + 2);
+        headerExchange.putAll(defaultHeaders);
+        if (getHeaders() != null)
         {
-            final RecentKeyTreeMap headerExchange = new RecentKeyTreeMap();
-            headerExchange.putAll(webRequest.getAdditionalHeaders());
-            headerExchange.putAll(headers);
-            webRequest.setAdditionalHeaders(headerExchange);
+            headerExchange.putAll(getHeaders());
         }
+        webRequest.setAdditionalHeaders(headerExchange);
         // Set Xhr if it is specified and can be converted to a boolean
         if (getXhr() != null && Boolean.valueOf(getXhr()))
         {
@@ -441,22 +506,25 @@ public class Request extends AbstractActionSubItem
             }
         }
 
-        // Set parameters if they aren't null or empty
-        if (getParameters() != null && !getParameters().isEmpty())
+        // Set parameters of the body if they aren't null or empty
+        if (hasParameters && parametersInBody)
         {
-            // Decode parameters if they are specified and set to "true"
-            if (getEncodeParameters() != null && !Boolean.valueOf(getEncodeParameters()))
+            if (decode)
             {
                 decodeParameters();
             }
-            handleParameters(webRequest, parameters);
+            webRequest.setRequestParameters(parameters);
         }
 
+        // Render the body file if specified and no parameters are set
+        if (getBodyFile() != null && !getBodyFile().isEmpty() && !hasParameters)
+        {
+            webRequest.setRequestBody(BodyTemplate.of(getBodyFile(), context).render(context, decodeBody));
+        }
         // Set Body if specified and no parameters are set
-        if (getBody() != null && !getBody().isEmpty() && (getParameters() == null || getParameters().isEmpty()))
+        else if (getBody() != null && !getBody().isEmpty() && !hasParameters)
         {
-            // Decode Body if they are specified and set to "true"
-            if (getEncodeBody() != null && !Boolean.valueOf(getEncodeBody()))
+            if (decodeBody)
             {
                 decodeBody();
             }
@@ -464,7 +532,7 @@ public class Request extends AbstractActionSubItem
         }
 
         // Sets the cookies at the web client
-        setCookiesAtWebClient(context);
+        setCookiesAtWebClient(context, url);
 
         // Return the webRequest
         return webRequest;
@@ -477,7 +545,11 @@ public class Request extends AbstractActionSubItem
      */
     private void decodeBody() throws UnsupportedEncodingException
     {
-        setBody(URLDecoder.decode(getBody(), "UTF-8"));
+        // Only bodies with an escape sequence or a plus change when they are decoded
+        if (getBody().indexOf('%') >= 0 || getBody().indexOf('+') >= 0)
+        {
+            setBody(URLDecoder.decode(getBody(), "UTF-8"));
+        }
 
     }
 
@@ -512,45 +584,4 @@ public class Request extends AbstractActionSubItem
         return output;
     }
 
-    private void handleParameters(final WebRequest webRequest, final List<NameValuePair> parameters) throws MalformedURLException
-    {
-        final HttpMethod method = webRequest.getHttpMethod();
-        if (parameters != null && !parameters.isEmpty())
-        {
-            // POST as well as PUT and PATCH
-            if (method.equals(HttpMethod.POST) || method.equals(HttpMethod.PUT) || method.equals(HttpMethod.PATCH))
-            {
-                webRequest.setRequestParameters(parameters);
-            }
-            else
-            {
-                final URL url = buildNewUrl(webRequest.getUrl(), parameters);
-                webRequest.setUrl(url);
-            }
-        }
-    }
-
-    private static URL buildNewUrl(final URL url, final List<NameValuePair> parameters) throws MalformedURLException
-    {
-        URL newUrl = url;
-        if (parameters != null && !parameters.isEmpty())
-        {
-            final String query = url.getQuery();
-            String parameterToQuery = "";
-
-            // Add query and "&" to the url
-            if (query != null)
-            {
-                parameterToQuery += query + "&";
-            }
-            for (final NameValuePair parameter : parameters)
-            {
-                parameterToQuery += parameter.getName() + "=" + parameter.getValue() + "&";
-            }
-            parameterToQuery = parameterToQuery.substring(0, parameterToQuery.lastIndexOf("&"));
-            newUrl = UrlUtils.getUrlWithNewQuery(url, parameterToQuery);
-        }
-        return newUrl;
-    }
-
 }
@@ -37,30 +37,35 @@ public class HttpCodeValidator extends AbstractResponseSubItem
     @Override
     public void execute(final Context<?> context)
     {
-        fillDefaultData(context);
-        resolveValues(context);
-        Assert.assertEquals(Integer.parseInt(httpcode), context.getWebResponse().getStatusCode());
+        final String resolvedHttpcode = resolveValues(context, fillDefaultData(context));
+        Assert.assertEquals(Integer.parseInt(resolvedHttpcode), context.getWebResponse().getStatusCode());
     }
 
     /**
      * Uses the default value for httpcode if {@link #httpcode} is null or empty
+     *
+     * @return The httpcode to validate
      */
-    protected void fillDefaultData(final Context<?> context)
+    protected String fillDefaultData(final Context<?> context)
     {
         if (httpcode == null || httpcode.isEmpty())
         {
-            httpcode = context.getDefaultItems().get(Constants.HTTPCODE);
+            return context.getDefaultItems().get(Constants.HTTPCODE);
         }
+        return httpcode;
     }
 
     /**
-     * Resolves {@link #httpcode}
+     * Resolves the specified httpcode
      *
      * @param context
+     * @param httpcode
+     *            The httpcode to resolve
+     * @return The resolved httpcode
      */
-    private void resolveValues(final Context<?> context)
+    private String resolveValues(final Context<?> context, final String httpcode)
     {
-        httpcode = context.resolveString(httpcode);
+        return context.resolveString(httpcode);
     }
 
     public String getHttpcode()
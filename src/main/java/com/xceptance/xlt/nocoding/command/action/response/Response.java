@@ -43,13 +43,17 @@ public class Response extends AbstractActionSubItem
     }
 
     /**
-     * Fills in default data, then executes every item in {@link #responseItems}
+     * Executes every item in {@link #responseItems}. If no {@link HttpCodeValidator} is specified, a default one is
+     * executed first. The {@link #responseItems} themselves are not modified.
      */
     @Override
     public void execute(final Context<?> context) throws Exception
     {
-        // Fill default data
-        fillDefaultData(context);
+        // Execute the default HttpCodeValidator if none is specified
+        if (!hasHttpCodeValidator())
+        {
+            new HttpCodeValidator(null).execute(context);
+        }
         // Execute every AbstractResponseItem
         for (final AbstractResponseSubItem abstractResponseItem : responseItems)
         {
@@ -63,25 +67,20 @@ public class Response extends AbstractActionSubItem
     }
 
     /**
-     * Adds a {@link HttpCodeValidator} to the {@link #responseItems} if none is specified
+     * Looks for an instance of {@link HttpCodeValidator} in {@link #responseItems}
+     *
+     * @return <code>true</code> if a <code>HttpCodeValidator</code> is specified, <code>false</code> otherwise
      */
-    void fillDefaultData(final Context<?> context)
+    private boolean hasHttpCodeValidator()
     {
-        boolean hasHttpcodeValidator = false;
-        // Look for an instance of HttpcodeValidator
         for (final AbstractResponseSubItem responseItem : responseItems)
         {
             if (responseItem instanceof HttpCodeValidator)
             {
-                // If a HttpcodeValidator was found, set hasHttpcodeValidator to true
-                hasHttpcodeValidator = true;
+                return true;
             }
         }
-        // If no HttpcodeValidator was found, add one at the beginning
-        if (!hasHttpcodeValidator)
-        {
-            responseItems.add(0, new HttpCodeValidator(null));
-        }
+        return false;
     }
 
 }
@@ -1,5 +1,7 @@
 package com.xceptance.xlt.nocoding.command.action.response;
 
+import java.util.List;
+
 import org.apache.commons.lang3.StringUtils;
 
 import com.xceptance.xlt.api.util.XltLogger;
@@ -50,46 +52,49 @@ public class Validator extends AbstractResponseSubItem
     }
 
     /**
-     * Executes the validator. First, it executes the {@link #extractor}. Then, if {@link #method} is null, it sets it
-     * to {@link ExistsValidator}. Finally, it sets {@link AbstractValidator#setExpressionToValidate(java.util.List)}
-     * with {@link AbstractExtractor#getResult()} and executes the {@link #method}.
+     * Executes the validator. First, it extracts the result with the {@link #extractor}. Then, it validates the result
+     * with the {@link #method}, or with an {@link ExistsValidator} if {@link #method} is null. Neither this instance nor
+     * the extractor and method are modified during the execution.
      */
     @Override
     public void execute(final Context<?> context)
     {
-        fillDefaultData(context);
-        // Execute the extractor
-        getExtractor().execute(context);
-
+        final String validationName = getValidationName(context);
         // If we don't have a validation method, then we simply want to confirm the existence of a solution
-        if (getMethod() == null)
-        {
-            setMethod(new ExistsValidator());
-        }
-        // Set the result of the execution as expressionToValidate in the ValidationMethod
-        getMethod().setExpressionToValidate(getExtractor().getResult());
+        final AbstractValidator method = getMethod() != null ? getMethod() : new ExistsValidator();
+        // Extract only as many elements as the method needs
+        final List<String> result = getExtractor().extract(context, method.getRequiredResults());
+
         // Try to validate and catch any AssertionErrors so the validationName can be added to the
         // Exception/AssertionError
         try
         {
             // Validate the solution of the selector
-            getMethod().execute(context);
+            method.validate(context, result);
         }
         catch (final AssertionError e)
         {
-            final String message = "Validation Step \"" + getValidationName() + "\" could not validate: " + e.getMessage();
+            final String message = "Validation Step \"" + validationName + "\" could not validate: " + e.getMessage();
             XltLogger.runTimeLogger.error(message);
             throw new AssertionError(message, e);
         }
     }
 
-    protected void fillDefaultData(final Context<?> context)
+    /**
+     * Gets the {@link #validationName} or the default name <code>"Validate Action-" + </code>
+     * {@link Context#getActionIndex()} if it isn't specified
+     *
+     * @param context
+     *            The current {@link Context}
+     * @return The name of the validation to use for the current execution
+     */
+    protected String getValidationName(final Context<?> context)
     {
         if (StringUtils.isBlank(getValidationName()))
         {
-            final String validationName = "Validate Action-" + context.getActionIndex();
-            setValidationName(validationName);
+            return "Validate Action-" + context.getActionIndex();
         }
+        return getValidationName();
     }
 
     public String getValidationName()
@@ -5,14 +5,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.gargoylesoftware.htmlunit.WebResponse;
+import com.xceptance.xlt.nocoding.util.Metrics;
 import com.xceptance.xlt.nocoding.util.context.Context;
 import com.xceptance.xlt.nocoding.util.resolver.VariableResolver;
 import com.xceptance.xlt.nocoding.util.storage.DataStorage;
 
 /**
  * Extracts an element from the {@link WebResponse} in the {@link Context}. The extraction happens in
- * {@link AbstractExtractor#execute(Context)}. To get the result, you need to use {@link AbstractExtractor#getResult()}.
- * However, you should not reuse an instance twice.
+ * {@link AbstractExtractor#extract(Context)}, which returns a new result list on every call and therefore does not
+ * modify the extractor. This way, a single instance can be shared between all executions of a script.<br>
+ * {@link AbstractExtractor#execute(Context)} additionally collects the extracted elements in
+ * {@link AbstractExtractor#getResult()}.
  *
  * @author ckeiner
  */
@@ -42,13 +45,86 @@ public abstract class AbstractExtractor implements Serializable
     }
 
     /**
-     * Executes the extractor. Looks into the {@link WebResponse} located in {@link Context}. Then sets the extracted
-     * expression via {@link #addResult(String)}.
+     * Executes the extractor and adds the extracted elements via {@link #addResult(List)}.
      *
      * @param context
      *            The {@link Context} to use
      */
-    public abstract void execute(Context<?> context);
+    public void execute(final Context<?> context)
+    {
+        addResult(extract(context));
+    }
+
+    /**
+     * Resolves the {@link #extractionExpression} and extracts all matching elements from the {@link WebResponse}
+     * located in {@link Context}.
+     *
+     * @param context
+     *            The {@link Context} to use
+     * @return A new list with the extracted elements
+     */
+    public List<String> extract(final Context<?> context)
+    {
+        return extract(context, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Resolves the {@link #extractionExpression} and extracts the matching elements from the {@link WebResponse}
+     * located in {@link Context}. Extractors may stop after <code>maxResults</code> elements were found, so the rest of
+     * the response does not have to be read.
+     *
+     * @param context
+     *            The {@link Context} to use
+     * @param maxResults
+     *            The number of elements the caller needs
+     * @return A new list with the extracted elements
+     */
+    public List<String> extract(final Context<?> context, final int maxResults)
+    {
+        final Metrics metrics = context.getMetrics();
+        final long start = metrics.start();
+        try
+        {
+            final List<String> result = new ArrayList<>(1);
+            extract(context, resolveExtractionExpression(context), result, maxResults);
+            return result;
+        }
+        finally
+        {
+            metrics.stop(Metrics.EXTRACT, getClass(), start);
+        }
+    }
+
+    /**
+     * Looks into the {@link WebResponse} located in {@link Context} and adds the extracted elements to
+     * <code>result</code>.
+     *
+     * @param context
+     *            The {@link Context} to use
+     * @param expression
+     *            The resolved expression to use for the extraction
+     * @param result
+     *            The list to add the extracted elements to
+     */
+    protected abstract void extract(Context<?> context, String expression, List<String> result);
+
+    /**
+     * Looks into the {@link WebResponse} located in {@link Context} and adds the extracted elements to
+     * <code>result</code>. By default, all elements are extracted.
+     *
+     * @param context
+     *            The {@link Context} to use
+     * @param expression
+     *            The resolved expression to use for the extraction
+     * @param result
+     *            The list to add the extracted elements to
+     * @param maxResults
+     *            The number of elements the caller needs
+     */
+    protected void extract(final Context<?> context, final String expression, final List<String> result, final int maxResults)
+    {
+        extract(context, expression, result);
+    }
 
     /**
      * Adds a string to the result list.
@@ -77,10 +153,11 @@ public abstract class AbstractExtractor implements Serializable
      *
      * @param context
      *            The {@link Context} with the {@link VariableResolver} and {@link DataStorage}.
+     * @return The resolved extraction expression
      */
-    protected void resolveValues(final Context<?> context)
+    protected String resolveExtractionExpression(final Context<?> context)
     {
-        extractionExpression = context.resolveString(extractionExpression);
+        return context.resolveString(extractionExpression);
     }
 
     public List<String> getResult()
@@ -29,17 +29,11 @@ public class CookieExtractor extends AbstractExtractor
 
     /**
      * Iterates over the headers in {@link Context#getWebResponse()} and extracts the cookie with the name provided by
-     * {@link #getExtractionExpression()}. Finally, it stores the value in the results via {@link #addResult(String)}.
-     *
-     * @param context
-     *            The {@link Context} to use
+     * <code>expression</code>. Finally, it adds the value to <code>result</code>.
      */
     @Override
-    public void execute(final Context<?> context)
+    protected void extract(final Context<?> context, final String expression, final List<String> result)
     {
-        // Resolve variables
-        resolveValues(context);
-
         final List<NameValuePair> headers = context.getWebResponse().getResponseHeaders();
         // For each header,
         for (final NameValuePair header : headers)
@@ -54,7 +48,7 @@ public class CookieExtractor extends AbstractExtractor
                 // Remove possible whitespaces at the beginning
                 cookieName = cookieName.trim();
                 // and compare it with the extractionExpression
-                if (cookieName.equals(getExtractionExpression()))
+                if (cookieName.equals(expression))
                 {
                     String cookieContent = null;
                     // Get the end position of the cookie content, which is at the first semicolon
@@ -73,7 +67,7 @@ public class CookieExtractor extends AbstractExtractor
                     // Remove possible whitespaces at the beginning or end
                     cookieContent = cookieContent.trim();
                     // Add it to the results
-                    addResult(cookieContent);
+                    result.add(cookieContent);
                 }
             }
         }
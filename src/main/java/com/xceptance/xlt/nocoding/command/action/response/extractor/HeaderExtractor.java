@@ -27,25 +27,22 @@ public class HeaderExtractor extends AbstractExtractor
     }
 
     /**
-     * Iterates over all headers in {@link Context#getWebResponse()} and stores every header with the name
-     * {@link #getExtractionExpression()} via {@link #addResult(String)}.
+     * Iterates over all headers in {@link Context#getWebResponse()} and adds every header with the name
+     * <code>expression</code> to <code>result</code>.
      */
     @Override
-    public void execute(final Context<?> context)
+    protected void extract(final Context<?> context, final String expression, final List<String> result)
     {
-        // Resolve variables
-        resolveValues(context);
-
         // Get all headers
         final List<NameValuePair> headers = context.getWebResponse().getResponseHeaders();
         // For each header,
         for (final NameValuePair header : headers)
         {
             // Search for the header name
-            if (header.getName().equals(getExtractionExpression()))
+            if (header.getName().equals(expression))
             {
                 // Add the value to the result list
-                addResult(header.getValue());
+                result.add(header.getValue());
             }
         }
     }
@@ -1,25 +1,40 @@
 package com.xceptance.xlt.nocoding.command.action.response.extractor;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
-import java.util.regex.Matcher;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import com.gargoylesoftware.htmlunit.WebResponse;
 import com.xceptance.xlt.api.htmlunit.LightWeightPage;
+import com.xceptance.xlt.nocoding.util.PatternCache;
+import com.xceptance.xlt.nocoding.util.ResponseContent;
 import com.xceptance.xlt.nocoding.util.context.Context;
 
 /**
  * Matches the pattern provided via {@link #getExtractionExpression()} and applies it to the
  * {@link LightWeightPage#getContent()} which is created with the {@link Context#getWebResponse()}. Then, stores the
- * match in {@link #addResult(String)}.
+ * match in {@link #addResult(String)}.<br>
+ * The content is searched while it is read, so searching for the first match does not read the rest of the content.
+ * The pattern is compiled when the extractor is created, unless it contains variables. Then, the resolved pattern is
+ * taken from the {@link PatternCache}.
  *
  * @author ckeiner
  */
 public class RegexpExtractor extends AbstractExtractor
 {
 
+    /**
+     * The matching group to use
+     */
     private String group;
 
+    /**
+     * The compiled pattern, or <code>null</code> if the pattern contains variables
+     */
+    private Pattern pattern;
+
     /**
      * Creates an instance of {@link RegexpExtractor}, sets {@link #extractionExpression} and creates an ArrayList for
      * {@link #result}.
@@ -45,55 +60,67 @@ public class RegexpExtractor extends AbstractExtractor
     {
         super(extractionExpression);
         this.group = group;
+        this.pattern = PatternCache.getInstance().getStaticPattern(extractionExpression);
+    }
+
+    @Override
+    protected void extract(final Context<?> context, final String expression, final List<String> result)
+    {
+        extract(context, expression, result, Integer.MAX_VALUE);
     }
 
     /**
-     * Compiles the pattern provided via {@link #getExtractionExpression()} and applies it to the
-     * {@link LightWeightPage#getContent()} that is created with {@link Context#getWebResponse()}. If {@link #group} is
-     * specified, it only stores this matching group. Else, it stores every group.
+     * Compiles the pattern provided via <code>expression</code> and applies it to the content of
+     * {@link Context#getWebResponse()}. If {@link #group} is specified, it only stores this matching group of the first
+     * match. Else, it stores every match, until <code>maxResults</code> matches were found.
      */
     @Override
-    public void execute(final Context<?> context)
+    protected void extract(final Context<?> context, final String expression, final List<String> result, final int maxResults)
     {
         final WebResponse webResponse = context.getWebResponse();
-        // Resolve variables
-        resolveValues(context);
-        // Get the content of the webResponse as string
-        final String pageContent = webResponse.getContentAsString();
-        // Create a matcher object, so we can save our found matches
-        final Matcher matcher = Pattern.compile(extractionExpression).matcher(pageContent);
+        // Resolve the group
+        final String group = resolveGroup(context);
+        final Pattern pattern = this.pattern != null ? this.pattern : PatternCache.getInstance().getPattern(expression);
 
-        // If we don't have a group, add all matches
-        if (group == null)
+        // If we don't have a group, add all matches, else simply add the group of the first match
+        try (final Reader content = ResponseContent.openReader(webResponse))
         {
-            // If we find matches
-            while (matcher.find())
+            if (group == null)
             {
-                addResult(matcher.group());
+                StreamingMatcher.find(pattern, content, null, maxResults, result);
             }
-
-        }
-        // Else, simply add the group
-        else
-        {
-            if (matcher.find())
+            else
             {
-                addResult(matcher.group(Integer.parseInt(group)));
+                StreamingMatcher.find(pattern, content, Integer.parseInt(group), 1, result);
             }
         }
+        catch (final IOException e)
+        {
+            throw new IllegalStateException("Failed to read the content of the response: " + e.getMessage(), e);
+        }
     }
 
     /**
-     * Resolves the {@link #getExtractionExpression()} and {@link #group}.
+     * Resolves the {@link #group}.
+     *
+     * @param context
+     *            The {@link Context} to use
+     * @return The resolved group
      */
-    @Override
-    protected void resolveValues(final Context<?> context)
+    private String resolveGroup(final Context<?> context)
     {
-        super.resolveValues(context);
         if (group != null && !group.isEmpty())
         {
-            group = context.resolveString(group);
+            return context.resolveString(group);
         }
+        return group;
+    }
+
+    @Override
+    public void setExtractionExpression(final String extractionExpression)
+    {
+        super.setExtractionExpression(extractionExpression);
+        pattern = PatternCache.getInstance().getStaticPattern(extractionExpression);
     }
 
     public String getGroup()
@@ -0,0 +1,123 @@
+package com.xceptance.xlt.nocoding.command.action.response.extractor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the matches of a {@link Pattern} in a stream of characters, without reading the whole stream into memory.
+ * The stream is read in chunks, and a match is only accepted, if more input cannot change it. Once enough matches were
+ * found, the rest of the stream is not read anymore.<br>
+ * Content before the current position is discarded, except for a few characters for look-behinds. So a pattern only
+ * causes the whole content to be buffered, if a single match could span all of it.
+ */
+final class StreamingMatcher
+{
+    /**
+     * The number of characters, that are read at once
+     */
+    static final int CHUNK_SIZE = 8192;
+
+    /**
+     * The number of characters, that are kept before the current position for look-behinds
+     */
+    static final int LOOKBEHIND_SIZE = 1024;
+
+    private StreamingMatcher()
+    {
+    }
+
+    /**
+     * Adds the matches of the pattern in the content of the reader to the result, until <code>maxResults</code>
+     * elements were added.
+     *
+     * @param pattern
+     *            The pattern to search for
+     * @param reader
+     *            The content to search in
+     * @param group
+     *            The matching group to add, or <code>null</code> to add the whole match
+     * @param maxResults
+     *            The maximum number of matches to add
+     * @param result
+     *            The list to add the matches to
+     * @throws IOException
+     *             If the reader cannot be read
+     */
+    static void find(final Pattern pattern, final Reader reader, final Integer group, final int maxResults, final List<String> result)
+        throws IOException
+    {
+        final char[] chunk = new char[CHUNK_SIZE];
+        final StringBuilder buffer = new StringBuilder(CHUNK_SIZE);
+        boolean endOfInput = read(reader, chunk, buffer);
+
+        final Matcher matcher = pattern.matcher(buffer);
+        // Characters before the region are only used for look-behinds and not as start of the input
+        matcher.useTransparentBounds(true);
+        matcher.useAnchoringBounds(false);
+
+        int position = 0;
+        int added = 0;
+        while (added < maxResults)
+        {
+            matcher.region(position, buffer.length());
+            final boolean found = matcher.find();
+            if (found && (endOfInput || !matcher.hitEnd()))
+            {
+                result.add(group == null ? matcher.group() : matcher.group(group));
+                added++;
+                // Continue behind the match, but do not find an empty match twice
+                position = matcher.end() == matcher.start() ? matcher.end() + 1 : matcher.end();
+                if (position > buffer.length())
+                {
+                    return;
+                }
+            }
+            else if (endOfInput)
+            {
+                return;
+            }
+            else
+            {
+                // If the end was not hit, no match can start in the searched content
+                if (!found && !matcher.hitEnd())
+                {
+                    position = buffer.length();
+                }
+                endOfInput = read(reader, chunk, buffer);
+            }
+
+            // Discard the content, that was searched already
+            if (position - LOOKBEHIND_SIZE > CHUNK_SIZE)
+            {
+                buffer.delete(0, position - LOOKBEHIND_SIZE);
+                position = LOOKBEHIND_SIZE;
+            }
+        }
+    }
+
+    /**
+     * Appends the next chunk of the reader to the buffer. Since every read is followed by a search, the chunk is filled
+     * completely, even if the reader returns less characters at once.
+     *
+     * @return <code>true</code> if the end of the input was reached, <code>false</code> otherwise
+     */
+    private static boolean read(final Reader reader, final char[] chunk, final StringBuilder buffer) throws IOException
+    {
+        int length = 0;
+        while (length < chunk.length)
+        {
+            final int read = reader.read(chunk, length, chunk.length - length);
+            if (read < 0)
+            {
+                buffer.append(chunk, 0, length);
+                return true;
+            }
+            length += read;
+        }
+        buffer.append(chunk, 0, length);
+        return false;
+    }
+}
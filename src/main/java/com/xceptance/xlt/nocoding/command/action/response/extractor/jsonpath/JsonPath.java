@@ -0,0 +1,499 @@
+package com.xceptance.xlt.nocoding.command.action.response.extractor.jsonpath;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * A compiled JSONPath expression, that is evaluated directly on the tree of a JSON document. Once compiled, the path
+ * is immutable and can be shared between threads.<br>
+ * The following subset of JSONPath is supported:
+ * <ul>
+ * <li><code>$</code>: the root element</li>
+ * <li><code>.name</code>, <code>['name']</code> and <code>["name"]</code>: a member of an object</li>
+ * <li><code>[0]</code> and <code>[-1]</code>: an element of an array, negative indexes count from the end</li>
+ * <li><code>[0:2]</code>: the elements of an array from the start (inclusive) to the end (exclusive)</li>
+ * <li><code>['a','b']</code> and <code>[0,2]</code>: multiple members or elements</li>
+ * <li><code>.*</code> and <code>[*]</code>: all members of an object or elements of an array</li>
+ * <li><code>..name</code>, <code>..*</code> and <code>..[0]</code>: recursive descent</li>
+ * </ul>
+ * Filter and script expressions are not supported.
+ */
+public final class JsonPath implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The expression, the path was compiled from
+     */
+    private final String expression;
+
+    /**
+     * The segments of the path, that are applied one after another
+     */
+    private final List<Segment> segments;
+
+    private JsonPath(final String expression, final List<Segment> segments)
+    {
+        this.expression = expression;
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles the expression.
+     *
+     * @param expression
+     *            The JSONPath expression
+     * @return The compiled {@link JsonPath}
+     * @throws IllegalArgumentException
+     *             If the expression is not valid or not supported
+     */
+    public static JsonPath compile(final String expression)
+    {
+        if (expression == null)
+        {
+            throw new IllegalArgumentException("JsonPath must not be null");
+        }
+        return new JsonPath(expression, Collections.unmodifiableList(new PathCompiler(expression.trim()).compile()));
+    }
+
+    /**
+     * Evaluates the path on the JSON element.
+     *
+     * @param root
+     *            The root element of the JSON document
+     * @return All elements, that match the path, in document order
+     */
+    public List<JsonElement> evaluate(final JsonElement root)
+    {
+        List<JsonElement> current = Collections.singletonList(root);
+        for (final Segment segment : segments)
+        {
+            final List<JsonElement> next = new ArrayList<>();
+            for (final JsonElement element : current)
+            {
+                segment.select(element, next);
+            }
+            if (next.isEmpty())
+            {
+                return next;
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    public String getExpression()
+    {
+        return expression;
+    }
+
+    @Override
+    public String toString()
+    {
+        return expression;
+    }
+
+    /**
+     * Parses an expression into its segments
+     */
+    private static class PathCompiler
+    {
+        private final String expression;
+
+        private int position;
+
+        PathCompiler(final String expression)
+        {
+            this.expression = expression;
+        }
+
+        List<Segment> compile()
+        {
+            if (expression.isEmpty() || expression.charAt(0) != '$')
+            {
+                throw fail("must start with $");
+            }
+            position = 1;
+
+            final List<Segment> segments = new ArrayList<>();
+            while (position < expression.length())
+            {
+                final char c = expression.charAt(position);
+                if (c == '.')
+                {
+                    final boolean recursive = position + 1 < expression.length() && expression.charAt(position + 1) == '.';
+                    position += recursive ? 2 : 1;
+                    final Segment segment;
+                    if (recursive && position < expression.length() && expression.charAt(position) == '[')
+                    {
+                        segment = parseBracket();
+                    }
+                    else
+                    {
+                        segment = parseName();
+                    }
+                    segments.add(recursive ? new RecursiveDescent(segment) : segment);
+                }
+                else if (c == '[')
+                {
+                    segments.add(parseBracket());
+                }
+                else
+                {
+                    throw fail("unexpected character '" + c + "' at position " + position);
+                }
+            }
+            return segments;
+        }
+
+        /**
+         * Parses a name in dot notation
+         */
+        private Segment parseName()
+        {
+            final int start = position;
+            while (position < expression.length() && expression.charAt(position) != '.' && expression.charAt(position) != '[')
+            {
+                position++;
+            }
+            final String name = expression.substring(start, position).trim();
+            if (name.isEmpty())
+            {
+                throw fail("missing name at position " + start);
+            }
+            return "*".equals(name) ? Wildcard.INSTANCE : new Members(Collections.singletonList(name));
+        }
+
+        /**
+         * Parses the content between square brackets
+         */
+        private Segment parseBracket()
+        {
+            final int start = position + 1;
+            final List<String> parts = new ArrayList<>();
+            final List<Boolean> quoted = new ArrayList<>();
+            final StringBuilder part = new StringBuilder();
+            boolean wasQuoted = false;
+            char quote = 0;
+            position = start;
+            for (; position < expression.length(); position++)
+            {
+                final char c = expression.charAt(position);
+                if (quote != 0)
+                {
+                    if (c == '\\' && position + 1 < expression.length())
+                    {
+                        part.append(expression.charAt(++position));
+                    }
+                    else if (c == quote)
+                    {
+                        quote = 0;
+                    }
+                    else
+                    {
+                        part.append(c);
+                    }
+                }
+                else if (c == '\'' || c == '"')
+                {
+                    if (wasQuoted || part.toString().trim().length() > 0)
+                    {
+                        throw fail("unexpected quote at position " + position);
+                    }
+                    part.setLength(0);
+                    quote = c;
+                    wasQuoted = true;
+                }
+                else if (c == ',' || c == ']')
+                {
+                    parts.add(wasQuoted ? part.toString() : part.toString().trim());
+                    quoted.add(wasQuoted);
+                    part.setLength(0);
+                    wasQuoted = false;
+                    if (c == ']')
+                    {
+                        break;
+                    }
+                }
+                else if (!wasQuoted)
+                {
+                    part.append(c);
+                }
+                else if (!Character.isWhitespace(c))
+                {
+                    throw fail("unexpected character '" + c + "' at position " + position);
+                }
+            }
+            if (position >= expression.length())
+            {
+                throw fail("missing ] for [ at position " + (start - 1));
+            }
+            position++;
+
+            if (parts.size() == 1 && !quoted.get(0))
+            {
+                final String content = parts.get(0);
+                if (content.startsWith("?") || content.startsWith("("))
+                {
+                    throw fail("filter and script expressions are not supported");
+                }
+                if ("*".equals(content))
+                {
+                    return Wildcard.INSTANCE;
+                }
+                if (content.indexOf(':') >= 0)
+                {
+                    return parseSlice(content);
+                }
+            }
+
+            if (quoted.get(0))
+            {
+                for (int i = 0; i < parts.size(); i++)
+                {
+                    if (!quoted.get(i))
+                    {
+                        throw fail("mixed names and indexes in [" + String.join(",", parts) + "]");
+                    }
+                }
+                return new Members(new ArrayList<>(parts));
+            }
+
+            final int[] indexes = new int[parts.size()];
+            for (int i = 0; i < parts.size(); i++)
+            {
+                if (quoted.get(i))
+                {
+                    throw fail("mixed names and indexes in [" + String.join(",", parts) + "]");
+                }
+                indexes[i] = parseIndex(parts.get(i));
+            }
+            return new Indexes(indexes);
+        }
+
+        private Segment parseSlice(final String content)
+        {
+            final String[] bounds = content.split(":", -1);
+            if (bounds.length != 2)
+            {
+                throw fail("slices with a step are not supported");
+            }
+            final Integer from = bounds[0].trim().isEmpty() ? null : parseIndex(bounds[0]);
+            final Integer to = bounds[1].trim().isEmpty() ? null : parseIndex(bounds[1]);
+            return new Slice(from, to);
+        }
+
+        private int parseIndex(final String index)
+        {
+            try
+            {
+                return Integer.parseInt(index.trim());
+            }
+            catch (final NumberFormatException e)
+            {
+                throw fail("invalid index '" + index + "'");
+            }
+        }
+
+        private IllegalArgumentException fail(final String message)
+        {
+            return new IllegalArgumentException("Invalid JsonPath \"" + expression + "\": " + message);
+        }
+    }
+
+    /**
+     * A step of the path, that selects elements from an element
+     */
+    private abstract static class Segment implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Adds the selected elements of the element to the result.
+         *
+         * @param element
+         *            The element to select from
+         * @param result
+         *            The list to add the selected elements to
+         */
+        abstract void select(JsonElement element, List<JsonElement> result);
+    }
+
+    /**
+     * Selects members of an object by their names
+     */
+    private static class Members extends Segment
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> names;
+
+        Members(final List<String> names)
+        {
+            this.names = names;
+        }
+
+        @Override
+        void select(final JsonElement element, final List<JsonElement> result)
+        {
+            if (element.isJsonObject())
+            {
+                final JsonObject object = element.getAsJsonObject();
+                for (final String name : names)
+                {
+                    final JsonElement member = object.get(name);
+                    if (member != null)
+                    {
+                        result.add(member);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Selects elements of an array by their indexes
+     */
+    private static class Indexes extends Segment
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] indexes;
+
+        Indexes(final int[] indexes)
+        {
+            this.indexes = indexes;
+        }
+
+        @Override
+        void select(final JsonElement element, final List<JsonElement> result)
+        {
+            if (element.isJsonArray())
+            {
+                final JsonArray array = element.getAsJsonArray();
+                for (final int index : indexes)
+                {
+                    final int position = index < 0 ? array.size() + index : index;
+                    if (position >= 0 && position < array.size())
+                    {
+                        result.add(array.get(position));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Selects a range of elements of an array
+     */
+    private static class Slice extends Segment
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Integer from;
+
+        private final Integer to;
+
+        Slice(final Integer from, final Integer to)
+        {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        void select(final JsonElement element, final List<JsonElement> result)
+        {
+            if (element.isJsonArray())
+            {
+                final JsonArray array = element.getAsJsonArray();
+                final int start = normalize(from, 0, array.size());
+                final int end = normalize(to, array.size(), array.size());
+                for (int i = start; i < end; i++)
+                {
+                    result.add(array.get(i));
+                }
+            }
+        }
+
+        private static int normalize(final Integer bound, final int defaultValue, final int size)
+        {
+            if (bound == null)
+            {
+                return defaultValue;
+            }
+            final int position = bound < 0 ? size + bound : bound;
+            return Math.max(0, Math.min(size, position));
+        }
+    }
+
+    /**
+     * Selects all members of an object or elements of an array
+     */
+    private static class Wildcard extends Segment
+    {
+        private static final long serialVersionUID = 1L;
+
+        static final Wildcard INSTANCE = new Wildcard();
+
+        @Override
+        void select(final JsonElement element, final List<JsonElement> result)
+        {
+            if (element.isJsonObject())
+            {
+                for (final Map.Entry<String, JsonElement> member : element.getAsJsonObject().entrySet())
+                {
+                    result.add(member.getValue());
+                }
+            }
+            else if (element.isJsonArray())
+            {
+                for (final JsonElement child : element.getAsJsonArray())
+                {
+                    result.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies a segment to an element and all of its descendants
+     */
+    private static class RecursiveDescent extends Segment
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Segment segment;
+
+        RecursiveDescent(final Segment segment)
+        {
+            this.segment = segment;
+        }
+
+        @Override
+        void select(final JsonElement element, final List<JsonElement> result)
+        {
+            segment.select(element, result);
+            if (element.isJsonObject())
+            {
+                for (final Map.Entry<String, JsonElement> member : element.getAsJsonObject().entrySet())
+                {
+                    select(member.getValue(), result);
+                }
+            }
+            else if (element.isJsonArray())
+            {
+                for (final JsonElement child : element.getAsJsonArray())
+                {
+                    select(child, result);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.xceptance.xlt.nocoding.command.action.response.extractor.jsonpath;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.xceptance.xlt.api.util.XltLogger;
+import com.xceptance.xlt.nocoding.command.action.response.extractor.AbstractExtractor;
+import com.xceptance.xlt.nocoding.util.ResponseContent;
+import com.xceptance.xlt.nocoding.util.context.Context;
+import com.xceptance.xlt.nocoding.util.resolver.VariableTemplate;
+
+/**
+ * Extracts the elements, that match a {@link JsonPath}, from the JSON content of the {@link WebResponse}. The content
+ * is parsed into a tree once per response, which is shared by all extractions via {@link Context#getJsonElement()}.
+ * Strings, numbers and booleans are extracted as their value, objects and arrays as JSON.<br>
+ * If resolving does not change the expression, it is compiled once, when the extractor is created. Otherwise, it is
+ * compiled after it was resolved. Since resolving removes pairs of single quotes, names in brackets have to be quoted
+ * with double quotes, e.g. <code>$["a-b"]</code>.
+ */
+public class JsonPathExtractor extends AbstractExtractor
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The compiled expression, or <code>null</code> if the expression changes when it is resolved
+     */
+    private JsonPath jsonPath;
+
+    /**
+     * Creates an instance of {@link JsonPathExtractor}, sets {@link #extractionExpression} and compiles it, if
+     * resolving does not change it.
+     *
+     * @param extractionExpression
+     *            The JSONPath expression
+     * @throws IllegalArgumentException
+     *             If the expression is not a valid JSONPath expression
+     */
+    public JsonPathExtractor(final String extractionExpression)
+    {
+        super(extractionExpression);
+        jsonPath = compileIfStatic(extractionExpression);
+    }
+
+    @Override
+    protected void extract(final Context<?> context, final String expression, final List<String> result)
+    {
+        final JsonPath path = jsonPath != null ? jsonPath : JsonPath.compile(expression);
+        XltLogger.runTimeLogger.debug("Getting Elements by JsonPath: " + path);
+        for (final JsonElement element : path.evaluate(getJsonElement(context)))
+        {
+            result.add(element.isJsonPrimitive() ? element.getAsString() : element.toString());
+        }
+    }
+
+    /**
+     * Gets the parsed JSON content of the current response from the {@link Context}, or parses it, if no other
+     * extraction parsed it yet.
+     *
+     * @param context
+     *            The {@link Context} with the {@link WebResponse}
+     * @return The root element of the JSON content
+     */
+    private static JsonElement getJsonElement(final Context<?> context)
+    {
+        JsonElement root = context.getJsonElement();
+        if (root == null)
+        {
+            XltLogger.runTimeLogger.debug("Parsing Json Content");
+            final WebResponse webResponse = context.getWebResponse();
+            try (final Reader reader = ResponseContent.openReader(webResponse))
+            {
+                root = JsonParser.parseReader(reader);
+            }
+            catch (final IOException | JsonParseException e)
+            {
+                throw new IllegalArgumentException("Failed to parse Json Content: " + e.getMessage(), e);
+            }
+            context.setJsonElement(root);
+        }
+        return root;
+    }
+
+    @Override
+    public void setExtractionExpression(final String extractionExpression)
+    {
+        super.setExtractionExpression(extractionExpression);
+        jsonPath = compileIfStatic(extractionExpression);
+    }
+
+    private static JsonPath compileIfStatic(final String extractionExpression)
+    {
+        return extractionExpression != null && VariableTemplate.isConstant(extractionExpression) ? JsonPath.compile(extractionExpression)
+                                                                                                 : null;
+    }
+
+}
@@ -8,10 +8,13 @@ import com.gargoylesoftware.htmlunit.SgmlPage;
 import com.gargoylesoftware.htmlunit.html.DomNode;
 import com.gargoylesoftware.htmlunit.xml.XmlPage;
 import com.xceptance.xlt.api.util.XltLogger;
+import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
 import com.xceptance.xlt.nocoding.util.context.Context;
 import com.xceptance.xlt.nocoding.util.context.DomContext;
 import com.xceptance.xlt.nocoding.util.context.LightWeightContext;
 import com.xceptance.xlt.nocoding.util.context.RequestContext;
+import com.xceptance.xlt.nocoding.util.html.HtmlDocument;
+import com.xceptance.xlt.nocoding.util.html.HtmlXPath;
 
 /**
  * XPath Extractor for "html/text" content type
@@ -82,12 +85,16 @@ public class HtmlXmlXpathExtractorExecutor extends XpathExtractorExecutor
         }
         else if (context instanceof RequestContext)
         {
+            if (executeLightweight((RequestContext) context))
+            {
+                return;
+            }
             sgmlPage = ((RequestContext) context).getSgmlPage();
         }
         // Else, simply get the page
         else if (context instanceof DomContext)
         {
-            sgmlPage = ((DomContext) context).getPage();
+            sgmlPage = ((DomContext) context).getSgmlPage();
         }
         else
         {
@@ -113,6 +120,51 @@ public class HtmlXmlXpathExtractorExecutor extends XpathExtractorExecutor
         }
     }
 
+    /**
+     * Evaluates the expression on the {@link HtmlDocument} of the {@link RequestContext}, so no {@link SgmlPage} has to
+     * be built. This is only done for HTML content and expressions, that {@link HtmlXPath} supports. Furthermore, the
+     * document must not need repairs, that would change its tree.
+     *
+     * @param context
+     *            The current <code>RequestContext</code>
+     * @return <code>true</code> if the expression was evaluated, <code>false</code> if HtmlUnit has to evaluate it
+     */
+    private boolean executeLightweight(final RequestContext context)
+    {
+        if (!context.getPropertyByKey(NoCodingPropertyAdmin.LIGHTWEIGHTXPATH, NoCodingPropertyAdmin.LIGHTWEIGHTXPATH_DEFAULT)
+            || !HTML.equals(HEADERCONTENTTYPES.get(context.getWebResponse().getContentType())))
+        {
+            return false;
+        }
+        final HtmlXPath xPath = HtmlXPath.compile(getExtractionExpression());
+        if (xPath == null)
+        {
+            XltLogger.runTimeLogger.debug("XPath not supported by the lightweight HtmlDocument: " + getExtractionExpression());
+            return false;
+        }
+        final HtmlDocument htmlDocument = context.getHtmlDocument();
+        if (!htmlDocument.isExact() || (xPath.dependsOnDocumentStructure() && !htmlDocument.isComplete()))
+        {
+            XltLogger.runTimeLogger.debug("HTML content cannot be represented by the lightweight HtmlDocument");
+            return false;
+        }
+        final List<String> results = xPath.evaluate(htmlDocument);
+        if (results == null)
+        {
+            return false;
+        }
+        if (results.isEmpty())
+        {
+            XltLogger.runTimeLogger.debug("No Elements found!, XPath: " + getExtractionExpression());
+        }
+        for (final String result : results)
+        {
+            XltLogger.runTimeLogger.debug("Found Element: " + result);
+            addResult(result);
+        }
+        return true;
+    }
+
     /**
      * Gets the TextContent of a {@link DomNode}
      *
@@ -147,6 +199,8 @@ public class HtmlXmlXpathExtractorExecutor extends XpathExtractorExecutor
 
         try
         {
+            // HtmlUnit compiles the expression itself, since its XPathAdapter is not public and adapts the case of HTML
+            // names, so the XPathCache cannot be used here
             final List<DomNode> htmlElements = sgmlPage.getByXPath(xPath);
 
             if (htmlElements.isEmpty())
@@ -1,6 +1,7 @@
 package com.xceptance.xlt.nocoding.command.action.response.extractor.xpath;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -9,12 +10,11 @@ import java.util.List;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.json.JSONObject;
+import org.json.JSONTokener;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -23,6 +23,8 @@ import org.xml.sax.SAXException;
 
 import com.gargoylesoftware.htmlunit.WebResponse;
 import com.xceptance.xlt.api.util.XltLogger;
+import com.xceptance.xlt.nocoding.util.ResponseContent;
+import com.xceptance.xlt.nocoding.util.XPathCache;
 import com.xceptance.xlt.nocoding.util.context.Context;
 
 /**
@@ -32,7 +34,11 @@ import com.xceptance.xlt.nocoding.util.context.Context;
  */
 public class JsonXpathExtractorExecutor extends XpathExtractorExecutor
 {
-    private XPath xPath;
+    /**
+     * Creating a {@link DocumentBuilderFactory} looks up its implementation, so the factory is only created once. Since
+     * a factory is not thread safe, every thread gets its own one.
+     */
+    private static final ThreadLocal<DocumentBuilderFactory> DOCUMENT_BUILDER_FACTORY = ThreadLocal.withInitial(DocumentBuilderFactory::newInstance);
 
     private Document xmlInputSource;
 
@@ -90,7 +96,8 @@ public class JsonXpathExtractorExecutor extends XpathExtractorExecutor
     }
 
     /**
-     * Sets {@link #xmlInputSource} and {@link #xPath} if they are null
+     * Sets {@link #xmlInputSource} if it is null. The {@link Document} of the current response is taken from
+     * {@link Context#getJsonDocument()}, so the JSON content is only converted once per response.
      *
      * @param context
      */
@@ -101,12 +108,6 @@ public class JsonXpathExtractorExecutor extends XpathExtractorExecutor
         {
             loadXMLSourceFromWebResponse(context);
         }
-        if (xPath == null)
-        {
-            XltLogger.runTimeLogger.debug("Creating new XPath");
-            final XPathFactory xpathFactory = XPathFactory.newInstance();
-            xPath = xpathFactory.newXPath();
-        }
     }
 
     /**
@@ -119,11 +120,18 @@ public class JsonXpathExtractorExecutor extends XpathExtractorExecutor
         XltLogger.runTimeLogger.debug("Loading content from WebResponse");
         final String contentType = HEADERCONTENTTYPES.get(context.getWebResponse().getContentType());
 
-        final String bodyContent = context.getWebResponse().getContentAsString();
-
         if (JSON.equals(contentType))
         {
-            xmlInputSource = createXMLSourceFromJson(bodyContent);
+            // Reuse the document, if another extraction already converted the response
+            xmlInputSource = context.getJsonDocument();
+            if (xmlInputSource == null)
+            {
+                try (final Reader json = ResponseContent.openReader(context.getWebResponse()))
+                {
+                    xmlInputSource = createXMLSourceFromJson(json);
+                }
+                context.setJsonDocument(xmlInputSource);
+            }
         }
         else
         {
@@ -135,14 +143,14 @@ public class JsonXpathExtractorExecutor extends XpathExtractorExecutor
      * Parses Json to Xml and creates a {@link Document} out of it.
      *
      * @param json
-     *            The String with the Json content
+     *            The Reader with the Json content
      * @return The Json Content as Document
      */
-    private Document createXMLSourceFromJson(final String json) throws ParserConfigurationException, SAXException, IOException
+    private Document createXMLSourceFromJson(final Reader json) throws ParserConfigurationException, SAXException, IOException
     {
         XltLogger.runTimeLogger.debug("Converting Json Content to XML");
         // Convert Json to Xml
-        String xmlString = org.json.XML.toString(new JSONObject(json));
+        String xmlString = org.json.XML.toString(new JSONObject(new JSONTokener(json)));
         // Add json tags to the xmlString
         xmlString = "<json>" + xmlString + "</json>";
 
@@ -162,14 +170,14 @@ public class JsonXpathExtractorExecutor extends XpathExtractorExecutor
     private Document createDocumentFromXmlString(final String xmlString) throws SAXException, IOException, ParserConfigurationException
     {
         final InputSource source = new InputSource(new StringReader(xmlString));
-        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        final DocumentBuilder db = dbf.newDocumentBuilder();
+        final DocumentBuilder db = DOCUMENT_BUILDER_FACTORY.get().newDocumentBuilder();
         final Document document = db.parse(source);
         return document;
     }
 
     /**
-     * Extracts a {@link NodeList} from {@link #xmlInputSource} via the supplied xPath expression
+     * Extracts a {@link NodeList} from {@link #xmlInputSource} via the supplied xPath expression, that is compiled only
+     * once per thread via the {@link XPathCache}
      *
      * @param xPath
      *            The xPath expression with which to extract the nodes
@@ -194,7 +202,7 @@ public class JsonXpathExtractorExecutor extends XpathExtractorExecutor
         };
         try
         {
-            list = (NodeList) this.xPath.compile(xPath).evaluate(xmlInputSource, XPathConstants.NODESET);
+            list = (NodeList) XPathCache.getInstance().getExpression(xPath).evaluate(xmlInputSource, XPathConstants.NODESET);
         }
         catch (final Exception e)
         {
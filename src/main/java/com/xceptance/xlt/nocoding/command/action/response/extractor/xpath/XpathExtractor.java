@@ -1,5 +1,7 @@
 package com.xceptance.xlt.nocoding.command.action.response.extractor.xpath;
 
+import java.util.List;
+
 import com.gargoylesoftware.htmlunit.WebResponse;
 import com.xceptance.xlt.nocoding.command.action.response.extractor.AbstractExtractor;
 import com.xceptance.xlt.nocoding.util.context.Context;
@@ -16,12 +18,24 @@ public class XpathExtractor extends AbstractExtractor
         super(extractionExpression);
     }
 
+    /**
+     * The expression is used as is, since XPath expressions are not resolved.
+     */
+    @Override
+    protected String resolveExtractionExpression(final Context<?> context)
+    {
+        return getExtractionExpression();
+    }
+
+    /**
+     * Chooses the appropriate {@link XpathExtractorExecutor}, executes it and adds its result to <code>result</code>.
+     */
     @Override
-    public void execute(final Context<?> context)
+    protected void extract(final Context<?> context, final String expression, final List<String> result)
     {
-        final XpathExtractorExecutor executor = getExecutor(context);
+        final XpathExtractorExecutor executor = getExecutor(context, expression);
         executor.execute(context);
-        addResult(executor.getResult());
+        result.addAll(executor.getResult());
     }
 
     /**
@@ -33,16 +47,32 @@ public class XpathExtractor extends AbstractExtractor
      *         type
      */
     XpathExtractorExecutor getExecutor(final Context<?> context)
+    {
+        return getExecutor(context, getExtractionExpression());
+    }
+
+    /**
+     * Checks the type of the {@link WebResponse} and chooses the appropriate {@link XpathExtractorExecutor} for the
+     * specified expression
+     *
+     * @param context
+     *            The {@link Context} with the WebResponse in it
+     * @param expression
+     *            The xpath expression to use
+     * @return {@link HtmlXmlXpathExtractorExecutor} or {@link JsonXpathExtractorExecutor}, depending on the content
+     *         type
+     */
+    XpathExtractorExecutor getExecutor(final Context<?> context, final String expression)
     {
         final String content = context.getWebResponse().getContentType();
         XpathExtractorExecutor executor = null;
         if (HtmlXmlXpathExtractorExecutor.HEADERCONTENTTYPES.containsKey(content))
         {
-            executor = new HtmlXmlXpathExtractorExecutor(getExtractionExpression());
+            executor = new HtmlXmlXpathExtractorExecutor(expression);
         }
         else if (JsonXpathExtractorExecutor.HEADERCONTENTTYPES.containsKey(content))
         {
-            executor = new JsonXpathExtractorExecutor(getExtractionExpression());
+            executor = new JsonXpathExtractorExecutor(expression);
         }
         else
         {
@@ -1,7 +1,11 @@
 package com.xceptance.xlt.nocoding.command.action.response.store;
 
+import java.util.List;
+
 import com.xceptance.xlt.api.util.XltLogger;
 import com.xceptance.xlt.nocoding.command.action.response.extractor.AbstractExtractor;
+import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
+import com.xceptance.xlt.nocoding.util.ScriptAnalysis;
 import com.xceptance.xlt.nocoding.util.context.Context;
 
 /**
@@ -27,7 +31,9 @@ public class ResponseStore extends AbstractResponseStore
     }
 
     /**
-     * Resolves values, then stores the result in {@link Context#getVariables()}.
+     * Extracts the result, then stores its first element in {@link Context#getVariables()}. If the
+     * {@link ScriptAnalysis} found that the variable is never used and
+     * {@link NoCodingPropertyAdmin#SKIPUNUSEDSTORES} is enabled, nothing is extracted.
      *
      * @param context
      *            The {@link Context} to use
@@ -35,11 +41,19 @@ public class ResponseStore extends AbstractResponseStore
     @Override
     public void execute(final Context<?> context)
     {
+        // Skip the extraction, if nobody reads the variable
+        final ScriptAnalysis scriptAnalysis = context.getScriptAnalysis();
+        if (scriptAnalysis != null && scriptAnalysis.isUnused(this)
+            && context.getPropertyByKey(NoCodingPropertyAdmin.SKIPUNUSEDSTORES, NoCodingPropertyAdmin.SKIPUNUSEDSTORES_DEFAULT))
+        {
+            XltLogger.runTimeLogger.debug("Skipped unused Variable: " + variableName);
+            return;
+        }
         // Execute the selector
-        extractor.execute(context);
+        final List<String> result = extractor.extract(context, 1);
         // Store the solution
-        context.getVariables().store(getVariableName(), extractor.getResult().get(0));
-        XltLogger.runTimeLogger.info("Added Variable: " + variableName + " : " + extractor.getResult().get(0));
+        context.getVariables().store(getVariableName(), result.get(0));
+        XltLogger.runTimeLogger.info("Added Variable: " + variableName + " : " + result.get(0));
     }
 
 }
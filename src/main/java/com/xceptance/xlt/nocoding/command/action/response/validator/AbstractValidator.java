@@ -3,6 +3,7 @@ package com.xceptance.xlt.nocoding.command.action.response.validator;
 import java.io.Serializable;
 import java.util.List;
 
+import com.xceptance.xlt.nocoding.util.Metrics;
 import com.xceptance.xlt.nocoding.util.context.Context;
 
 /**
@@ -19,12 +20,46 @@ public abstract class AbstractValidator implements Serializable
     private List<String> expressionToValidate;
 
     /**
-     * Executes the validation method. Therefore, this method should use at least one assertion.
+     * Executes the validation method with {@link #getExpressionToValidate()}.
      *
      * @param context
      *            The {@link Context} to use
+     * @see #validate(Context, List)
      */
-    public abstract void execute(Context<?> context);
+    public void execute(final Context<?> context)
+    {
+        final Metrics metrics = context.getMetrics();
+        final long start = metrics.start();
+        try
+        {
+            validate(context, getExpressionToValidate());
+        }
+        finally
+        {
+            metrics.stop(Metrics.VALIDATE, getClass(), start);
+        }
+    }
+
+    /**
+     * Validates the specified expression. Therefore, this method should use at least one assertion. Implementations
+     * must not modify the state of the validator, since it is shared between all executions of a script.
+     *
+     * @param context
+     *            The {@link Context} to use
+     * @param expressionToValidate
+     *            The expression which is to be validated
+     */
+    public abstract void validate(Context<?> context, List<String> expressionToValidate);
+
+    /**
+     * Returns how many extracted elements are needed for the validation, so the extraction can stop early.
+     *
+     * @return The number of needed elements, by default all of them
+     */
+    public int getRequiredResults()
+    {
+        return Integer.MAX_VALUE;
+    }
 
     public List<String> getExpressionToValidate()
     {
@@ -36,12 +71,4 @@ public abstract class AbstractValidator implements Serializable
         this.expressionToValidate = expressionToValidate;
     }
 
-    /**
-     * Resolves values.
-     *
-     * @param context
-     *            The {@link Context} to use
-     */
-    protected abstract void resolveValues(final Context<?> context);
-
 }
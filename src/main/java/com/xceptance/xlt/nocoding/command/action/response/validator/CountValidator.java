@@ -1,5 +1,7 @@
 package com.xceptance.xlt.nocoding.command.action.response.validator;
 
+import java.util.List;
+
 import org.junit.Assert;
 
 import com.xceptance.xlt.nocoding.util.context.Context;
@@ -14,7 +16,7 @@ public class CountValidator extends AbstractValidator
     /**
      * The expected size of {@link #getExpressionToValidate()} as String
      */
-    private String count;
+    private final String count;
 
     /**
      * Creates an instance of {@link CountValidator}, that sets {@link #count}.
@@ -28,33 +30,24 @@ public class CountValidator extends AbstractValidator
     }
 
     /**
-     * Resolves values, parses {@link #count} to an Integer and finally asserts that {@link #getExpressionToValidate()}
-     * has a size of the Integer value of <code>value</code>.
+     * Resolves {@link #count}, parses it to an Integer and finally asserts that <code>expressionToValidate</code> has a
+     * size of the Integer value of <code>count</code>.
      */
     @Override
-    public void execute(final Context<?> context)
+    public void validate(final Context<?> context, final List<String> expressionToValidate)
     {
         // Resolve values
-        resolveValues(context);
+        final String resolvedCount = context.resolveString(this.count);
         // Transform count to an Integer
-        final Integer count = Integer.parseInt(this.count);
+        final Integer count = Integer.parseInt(resolvedCount);
         // Verify the result list/expressionToValidate is not null
-        if (getExpressionToValidate() == null)
+        if (expressionToValidate == null)
         {
             throw new IllegalStateException("Result list is null");
         }
         // Assert that the amount of results is the same as count
-        Assert.assertTrue("Expected " + this.count + " matches but found " + getExpressionToValidate().size() + " matches",
-                          count.equals(getExpressionToValidate().size()));
-    }
-
-    /**
-     * Resolves {@link #count}.
-     */
-    @Override
-    protected void resolveValues(final Context<?> context)
-    {
-        count = context.resolveString(count);
+        Assert.assertTrue("Expected " + resolvedCount + " matches but found " + expressionToValidate.size() + " matches",
+                          count.equals(expressionToValidate.size()));
     }
 
 }
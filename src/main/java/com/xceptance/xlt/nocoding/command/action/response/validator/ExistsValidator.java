@@ -1,5 +1,7 @@
 package com.xceptance.xlt.nocoding.command.action.response.validator;
 
+import java.util.List;
+
 import org.junit.Assert;
 
 import com.xceptance.xlt.nocoding.util.context.Context;
@@ -13,23 +15,22 @@ public class ExistsValidator extends AbstractValidator
 {
 
     /**
-     * Validates that {@link #getExpressionToValidate()} is neither null nor empty.
+     * Validates that <code>expressionToValidate</code> is neither null nor empty.
      */
     @Override
-    public void execute(final Context<?> context)
+    public void validate(final Context<?> context, final List<String> expressionToValidate)
     {
-        resolveValues(context);
-        Assert.assertNotNull("Expression is null", getExpressionToValidate());
-        Assert.assertFalse("Result list is empty", getExpressionToValidate().isEmpty());
+        Assert.assertNotNull("Expression is null", expressionToValidate);
+        Assert.assertFalse("Result list is empty", expressionToValidate.isEmpty());
     }
 
     /**
-     * Does not resolve anything but must be overridden.
+     * Only one element is needed to verify the result is not empty.
      */
     @Override
-    protected void resolveValues(final Context<?> context)
+    public int getRequiredResults()
     {
-        // We do not need to resolve anything here
+        return 1;
     }
 
 }
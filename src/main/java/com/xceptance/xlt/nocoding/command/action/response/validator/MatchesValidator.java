@@ -1,10 +1,12 @@
 package com.xceptance.xlt.nocoding.command.action.response.validator;
 
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.junit.Assert;
 
+import com.xceptance.xlt.nocoding.util.PatternCache;
 import com.xceptance.xlt.nocoding.util.context.Context;
 
 /**
@@ -19,7 +21,12 @@ public class MatchesValidator extends AbstractValidator
     /**
      * The {@link Pattern} to match {@link #getExpressionToValidate()} against as String
      */
-    private String validationExpression;
+    private final String validationExpression;
+
+    /**
+     * The compiled {@link #validationExpression}, or <code>null</code> if it contains variables
+     */
+    private final Pattern pattern;
 
     /**
      * Creates an instance of {@link MatchesValidator} that sets {@link #validationExpression}
@@ -30,43 +37,45 @@ public class MatchesValidator extends AbstractValidator
     public MatchesValidator(final String validationExpression)
     {
         this.validationExpression = validationExpression;
+        this.pattern = PatternCache.getInstance().getStaticPattern(validationExpression);
     }
 
     /**
-     * Resolves values, verifies {@link #getExpressionToValidate()} is neither null nor empty, and matches the first
-     * result of {@link #getExpressionToValidate()} against the {@link Pattern} provided by
-     * {@link #validationExpression}. Finally, it verifies there is at least one result.
+     * Resolves values, verifies <code>expressionToValidate</code> is neither null nor empty, and matches its first
+     * result against the {@link Pattern} provided by {@link #validationExpression}. If the expression contains
+     * variables, the resolved pattern is taken from the {@link PatternCache}.
      */
     @Override
-    public void execute(final Context<?> context)
+    public void validate(final Context<?> context, final List<String> expressionToValidate)
     {
         // Resolve values
-        resolveValues(context);
+        final String validationExpression = pattern != null ? this.validationExpression : context.resolveString(this.validationExpression);
         // Assert we have a result list and its has elements in it
-        Assert.assertNotNull("Result list is null", getExpressionToValidate());
-        Assert.assertFalse("Result list is empty", getExpressionToValidate().isEmpty());
+        Assert.assertNotNull("Result list is null", expressionToValidate);
+        Assert.assertFalse("Result list is empty", expressionToValidate.isEmpty());
         // Get the expression we want
-        final String expressionToValidate = getExpressionToValidate().get(0);
+        final String firstResult = expressionToValidate.get(0);
         // Assert that the expression is not null
-        Assert.assertNotNull(expressionToValidate);
+        Assert.assertNotNull(firstResult);
         // Build a matcher from the fields
-        final Matcher matcher = Pattern.compile(validationExpression).matcher(expressionToValidate);
+        final Pattern pattern = this.pattern != null ? this.pattern : PatternCache.getInstance().getPattern(validationExpression);
+        final Matcher matcher = pattern.matcher(firstResult);
         // Verify a match was found
-        Assert.assertTrue(validationExpression + " did not match " + expressionToValidate, matcher.find());
+        Assert.assertTrue(validationExpression + " did not match " + firstResult, matcher.find());
     }
 
-    /**
-     * Resolves {@link #validationExpression}
-     */
-    @Override
-    protected void resolveValues(final Context<?> context)
+    public String getValidationExpression()
     {
-        validationExpression = context.resolveString(validationExpression);
+        return validationExpression;
     }
 
-    public String getValidationExpression()
+    /**
+     * Only the first element is validated.
+     */
+    @Override
+    public int getRequiredResults()
     {
-        return validationExpression;
+        return 1;
     }
 
 }
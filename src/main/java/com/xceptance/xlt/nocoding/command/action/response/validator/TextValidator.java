@@ -1,5 +1,7 @@
 package com.xceptance.xlt.nocoding.command.action.response.validator;
 
+import java.util.List;
+
 import org.junit.Assert;
 
 import com.xceptance.xlt.nocoding.util.context.Context;
@@ -15,7 +17,7 @@ public class TextValidator extends AbstractValidator
     /**
      * The expected value of the first result in {@link #getExpressionToValidate()}
      */
-    private String validationExpression;
+    private final String validationExpression;
 
     /**
      * Creates a {@link TextValidator} that sets {@link #validationExpression}.
@@ -29,39 +31,37 @@ public class TextValidator extends AbstractValidator
     }
 
     /**
-     * Resolves values, verifies {@link #getExpressionToValidate()} is neither null nor empty, and verifies, that the
-     * first result in {@link #getExpressionToValidate()} equals {@link #validationExpression}
+     * Resolves values, verifies <code>expressionToValidate</code> is neither null nor empty, and verifies, that its
+     * first result equals {@link #validationExpression}
      */
     @Override
-    public void execute(final Context<?> context)
+    public void validate(final Context<?> context, final List<String> expressionToValidate)
     {
         // Resolve values
-        resolveValues(context);
+        final String validationExpression = context.resolveString(this.validationExpression);
         // Assert we have results
-        Assert.assertNotNull("Result list is null", getExpressionToValidate());
-        Assert.assertFalse("Result list is empty", getExpressionToValidate().isEmpty());
+        Assert.assertNotNull("Result list is null", expressionToValidate);
+        Assert.assertFalse("Result list is empty", expressionToValidate.isEmpty());
         // Get the expression we want
-        final String expressionToValidate = getExpressionToValidate().get(0);
+        final String firstResult = expressionToValidate.get(0);
         // Assert that the expression is not null
-        Assert.assertNotNull(expressionToValidate);
+        Assert.assertNotNull(firstResult);
         // Assert both strings are equal
-        Assert.assertEquals("Expected : " + validationExpression + " but was " + expressionToValidate,
-                            validationExpression,
-                            expressionToValidate);
+        Assert.assertEquals("Expected : " + validationExpression + " but was " + firstResult, validationExpression, firstResult);
     }
 
-    /**
-     * Resolves {@link #validationExpression}
-     */
-    @Override
-    protected void resolveValues(final Context<?> context)
+    public String getValidationExpression()
     {
-        validationExpression = context.resolveString(validationExpression);
+        return validationExpression;
     }
 
-    public String getValidationExpression()
+    /**
+     * Only the first element is validated.
+     */
+    @Override
+    public int getRequiredResults()
     {
-        return validationExpression;
+        return 1;
     }
 
 }
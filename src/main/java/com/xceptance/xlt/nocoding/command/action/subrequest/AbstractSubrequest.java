@@ -20,12 +20,4 @@ public abstract class AbstractSubrequest extends AbstractActionSubItem
     @Override
     public abstract void execute(Context<?> context) throws Exception;
 
-    /**
-     * Fills default data of an item.
-     *
-     * @param context
-     *            The {@link Context} for this subrequest
-     */
-    public abstract void fillDefaultData(Context<?> context);
-
 }
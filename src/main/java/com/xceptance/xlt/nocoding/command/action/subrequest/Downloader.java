@@ -7,10 +7,13 @@ import java.util.List;
 
 import com.xceptance.xlt.api.util.XltLogger;
 import com.xceptance.xlt.engine.XltWebClient;
+import com.xceptance.xlt.nocoding.util.Metrics;
+import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
+import com.xceptance.xlt.nocoding.util.context.Context;
 
 /**
  * Loads all the static content stuff with a passed {@link XltWebClient}, distributed on some threads. For this the
- * {@link StaticContentDownloader} is used.
+ * long-lived {@link StaticContentDownloader} of the current user is used, and the URLs are loaded as one batch.
  */
 public class Downloader implements Serializable
 {
@@ -22,6 +25,10 @@ public class Downloader implements Serializable
 
     private final boolean userAgentUID;
 
+    private final int maxRequestsPerHost;
+
+    private Metrics metrics = Metrics.DISABLED;
+
     /**
      * @param webClient
      *            : the {@link XltWebClient}, that fires the requests.
@@ -39,12 +46,56 @@ public class Downloader implements Serializable
      * @param userAgentUID
      */
     public Downloader(final XltWebClient webClient, final int threadCount, final boolean userAgentUID)
+    {
+        this(webClient, threadCount, userAgentUID, 0);
+    }
+
+    /**
+     * @param webClient
+     *            : the {@link XltWebClient}, that fires the requests.
+     * @param threadCount
+     *            : amount of threads for parallel loading
+     * @param userAgentUID
+     * @param maxRequestsPerHost
+     *            : maximum amount of parallel requests to the same host, a value less than 1 means no limit
+     */
+    public Downloader(final XltWebClient webClient, final int threadCount, final boolean userAgentUID, final int maxRequestsPerHost)
     {
         // ParameterUtils.isNotNull(webClient, "XltWebClient");
 
         this.userAgentUID = userAgentUID;
         this.threadCount = threadCount < 0 ? 1 : threadCount;
         this.webClient = webClient;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    /**
+     * Creates a {@link Downloader} for the web client of the context, that is configured with the values in the
+     * properties. If the number of threads or the UID of the user agent is not specified, the URLs are loaded one after
+     * another.
+     *
+     * @param context
+     *            The current {@link Context}
+     * @return The configured <code>Downloader</code>
+     */
+    public static Downloader fromProperties(final Context<?> context)
+    {
+        // Get the number of threads in the properties
+        final String numberThreads = context.getPropertyByKey(NoCodingPropertyAdmin.DOWNLOADTHREADS);
+        // Get the UID in the properties
+        final String userAgentUID = context.getPropertyByKey(NoCodingPropertyAdmin.USERAGENTUID);
+        if (numberThreads != null && userAgentUID != null)
+        {
+            final int maxRequestsPerHost = context.getPropertyByKey(NoCodingPropertyAdmin.DOWNLOADTHREADSPERHOST,
+                                                                    NoCodingPropertyAdmin.DOWNLOADTHREADSPERHOST_DEFAULT);
+            final Downloader downloader = new Downloader(context.getWebClient(), Integer.valueOf(numberThreads),
+                                                         Boolean.valueOf(userAgentUID), maxRequestsPerHost);
+            downloader.setMetrics(context.getMetrics());
+            return downloader;
+        }
+        final Downloader downloader = new Downloader(context.getWebClient());
+        downloader.setMetrics(context.getMetrics());
+        return downloader;
     }
 
     /**
@@ -69,28 +120,40 @@ public class Downloader implements Serializable
     {
         if (!urls.isEmpty())
         {
-            // build a static content downloader only when needed
-            final StaticContentDownloader downloader = new StaticContentDownloader(webClient, getThreadCount(), isUserAgentUID());
+            final long start = metrics.start();
+            final StaticContentDownloader.Batch batch = startBatch(isUserAgentUID());
             try
             {
                 // load the additional URLs
                 for (final String url : urls)
                 {
-                    downloader.addRequest(new URL(url));
+                    batch.addRequest(new URL(url));
                 }
             }
             finally
             {
-                // make sure we wait for all resources and clean up too
-                if (downloader != null)
-                {
-                    downloader.waitForCompletion();
-                    downloader.shutdown();
-                }
+                // make sure we wait for all resources, the threads stay alive for the next batch
+                batch.waitForCompletion();
+                metrics.stop(Metrics.LOADSTATICS, start);
             }
         }
     }
 
+    /**
+     * Starts a new batch with the long-lived {@link StaticContentDownloader} of the current user, that is configured
+     * like this downloader.
+     *
+     * @param userAgentUID
+     *            whether a UID is added to the user agent of the requests
+     * @return The new batch
+     */
+    public StaticContentDownloader.Batch startBatch(final boolean userAgentUID)
+    {
+        // reuse the static content downloader of this user
+        return StaticContentDownloader.getInstance(getThreadCount(), getMaxRequestsPerHost())
+                                      .startBatch(webClient, userAgentUID);
+    }
+
     public int getThreadCount()
     {
         return threadCount;
@@ -100,4 +163,25 @@ public class Downloader implements Serializable
     {
         return userAgentUID;
     }
+
+    public int getMaxRequestsPerHost()
+    {
+        return maxRequestsPerHost;
+    }
+
+    public Metrics getMetrics()
+    {
+        return metrics;
+    }
+
+    /**
+     * Sets the {@link Metrics}, that measure {@link #loadRequests()}
+     *
+     * @param metrics
+     *            The {@link Metrics} to use
+     */
+    public void setMetrics(final Metrics metrics)
+    {
+        this.metrics = metrics;
+    }
 }
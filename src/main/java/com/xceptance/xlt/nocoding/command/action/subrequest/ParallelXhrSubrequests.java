@@ -0,0 +1,129 @@
+package com.xceptance.xlt.nocoding.command.action.subrequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.xceptance.xlt.nocoding.command.action.AbstractActionSubItem;
+import com.xceptance.xlt.nocoding.command.action.request.Request;
+import com.xceptance.xlt.nocoding.util.ScriptAnalysis;
+import com.xceptance.xlt.nocoding.util.context.Context;
+
+/**
+ * Executes multiple {@link XhrSubrequest}s, that do not depend on each other, like a browser does: all requests are
+ * sent at once, and the responses are handled once they arrived.<br>
+ * Therefore, the requests of all subrequests are built first, each on its own local {@link Context}. Then they are
+ * loaded in parallel by the {@link StaticContentDownloader} of the current user, so the number of parallel requests is
+ * limited by the same properties as for static content. Finally, the responses and nested subrequests are executed
+ * one after another in the order of the subrequests. Every local context stores variables in its own scope, which is
+ * exported once its subrequest succeeded, so stored variables are always merged in the same order. Since
+ * all requests are built before any response is handled, a subrequest cannot use a variable, that another subrequest
+ * of the group stores.<br>
+ * If the <code>Context</code> cannot load XHRs concurrently, or the {@link ScriptAnalysis} found that a request uses a
+ * variable of an earlier subrequest of the group, the subrequests are executed one after another.
+ */
+public class ParallelXhrSubrequests extends AbstractSubrequest
+{
+    /**
+     * The subrequests, that are executed in parallel
+     */
+    private final List<XhrSubrequest> subrequests;
+
+    /**
+     * Creates an instance of {@link ParallelXhrSubrequests} that sets {@link #subrequests}.
+     *
+     * @param subrequests
+     *            The subrequests, that are executed in parallel
+     */
+    public ParallelXhrSubrequests(final List<XhrSubrequest> subrequests)
+    {
+        this.subrequests = subrequests;
+    }
+
+    /**
+     * Executes the subrequests in parallel, if the {@link Context} supports it, or one after another otherwise.
+     */
+    @Override
+    public void execute(final Context<?> context) throws Exception
+    {
+        final ScriptAnalysis scriptAnalysis = context.getScriptAnalysis();
+        if (!context.canLoadXhrConcurrently() || subrequests.size() < 2
+            || (scriptAnalysis != null && !scriptAnalysis.isIndependent(this)))
+        {
+            for (final XhrSubrequest subrequest : subrequests)
+            {
+                subrequest.execute(context);
+            }
+            return;
+        }
+
+        final List<XhrSubrequest> preparedSubrequests = new ArrayList<>(subrequests.size());
+        final List<Context<?>> localContexts = new ArrayList<>(subrequests.size());
+        final List<StaticContentDownloader.RequestHandler> requestHandlers = new ArrayList<>(subrequests.size());
+
+        // Build all requests and send them
+        final StaticContentDownloader.Batch batch = Downloader.fromProperties(context).startBatch(false);
+        try
+        {
+            for (final XhrSubrequest subrequest : subrequests)
+            {
+                final Context<?> localContext = context.buildNewContext();
+                final XhrSubrequest preparedSubrequest = subrequest.prepare(localContext);
+                final WebRequest webRequest;
+                try
+                {
+                    webRequest = ((Request) preparedSubrequest.getActionItems().get(0)).prepareWebRequest(localContext);
+                }
+                catch (final Exception e)
+                {
+                    throw preparedSubrequest.failed(e);
+                }
+                preparedSubrequests.add(preparedSubrequest);
+                localContexts.add(localContext);
+                requestHandlers.add(batch.addRequest(webRequest));
+            }
+        }
+        finally
+        {
+            batch.waitForCompletion();
+        }
+
+        // Handle the responses in the order of the subrequests
+        for (int i = 0; i < preparedSubrequests.size(); i++)
+        {
+            final XhrSubrequest preparedSubrequest = preparedSubrequests.get(i);
+            final Context<?> localContext = localContexts.get(i);
+            final StaticContentDownloader.RequestHandler requestHandler = requestHandlers.get(i);
+            try
+            {
+                if (requestHandler.getException() != null)
+                {
+                    throw requestHandler.getException();
+                }
+                if (requestHandler.getWebResponse() == null)
+                {
+                    throw new IllegalStateException("Timed out when loading the request.");
+                }
+                localContext.setWebResponse(requestHandler.getWebResponse());
+
+                // Execute every actionItem after the request
+                final List<AbstractActionSubItem> actionItems = preparedSubrequest.getActionItems();
+                for (final AbstractActionSubItem actionItem : actionItems.subList(1, actionItems.size()))
+                {
+                    actionItem.execute(localContext);
+                }
+                localContext.exportVariables();
+            }
+            catch (final Exception e)
+            {
+                throw preparedSubrequest.failed(e);
+            }
+        }
+    }
+
+    public List<XhrSubrequest> getSubrequests()
+    {
+        return subrequests;
+    }
+
+}
@@ -16,15 +16,22 @@
  */
 package com.xceptance.xlt.nocoding.command.action.subrequest;
 
-import java.io.Serializable;
 import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.gargoylesoftware.htmlunit.WebClient;
 import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
 import com.xceptance.common.util.Getter;
 import com.xceptance.common.util.SynchronizingCounter;
 import com.xceptance.common.util.concurrent.DaemonThreadFactory;
@@ -35,30 +42,44 @@ import com.xceptance.xlt.engine.XltWebClient;
 /**
  * The {@link StaticContentDownloader} aids in managing the parallel download of resources. The goal is to better
  * simulate the download behavior of real browsers. The number of threads working in parallel is controlled by
- * configuration. Note that there is no differentiation between requests to different domains.
+ * configuration, and optionally the number of parallel requests to the same host.<br>
+ * Every virtual user has one long-lived downloader, see {@link #getInstance(int, int)}, so the download threads are
+ * reused by all actions of the user. Idle threads terminate after {@link #KEEP_ALIVE} milliseconds. Since the threads
+ * are created by the thread of the user, they belong to the thread group of the user, which XLT uses to find the
+ * session that records the requests. The URLs of one static subrequest are loaded as a {@link Batch}, that can be
+ * waited for independently of the lifecycle of the threads. Besides plain URLs, a batch can also load prepared
+ * {@link WebRequest}s, whose responses are handed back to the caller. This is used to load the requests of parallel
+ * {@link XhrSubrequest}s.
  */
-public class StaticContentDownloader implements Serializable
+public class StaticContentDownloader
 {
     /**
-     * The maximum time to wait for {@link #ongoingRequestsCount} to become 0.
+     * The maximum time to wait for a batch to complete.
      */
     private static final int WAIT_TIMEOUT = 5 * 60 * 1000;
 
     /**
-     * The executor service running RequestHandler instances. The service's thread pool is unbounded, but shrinks
-     * automatically if possible.
+     * The time in milliseconds after which an idle download thread terminates.
      */
-    private final ExecutorService executorService;
+    private static final long KEEP_ALIVE = 60 * 1000;
 
     /**
-     * Maintains the number of requests which have been added, but have not been loaded completely yet.
+     * The maximum number of requests per user, that wait for a free thread. If it is reached, adding another request
+     * blocks until a pending request was started.
      */
-    private final SynchronizingCounter ongoingRequestsCount;
+    static final int MAX_PENDING_REQUESTS = 128;
 
     /**
-     * Indicates whether or not parallel downloads of URLs are enabled.
+     * The downloader of the current user
      */
-    private boolean parallelModeEnabled;
+    private static final ThreadLocal<StaticContentDownloader> DOWNLOADERS = new ThreadLocal<>();
+
+    /**
+     * The executor running RequestHandler instances, or <code>null</code> if URLs are loaded by the calling thread.
+     * Since requests are only handed to the executor if a thread is available, its queue never holds more requests
+     * than there are threads. Waiting requests are kept in {@link #pendingRequests} instead.
+     */
+    private final Executor executorService;
 
     /**
      * The number of threads which load URLs asynchronously.
@@ -66,156 +87,390 @@ public class StaticContentDownloader implements Serializable
     private final int threadCount;
 
     /**
-     * The web client to use when loading URLs.
+     * The maximum number of requests to the same host, that are loaded in parallel. A value less than 1 means no
+     * limit.
+     */
+    private final int maxRequestsPerHost;
+
+    /**
+     * The requests, that wait for a free thread or a free slot for their host. It holds at most
+     * {@link #MAX_PENDING_REQUESTS}. Guarded by <code>this</code>.
      */
-    private final XltWebClient webClient;
+    private final Deque<RequestHandler> pendingRequests = new ArrayDeque<>();
 
     /**
-     * Use dynamic UID in the user agent
+     * The number of requests per host, that are currently loaded. Guarded by <code>this</code>.
      */
-    private final boolean userAgentUID;
+    private final Map<String, Integer> activeRequestsPerHost = new HashMap<>();
 
     /**
-     * Creates a new RequestQueue object and initializes it with the given web client and the number of threads which
-     * process the requests.
+     * The number of requests, that are currently loaded. Guarded by <code>this</code>.
+     */
+    private int activeRequests;
+
+    /**
+     * Creates a new {@link StaticContentDownloader} with the given number of threads.
      *
-     * @param webClient
-     *            the web client to use
      * @param threadCount
      *            the number of threads
-     * @param userAgentUID
-     *            do we need dynamic user agent identifiers
+     * @param maxRequestsPerHost
+     *            the maximum number of parallel requests to the same host, or a value less than 1 for no limit
      */
-    public StaticContentDownloader(final XltWebClient webClient, final int threadCount, final boolean userAgentUID)
+    public StaticContentDownloader(final int threadCount, final int maxRequestsPerHost)
     {
-        this.webClient = webClient;
         this.threadCount = threadCount;
-        parallelModeEnabled = true;
-        this.userAgentUID = userAgentUID;
+        this.maxRequestsPerHost = maxRequestsPerHost;
 
-        final ThreadFactory threadFactory = new DaemonThreadFactory(new Getter<String>()
+        if (threadCount > 1)
         {
-            @Override
-            public String get()
+            final ThreadFactory threadFactory = new DaemonThreadFactory(new Getter<String>()
             {
-                return Session.getCurrent().getUserID() + "-pool-";
+                @Override
+                public String get()
+                {
+                    return Session.getCurrent().getUserID() + "-pool-";
+                }
+            });
+
+            final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threadCount, threadCount, KEEP_ALIVE,
+                                                                                 TimeUnit.MILLISECONDS,
+                                                                                 new ArrayBlockingQueue<Runnable>(threadCount),
+                                                                                 threadFactory);
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            executorService = threadPoolExecutor;
+        }
+        else
+        {
+            executorService = null;
+        }
+    }
+
+    /**
+     * Gets the downloader of the current user. A new one is created, if the user has none yet or the configuration
+     * changed.
+     *
+     * @param threadCount
+     *            the number of threads
+     * @param maxRequestsPerHost
+     *            the maximum number of parallel requests to the same host, or a value less than 1 for no limit
+     * @return The downloader of the current user
+     */
+    public static StaticContentDownloader getInstance(final int threadCount, final int maxRequestsPerHost)
+    {
+        StaticContentDownloader downloader = DOWNLOADERS.get();
+        if (downloader == null || downloader.threadCount != threadCount || downloader.maxRequestsPerHost != maxRequestsPerHost)
+        {
+            if (downloader != null)
+            {
+                downloader.shutdown();
             }
-        });
+            downloader = new StaticContentDownloader(threadCount, maxRequestsPerHost);
+            DOWNLOADERS.set(downloader);
+        }
+        return downloader;
+    }
 
-        executorService = Executors.newFixedThreadPool(threadCount, threadFactory);
-        ongoingRequestsCount = new SynchronizingCounter(0);
+    /**
+     * Starts a new batch of requests.
+     *
+     * @param webClient
+     *            the web client to use when loading URLs
+     * @param userAgentUID
+     *            do we need dynamic user agent identifiers
+     * @return The new batch
+     */
+    public Batch startBatch(final XltWebClient webClient, final boolean userAgentUID)
+    {
+        return new Batch(webClient, userAgentUID);
     }
 
     /**
-     * Adds the given URL to the list of URLs to be loaded. Whether the URL is loaded by the calling or a separate
-     * thread is controlled by the parallelModeEnabled flag. If the flag is false, the method does not return until the
-     * URL is loaded. If the flag is true, as many URLs as threadCount can be added without blocking.
+     * Indicates whether or not the parallel execution of requests is enabled.
      *
-     * @param url
-     *            the URL to load
+     * @return the current state
      */
-    public void addRequest(final URL url)
+    public boolean isParallelModeEnabled()
+    {
+        return executorService != null;
+    }
+
+    public int getThreadCount()
     {
-        ongoingRequestsCount.increment();
+        return threadCount;
+    }
 
-        RequestHandler requestHandler = null;
+    public int getMaxRequestsPerHost()
+    {
+        return maxRequestsPerHost;
+    }
 
-        if (isParallelModeEnabled())
+    /**
+     * Shuts this downloader down. Any pooled background thread is terminated.
+     */
+    public void shutdown()
+    {
+        if (executorService instanceof ThreadPoolExecutor)
         {
-            // handle the request asynchronously
-            requestHandler = new RequestHandler(url);
-            executorService.execute(requestHandler);
-
-            // debug
-            // ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor)
-            // executorService;
-            // System.err.printf("active = %d / size = %d\n",
-            // threadPoolExecutor.getActiveCount(),
-            // threadPoolExecutor.getPoolSize());
+            ((ThreadPoolExecutor) executorService).shutdownNow();
         }
-        else
+        if (DOWNLOADERS.get() == this)
         {
-            // handle the request synchronously
-            requestHandler = new RequestHandler(url);
-            requestHandler.run();
+            DOWNLOADERS.remove();
         }
     }
 
     /**
-     * Indicates whether or not the parallel execution of requests is enabled.
+     * Queues the request and starts as many pending requests as possible. If {@link #MAX_PENDING_REQUESTS} requests are
+     * pending already, the calling thread waits until one of them was started.
      *
-     * @return the current state
+     * @param requestHandler
+     *            the request to queue
+     * @return <code>true</code> if the request was queued, <code>false</code> if the calling thread was interrupted
+     *         while waiting
      */
-    public boolean isParallelModeEnabled()
+    private synchronized boolean submit(final RequestHandler requestHandler)
     {
-        return parallelModeEnabled && threadCount > 1;
+        while (pendingRequests.size() >= MAX_PENDING_REQUESTS)
+        {
+            try
+            {
+                wait();
+            }
+            catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        pendingRequests.add(requestHandler);
+        dispatch();
+        return true;
+    }
+
+    /**
+     * @return The number of requests, that wait for a free thread
+     */
+    synchronized int getPendingRequestCount()
+    {
+        return pendingRequests.size();
     }
 
     /**
-     * Enables or disables the parallel execution of requests.
+     * Marks the request as finished and starts as many pending requests as possible.
      *
-     * @param value
-     *            the new state
+     * @param requestHandler
+     *            the finished request
      */
-    public void setParallelModeEnabled(final boolean value)
+    private synchronized void finished(final RequestHandler requestHandler)
     {
-        parallelModeEnabled = value;
+        activeRequests--;
+        final String host = requestHandler.webRequest.getUrl().getHost();
+        final int activeRequestsToHost = activeRequestsPerHost.get(host) - 1;
+        if (activeRequestsToHost == 0)
+        {
+            activeRequestsPerHost.remove(host);
+        }
+        else
+        {
+            activeRequestsPerHost.put(host, activeRequestsToHost);
+        }
+        dispatch();
     }
 
     /**
-     * Shuts this request queue down. Any background thread is terminated.
+     * Hands pending requests in their order to the executor, as long as there are free threads. Requests to hosts, that
+     * already reached {@link #maxRequestsPerHost}, are skipped and stay pending.
      */
-    public void shutdown()
+    private synchronized void dispatch()
+    {
+        final int pendingRequestCount = pendingRequests.size();
+        final Iterator<RequestHandler> iterator = pendingRequests.iterator();
+        while (activeRequests < threadCount && iterator.hasNext())
+        {
+            final RequestHandler requestHandler = iterator.next();
+            final String host = requestHandler.webRequest.getUrl().getHost();
+            final Integer activeRequestsToHost = activeRequestsPerHost.get(host);
+            if (maxRequestsPerHost < 1 || activeRequestsToHost == null || activeRequestsToHost < maxRequestsPerHost)
+            {
+                iterator.remove();
+                activeRequests++;
+                activeRequestsPerHost.put(host, activeRequestsToHost == null ? 1 : activeRequestsToHost + 1);
+                executorService.execute(requestHandler);
+            }
+        }
+        // Wake up the threads, that wait for a free place in the queue
+        if (pendingRequests.size() < pendingRequestCount)
+        {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Removes all pending requests of the batch.
+     *
+     * @param batch
+     *            the batch whose requests should not be loaded anymore
+     */
+    private synchronized void cancel(final Batch batch)
     {
-        executorService.shutdownNow();
+        final Iterator<RequestHandler> iterator = pendingRequests.iterator();
+        while (iterator.hasNext())
+        {
+            final RequestHandler requestHandler = iterator.next();
+            if (requestHandler.batch == batch)
+            {
+                iterator.remove();
+                batch.ongoingRequestsCount.decrement();
+            }
+        }
+        notifyAll();
     }
 
     /**
-     * Waits until all previously added requests have been executed.
+     * The requests of one static subrequest, that are loaded with the same web client.
      */
-    public void waitForCompletion()
+    public class Batch
     {
-        try
+        /**
+         * The web client to use when loading URLs.
+         */
+        private final XltWebClient webClient;
+
+        /**
+         * Use dynamic UID in the user agent
+         */
+        private final boolean userAgentUID;
+
+        /**
+         * Maintains the number of requests which have been added, but have not been loaded completely yet.
+         */
+        private final SynchronizingCounter ongoingRequestsCount = new SynchronizingCounter(0);
+
+        private Batch(final XltWebClient webClient, final boolean userAgentUID)
+        {
+            this.webClient = webClient;
+            this.userAgentUID = userAgentUID;
+        }
+
+        /**
+         * Adds the given URL to the list of URLs to be loaded. Whether the URL is loaded by the calling or a separate
+         * thread is controlled by {@link StaticContentDownloader#isParallelModeEnabled()}. If parallel mode is
+         * disabled, the method does not return until the URL is loaded. Otherwise, it waits while
+         * {@link StaticContentDownloader#MAX_PENDING_REQUESTS} requests are pending.
+         *
+         * @param url
+         *            the URL to load
+         */
+        public void addRequest(final URL url)
+        {
+            addRequest(new RequestHandler(this, new WebRequest(url), true));
+        }
+
+        /**
+         * Adds the given request to the list of requests to be loaded. In contrast to {@link #addRequest(URL)}, the
+         * user agent is not changed, and failures are not logged, but are available via the returned handler.
+         *
+         * @param webRequest
+         *            the request to load
+         * @return The handler, that provides the response once the batch completed
+         */
+        public RequestHandler addRequest(final WebRequest webRequest)
+        {
+            return addRequest(new RequestHandler(this, webRequest, false));
+        }
+
+        private RequestHandler addRequest(final RequestHandler requestHandler)
         {
-            ongoingRequestsCount.awaitZero(WAIT_TIMEOUT);
+            ongoingRequestsCount.increment();
 
-            // check whether we really have reached 0
-            final int count = ongoingRequestsCount.get();
-            if (count != 0)
+            if (isParallelModeEnabled())
             {
-                // no, log an event
-                Session.getCurrent().getDataManager().logEvent("Timed out when loading static content", "Outstanding requests: " + count);
+                // handle the request asynchronously, but do not load it, if the thread was interrupted while waiting
+                if (!submit(requestHandler))
+                {
+                    ongoingRequestsCount.decrement();
+                }
             }
+            else
+            {
+                // handle the request synchronously
+                requestHandler.run();
+            }
+            return requestHandler;
         }
-        catch (final InterruptedException ex)
+
+        /**
+         * Waits until all previously added requests of this batch have been executed. Requests that did not start
+         * until the timeout are not loaded anymore.
+         */
+        public void waitForCompletion()
         {
-            // ignore
+            try
+            {
+                ongoingRequestsCount.awaitZero(WAIT_TIMEOUT);
+
+                // check whether we really have reached 0
+                final int count = ongoingRequestsCount.get();
+                if (count != 0)
+                {
+                    // no, log an event
+                    Session.getCurrent().getDataManager().logEvent("Timed out when loading static content", "Outstanding requests: " + count);
+                    cancel(this);
+                }
+            }
+            catch (final InterruptedException ex)
+            {
+                // ignore, but do not load the remaining requests
+                cancel(this);
+            }
         }
     }
 
     /**
      * A {@link Runnable} that loads exactly one resource.
      */
-    private class RequestHandler implements Runnable
+    public class RequestHandler implements Runnable
     {
         /**
-         * The URL to load.
+         * The batch the request belongs to.
+         */
+        private final Batch batch;
+
+        /**
+         * The request to load.
+         */
+        private final WebRequest webRequest;
+
+        /**
+         * Whether this is a static request, that might get a user agent UID and whose failures are only logged.
          */
-        private final URL url;
+        private final boolean staticContent;
+
+        /**
+         * The loaded response. Safely published by the counter of the batch.
+         */
+        private WebResponse webResponse;
+
+        /**
+         * The exception that occurred while loading the request. Safely published by the counter of the batch.
+         */
+        private Exception exception;
 
         /**
          * Creates a new RequestHandler object.
          *
-         * @param url
-         *            the URL to load
-         * @param referrerUrl
-         *            the referrer URL
-         * @param requestStack
-         *            the request stack to use
+         * @param batch
+         *            the batch the request belongs to
+         * @param webRequest
+         *            the request to load
+         * @param staticContent
+         *            whether the request loads static content
          */
-        public RequestHandler(final URL url)
+        private RequestHandler(final Batch batch, final WebRequest webRequest, final boolean staticContent)
         {
-            this.url = url;
+            this.batch = batch;
+            this.webRequest = webRequest;
+            this.staticContent = staticContent;
         }
 
         /**
@@ -226,20 +481,47 @@ public class StaticContentDownloader implements Serializable
         {
             try
             {
-                setUserAgentUID(webClient, userAgentUID);
-                webClient.loadWebResponse(new WebRequest(url));
+                if (staticContent)
+                {
+                    setUserAgentUID(batch.webClient, batch.userAgentUID);
+                }
+                webResponse = batch.webClient.loadWebResponse(webRequest);
             }
             catch (final Exception e)
             {
-                XltLogger.runTimeLogger.error("Failed to load static content from: " + url, e);
+                exception = e;
+                if (staticContent)
+                {
+                    XltLogger.runTimeLogger.error("Failed to load static content from: " + webRequest.getUrl(), e);
+                }
             }
             finally
             {
                 // request is done
-                ongoingRequestsCount.decrement();
+                if (isParallelModeEnabled())
+                {
+                    finished(this);
+                }
+                batch.ongoingRequestsCount.decrement();
             }
         }
 
+        /**
+         * @return The loaded response, or <code>null</code> if the request failed or was not loaded in time
+         */
+        public WebResponse getWebResponse()
+        {
+            return webResponse;
+        }
+
+        /**
+         * @return The exception that occurred while loading the request, or <code>null</code>
+         */
+        public Exception getException()
+        {
+            return exception;
+        }
+
         /**
          * Constant to identify the UID in the user agent string
          */
@@ -3,12 +3,12 @@ package com.xceptance.xlt.nocoding.command.action.subrequest;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
 import com.xceptance.xlt.nocoding.util.context.Context;
 
 /**
  * Creates a static subrequest, that downloads all specified URLs. The amount of parallel download is specified in the
- * properties with the Key "com.xceptance.xlt.staticContent.downloadThreads".
+ * properties with the Key "com.xceptance.xlt.staticContent.downloadThreads", the amount of parallel downloads from
+ * the same host with the Key "com.xceptance.xlt.nocoding.staticContent.downloadThreadsPerHost".
  *
  * @author ckeiner
  */
@@ -17,7 +17,7 @@ public class StaticSubrequest extends AbstractSubrequest
     /**
      * The list of all URLs that are to be downloaded
      */
-    private List<String> urls;
+    private final List<String> urls;
 
     /**
      * Creates an instance of {@link StaticSubrequest} that sets {@link #urls}.
@@ -38,21 +38,9 @@ public class StaticSubrequest extends AbstractSubrequest
     public void execute(final Context<?> context) throws Exception
     {
         // Resolve urls
-        resolveValues(context);
-        // Get the number of threads in the properties
-        final String numberThreads = context.getPropertyByKey(NoCodingPropertyAdmin.DOWNLOADTHREADS);
-        // Get the UID in the properties
-        final String userAgentUID = context.getPropertyByKey(NoCodingPropertyAdmin.USERAGENTUID);
-        // Create a Downloader
-        Downloader downloader = null;
-        if (numberThreads != null && userAgentUID != null)
-        {
-            downloader = new Downloader(context.getWebClient(), Integer.valueOf(numberThreads), Boolean.valueOf(userAgentUID));
-        }
-        else
-        {
-            downloader = new Downloader(context.getWebClient());
-        }
+        final List<String> urls = resolveValues(context);
+        // Create a Downloader with the values in the properties
+        final Downloader downloader = Downloader.fromProperties(context);
         // Add all URLs to the Downloader
         for (final String url : urls)
         {
@@ -67,26 +55,20 @@ public class StaticSubrequest extends AbstractSubrequest
         return urls;
     }
 
-    @Override
-    public void fillDefaultData(final Context<?> context)
-    {
-        // No need to do anything since there are default static subrequests but no default static urls
-
-    }
-
     /**
      * Resolves each static url
      *
      * @param context
+     * @return A new list with the resolved urls
      */
-    public void resolveValues(final Context<?> context)
+    public List<String> resolveValues(final Context<?> context)
     {
-        final List<String> newUrls = new ArrayList<>();
+        final List<String> newUrls = new ArrayList<>(urls.size());
         for (final String url : urls)
         {
             newUrls.add(context.resolveString(url));
         }
-        urls = newUrls;
+        return newUrls;
     }
 
 }
@@ -1,10 +1,12 @@
 package com.xceptance.xlt.nocoding.command.action.subrequest;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.xceptance.xlt.nocoding.command.action.AbstractActionSubItem;
 import com.xceptance.xlt.nocoding.command.action.request.Request;
 import com.xceptance.xlt.nocoding.command.action.response.Response;
+import com.xceptance.xlt.nocoding.util.ActionSubItemPlan;
 import com.xceptance.xlt.nocoding.util.ActionSubItemUtil;
 import com.xceptance.xlt.nocoding.util.context.Context;
 
@@ -26,6 +28,12 @@ public class XhrSubrequest extends AbstractSubrequest
      */
     private final List<AbstractActionSubItem> actionItems;
 
+    /**
+     * The actionItems with the default request and response, which only depend on the script and are therefore
+     * computed only once
+     */
+    private final ActionSubItemPlan plan;
+
     /**
      * Creates an instance of {@link XhrSubrequest} that sets the {@link #name} and {@link #actionItems}
      *
@@ -38,62 +46,87 @@ public class XhrSubrequest extends AbstractSubrequest
     {
         this.name = name;
         this.actionItems = actionItems;
+        plan = new ActionSubItemPlan(actionItems);
     }
 
     /**
      * Executes the subrequest by first creating a local {@link Context} out of the method parameter. Then, it asserts
-     * the order of the {@link #actionItems}. Then, sets the {@link Request} in the {@link #actionItems} up. Finally,
-     * executes the {@link #actionItems}.
+     * the order of the {@link #actionItems}. Then, sets a copy of the {@link Request} in the {@link #actionItems} up.
+     * Finally, executes the items and exports the stored variables of the local context. All of this happens on a
+     * working copy, so this instance is never modified.
      */
     @Override
     public void execute(final Context<?> context) throws Exception
     {
         // Create a new local context, so we do not overwrite the old context
         final Context<?> localContext = context.buildNewContext();
-
-        // Assert that the order of Request, Response, Subrequest is correct
-        ActionSubItemUtil.assertOrder(actionItems);
-        fillDefaultData(localContext);
-
-        // Get the request
-        final Request request = ((Request) actionItems.iterator().next());
-        // Set Xhr to true
-        request.setXhr("true");
-        // Set XhrSubrequest specific headers
-        request.getHeaders().put("X-Requested-With", "XMLHttpRequest");
-        request.getHeaders().put("Referer", context.getWebResponse().getWebRequest().getUrl().toString());
+        // Create a working copy, so the shared subrequest stays untouched
+        final XhrSubrequest subrequest = prepare(localContext);
 
         // Try and catch to add the name of the XhrSubrequest to the Exception
         try
         {
             // Execute every actionItem
-            for (final AbstractActionSubItem actionItem : actionItems)
+            for (final AbstractActionSubItem actionItem : subrequest.getActionItems())
             {
                 actionItem.execute(localContext);
             }
+            // Make the stored variables visible to the surrounding action
+            localContext.exportVariables();
         }
         catch (final Exception e)
         {
-            throw new Exception("XhrSubrequest \"" + name + "\" failed because " + e.getMessage(), e);
+            throw subrequest.failed(e);
         }
     }
 
+    /**
+     * Creates a working copy of this subrequest, that is ready to be executed with the local context. Therefore, it
+     * asserts the order of the {@link #actionItems}, fills in the default data and sets a copy of the {@link Request}
+     * up as XHR.
+     *
+     * @param localContext
+     *            The local {@link Context} of the subrequest, that holds the response of the surrounding action
+     * @return The working copy
+     */
+    XhrSubrequest prepare(final Context<?> localContext)
+    {
+        // The order of Request, Response, Subrequest is asserted and the default items are added only once
+        final XhrSubrequest subrequest = new XhrSubrequest(ActionSubItemUtil.getNameOrDefault(name, localContext, "XhrSubrequest"),
+                                                           new ArrayList<>(getPlannedItems()));
+        final List<AbstractActionSubItem> actionItems = subrequest.getActionItems();
+
+        // Get a copy of the request
+        final Request request = ((Request) actionItems.get(0)).copy();
+        actionItems.set(0, request);
+        // Set Xhr to true, so the XhrSubrequest specific headers are added after the variables were resolved
+        request.setXhr("true");
+        return subrequest;
+    }
+
+    /**
+     * Adds the name of this subrequest to the exception.
+     *
+     * @param e
+     *            The exception that occurred during the execution
+     * @return The new exception
+     */
+    Exception failed(final Exception e)
+    {
+        return new Exception("XhrSubrequest \"" + getName() + "\" failed because " + e.getMessage(), e);
+    }
+
     public String getName()
     {
         return name;
     }
 
     /**
-     * Sets name and request to the default name and request if they aren't not specified
+     * @return An unmodifiable list with the {@link #actionItems} and the default request and response
      */
-    @Override
-    public void fillDefaultData(final Context<?> context)
+    List<AbstractActionSubItem> getPlannedItems()
     {
-        if (name == null || name.isEmpty())
-        {
-            name = ActionSubItemUtil.getDefaultName(context, "XhrSubrequest");
-        }
-        ActionSubItemUtil.fillDefaultData(actionItems, context);
+        return plan.getItems();
     }
 
     public List<AbstractActionSubItem> getActionItems()
@@ -27,7 +27,7 @@ public class Store implements Command
     /**
      * The value of the variable
      */
-    private String value;
+    private final String value;
 
     /**
      * Creates an instance of {@link Store}, that sets {@link #variableName} and {@link #value}
@@ -50,7 +50,7 @@ public class Store implements Command
     public void execute(final Context<?> context)
     {
         // Resolve values
-        resolveValues(context);
+        final String value = resolveValues(context);
 
         // Get the appropriate storage
         final UniqueStorage storage = context.getVariables();
@@ -80,21 +80,16 @@ public class Store implements Command
         return value;
     }
 
-    public void setValue(final String value)
-    {
-        this.value = value;
-    }
-
     /**
      * Resolves {@link #value}.
      *
      * @param context
      *            The {@link Context} with the {@link VariableResolver} and {@link DataStorage}.
+     * @return The resolved value
      */
-    public void resolveValues(final Context<?> context)
+    public String resolveValues(final Context<?> context)
     {
-        final String resolvedValue = context.resolveString(getValue());
-        setValue(resolvedValue);
+        return context.resolveString(getValue());
     }
 
 }
\ No newline at end of file
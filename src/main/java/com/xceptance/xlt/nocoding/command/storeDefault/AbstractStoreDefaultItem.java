@@ -22,7 +22,7 @@ public abstract class AbstractStoreDefaultItem implements Command
     /**
      * The value of the default item
      */
-    protected String value;
+    protected final String value;
 
     /**
      * Creates a {@link AbstractStoreDefaultItem} that sets {@link #variableName} and {@link #value}
@@ -49,14 +49,15 @@ public abstract class AbstractStoreDefaultItem implements Command
     }
 
     /**
-     * Resolves {@link #value}.
+     * Resolves {@link #value}. The item itself is not modified, since it is shared between all executions of a script.
      *
      * @param context
      *            The {@link Context} with the {@link VariableResolver} and {@link DataStorage}
+     * @return The resolved value
      */
-    protected void resolveValues(final Context<?> context)
+    protected String resolveValues(final Context<?> context)
     {
-        value = context.resolveString(getValue());
+        return context.resolveString(getValue());
     }
 
 }
@@ -44,7 +44,7 @@ public class StoreDefaultCookie extends AbstractStoreDefaultItem
     public void execute(final Context<?> context) throws MalformedURLException
     {
         // Resolve values
-        super.resolveValues(context);
+        final String value = resolveValues(context);
         // Get the appropriate storage
         final SingleStorage storage = context.getDefaultCookies();
         // If the value is not "delete"
@@ -37,7 +37,7 @@ public class StoreDefaultHeader extends AbstractStoreDefaultItem
     public void execute(final Context<?> context)
     {
         // Resolve values
-        super.resolveValues(context);
+        final String value = resolveValues(context);
         // Get the appropriate storage
         final UniqueSingleStorage storage = context.getDefaultHeaders();
         // If the value is not "delete"
@@ -80,7 +80,7 @@ public class StoreDefaultHeader extends AbstractStoreDefaultItem
             if (optional.isPresent())
             {
                 final String actualKey = optional.get();
-                storage.getItems().remove(actualKey);
+                storage.remove(actualKey);
                 context.getWebClient().removeRequestHeader(actualKey);
             }
         }
@@ -33,7 +33,7 @@ public class StoreDefaultParameter extends AbstractStoreDefaultItem
     public void execute(final Context<?> context)
     {
         // Resolve values
-        super.resolveValues(context);
+        final String value = resolveValues(context);
         // Get the appropriate storage
         final DuplicateStorage storage = context.getDefaultParameters();
         // If the value is not "delete"
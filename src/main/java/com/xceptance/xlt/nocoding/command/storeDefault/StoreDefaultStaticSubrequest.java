@@ -35,7 +35,7 @@ public class StoreDefaultStaticSubrequest extends AbstractStoreDefaultItem
     public void execute(final Context<?> context)
     {
         // Resolve values
-        super.resolveValues(context);
+        final String value = resolveValues(context);
         // Get the appropriate storage
         final SingleStorage storage = context.getDefaultStatics();
         // If the value is not "delete"
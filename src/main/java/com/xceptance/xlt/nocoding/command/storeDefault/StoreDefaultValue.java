@@ -34,7 +34,7 @@ public class StoreDefaultValue extends AbstractStoreDefaultItem
     public void execute(final Context<?> context)
     {
         // Resolve values
-        super.resolveValues(context);
+        final String value = resolveValues(context);
         // Get the appropriate storage
         final DefaultKeyValueStorage storage = context.getDefaultItems();
         // If the value is not Constants.DELETE
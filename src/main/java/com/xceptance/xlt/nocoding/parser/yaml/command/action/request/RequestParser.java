@@ -56,6 +56,7 @@ public class RequestParser extends AbstractActionSubItemParser
         final StringWrapper encodeParameters = new StringWrapper();
         final StringWrapper body = new StringWrapper();
         final StringWrapper encodeBody = new StringWrapper();
+        final StringWrapper bodyFile = new StringWrapper();
         final List<NameValuePair> parameters = new ArrayList<>();
         final Map<String, String> headers = new HashMap<>();
         final Map<String, String> cookies = new LinkedHashMap<>();
@@ -98,6 +99,10 @@ public class RequestParser extends AbstractActionSubItemParser
                     encodeBody.setValue(YamlParserUtils.transformScalarNodeToString(item.getKeyNode().getStartMark(), item.getValueNode()));
                     break;
 
+                case Constants.BODYFILE:
+                    bodyFile.setValue(YamlParserUtils.transformScalarNodeToString(item.getKeyNode().getStartMark(), item.getValueNode()));
+                    break;
+
                 case Constants.PARAMETERS:
                     // Create a new ParameterParser that parses parameters
                     parameters.addAll(new ParameterParser().parse(item.getKeyNode().getStartMark(), item.getValueNode()));
@@ -119,6 +124,13 @@ public class RequestParser extends AbstractActionSubItemParser
             }
         });
 
+        // A request can only have one body
+        if (body.getValue() != null && bodyFile.getValue() != null)
+        {
+            throw new ParserException("Node", context, " contains both " + Constants.BODY + " and " + Constants.BODYFILE,
+                                      requestNode.getStartMark());
+        }
+
         // Create request out of the data
         final Request request = new Request(url.getValue());
         request.setHttpMethod(method.getValue());
@@ -129,6 +141,7 @@ public class RequestParser extends AbstractActionSubItemParser
         request.setCookies(cookies);
         request.setBody(body.getValue());
         request.setEncodeBody(encodeBody.getValue());
+        request.setBodyFile(bodyFile.getValue());
 
         // Print a simple debug string, so you can see what was parsed
         XltLogger.runTimeLogger.info(request.toSimpleDebugString());
@@ -3,6 +3,7 @@ package com.xceptance.xlt.nocoding.parser.yaml.command.action.response.extractor
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.PatternSyntaxException;
 
 import org.yaml.snakeyaml.error.Mark;
 import org.yaml.snakeyaml.nodes.Node;
@@ -14,6 +15,7 @@ import com.xceptance.xlt.nocoding.command.action.response.extractor.AbstractExtr
 import com.xceptance.xlt.nocoding.command.action.response.extractor.CookieExtractor;
 import com.xceptance.xlt.nocoding.command.action.response.extractor.HeaderExtractor;
 import com.xceptance.xlt.nocoding.command.action.response.extractor.RegexpExtractor;
+import com.xceptance.xlt.nocoding.command.action.response.extractor.jsonpath.JsonPathExtractor;
 import com.xceptance.xlt.nocoding.command.action.response.extractor.xpath.XpathExtractor;
 import com.xceptance.xlt.nocoding.parser.yaml.YamlParserUtils;
 import com.xceptance.xlt.nocoding.util.Constants;
@@ -87,14 +89,34 @@ public class ExtractorParser
                 extractor = new XpathExtractor(extractorExpression);
                 break;
 
+            case Constants.JSONPATH:
+                try
+                {
+                    extractor = new JsonPathExtractor(extractorExpression);
+                }
+                catch (final IllegalArgumentException e)
+                {
+                    throw new ParserException("Node", context, " contains an invalid " + Constants.JSONPATH + ": " + e.getMessage(),
+                                              nodeTuples.get(0).getKeyNode().getStartMark());
+                }
+                break;
+
             case Constants.REGEXP:
-                if (hasGroup)
+                try
                 {
-                    extractor = new RegexpExtractor(extractorExpression, map.get(Constants.GROUP));
+                    if (hasGroup)
+                    {
+                        extractor = new RegexpExtractor(extractorExpression, map.get(Constants.GROUP));
+                    }
+                    else
+                    {
+                        extractor = new RegexpExtractor(extractorExpression);
+                    }
                 }
-                else
+                catch (final PatternSyntaxException e)
                 {
-                    extractor = new RegexpExtractor(extractorExpression);
+                    throw new ParserException("Node", context, " contains an invalid " + Constants.REGEXP + ": " + e.getMessage(),
+                                              nodeTuples.get(0).getKeyNode().getStartMark());
                 }
                 break;
 
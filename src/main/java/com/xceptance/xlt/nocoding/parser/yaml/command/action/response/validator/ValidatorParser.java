@@ -1,5 +1,7 @@
 package com.xceptance.xlt.nocoding.parser.yaml.command.action.response.validator;
 
+import java.util.regex.PatternSyntaxException;
+
 import org.yaml.snakeyaml.error.Mark;
 import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.parser.ParserException;
@@ -48,7 +50,15 @@ public class ValidatorParser
         switch (identifier)
         {
             case Constants.MATCHES:
-                method = new MatchesValidator(validationExpression);
+                try
+                {
+                    method = new MatchesValidator(validationExpression);
+                }
+                catch (final PatternSyntaxException e)
+                {
+                    throw new ParserException("Node", context, " contains an invalid " + Constants.MATCHES + ": " + e.getMessage(),
+                                              node.getStartMark());
+                }
                 break;
 
             case Constants.TEXT:
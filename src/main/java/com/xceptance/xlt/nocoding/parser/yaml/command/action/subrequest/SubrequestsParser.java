@@ -12,6 +12,8 @@ import org.yaml.snakeyaml.parser.ParserException;
 
 import com.xceptance.xlt.nocoding.command.action.AbstractActionSubItem;
 import com.xceptance.xlt.nocoding.command.action.subrequest.AbstractSubrequest;
+import com.xceptance.xlt.nocoding.command.action.subrequest.ParallelXhrSubrequests;
+import com.xceptance.xlt.nocoding.command.action.subrequest.XhrSubrequest;
 import com.xceptance.xlt.nocoding.parser.yaml.YamlParserUtils;
 import com.xceptance.xlt.nocoding.parser.yaml.command.action.AbstractActionSubItemParser;
 import com.xceptance.xlt.nocoding.util.Constants;
@@ -26,7 +28,8 @@ public class SubrequestsParser extends AbstractActionSubItemParser
 
     /**
      * Parses the subrequest item in the action block to a list of {@link AbstractSubrequest}s. A subrequest item can
-     * consist of multiple subrequests.
+     * consist of multiple subrequests. If the item contains <code>Parallel: true</code>, all {@link XhrSubrequest}s of
+     * the item are grouped to a {@link ParallelXhrSubrequests} at the position of the first one.
      *
      * @param context
      *            The {@link Mark} of the surrounding {@link Node}/context.
@@ -45,6 +48,7 @@ public class SubrequestsParser extends AbstractActionSubItemParser
         }
         // Initialize Variables
         final List<AbstractSubrequest> subrequests = new ArrayList<>();
+        final boolean[] parallel = new boolean[1];
 
         final List<Node> subrequestItems = ((SequenceNode) subrequestNode).getValue();
         subrequestItems.forEach(subrequestWrapper -> {
@@ -71,6 +75,17 @@ public class SubrequestsParser extends AbstractActionSubItemParser
                         subrequests.add(new StaticSubrequestParser().parse(subrequestWrapper.getStartMark(), subrequest.getValueNode()));
                         break;
 
+                    case Constants.PARALLEL:
+                        final String value = YamlParserUtils.transformScalarNodeToString(subrequestWrapper.getStartMark(),
+                                                                                         subrequest.getValueNode());
+                        if (!value.equals("true") && !value.equals("false"))
+                        {
+                            throw new ParserException("Node", context, " must be true or false but is " + value,
+                                                      subrequest.getValueNode().getStartMark());
+                        }
+                        parallel[0] = Boolean.parseBoolean(value);
+                        break;
+
                     default:
                         throw new ParserException("Node", context, " contains an unknown item.", subrequest.getKeyNode().getStartMark());
                 }
@@ -80,9 +95,45 @@ public class SubrequestsParser extends AbstractActionSubItemParser
         // Create a new AbstractActionItem list
         final List<AbstractActionSubItem> actionItems = new ArrayList<>();
         // Add all subrequests to it
-        actionItems.addAll(subrequests);
+        if (parallel[0])
+        {
+            addParallel(subrequests, actionItems);
+        }
+        else
+        {
+            actionItems.addAll(subrequests);
+        }
         // Return the list with all subrequests
         return actionItems;
     }
 
+    /**
+     * Adds the subrequests to the action items, but groups all {@link XhrSubrequest}s to one
+     * {@link ParallelXhrSubrequests} at the position of the first <code>XhrSubrequest</code>.
+     *
+     * @param subrequests
+     *            The parsed subrequests
+     * @param actionItems
+     *            The list to add the subrequests to
+     */
+    private void addParallel(final List<AbstractSubrequest> subrequests, final List<AbstractActionSubItem> actionItems)
+    {
+        final List<XhrSubrequest> xhrSubrequests = new ArrayList<>();
+        for (final AbstractSubrequest subrequest : subrequests)
+        {
+            if (subrequest instanceof XhrSubrequest)
+            {
+                if (xhrSubrequests.isEmpty())
+                {
+                    actionItems.add(new ParallelXhrSubrequests(xhrSubrequests));
+                }
+                xhrSubrequests.add((XhrSubrequest) subrequest);
+            }
+            else
+            {
+                actionItems.add(subrequest);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,53 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.xceptance.xlt.nocoding.command.action.AbstractActionSubItem;
+
+/**
+ * The {@link AbstractActionSubItem}s of an action or subrequest together with the default request and response, via
+ * {@link ActionSubItemUtil#withDefaultItems(List)}. Since they only depend on the script, they are computed on the first
+ * call and reused afterwards, so the order is asserted only once.
+ */
+public class ActionSubItemPlan implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The items as specified in the script
+     */
+    private final List<AbstractActionSubItem> actionItems;
+
+    /**
+     * The items with the default request and response, or <code>null</code> if they were not computed yet
+     */
+    private volatile List<AbstractActionSubItem> plannedItems;
+
+    /**
+     * Creates a new {@link ActionSubItemPlan}.
+     *
+     * @param actionItems
+     *            The items as specified in the script
+     */
+    public ActionSubItemPlan(final List<AbstractActionSubItem> actionItems)
+    {
+        this.actionItems = actionItems;
+    }
+
+    /**
+     * @return An unmodifiable list with the specified and the default items
+     */
+    public List<AbstractActionSubItem> getItems()
+    {
+        List<AbstractActionSubItem> items = plannedItems;
+        if (items == null)
+        {
+            // Computing it twice does not hurt, since the result is always the same
+            items = ActionSubItemUtil.withDefaultItems(actionItems);
+            plannedItems = items;
+        }
+        return items;
+    }
+
+}
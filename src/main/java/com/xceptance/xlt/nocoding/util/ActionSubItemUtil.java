@@ -1,5 +1,7 @@
 package com.xceptance.xlt.nocoding.util;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import com.xceptance.xlt.nocoding.command.action.AbstractActionSubItem;
@@ -60,16 +62,32 @@ public class ActionSubItemUtil
         }
     }
 
+    /**
+     * Asserts the order of the {@link AbstractActionSubItem}s and creates a list, that contains them together with a
+     * default {@link Request} and default {@link Response} if none is specified. Since this only depends on the
+     * structure of the script, the result can be computed once and shared by all executions.
+     *
+     * @param actionItems
+     *            The list of {@link AbstractActionSubItem}s as specified in the script
+     * @return An unmodifiable list with the specified and the default items
+     */
+    public static List<AbstractActionSubItem> withDefaultItems(final List<AbstractActionSubItem> actionItems)
+    {
+        assertOrder(actionItems);
+        final List<AbstractActionSubItem> items = new ArrayList<>(actionItems.size() + 2);
+        items.addAll(actionItems);
+        fillDefaultData(items);
+        return Collections.unmodifiableList(items);
+    }
+
     /**
      * Adds a default {@link Request} and default {@link Response} if none is found in the list of
      * {@link AbstractActionSubItem}.
      *
      * @param actionItems
      *            The list of {@link AbstractActionSubItem}s to add the default items to
-     * @param context
-     *            The {@link Context} with the {@link DataStorage}.
      */
-    public static void fillDefaultData(final List<AbstractActionSubItem> actionItems, final Context<?> context)
+    public static void fillDefaultData(final List<AbstractActionSubItem> actionItems)
     {
         boolean hasRequest = false;
         boolean hasResponse = false;
@@ -94,6 +112,27 @@ public class ActionSubItemUtil
         }
     }
 
+    /**
+     * Returns the specified name, or the default name via {@link #getDefaultName(Context, String)}, if no name is
+     * specified.
+     *
+     * @param name
+     *            The name as specified in the script, may be <code>null</code>
+     * @param context
+     *            The Context with the {@link DataStorage}
+     * @param start
+     *            The String the defaultName should start with if no default name was defined
+     * @return The specified name or the default name
+     */
+    public static String getNameOrDefault(final String name, final Context<?> context, final String start)
+    {
+        if (name == null || name.isEmpty())
+        {
+            return getDefaultName(context, start);
+        }
+        return name;
+    }
+
     /**
      * Either gets a default name from {@link Context#getDefaultItems()} or calculates a name out of the
      * <code>start</code> and {@link Context#getActionIndex()}.
@@ -33,6 +33,8 @@ public class Constants
 
     public static final String ENCODEBODY = "Encode-Body";
 
+    public static final String BODYFILE = "Body-File";
+
     public static final String XHR = "Xhr";
 
     public static final String PARAMETERS = "Parameters";
@@ -43,6 +45,8 @@ public class Constants
 
     public static final String STATIC = "Static";
 
+    public static final String PARALLEL = "Parallel";
+
     public static final String COOKIES = "Cookies";
 
     public static final String HEADERS = "Headers";
@@ -67,6 +71,8 @@ public class Constants
 
     public static final String XPATH = "XPath";
 
+    public static final String JSONPATH = "JsonPath";
+
     public static final String REGEXP = "Regex";
 
     public static final String TEXT = "Text";
@@ -127,6 +133,7 @@ public class Constants
      * <li>{@link #HEADERS}
      * <li>{@link #BODY}
      * <li>{@link #ENCODEBODY}
+     * <li>{@link #BODYFILE}
      * </ul>
      */
     public final static Set<String> PERMITTEDREQUESTITEMS = new HashSet<>();
@@ -136,6 +143,7 @@ public class Constants
      * <ul>
      * <li>{@link #XHR}
      * <li>{@link #STATIC}
+     * <li>{@link #PARALLEL}
      * </ul>
      */
     public final static Set<String> PERMITTEDSUBREQUESTITEMS = new HashSet<>();
@@ -154,6 +162,7 @@ public class Constants
      * Supported selection modes:
      * <ul>
      * <li>{@link #XPATH}
+     * <li>{@link #JSONPATH}
      * <li>{@link #REGEXP}
      * <li>{@link #HEADER}
      * <li>{@link #COOKIE}
@@ -204,6 +213,7 @@ public class Constants
         PERMITTEDREQUESTITEMS.add(HEADERS);
         PERMITTEDREQUESTITEMS.add(BODY);
         PERMITTEDREQUESTITEMS.add(ENCODEBODY);
+        PERMITTEDREQUESTITEMS.add(BODYFILE);
         PERMITTEDREQUESTITEMS.add(COOKIES);
 
         PERMITTEDRESPONSEITEMS.add(HTTPCODE);
@@ -212,8 +222,10 @@ public class Constants
 
         PERMITTEDSUBREQUESTITEMS.add(XHR);
         PERMITTEDSUBREQUESTITEMS.add(STATIC);
+        PERMITTEDSUBREQUESTITEMS.add(PARALLEL);
 
         PERMITTEDEXTRACTIONMODE.add(XPATH);
+        PERMITTEDEXTRACTIONMODE.add(JSONPATH);
         PERMITTEDEXTRACTIONMODE.add(REGEXP);
         PERMITTEDEXTRACTIONMODE.add(HEADER);
         PERMITTEDEXTRACTIONMODE.add(COOKIE);
@@ -0,0 +1,314 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import com.xceptance.xlt.api.util.XltLogger;
+
+/**
+ * Caches a value, that is loaded from a file or URL, by the path of the file. Each file is loaded exactly once, even if
+ * many threads ask for it at the same time. Afterwards, the cached value is read without any locking.<br>
+ * Entries are identified by the file path and a stamp of the file, that consists of its modification time and length.
+ * If the stamp changes, the content hash of the file is compared and the file is loaded again if the content changed.
+ * This way, edited files are picked up without restarting the agent.
+ *
+ * @param <V>
+ *            The type of the values loaded from the files
+ */
+public class FileCache<V>
+{
+    /**
+     * Loads the value of a file.
+     *
+     * @param <V>
+     *            The type of the value
+     */
+    @FunctionalInterface
+    public interface Loader<V>
+    {
+        /**
+         * @param filePath
+         *            The path or URL to the file
+         * @return The value of the file
+         * @throws Exception
+         *             if the file cannot be read
+         */
+        V load(String filePath) throws Exception;
+    }
+
+    /**
+     * The kind of the cached files, e.g. "Script file", that is used in log messages
+     */
+    private final String description;
+
+    /**
+     * The cached values by their file path
+     */
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@link FileCache}.
+     *
+     * @param description
+     *            The kind of the cached files, e.g. "Script file", that is used in log messages
+     */
+    public FileCache(final String description)
+    {
+        this.description = description;
+    }
+
+    /**
+     * Gets the value of the specified file. If the file is not cached yet or changed since it was loaded, it is loaded
+     * with the specified {@link Loader}.
+     *
+     * @param filePath
+     *            The path or URL to the file
+     * @param loader
+     *            The loader to use for the file
+     * @param checkInterval
+     *            The minimum time in milliseconds between two checks if the file changed. A negative value disables the
+     *            check
+     * @return The value of the file
+     * @throws Exception
+     *             if the file cannot be read or loaded
+     */
+    public V get(final String filePath, final Loader<V> loader, final long checkInterval) throws Exception
+    {
+        Entry entry = entries.get(filePath);
+        if (entry == null)
+        {
+            final Entry newEntry = new Entry(filePath, loader, checkInterval);
+            entry = entries.putIfAbsent(filePath, newEntry);
+            if (entry == null)
+            {
+                entry = newEntry;
+            }
+        }
+        // Only one thread per interval verifies that the file did not change
+        else if (checkInterval >= 0 && entry.claimCheck(checkInterval) && entry.hasChanged())
+        {
+            final Entry newEntry = new Entry(filePath, loader, checkInterval);
+            if (entries.replace(filePath, entry, newEntry))
+            {
+                XltLogger.runTimeLogger.info(description + " changed, loading it again: " + filePath);
+                entry = newEntry;
+            }
+            else
+            {
+                entry = entries.get(filePath);
+            }
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void clear()
+    {
+        entries.clear();
+    }
+
+    /**
+     * A cached value together with the state of the file it was loaded from.
+     */
+    private class Entry
+    {
+        /**
+         * The path to the file
+         */
+        private final String filePath;
+
+        /**
+         * Loads the file exactly once
+         */
+        private final FutureTask<V> task;
+
+        /**
+         * The earliest time at which the file is checked for changes again
+         */
+        private final AtomicLong nextCheck;
+
+        /**
+         * The modification time and length of the file when it was last checked, or <code>null</code> if the file was
+         * not loaded yet
+         */
+        private volatile long[] stamp;
+
+        /**
+         * The content hash of the file when it was loaded
+         */
+        private volatile long hash;
+
+        private Entry(final String filePath, final Loader<V> loader, final long checkInterval)
+        {
+            this.filePath = filePath;
+            nextCheck = new AtomicLong(System.currentTimeMillis() + Math.max(checkInterval, 0));
+            task = new FutureTask<>(() -> {
+                // Only the thread that loads reads the state of the file, right before the load, so a change while
+                // loading is found by the next check
+                final long[] currentStamp = getStamp(filePath);
+                hash = getHash(filePath);
+                // Publish the stamp last, since it marks the hash as valid
+                stamp = currentStamp;
+                return loader.load(filePath);
+            });
+        }
+
+        /**
+         * Loads the file if this did not happen yet, and waits until the value is available.
+         *
+         * @return The value of the file
+         * @throws Exception
+         *             if loading the file failed
+         */
+        private V getValue() throws Exception
+        {
+            // Runs the task only if it didn't run yet, else returns immediately
+            task.run();
+            try
+            {
+                return task.get();
+            }
+            catch (final ExecutionException e)
+            {
+                // Do not cache failures, so the next attempt loads the file again
+                entries.remove(filePath, this);
+                final Throwable cause = e.getCause();
+                if (cause instanceof Exception)
+                {
+                    throw (Exception) cause;
+                }
+                throw (Error) cause;
+            }
+        }
+
+        /**
+         * Checks if the check interval elapsed and claims the check for the calling thread.
+         *
+         * @param checkInterval
+         *            The minimum time in milliseconds between two checks
+         * @return <code>true</code> if the calling thread should check the file, <code>false</code> otherwise
+         */
+        private boolean claimCheck(final long checkInterval)
+        {
+            final long next = nextCheck.get();
+            final long now = System.currentTimeMillis();
+            return now >= next && nextCheck.compareAndSet(next, now + checkInterval);
+        }
+
+        /**
+         * Checks if the file changed. The content hash is only computed, if the modification time or length changed.
+         *
+         * @return <code>true</code> if the content of the file changed, <code>false</code> otherwise
+         */
+        private boolean hasChanged()
+        {
+            final long[] stamp = this.stamp;
+            // The file is about to be loaded
+            if (stamp == null)
+            {
+                return false;
+            }
+            try
+            {
+                final long[] currentStamp = getStamp(filePath);
+                if (currentStamp[0] == stamp[0] && currentStamp[1] == stamp[1] && currentStamp[0] > 0)
+                {
+                    return false;
+                }
+                this.stamp = currentStamp;
+                return getHash(filePath) != hash;
+            }
+            catch (final IOException e)
+            {
+                XltLogger.runTimeLogger.warn("Failed to check " + description + " for changes: " + filePath + ", because " +
+                                             e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Opens the content of the file or URL, without caching the connection.
+     *
+     * @param filePath
+     *            The path or URL to the file
+     * @return The stream of the content, that has to be closed by the caller
+     * @throws IOException
+     */
+    public static InputStream openStream(final String filePath) throws IOException
+    {
+        return openConnection(filePath).getInputStream();
+    }
+
+    /**
+     * Gets the modification time and length of the file or URL.
+     *
+     * @param filePath
+     *            The path to the file
+     * @return An array with the modification time and the length, whereas the modification time is 0 if unknown
+     * @throws IOException
+     */
+    static long[] getStamp(final String filePath) throws IOException
+    {
+        final File file = new File(filePath);
+        if (file.exists())
+        {
+            return new long[]
+                {
+                    file.lastModified(), file.length()
+                };
+        }
+        final URLConnection connection = openConnection(filePath);
+        try (final InputStream stream = connection.getInputStream())
+        {
+            return new long[]
+                {
+                    connection.getLastModified(), connection.getContentLengthLong()
+                };
+        }
+    }
+
+    /**
+     * Computes the CRC32 checksum of the content of the file or URL.
+     *
+     * @param filePath
+     *            The path to the file
+     * @return The checksum of the content
+     * @throws IOException
+     */
+    static long getHash(final String filePath) throws IOException
+    {
+        final CRC32 checksum = new CRC32();
+        try (final InputStream stream = openStream(filePath))
+        {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) != -1)
+            {
+                checksum.update(buffer, 0, read);
+            }
+        }
+        return checksum.getValue();
+    }
+
+    private static URLConnection openConnection(final String filePath) throws IOException
+    {
+        final File file = new File(filePath);
+        final URLConnection connection = file.exists() ? file.toURI().toURL().openConnection() : new URL(filePath).openConnection();
+        // Do not keep jar files open
+        connection.setUseCaches(false);
+        return connection;
+    }
+
+}
@@ -0,0 +1,393 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map for HTTP headers, whose names are case-insensitive. Like {@link RecentKeyTreeMap}, it always keeps the most
+ * recent capitalization of a name. The headers are iterated in the order they were first added.<br>
+ * Since requests only have a few headers, the entries are stored in plain arrays. A small open addressing table with
+ * linear probing maps the case-insensitive hash of a name to its entry, so every operation only needs a single lookup.
+ */
+public class HeaderMap extends AbstractMap<String, String> implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private String[] keys;
+
+    private String[] values;
+
+    /**
+     * The case-insensitive hashes of the keys
+     */
+    private int[] hashes;
+
+    /**
+     * The lookup table, that holds the index of an entry plus one, or zero for an empty slot
+     */
+    private int[] table;
+
+    private int size;
+
+    /**
+     * The number of structural modifications, so iterators can fail fast
+     */
+    private int modifications;
+
+    private transient EntrySet entrySet;
+
+    /**
+     * Creates a new, empty {@link HeaderMap}.
+     */
+    public HeaderMap()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty {@link HeaderMap}, that can hold the specified number of headers without growing.
+     *
+     * @param capacity
+     *            The expected number of headers
+     */
+    public HeaderMap(final int capacity)
+    {
+        final int entries = Math.max(capacity, 1);
+        keys = new String[entries];
+        values = new String[entries];
+        hashes = new int[entries];
+        table = new int[tableSizeFor(entries)];
+    }
+
+    /**
+     * Creates a new {@link HeaderMap} with the headers of the specified map.
+     *
+     * @param headers
+     *            The headers to copy
+     */
+    public HeaderMap(final Map<String, String> headers)
+    {
+        this(headers.size());
+        putAll(headers);
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key)
+    {
+        return key instanceof String && indexOf((String) key, hash((String) key)) >= 0;
+    }
+
+    @Override
+    public String get(final Object key)
+    {
+        if (!(key instanceof String))
+        {
+            return null;
+        }
+        final int index = indexOf((String) key, hash((String) key));
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * Adds the header. If a header with the same case-insensitive name exists, its name and value are replaced, but it
+     * keeps its position.
+     */
+    @Override
+    public String put(final String key, final String value)
+    {
+        final int hash = hash(key);
+        final int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0)
+        {
+            final int index = table[slot] - 1;
+            if (hashes[index] == hash && keys[index].equalsIgnoreCase(key))
+            {
+                final String oldValue = values[index];
+                keys[index] = key;
+                values[index] = value;
+                return oldValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == keys.length)
+        {
+            grow();
+            return put(key, value);
+        }
+        keys[size] = key;
+        values[size] = value;
+        hashes[size] = hash;
+        table[slot] = ++size;
+        modifications++;
+        return null;
+    }
+
+    @Override
+    public String remove(final Object key)
+    {
+        if (!(key instanceof String))
+        {
+            return null;
+        }
+        final int index = indexOf((String) key, hash((String) key));
+        if (index < 0)
+        {
+            return null;
+        }
+        final String oldValue = values[index];
+        removeAt(index);
+        return oldValue;
+    }
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        Arrays.fill(table, 0);
+        size = 0;
+        modifications++;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet()
+    {
+        if (entrySet == null)
+        {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * @return The index of the entry with the key, or -1 if there is none
+     */
+    private int indexOf(final String key, final int hash)
+    {
+        final int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0)
+        {
+            final int index = table[slot] - 1;
+            if (hashes[index] == hash && keys[index].equalsIgnoreCase(key))
+            {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the entry at the index, moves the following entries forward and rebuilds the lookup table.
+     */
+    private void removeAt(final int index)
+    {
+        final int moved = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(values, index + 1, values, index, moved);
+        System.arraycopy(hashes, index + 1, hashes, index, moved);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        rebuildTable(table.length);
+        modifications++;
+    }
+
+    private void grow()
+    {
+        final int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        rebuildTable(tableSizeFor(capacity));
+    }
+
+    private void rebuildTable(final int tableSize)
+    {
+        if (table.length == tableSize)
+        {
+            Arrays.fill(table, 0);
+        }
+        else
+        {
+            table = new int[tableSize];
+        }
+        final int mask = tableSize - 1;
+        for (int index = 0; index < size; index++)
+        {
+            int slot = hashes[index] & mask;
+            while (table[slot] != 0)
+            {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index + 1;
+        }
+    }
+
+    /**
+     * @return The smallest power of two, that keeps the load factor of the table at most 0.5
+     */
+    private static int tableSizeFor(final int capacity)
+    {
+        return Integer.highestOneBit(capacity * 2 - 1) << 1;
+    }
+
+    /**
+     * Computes a hash, that is equal for names, that are equal ignoring case.
+     */
+    private static int hash(final String key)
+    {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++)
+        {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        }
+        // Spread the higher bits, since the table is small
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * The entries of the map in insertion order
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, String>>
+    {
+        @Override
+        public Iterator<Entry<String, String>> iterator()
+        {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        @Override
+        public void clear()
+        {
+            HeaderMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, String>>
+    {
+        private int next;
+
+        private int last = -1;
+
+        private int expectedModifications = modifications;
+
+        @Override
+        public boolean hasNext()
+        {
+            return next < size;
+        }
+
+        @Override
+        public Entry<String, String> next()
+        {
+            if (expectedModifications != modifications)
+            {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size)
+            {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new HeaderEntry(last);
+        }
+
+        @Override
+        public void remove()
+        {
+            if (last < 0)
+            {
+                throw new IllegalStateException();
+            }
+            if (expectedModifications != modifications)
+            {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModifications = modifications;
+        }
+    }
+
+    /**
+     * An entry, that reads and writes through to the map
+     */
+    private final class HeaderEntry implements Entry<String, String>
+    {
+        private final int index;
+
+        private HeaderEntry(final int index)
+        {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey()
+        {
+            return keys[index];
+        }
+
+        @Override
+        public String getValue()
+        {
+            return values[index];
+        }
+
+        @Override
+        public String setValue(final String value)
+        {
+            final String oldValue = values[index];
+            values[index] = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (!(o instanceof Entry))
+            {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) o;
+            return getKey().equals(entry.getKey()) && (getValue() == null ? entry.getValue() == null : getValue().equals(entry.getValue()));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return getKey().hashCode() ^ (getValue() == null ? 0 : getValue().hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
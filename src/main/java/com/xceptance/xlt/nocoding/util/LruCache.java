@@ -0,0 +1,131 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe cache, that holds at most a maximum number of values. When it is full, the least recently used quarter
+ * of the values is removed, so the cost of the eviction is shared by many lookups. Values that are looked up again and
+ * again stay cached, even if many values are only looked up once.<br>
+ * Lookups do not lock. The time of the last use is a logical time, that only advances when a value is added, so a
+ * frequently used value is not written by every thread.
+ *
+ * @param <K>
+ *            The type of the keys
+ * @param <V>
+ *            The type of the values
+ */
+public class LruCache<K, V>
+{
+    private final int maxSize;
+
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The logical time of the cache, that advances with every added value
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Creates a new {@link LruCache}.
+     *
+     * @param maxSize
+     *            The maximum number of cached values
+     */
+    public LruCache(final int maxSize)
+    {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param key
+     *            The key of the value
+     * @return The cached value, or <code>null</code> if it is not cached
+     */
+    public V get(final K key)
+    {
+        final Entry<V> entry = entries.get(key);
+        if (entry == null)
+        {
+            return null;
+        }
+        final long now = clock.get();
+        if (entry.lastUse != now)
+        {
+            entry.lastUse = now;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Adds the value, if no value is cached for the key yet. If the cache is full, the least recently used values are
+     * removed first.
+     *
+     * @param key
+     *            The key of the value
+     * @param value
+     *            The value
+     */
+    public void put(final K key, final V value)
+    {
+        if (entries.size() >= maxSize)
+        {
+            evict();
+        }
+        entries.putIfAbsent(key, new Entry<>(value, clock.incrementAndGet()));
+    }
+
+    /**
+     * @return The number of cached values
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Removes the least recently used quarter of the values.
+     */
+    private synchronized void evict()
+    {
+        if (entries.size() < maxSize)
+        {
+            return;
+        }
+        final long[] lastUses = new long[entries.size()];
+        int count = 0;
+        for (final Entry<V> entry : entries.values())
+        {
+            if (count == lastUses.length)
+            {
+                break;
+            }
+            lastUses[count++] = entry.lastUse;
+        }
+        if (count == 0)
+        {
+            return;
+        }
+        Arrays.sort(lastUses, 0, count);
+        final long threshold = lastUses[count / 4];
+        entries.values().removeIf(entry -> entry.lastUse <= threshold);
+    }
+
+    /**
+     * A cached value and the logical time of its last use
+     */
+    private static class Entry<V>
+    {
+        private final V value;
+
+        private volatile long lastUse;
+
+        private Entry(final V value, final long lastUse)
+        {
+            this.value = value;
+            this.lastUse = lastUse;
+        }
+    }
+}
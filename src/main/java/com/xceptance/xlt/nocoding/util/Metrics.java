@@ -0,0 +1,245 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.xceptance.xlt.api.engine.CustomValue;
+import com.xceptance.xlt.api.engine.DataManager;
+import com.xceptance.xlt.api.engine.Session;
+
+/**
+ * Measures the time the tool itself spends on its hot paths, like resolving variables, extracting or loading static
+ * content, so a slow agent can be told apart from a slow target system. The times and the number of calls are
+ * accumulated per name and reported as custom values via {@link #report()}, where every name is prefixed with the
+ * prefix in the properties.<br>
+ * Measuring is disabled by default. Then {@link #start()} and {@link #stop(String, long)} only check a flag. Since
+ * parallel subrequests and static downloads measure with the same instance, the accumulators are thread-safe.<br>
+ * Additionally, the hits and misses of the caches shared by all users are reported. Every report contains the increase
+ * since the previous report of any user, so the sum of all reported values is the total.
+ */
+public class Metrics
+{
+    public static final String SCRIPT = "Script";
+
+    public static final String RESOLVESTRING = "ResolveString";
+
+    public static final String EXTRACT = "Extract";
+
+    public static final String VALIDATE = "Validate";
+
+    public static final String LOADSTATICS = "LoadStatics";
+
+    /**
+     * The counters of the caches shared by all users
+     */
+    private static final SharedCounter[] SHARED_COUNTERS =
+        {
+            new SharedCounter("PatternCache.Hits", () -> PatternCache.getInstance().getHits()),
+            new SharedCounter("PatternCache.Misses", () -> PatternCache.getInstance().getMisses()),
+            new SharedCounter("XPathCache.Hits", XPathCache::getHits),
+            new SharedCounter("XPathCache.Misses", XPathCache::getMisses)
+        };
+
+    /**
+     * The instance, that does not measure anything
+     */
+    public static final Metrics DISABLED = new Metrics(null);
+
+    /**
+     * The prefix of all reported names, or <code>null</code> if measuring is disabled
+     */
+    private final String prefix;
+
+    /**
+     * The accumulated measurements by their name
+     */
+    private final ConcurrentMap<String, Measurement> measurements = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@link Metrics}, that reports its measurements with the prefix.
+     *
+     * @param prefix
+     *            The prefix of all reported names, or <code>null</code> to disable measuring
+     */
+    public Metrics(final String prefix)
+    {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Creates a new {@link Metrics} if measuring is enabled in the properties.
+     *
+     * @param propertyAdmin
+     *            The {@link NoCodingPropertyAdmin} to access the properties with
+     * @return A new {@link Metrics} with the prefix in the properties, or {@link #DISABLED}
+     */
+    public static Metrics fromProperties(final NoCodingPropertyAdmin propertyAdmin)
+    {
+        if (!propertyAdmin.getPropertyByKey(NoCodingPropertyAdmin.METRICS, NoCodingPropertyAdmin.METRICS_DEFAULT))
+        {
+            return DISABLED;
+        }
+        final String prefix = propertyAdmin.getPropertyByKey(NoCodingPropertyAdmin.METRICSPREFIX,
+                                                             NoCodingPropertyAdmin.METRICSPREFIX_DEFAULT);
+        return new Metrics(prefix);
+    }
+
+    public boolean isEnabled()
+    {
+        return prefix != null;
+    }
+
+    /**
+     * Starts a measurement.
+     *
+     * @return The start of the measurement, that is passed to {@link #stop(String, long)}
+     */
+    public long start()
+    {
+        return isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Stops a measurement and adds it to the measurements with the name.
+     *
+     * @param name
+     *            The name of the measurement
+     * @param start
+     *            The value returned by {@link #start()}
+     */
+    public void stop(final String name, final long start)
+    {
+        if (isEnabled())
+        {
+            record(name, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Stops a measurement and adds it to the measurements of the category and the simple name of the type, e.g.
+     * "Extract.RegexpExtractor".
+     *
+     * @param category
+     *            The category of the measurement
+     * @param type
+     *            The class, whose simple name is appended to the category
+     * @param start
+     *            The value returned by {@link #start()}
+     */
+    public void stop(final String category, final Class<?> type, final long start)
+    {
+        if (isEnabled())
+        {
+            final long duration = System.nanoTime() - start;
+            record(category + "." + type.getSimpleName(), duration);
+        }
+    }
+
+    /**
+     * @param name
+     *            The name of the measurement
+     * @return How often the name was measured since the last report
+     */
+    public long getCount(final String name)
+    {
+        final Measurement measurement = measurements.get(name);
+        return measurement == null ? 0 : measurement.count.sum();
+    }
+
+    /**
+     * Reports the accumulated time in milliseconds as custom value with the prefixed name, and the number of calls as
+     * custom value with the prefixed name and ".Count", for every name measured since the last report. Afterwards,
+     * all measurements start at zero again. The increase of the shared cache counters is reported as well.
+     */
+    public void report()
+    {
+        if (!isEnabled())
+        {
+            return;
+        }
+        final DataManager dataManager = Session.getCurrent().getDataManager();
+        for (final SharedCounter counter : SHARED_COUNTERS)
+        {
+            final long increase = counter.takeIncrease();
+            if (increase > 0)
+            {
+                final CustomValue value = new CustomValue(prefix + counter.name);
+                value.setValue(increase);
+                dataManager.logDataRecord(value);
+            }
+        }
+        for (final Map.Entry<String, Measurement> entry : measurements.entrySet())
+        {
+            final long count = entry.getValue().count.sumThenReset();
+            final long nanos = entry.getValue().nanos.sumThenReset();
+            if (count == 0)
+            {
+                continue;
+            }
+            final CustomValue time = new CustomValue(prefix + entry.getKey());
+            time.setValue(nanos / 1000000.0);
+            dataManager.logDataRecord(time);
+
+            final CustomValue calls = new CustomValue(prefix + entry.getKey() + ".Count");
+            calls.setValue(count);
+            dataManager.logDataRecord(calls);
+        }
+    }
+
+    private void record(final String name, final long duration)
+    {
+        Measurement measurement = measurements.get(name);
+        if (measurement == null)
+        {
+            measurement = measurements.computeIfAbsent(name, key -> new Measurement());
+        }
+        measurement.count.increment();
+        measurement.nanos.add(duration);
+    }
+
+    /**
+     * A counter shared by all users, whose increase is reported by the next report of any user
+     */
+    static class SharedCounter
+    {
+        private final String name;
+
+        private final LongSupplier counter;
+
+        /**
+         * The value of the counter at the previous report
+         */
+        private final AtomicLong reported = new AtomicLong();
+
+        SharedCounter(final String name, final LongSupplier counter)
+        {
+            this.name = name;
+            this.counter = counter;
+        }
+
+        /**
+         * @return The increase of the counter since the previous call, whereas a reset counter counts from zero
+         */
+        long takeIncrease()
+        {
+            final long current = counter.getAsLong();
+            final long previous = reported.getAndSet(current);
+            return current >= previous ? current - previous : current;
+        }
+    }
+
+    /**
+     * The accumulated number of calls and time of one name
+     */
+    private static class Measurement
+    {
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.xceptance.xlt.nocoding.util;
 
 import java.text.MessageFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.xceptance.xlt.api.util.XltLogger;
 import com.xceptance.xlt.api.util.XltProperties;
@@ -15,6 +17,26 @@ public class NoCodingPropertyAdmin
 {
     private final XltProperties xltProperties;
 
+    /**
+     * The values of the properties, that were already looked up, or <code>null</code> if lookups are not cached
+     */
+    private final ConcurrentMap<String, String> cachedProperties;
+
+    /**
+     * Whether redirects are enabled, once it was read from the properties and lookups are cached
+     */
+    private volatile Boolean redirectEnabled;
+
+    /**
+     * Marks a property, that is not defined, in {@link #cachedProperties}
+     */
+    private static final String UNDEFINED = new String();
+
+    /**
+     * The maximum amount of properties in {@link #cachedProperties}
+     */
+    private static final int MAX_CACHE_SIZE = 10000;
+
     public static final String REDIRECTENABLED = "com.xceptance.xlt.nocoding.redirect";
 
     public static final String FILENAME = "com.xceptance.xlt.nocoding.filename";
@@ -25,8 +47,26 @@ public class NoCodingPropertyAdmin
 
     public static final String DOWNLOADTHREADS = "com.xceptance.xlt.staticContent.downloadThreads";
 
+    public static final String DOWNLOADTHREADSPERHOST = "com.xceptance.xlt.nocoding.staticContent.downloadThreadsPerHost";
+
+    public static final String SKIPUNUSEDSTORES = "com.xceptance.xlt.nocoding.skipUnusedStores";
+
+    public static final String SKIPUNNEEDEDPAGES = "com.xceptance.xlt.nocoding.skipUnneededPages";
+
+    public static final String LIGHTWEIGHTXPATH = "com.xceptance.xlt.nocoding.lightweightXpath";
+
+    public static final String SHAREDVARIABLES = "com.xceptance.xlt.nocoding.sharedVariables";
+
+    public static final String SCRIPTCHECKINTERVAL = "com.xceptance.xlt.nocoding.scriptCheckInterval";
+
+    public static final String METRICS = "com.xceptance.xlt.nocoding.metrics";
+
+    public static final String METRICSPREFIX = "com.xceptance.xlt.nocoding.metrics.prefix";
+
     public static final String MODE = "com.xceptance.xlt.nocoding.mode";
 
+    public static final String REUSECONTEXT = "com.xceptance.xlt.nocoding.reuseContext";
+
     public static final String LIGHTWEIGHT = "light";
 
     public static final String DOM = "dom";
@@ -37,9 +77,40 @@ public class NoCodingPropertyAdmin
 
     public static final String DIRECTORY_DEFAULT = "./config/data/";
 
+    public static final long SCRIPTCHECKINTERVAL_DEFAULT = 10000;
+
+    public static final boolean REUSECONTEXT_DEFAULT = false;
+
+    public static final int DOWNLOADTHREADSPERHOST_DEFAULT = 0;
+
+    public static final boolean SKIPUNUSEDSTORES_DEFAULT = false;
+
+    public static final boolean SKIPUNNEEDEDPAGES_DEFAULT = false;
+
+    public static final boolean LIGHTWEIGHTXPATH_DEFAULT = false;
+
+    public static final boolean METRICS_DEFAULT = false;
+
+    public static final String METRICSPREFIX_DEFAULT = "NoCoding.";
+
     public NoCodingPropertyAdmin(final XltProperties xltProperties)
+    {
+        this(xltProperties, false);
+    }
+
+    /**
+     * Creates a new {@link NoCodingPropertyAdmin}.
+     *
+     * @param xltProperties
+     *            The properties to use - normally {@link XltProperties#getInstance()}
+     * @param cacheLookups
+     *            Whether values of properties are only looked up once. Only use this if the properties do not change
+     *            anymore, like during a load test.
+     */
+    public NoCodingPropertyAdmin(final XltProperties xltProperties, final boolean cacheLookups)
     {
         this.xltProperties = xltProperties;
+        cachedProperties = cacheLookups ? new ConcurrentHashMap<>() : null;
     }
 
     /**
@@ -55,23 +126,48 @@ public class NoCodingPropertyAdmin
 
     private void setRedirectEnabled(final XltWebClient webClient)
     {
-        final String property = getPropertyByKey(REDIRECTENABLED, "true");
-
-        if (property.equalsIgnoreCase("true") || property.equalsIgnoreCase("false"))
-        {
-            final boolean bool = Boolean.valueOf(property);
-            webClient.getOptions().setRedirectEnabled(bool);
-            XltLogger.runTimeLogger.debug(getConfigWebClient("Redirect", String.valueOf(bool)));
-        }
-        else
+        Boolean bool = redirectEnabled;
+        if (bool == null)
         {
-            throw new IllegalArgumentException(getIllegalPropertyValue(property, REDIRECTENABLED));
+            final String property = getPropertyByKey(REDIRECTENABLED, "true");
+
+            if (property.equalsIgnoreCase("true") || property.equalsIgnoreCase("false"))
+            {
+                bool = Boolean.valueOf(property);
+                if (cachedProperties != null)
+                {
+                    redirectEnabled = bool;
+                }
+            }
+            else
+            {
+                throw new IllegalArgumentException(getIllegalPropertyValue(property, REDIRECTENABLED));
+            }
         }
+        webClient.getOptions().setRedirectEnabled(bool);
+        XltLogger.runTimeLogger.debug(getConfigWebClient("Redirect", String.valueOf(bool)));
     }
 
     public String getPropertyByKey(final String key)
     {
-        return xltProperties.getProperty(key);
+        if (cachedProperties == null)
+        {
+            return xltProperties.getProperty(key);
+        }
+        String value = cachedProperties.get(key);
+        if (value == null)
+        {
+            value = xltProperties.getProperty(key);
+            if (value == null)
+            {
+                value = UNDEFINED;
+            }
+            if (cachedProperties.size() < MAX_CACHE_SIZE)
+            {
+                cachedProperties.putIfAbsent(key, value);
+            }
+        }
+        return value == UNDEFINED ? null : value;
     }
 
     public String getPropertyByKey(final String key, final String defaultValue)
@@ -0,0 +1,147 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import com.xceptance.xlt.api.util.XltLogger;
+import com.xceptance.xlt.nocoding.util.resolver.VariableTemplate;
+
+/**
+ * Caches compiled {@link Pattern}s by their regular expression, so every distinct expression is only compiled once
+ * for all users. Since expressions with variables can resolve to an unbounded number of values, the cache holds at
+ * most {@link #MAX_SIZE} patterns. If it is full, arbitrary patterns are removed.<br>
+ * The number of hits and misses is counted and reported via {@link Metrics}, so the effectiveness of the cache can be
+ * checked.
+ */
+public class PatternCache
+{
+    /**
+     * The maximum number of cached patterns
+     */
+    public static final int MAX_SIZE = 1000;
+
+    /**
+     * The single instance of the {@link PatternCache}
+     */
+    private static final PatternCache INSTANCE = new PatternCache(MAX_SIZE);
+
+    /**
+     * The compiled patterns by their regular expression
+     */
+    private final ConcurrentMap<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a new {@link PatternCache}.
+     *
+     * @param maxSize
+     *            The maximum number of cached patterns
+     */
+    PatternCache(final int maxSize)
+    {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return The instance of the {@link PatternCache}
+     */
+    public static PatternCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the compiled {@link Pattern} of the regular expression, and compiles it, if it is not cached yet.
+     *
+     * @param regex
+     *            The regular expression
+     * @return The compiled <code>Pattern</code>
+     * @throws java.util.regex.PatternSyntaxException
+     *             If the regular expression is invalid
+     */
+    public Pattern getPattern(final String regex)
+    {
+        Pattern pattern = patterns.get(regex);
+        if (pattern != null)
+        {
+            hits.incrementAndGet();
+            return pattern;
+        }
+
+        misses.incrementAndGet();
+        pattern = Pattern.compile(regex);
+        // Make room for the new pattern
+        final Iterator<String> iterator = patterns.keySet().iterator();
+        while (patterns.size() >= maxSize && iterator.hasNext())
+        {
+            iterator.next();
+            iterator.remove();
+        }
+        final Pattern existingPattern = patterns.putIfAbsent(regex, pattern);
+        XltLogger.runTimeLogger.debug("Compiled pattern: " + regex);
+        return existingPattern != null ? existingPattern : pattern;
+    }
+
+    /**
+     * Gets the compiled {@link Pattern} of the regular expression, if resolving it does not change it. This way, static
+     * expressions can be compiled, when the script is loaded. Expressions with variables or single quotes have to be
+     * resolved first, since resolving removes pairs of single quotes.
+     *
+     * @param regex
+     *            The regular expression, that might contain variables
+     * @return The compiled <code>Pattern</code>, or <code>null</code> if the expression is <code>null</code> or
+     *         changes when it is resolved
+     * @throws java.util.regex.PatternSyntaxException
+     *             If the regular expression is invalid
+     */
+    public Pattern getStaticPattern(final String regex)
+    {
+        if (regex == null || !VariableTemplate.isConstant(regex))
+        {
+            return null;
+        }
+        return getPattern(regex);
+    }
+
+    /**
+     * @return The number of lookups, that found a compiled pattern
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of lookups, that had to compile the pattern
+     */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of cached patterns
+     */
+    public int size()
+    {
+        return patterns.size();
+    }
+
+    /**
+     * Removes all patterns and resets the counters.
+     */
+    public void clear()
+    {
+        patterns.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+}
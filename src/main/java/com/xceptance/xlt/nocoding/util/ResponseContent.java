@@ -0,0 +1,48 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+import org.apache.commons.io.input.BOMInputStream;
+
+import com.gargoylesoftware.htmlunit.WebResponse;
+
+/**
+ * Provides access to the content of a {@link WebResponse} as a stream of characters, so large responses can be
+ * processed without creating a string of the whole content.
+ */
+public final class ResponseContent
+{
+    private ResponseContent()
+    {
+    }
+
+    /**
+     * Opens a {@link Reader} on the content of the response. Like {@link WebResponse#getContentAsString()}, a byte
+     * order mark takes precedence over the charset of the response.
+     *
+     * @param webResponse
+     *            The <code>WebResponse</code> to read
+     * @return The <code>Reader</code>, that has to be closed by the caller
+     * @throws IOException
+     *             If the content cannot be read
+     */
+    public static Reader openReader(final WebResponse webResponse) throws IOException
+    {
+        final InputStream inputStream = webResponse.getContentAsStreamWithBomIfApplicable();
+        if (inputStream == null)
+        {
+            return new InputStreamReader(new ByteArrayInputStream(new byte[0]), webResponse.getContentCharset());
+        }
+        Charset charset = webResponse.getContentCharset();
+        if (inputStream instanceof BOMInputStream && ((BOMInputStream) inputStream).hasBOM())
+        {
+            charset = Charset.forName(((BOMInputStream) inputStream).getBOMCharsetName());
+        }
+        return new InputStreamReader(inputStream, charset);
+    }
+}
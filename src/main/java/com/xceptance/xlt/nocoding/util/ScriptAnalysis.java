@@ -0,0 +1,375 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.gargoylesoftware.htmlunit.util.NameValuePair;
+import com.xceptance.xlt.api.util.XltLogger;
+import com.xceptance.xlt.nocoding.command.Command;
+import com.xceptance.xlt.nocoding.command.action.AbstractActionSubItem;
+import com.xceptance.xlt.nocoding.command.action.Action;
+import com.xceptance.xlt.nocoding.command.action.request.Request;
+import com.xceptance.xlt.nocoding.command.action.response.extractor.xpath.XpathExtractor;
+import com.xceptance.xlt.nocoding.command.action.response.store.AbstractResponseStore;
+import com.xceptance.xlt.nocoding.command.action.subrequest.ParallelXhrSubrequests;
+import com.xceptance.xlt.nocoding.command.action.subrequest.XhrSubrequest;
+import com.xceptance.xlt.nocoding.command.store.Store;
+import com.xceptance.xlt.nocoding.util.context.PageModel;
+import com.xceptance.xlt.nocoding.util.resolver.VariableTemplate;
+
+/**
+ * Analyzes which {@link Command}s of a script produce variables and which variables are referenced via "${...}". The
+ * analysis is done once per parsed script and is shared like the script itself.<br>
+ * The analysis is used to
+ * <ul>
+ * <li>find extractions, whose variable is never referenced, so they can be skipped at runtime, and</li>
+ * <li>find groups of {@link ParallelXhrSubrequests}, where the request of a subrequest references a variable, that an
+ * earlier subrequest of the group stores. Such a group cannot send its requests at once.</li>
+ * <li>find the {@link PageModel}, that each {@link Action} needs. Only actions with XPath extractions need a page.</li>
+ * </ul>
+ * If the name of a referenced variable is built from another variable, e.g. "${${name}_id}", the referenced variables
+ * cannot be known before the execution. In this case, every variable is considered to be used.
+ */
+public class ScriptAnalysis
+{
+    /**
+     * The package of all classes, whose fields are searched for references
+     */
+    private static final String PACKAGE = "com.xceptance.xlt.nocoding.";
+
+    /**
+     * The analyzed script
+     */
+    private final List<Command> script;
+
+    /**
+     * The {@link Store}s and {@link AbstractResponseStore}s by the name of the variable they produce
+     */
+    private final Map<String, List<Object>> producers = new HashMap<>();
+
+    /**
+     * The names of all referenced variables
+     */
+    private final Set<String> consumedVariables = new HashSet<>();
+
+    /**
+     * Whether the name of a referenced variable is built from another variable
+     */
+    private boolean dynamicReferences;
+
+    /**
+     * The extractions, whose variable is never referenced
+     */
+    private final Set<AbstractResponseStore> unusedStores = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * The groups of parallel subrequests, that depend on each other
+     */
+    private final Set<ParallelXhrSubrequests> dependentGroups = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * The page model, that each action of the script needs
+     */
+    private final Map<Action, PageModel> pageModels = new IdentityHashMap<>();
+
+    /**
+     * Creates a new {@link ScriptAnalysis} of the script.
+     *
+     * @param script
+     *            The list of {@link Command}s to analyze
+     */
+    public ScriptAnalysis(final List<Command> script)
+    {
+        this.script = script;
+
+        final List<ParallelXhrSubrequests> groups = new ArrayList<>();
+        walk(script, object -> {
+            if (object instanceof Store)
+            {
+                final Store store = (Store) object;
+                // "Store: Delete" removes all variables
+                if (!(Constants.STORE.equals(store.getVariableName()) && Constants.DELETE.equals(store.getValue())))
+                {
+                    addProducer(store.getVariableName(), store);
+                }
+            }
+            else if (object instanceof AbstractResponseStore)
+            {
+                addProducer(((AbstractResponseStore) object).getVariableName(), object);
+            }
+            else if (object instanceof ParallelXhrSubrequests)
+            {
+                groups.add((ParallelXhrSubrequests) object);
+            }
+            // The variables in a body file are only known at runtime
+            else if (object instanceof Request && ((Request) object).getBodyFile() != null)
+            {
+                dynamicReferences = true;
+            }
+        }, value -> dynamicReferences |= !collectVariableNames(value, consumedVariables));
+
+        // Find extractions, that are never referenced
+        if (!dynamicReferences)
+        {
+            for (final Map.Entry<String, List<Object>> entry : producers.entrySet())
+            {
+                if (!consumedVariables.contains(entry.getKey()))
+                {
+                    for (final Object producer : entry.getValue())
+                    {
+                        if (producer instanceof AbstractResponseStore)
+                        {
+                            unusedStores.add((AbstractResponseStore) producer);
+                            XltLogger.runTimeLogger.info("Variable \"" + entry.getKey() + "\" is extracted, but never used");
+                        }
+                    }
+                }
+            }
+        }
+
+        // Find the actions, that need a page
+        for (final Command command : script)
+        {
+            if (command instanceof Action)
+            {
+                final boolean[] needsPage = new boolean[1];
+                walk(command, object -> needsPage[0] |= object instanceof XpathExtractor, value -> {
+                });
+                pageModels.put((Action) command, needsPage[0] ? PageModel.SGML_PAGE : PageModel.WEB_RESPONSE);
+            }
+        }
+
+        // Find parallel subrequests, whose requests depend on the variables of earlier subrequests
+        for (final ParallelXhrSubrequests group : groups)
+        {
+            if (!isIndependent(group.getSubrequests()))
+            {
+                dependentGroups.add(group);
+                XltLogger.runTimeLogger.warn("Parallel subrequests " + getNames(group.getSubrequests())
+                                             + " depend on each other and are executed one after another");
+            }
+        }
+    }
+
+    /**
+     * Checks if the request of every subrequest does not reference a variable, that an earlier subrequest stores.
+     *
+     * @param subrequests
+     *            The subrequests to check
+     * @return <code>true</code> if the requests can be sent at once, <code>false</code> otherwise
+     */
+    private boolean isIndependent(final List<XhrSubrequest> subrequests)
+    {
+        final Set<String> producedVariables = new HashSet<>();
+        for (final XhrSubrequest subrequest : subrequests)
+        {
+            final List<AbstractActionSubItem> actionItems = subrequest.getActionItems();
+            if (!actionItems.isEmpty())
+            {
+                final Set<String> requestVariables = new HashSet<>();
+                final boolean[] dynamic = new boolean[1];
+                walk(actionItems.get(0), object -> dynamic[0] |= object instanceof Request && ((Request) object).getBodyFile() != null,
+                     value -> dynamic[0] |= !collectVariableNames(value, requestVariables));
+                if ((dynamic[0] && !producedVariables.isEmpty()) || !Collections.disjoint(requestVariables, producedVariables))
+                {
+                    return false;
+                }
+            }
+            walk(subrequest, object -> {
+                if (object instanceof Store)
+                {
+                    producedVariables.add(((Store) object).getVariableName());
+                }
+                else if (object instanceof AbstractResponseStore)
+                {
+                    producedVariables.add(((AbstractResponseStore) object).getVariableName());
+                }
+            }, value -> {
+            });
+        }
+        return true;
+    }
+
+    private void addProducer(final String variableName, final Object producer)
+    {
+        producers.computeIfAbsent(variableName, name -> new ArrayList<>()).add(producer);
+    }
+
+    private static List<String> getNames(final List<XhrSubrequest> subrequests)
+    {
+        final List<String> names = new ArrayList<>(subrequests.size());
+        for (final XhrSubrequest subrequest : subrequests)
+        {
+            names.add(subrequest.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Adds the names of all variables referenced by the value to the set.
+     *
+     * @param value
+     *            The value to search for references
+     * @param variableNames
+     *            The set to add the names to
+     * @return <code>false</code> if the name of a variable is built from another variable, <code>true</code> otherwise
+     */
+    private static boolean collectVariableNames(final String value, final Set<String> variableNames)
+    {
+        if (value.indexOf('$') < 0)
+        {
+            return true;
+        }
+        return VariableTemplate.of(value).collectVariableNames(variableNames);
+    }
+
+    /**
+     * Visits every object and every string, that can be reached from the root via collections, maps,
+     * {@link NameValuePair}s and the fields of the classes of this library.
+     *
+     * @param root
+     *            The object to start at
+     * @param objectVisitor
+     *            Visits every object of this library
+     * @param stringVisitor
+     *            Visits every string
+     */
+    private static void walk(final Object root, final Consumer<Object> objectVisitor, final Consumer<String> stringVisitor)
+    {
+        walk(root, objectVisitor, stringVisitor, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private static void walk(final Object object, final Consumer<Object> objectVisitor, final Consumer<String> stringVisitor,
+                             final Set<Object> visited)
+    {
+        if (object == null)
+        {
+            return;
+        }
+        if (object instanceof String)
+        {
+            stringVisitor.accept((String) object);
+        }
+        else if (object instanceof NameValuePair)
+        {
+            stringVisitor.accept(((NameValuePair) object).getName());
+            stringVisitor.accept(((NameValuePair) object).getValue());
+        }
+        else if (!visited.add(object))
+        {
+            return;
+        }
+        else if (object instanceof Collection)
+        {
+            for (final Object element : (Collection<?>) object)
+            {
+                walk(element, objectVisitor, stringVisitor, visited);
+            }
+        }
+        else if (object instanceof Map)
+        {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet())
+            {
+                walk(entry.getKey(), objectVisitor, stringVisitor, visited);
+                walk(entry.getValue(), objectVisitor, stringVisitor, visited);
+            }
+        }
+        else if (object.getClass().getName().startsWith(PACKAGE))
+        {
+            objectVisitor.accept(object);
+            for (Class<?> clazz = object.getClass(); clazz != null && clazz.getName().startsWith(PACKAGE); clazz = clazz.getSuperclass())
+            {
+                for (final Field field : clazz.getDeclaredFields())
+                {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive())
+                    {
+                        try
+                        {
+                            field.setAccessible(true);
+                            walk(field.get(object), objectVisitor, stringVisitor, visited);
+                        }
+                        catch (final ReflectiveOperationException | RuntimeException e)
+                        {
+                            throw new IllegalStateException("Cannot analyze " + clazz.getName() + "." + field.getName(), e);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public List<Command> getScript()
+    {
+        return script;
+    }
+
+    /**
+     * @param variableName
+     *            The name of the variable
+     * @return The {@link Store}s and {@link AbstractResponseStore}s, that produce the variable
+     */
+    public List<Object> getProducers(final String variableName)
+    {
+        final List<Object> producersOfVariable = producers.get(variableName);
+        return producersOfVariable == null ? Collections.emptyList() : Collections.unmodifiableList(producersOfVariable);
+    }
+
+    /**
+     * @return The names of all referenced variables
+     */
+    public Set<String> getConsumedVariables()
+    {
+        return Collections.unmodifiableSet(consumedVariables);
+    }
+
+    /**
+     * @return Whether the name of a referenced variable is built from another variable
+     */
+    public boolean hasDynamicReferences()
+    {
+        return dynamicReferences;
+    }
+
+    /**
+     * @param store
+     *            The extraction to check
+     * @return <code>true</code> if the variable of the extraction is never referenced, <code>false</code> otherwise
+     */
+    public boolean isUnused(final AbstractResponseStore store)
+    {
+        return unusedStores.contains(store);
+    }
+
+    /**
+     * @param action
+     *            The action of the script
+     * @return The {@link PageModel}, that the action needs, or {@link PageModel#SGML_PAGE} if the action is not part of
+     *         the script
+     */
+    public PageModel getPageModel(final Action action)
+    {
+        final PageModel pageModel = pageModels.get(action);
+        return pageModel != null ? pageModel : PageModel.SGML_PAGE;
+    }
+
+    /**
+     * @param group
+     *            The group of parallel subrequests to check
+     * @return <code>true</code> if the requests of the group can be sent at once, <code>false</code> otherwise
+     */
+    public boolean isIndependent(final ParallelXhrSubrequests group)
+    {
+        return !dependentGroups.contains(group);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.xceptance.xlt.api.util.XltLogger;
+import com.xceptance.xlt.nocoding.command.Command;
+import com.xceptance.xlt.nocoding.parser.Parser;
+
+/**
+ * Caches the parsed {@link Command}s of every script file. Each file is parsed exactly once, even if many threads ask
+ * for it at the same time, and analyzed via {@link ScriptAnalysis}. Afterwards, the cached script is read without any
+ * locking.<br>
+ * If the content of a file changes, it is parsed again, see {@link FileCache}. This way, edited scripts are picked up
+ * without restarting the agent.
+ */
+public class ScriptCache
+{
+    /**
+     * The single instance of the {@link ScriptCache}
+     */
+    private static final ScriptCache INSTANCE = new ScriptCache();
+
+    /**
+     * The analyzed scripts by their file path
+     */
+    private final FileCache<ScriptAnalysis> scripts = new FileCache<>("Script file");
+
+    /**
+     * @return The instance of the {@link ScriptCache}
+     */
+    public static ScriptCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the list of {@link Command}s of the specified file. If the file is not cached yet or changed since it was
+     * parsed, it is parsed with the specified {@link Parser}.
+     *
+     * @param filePath
+     *            The path to the file that is to be parsed
+     * @param parser
+     *            The parser to use for the file
+     * @param checkInterval
+     *            The minimum time in milliseconds between two checks if the file changed. A negative value disables the
+     *            check
+     * @return An unmodifiable list of <code>Command</code>s generated from the provided file
+     * @throws Exception
+     *             if the file cannot be read or parsed
+     */
+    public List<Command> getOrParse(final String filePath, final Parser parser, final long checkInterval) throws Exception
+    {
+        return getOrAnalyze(filePath, parser, checkInterval).getScript();
+    }
+
+    /**
+     * Gets the {@link ScriptAnalysis} of the specified file, that also contains the parsed script. If the file is not
+     * cached yet or changed since it was parsed, it is parsed with the specified {@link Parser} and analyzed.
+     *
+     * @param filePath
+     *            The path to the file that is to be parsed
+     * @param parser
+     *            The parser to use for the file
+     * @param checkInterval
+     *            The minimum time in milliseconds between two checks if the file changed. A negative value disables the
+     *            check
+     * @return The analysis of the script generated from the provided file
+     * @throws Exception
+     *             if the file cannot be read or parsed
+     */
+    public ScriptAnalysis getOrAnalyze(final String filePath, final Parser parser, final long checkInterval) throws Exception
+    {
+        return scripts.get(filePath, path -> {
+            XltLogger.runTimeLogger.debug("Parsing file...");
+            return new ScriptAnalysis(Collections.unmodifiableList(parser.parse(path)));
+        }, checkInterval);
+    }
+
+    /**
+     * Removes all cached scripts.
+     */
+    public void clear()
+    {
+        scripts.clear();
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.io.UnsupportedEncodingException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.util.List;
+
+import com.gargoylesoftware.htmlunit.util.NameValuePair;
+
+/**
+ * Builds URLs with additional query parameters in a single pass. The URL is assembled in a buffer, that is reused by
+ * every call of the same thread, and parsed exactly once. Parameters that are specified encoded are decoded while they
+ * are appended, so no decoded copy of the parameters is created.
+ */
+public class UrlBuilder
+{
+    /**
+     * Buffers larger than this are not kept for the next call, so a single huge URL does not stay in memory
+     */
+    private static final int MAX_BUFFER_SIZE = 8192;
+
+    /**
+     * The buffer of the current thread
+     */
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    /**
+     * Creates a new {@link URL} out of the specified one, that has the parameters appended to its query.
+     *
+     * @param url
+     *            The URL to add the parameters to
+     * @param parameters
+     *            The parameters to add in the given order
+     * @param decode
+     *            Whether the names and values of the parameters are URL decoded before they are added
+     * @return The new URL, or the specified one if there are no parameters
+     * @throws MalformedURLException
+     *             if the new URL cannot be parsed
+     * @throws UnsupportedEncodingException
+     */
+    public static URL appendQuery(final URL url, final List<NameValuePair> parameters, final boolean decode)
+        throws MalformedURLException, UnsupportedEncodingException
+    {
+        if (parameters == null || parameters.isEmpty())
+        {
+            return url;
+        }
+
+        StringBuilder buffer = BUFFER.get();
+        if (buffer.capacity() > MAX_BUFFER_SIZE)
+        {
+            buffer = new StringBuilder(256);
+            BUFFER.set(buffer);
+        }
+        buffer.setLength(0);
+
+        // Same layout as UrlUtils#getUrlWithNewQuery
+        buffer.append(url.getProtocol()).append(':');
+        final String authority = url.getAuthority();
+        if (authority != null && !authority.isEmpty())
+        {
+            buffer.append("//").append(authority);
+        }
+        buffer.append(url.getPath()).append('?');
+        final String query = url.getQuery();
+        if (query != null)
+        {
+            buffer.append(query).append('&');
+        }
+        for (final NameValuePair parameter : parameters)
+        {
+            append(buffer, parameter.getName(), decode);
+            buffer.append('=');
+            append(buffer, parameter.getValue(), decode);
+            buffer.append('&');
+        }
+        // Remove the last "&"
+        buffer.setLength(buffer.length() - 1);
+        final String ref = url.getRef();
+        if (ref != null && !ref.isEmpty())
+        {
+            buffer.append('#').append(ref);
+        }
+        return new URL(buffer.toString());
+    }
+
+    /**
+     * Appends the value to the buffer, and decodes it if necessary.
+     *
+     * @param buffer
+     *            The buffer to append to
+     * @param value
+     *            The value to append
+     * @param decode
+     *            Whether the value is URL decoded
+     * @throws UnsupportedEncodingException
+     */
+    private static void append(final StringBuilder buffer, final String value, final boolean decode) throws UnsupportedEncodingException
+    {
+        // Only values with an escape sequence or a plus change when they are decoded
+        if (decode && value != null && (value.indexOf('%') >= 0 || value.indexOf('+') >= 0))
+        {
+            buffer.append(URLDecoder.decode(value, "UTF-8"));
+        }
+        else
+        {
+            buffer.append(value);
+        }
+    }
+
+}
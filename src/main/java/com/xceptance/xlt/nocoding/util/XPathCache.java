@@ -0,0 +1,119 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import com.xceptance.xlt.api.util.XltLogger;
+
+/**
+ * Caches compiled {@link XPathExpression}s by their expression. Since neither {@link XPath} nor
+ * <code>XPathExpression</code> are thread safe, every thread has its own cache, that holds at most {@link #MAX_SIZE}
+ * expressions. The least recently used expression is removed first.<br>
+ * The number of hits and misses is counted for all threads and reported via {@link Metrics}.<br>
+ * Only the {@link com.xceptance.xlt.nocoding.command.action.response.extractor.xpath.JsonXpathExtractorExecutor} uses
+ * this cache. HtmlUnit compiles the expressions on HTML and XML pages itself and offers no way to pass compiled ones.
+ */
+public final class XPathCache
+{
+    /**
+     * The maximum number of cached expressions per thread
+     */
+    public static final int MAX_SIZE = 256;
+
+    /**
+     * The cache of each thread
+     */
+    private static final ThreadLocal<XPathCache> INSTANCE = ThreadLocal.withInitial(XPathCache::new);
+
+    private static final AtomicLong HITS = new AtomicLong();
+
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    /**
+     * The <code>XPath</code> to compile the expressions with
+     */
+    private final XPath xPath;
+
+    /**
+     * The compiled expressions in the order of their last use
+     */
+    private final Map<String, XPathExpression> expressions = new LinkedHashMap<String, XPathExpression>(16, 0.75f, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, XPathExpression> eldest)
+        {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private XPathCache()
+    {
+        XltLogger.runTimeLogger.debug("Creating new XPath");
+        xPath = XPathFactory.newInstance().newXPath();
+    }
+
+    /**
+     * @return The {@link XPathCache} of the current thread
+     */
+    public static XPathCache getInstance()
+    {
+        return INSTANCE.get();
+    }
+
+    /**
+     * Gets the compiled {@link XPathExpression}, and compiles it, if it is not cached yet. The result must only be used
+     * by the current thread.
+     *
+     * @param expression
+     *            The XPath expression
+     * @return The compiled <code>XPathExpression</code>
+     * @throws XPathExpressionException
+     *             If the expression cannot be compiled
+     */
+    public XPathExpression getExpression(final String expression) throws XPathExpressionException
+    {
+        XPathExpression compiledExpression = expressions.get(expression);
+        if (compiledExpression != null)
+        {
+            HITS.incrementAndGet();
+            return compiledExpression;
+        }
+
+        MISSES.incrementAndGet();
+        compiledExpression = xPath.compile(expression);
+        expressions.put(expression, compiledExpression);
+        return compiledExpression;
+    }
+
+    /**
+     * @return The number of expressions cached by the current thread
+     */
+    public int size()
+    {
+        return expressions.size();
+    }
+
+    /**
+     * @return The number of lookups of all threads, that found a compiled expression
+     */
+    public static long getHits()
+    {
+        return HITS.get();
+    }
+
+    /**
+     * @return The number of lookups of all threads, that had to compile the expression
+     */
+    public static long getMisses()
+    {
+        return MISSES.get();
+    }
+}
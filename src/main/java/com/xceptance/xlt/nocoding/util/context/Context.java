@@ -1,7 +1,12 @@
 package com.xceptance.xlt.nocoding.util.context;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 
+import org.w3c.dom.Document;
+
+import com.google.gson.JsonElement;
 import com.gargoylesoftware.htmlunit.FailingHttpStatusCodeException;
 import com.gargoylesoftware.htmlunit.WebClient;
 import com.gargoylesoftware.htmlunit.WebRequest;
@@ -9,7 +14,10 @@ import com.gargoylesoftware.htmlunit.WebResponse;
 import com.xceptance.xlt.api.data.GeneralDataProvider;
 import com.xceptance.xlt.api.util.XltProperties;
 import com.xceptance.xlt.engine.XltWebClient;
+import com.xceptance.xlt.nocoding.command.action.subrequest.StaticSubrequest;
+import com.xceptance.xlt.nocoding.util.Metrics;
 import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
+import com.xceptance.xlt.nocoding.util.ScriptAnalysis;
 import com.xceptance.xlt.nocoding.util.WebAction;
 import com.xceptance.xlt.nocoding.util.resolver.VariableResolver;
 import com.xceptance.xlt.nocoding.util.storage.DataStorage;
@@ -32,23 +40,39 @@ public abstract class Context<T>
     /**
      * The storage for default items, and variables
      */
-    protected final DataStorage dataStorage;
+    protected DataStorage dataStorage;
 
     /**
      * The {@link WebClient} for sending {@link WebRequest}s
      */
-    protected final XltWebClient webClient;
+    protected XltWebClient webClient;
 
     /**
      * The resolver that resolves variables
      */
     protected final VariableResolver resolver;
 
+    /**
+     * Measures the time spent on the hot paths of the tool
+     */
+    protected final Metrics metrics;
+
     /**
      * The last {@link WebResponse}, that was received
      */
     protected WebResponse webResponse;
 
+    /**
+     * The JSON content of the {@link #webResponse} converted to a {@link Document}, or <code>null</code> if it was not
+     * converted yet
+     */
+    protected Document jsonDocument;
+
+    /**
+     * The JSON content of the {@link #webResponse} parsed into a tree, or <code>null</code> if it was not parsed yet
+     */
+    protected JsonElement jsonElement;
+
     /**
      * Provides access to the properties
      */
@@ -69,6 +93,36 @@ public abstract class Context<T>
      */
     protected WebAction previousWebAction;
 
+    /**
+     * The analysis of the executed script, or <code>null</code> if the script was not analyzed
+     */
+    protected ScriptAnalysis scriptAnalysis;
+
+    /**
+     * The read-only variables shared by all users of the agent, or <code>null</code> if there are none
+     */
+    protected UniqueStorage sharedVariables;
+
+    /**
+     * What the current action needs from the response of its request
+     */
+    protected PageModel requiredPageModel = PageModel.SGML_PAGE;
+
+    /**
+     * The {@link StaticSubrequest} for the default statics, or <code>null</code> if it was not built yet
+     */
+    protected StaticSubrequest defaultStaticSubrequest;
+
+    /**
+     * The default statics, that {@link #defaultStaticSubrequest} was built from
+     */
+    protected SingleStorage defaultStaticsSource;
+
+    /**
+     * The generation of {@link #defaultStaticsSource}, that {@link #defaultStaticSubrequest} was built from
+     */
+    protected int defaultStaticsGeneration;
+
     /**
      * Creates a new {@link Context#Context(XltProperties, DataStorage)}, with a new {@link DataStorage}.
      *
@@ -90,30 +144,52 @@ public abstract class Context<T>
      *            The {@link DataStorage} you want to use
      */
     public Context(final XltProperties xltProperties, final DataStorage dataStorage)
+    {
+        this(new NoCodingPropertyAdmin(xltProperties), dataStorage);
+    }
+
+    /**
+     * Creates a new {@link Context}, with the provided {@link NoCodingPropertyAdmin} and {@link DataStorage}, creates a
+     * new {@link XltWebClient} and {@link VariableResolver} and finally calls {@link #initialize()}.
+     *
+     * @param propertyAdmin
+     *            The {@link NoCodingPropertyAdmin} to access the properties with
+     * @param dataStorage
+     *            The {@link DataStorage} you want to use
+     */
+    public Context(final NoCodingPropertyAdmin propertyAdmin, final DataStorage dataStorage)
     {
         this.dataStorage = dataStorage;
-        this.propertyAdmin = new NoCodingPropertyAdmin(xltProperties);
+        this.propertyAdmin = propertyAdmin;
         this.webClient = new XltWebClient();
         this.resolver = new VariableResolver(GeneralDataProvider.getInstance());
+        this.metrics = Metrics.fromProperties(propertyAdmin);
         this.previousWebAction = null;
         initialize();
     }
 
     /**
-     * Creates a new {@link Context} out of the old {@link Context}
+     * Creates a new {@link Context} out of the old {@link Context}. The new <code>Context</code> stores variables in its
+     * own scope, that must be exported via {@link #exportVariables()} to become visible in the old one.
      *
      * @param context
      *            The context that should be copied
      */
     protected Context(final Context<T> context)
     {
-        this.dataStorage = context.getDataStorage();
+        this.dataStorage = context.getDataStorage().openScope();
         this.webClient = context.getWebClient();
         this.resolver = context.getResolver();
+        this.metrics = context.getMetrics();
         this.webResponse = context.getWebResponse();
+        this.jsonDocument = context.getJsonDocument();
+        this.jsonElement = context.getJsonElement();
         this.propertyAdmin = context.getPropertyAdmin();
         this.actionIndex = 0;
         this.page = context.page;
+        this.scriptAnalysis = context.getScriptAnalysis();
+        this.sharedVariables = context.getSharedVariables();
+        this.requiredPageModel = context.getRequiredPageModel();
 
     }
 
@@ -125,6 +201,29 @@ public abstract class Context<T>
         configureWebClient();
     }
 
+    /**
+     * Prepares the {@link Context} for the next test iteration, so it can be reused instead of creating a new one.
+     * The {@link VariableResolver} and {@link NoCodingPropertyAdmin} are kept, while the {@link DataStorage}, the
+     * responses and the state of the resolver are reset. Since the {@link XltWebClient} belongs to the session of an
+     * iteration, a new one is created and configured via {@link #initialize()}.
+     */
+    public void reset()
+    {
+        dataStorage = new DataStorage();
+        webClient = new XltWebClient();
+        resolver.reset();
+        webResponse = null;
+        jsonDocument = null;
+        jsonElement = null;
+        page = null;
+        previousWebAction = null;
+        actionIndex = 0;
+        requiredPageModel = PageModel.SGML_PAGE;
+        defaultStaticSubrequest = null;
+        defaultStaticsSource = null;
+        initialize();
+    }
+
     /**
      * Gets the {@link DataStorage}
      *
@@ -135,6 +234,41 @@ public abstract class Context<T>
         return dataStorage;
     }
 
+    /**
+     * Opens a new variable scope on top of the current one via {@link DataStorage#openScope()}.
+     */
+    public void openVariableScope()
+    {
+        dataStorage = dataStorage.openScope();
+    }
+
+    /**
+     * Closes the current variable scope and returns to the scope it was opened from.
+     *
+     * @param export
+     *            Whether the variables of the closed scope are exported to the parent scope
+     */
+    public void closeVariableScope(final boolean export)
+    {
+        if (dataStorage.getParent() == null)
+        {
+            throw new IllegalStateException("No variable scope is open.");
+        }
+        if (export)
+        {
+            dataStorage.exportVariables();
+        }
+        dataStorage = dataStorage.getParent();
+    }
+
+    /**
+     * Exports all variables of the current scope to the scope it was opened from.
+     */
+    public void exportVariables()
+    {
+        dataStorage.exportVariables();
+    }
+
     /**
      * @return The {@link XltWebClient} that is used in this context
      */
@@ -152,15 +286,120 @@ public abstract class Context<T>
     }
 
     /**
-     * Sets {@link #webResponse}
+     * Sets {@link #webResponse} and discards the {@link #jsonDocument} and {@link #jsonElement} of the previous response
      *
      * @param webResponse
      */
     public void setWebResponse(final WebResponse webResponse)
     {
+        if (this.webResponse != webResponse)
+        {
+            this.jsonDocument = null;
+            this.jsonElement = null;
+        }
         this.webResponse = webResponse;
     }
 
+    /**
+     * Gets the JSON content of the current {@link WebResponse}, that was already converted to a {@link Document}. Since
+     * the document belongs to the response, every extraction on the same response can use it.
+     *
+     * @return The converted JSON content, or <code>null</code> if it was not converted yet
+     */
+    public Document getJsonDocument()
+    {
+        return jsonDocument;
+    }
+
+    /**
+     * Sets {@link #jsonDocument}
+     *
+     * @param jsonDocument
+     *            The JSON content of the current {@link WebResponse} converted to a {@link Document}
+     */
+    public void setJsonDocument(final Document jsonDocument)
+    {
+        this.jsonDocument = jsonDocument;
+    }
+
+    /**
+     * Gets the JSON content of the current {@link WebResponse}, that was already parsed into a tree. Like
+     * {@link #getJsonDocument()}, it is shared by every extraction on the same response.
+     *
+     * @return The parsed JSON content, or <code>null</code> if it was not parsed yet
+     */
+    public JsonElement getJsonElement()
+    {
+        return jsonElement;
+    }
+
+    /**
+     * Sets {@link #jsonElement}
+     *
+     * @param jsonElement
+     *            The JSON content of the current {@link WebResponse} parsed into a tree
+     */
+    public void setJsonElement(final JsonElement jsonElement)
+    {
+        this.jsonElement = jsonElement;
+    }
+
+    /**
+     * @return The {@link ScriptAnalysis} of the executed script, or <code>null</code> if the script was not analyzed
+     */
+    public ScriptAnalysis getScriptAnalysis()
+    {
+        return scriptAnalysis;
+    }
+
+    /**
+     * Sets {@link #scriptAnalysis}
+     *
+     * @param scriptAnalysis
+     */
+    public void setScriptAnalysis(final ScriptAnalysis scriptAnalysis)
+    {
+        this.scriptAnalysis = scriptAnalysis;
+    }
+
+    /**
+     * @return What the current action needs from the response of its request
+     */
+    public PageModel getRequiredPageModel()
+    {
+        return requiredPageModel;
+    }
+
+    /**
+     * Sets {@link #requiredPageModel}
+     *
+     * @param requiredPageModel
+     *            What the current action needs from the response of its request
+     */
+    public void setRequiredPageModel(final PageModel requiredPageModel)
+    {
+        this.requiredPageModel = requiredPageModel;
+    }
+
+    /**
+     * @return The read-only variables shared by all users of the agent, or <code>null</code> if there are none
+     */
+    public UniqueStorage getSharedVariables()
+    {
+        return sharedVariables;
+    }
+
+    /**
+     * Sets {@link #sharedVariables}
+     *
+     * @param sharedVariables
+     *            The read-only variables shared by all users of the agent
+     */
+    public void setSharedVariables(final UniqueStorage sharedVariables)
+    {
+        this.sharedVariables = sharedVariables;
+    }
+
     /**
      * Gets the {@link VariableResolver}
      *
@@ -171,6 +410,14 @@ public abstract class Context<T>
         return resolver;
     }
 
+    /**
+     * @return The {@link Metrics} of the hot paths, that are shared with all copies of this context
+     */
+    public Metrics getMetrics()
+    {
+        return metrics;
+    }
+
     /**
      * @return The {@link NoCodingPropertyAdmin} that handles property related issues.
      */
@@ -240,6 +487,29 @@ public abstract class Context<T>
         return getDataStorage().getDefaultStatics();
     }
 
+    /**
+     * Gets the {@link StaticSubrequest} that downloads the default statics. It is built from a copy of the default
+     * statics and reused, until they are changed, so the default statics are not copied for every action.
+     *
+     * @return The {@link StaticSubrequest} for the default statics, or <code>null</code> if there are none
+     */
+    public StaticSubrequest getDefaultStaticSubrequest()
+    {
+        final SingleStorage defaultStatics = getDefaultStatics();
+        if (defaultStatics == null || defaultStatics.getItems().isEmpty())
+        {
+            return null;
+        }
+        if (defaultStaticSubrequest == null || defaultStaticsSource != defaultStatics
+            || defaultStaticsGeneration != defaultStatics.getGeneration())
+        {
+            defaultStaticSubrequest = new StaticSubrequest(Collections.unmodifiableList(new ArrayList<>(defaultStatics.getItems())));
+            defaultStaticsSource = defaultStatics;
+            defaultStaticsGeneration = defaultStatics.getGeneration();
+        }
+        return defaultStaticSubrequest;
+    }
+
     public UniqueSingleStorage getDefaultHeaders()
     {
         return getDataStorage().getDefaultHeaders();
@@ -334,6 +604,18 @@ public abstract class Context<T>
      */
     public abstract void loadWebResponse(final WebRequest webRequest) throws FailingHttpStatusCodeException, IOException;
 
+    /**
+     * Whether the {@link WebResponse} of an XHR can be loaded by another thread with
+     * {@link XltWebClient#loadWebResponse(WebRequest)} and then be set via {@link #setWebResponse(WebResponse)}, instead
+     * of loading it via {@link #loadWebResponse(WebRequest)}.
+     *
+     * @return <code>true</code> if XHRs can be loaded concurrently, <code>false</code> otherwise
+     */
+    public boolean canLoadXhrConcurrently()
+    {
+        return true;
+    }
+
     /**
      * Appends the {@link #webResponse} to the Xlt Result Browser
      *
@@ -0,0 +1,99 @@
+package com.xceptance.xlt.nocoding.util.context;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.xceptance.xlt.api.util.XltProperties;
+import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
+import com.xceptance.xlt.nocoding.util.storage.DataStorage;
+
+/**
+ * Creates the {@link Context} for a mode, and keeps one <code>Context</code> per mode and thread, if it should be
+ * reused. Since every virtual user runs in its own thread, a reused <code>Context</code> keeps its
+ * {@link com.xceptance.xlt.nocoding.util.resolver.VariableResolver VariableResolver} and {@link NoCodingPropertyAdmin}
+ * for all iterations of the user, and only resets the state of the last iteration via {@link Context#reset()}.
+ */
+public class ContextPool
+{
+    /**
+     * The single instance of the {@link ContextPool}
+     */
+    private static final ContextPool INSTANCE = new ContextPool();
+
+    /**
+     * The contexts of the current thread by their mode
+     */
+    private final ThreadLocal<Map<String, Context<?>>> contexts = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * @return The instance of the {@link ContextPool}
+     */
+    public static ContextPool getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the {@link Context} of the current thread for the mode and resets it. If there is none yet, a new one is
+     * created, which caches the lookups of properties.
+     *
+     * @param mode
+     *            The mode of the execution
+     * @param xltProperties
+     *            The properties to use - normally {@link XltProperties#getInstance()}
+     * @return The reset <code>Context</code> for the mode
+     */
+    public Context<?> getContext(final String mode, final XltProperties xltProperties)
+    {
+        final Map<String, Context<?>> contextsByMode = contexts.get();
+        Context<?> context = contextsByMode.get(mode);
+        if (context == null)
+        {
+            context = createContext(mode, new NoCodingPropertyAdmin(xltProperties, true));
+            contextsByMode.put(mode, context);
+        }
+        else
+        {
+            context.reset();
+        }
+        return context;
+    }
+
+    /**
+     * Removes all contexts of the current thread.
+     */
+    public void clear()
+    {
+        contexts.remove();
+    }
+
+    /**
+     * Creates a new {@link Context} for the mode.
+     *
+     * @param mode
+     *            The mode of the execution
+     * @param propertyAdmin
+     *            The {@link NoCodingPropertyAdmin} to access the properties with
+     * @return The new <code>Context</code>
+     */
+    public static Context<?> createContext(final String mode, final NoCodingPropertyAdmin propertyAdmin)
+    {
+        switch (mode)
+        {
+            case NoCodingPropertyAdmin.LIGHTWEIGHT:
+                return new LightWeightContext(propertyAdmin, new DataStorage());
+
+            case NoCodingPropertyAdmin.DOM:
+                return new DomContext(propertyAdmin, new DataStorage());
+
+            case NoCodingPropertyAdmin.REQUEST:
+                return new RequestContext(propertyAdmin, new DataStorage());
+
+            default:
+                // Mode is neither of the options, therefore throw an error
+                throw new IllegalStateException("Mode must be " + NoCodingPropertyAdmin.LIGHTWEIGHT + ", " + NoCodingPropertyAdmin.REQUEST
+                                                + " or " + NoCodingPropertyAdmin.DOM + " but is " + mode);
+        }
+    }
+
+}
@@ -3,16 +3,19 @@ package com.xceptance.xlt.nocoding.util.context;
 import java.io.IOException;
 
 import com.gargoylesoftware.htmlunit.FailingHttpStatusCodeException;
+import com.gargoylesoftware.htmlunit.Page;
 import com.gargoylesoftware.htmlunit.SgmlPage;
 import com.gargoylesoftware.htmlunit.WebRequest;
 import com.gargoylesoftware.htmlunit.WebResponse;
 import com.gargoylesoftware.htmlunit.html.HtmlPage;
 import com.xceptance.xlt.api.engine.Session;
 import com.xceptance.xlt.api.htmlunit.LightWeightPage;
+import com.xceptance.xlt.api.util.XltLogger;
 import com.xceptance.xlt.api.util.XltProperties;
 import com.xceptance.xlt.engine.LightWeightPageImpl;
 import com.xceptance.xlt.engine.SessionImpl;
 import com.xceptance.xlt.engine.XltWebClient;
+import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
 import com.xceptance.xlt.nocoding.util.resolver.VariableResolver;
 import com.xceptance.xlt.nocoding.util.storage.DataStorage;
 
@@ -23,6 +26,11 @@ import com.xceptance.xlt.nocoding.util.storage.DataStorage;
  */
 public class DomContext extends Context<SgmlPage>
 {
+    /**
+     * Whether the page of the current response was not built, since the action did not need it
+     */
+    private boolean pageSkipped;
+
     /**
      * Calls {@link DomContext#DomContext(XltProperties, DataStorage)}, with a new {@link DataStorage}.
      *
@@ -50,6 +58,20 @@ public class DomContext extends Context<SgmlPage>
         super(xltProperties, dataStorage);
     }
 
+    /**
+     * Creates a new {@link DomContext}, with the provided {@link NoCodingPropertyAdmin} and {@link DataStorage}.
+     *
+     * @param propertyAdmin
+     *            The {@link NoCodingPropertyAdmin} to access the properties with
+     * @param dataStorage
+     *            The {@link DataStorage} you want to use
+     * @see Context#Context(NoCodingPropertyAdmin, DataStorage)
+     */
+    public DomContext(final NoCodingPropertyAdmin propertyAdmin, final DataStorage dataStorage)
+    {
+        super(propertyAdmin, dataStorage);
+    }
+
     /**
      * Creates a new {@link DomContext} out of the old {@link DomContext}
      *
@@ -64,7 +86,10 @@ public class DomContext extends Context<SgmlPage>
 
     /**
      * Loads the {@link WebResponse} corresponding to the {@link WebRequest}. <br>
-     * If {@link WebRequest#isXHR()} is <code>false</code>, it loads the {@link SgmlPage} and sets the WebResponse.<br>
+     * If {@link WebRequest#isXHR()} is <code>false</code>, it loads the {@link SgmlPage} and sets the WebResponse.
+     * However, if the current action only needs the {@link PageModel#WEB_RESPONSE} and
+     * {@link NoCodingPropertyAdmin#SKIPUNNEEDEDPAGES} is enabled, only the WebResponse is loaded. Then, the page is
+     * neither built nor are its scripts executed.<br>
      * If <code>WebRequest.isXHR()</code> is <code>true</code>, it only sets the WebResponse.
      *
      * @param webRequest
@@ -75,8 +100,17 @@ public class DomContext extends Context<SgmlPage>
     @Override
     public void loadWebResponse(final WebRequest webRequest) throws FailingHttpStatusCodeException, IOException
     {
+        pageSkipped = false;
         // If the webRequest is not a Xhr
-        if (!webRequest.isXHR())
+        if (!webRequest.isXHR() && getRequiredPageModel() == PageModel.WEB_RESPONSE
+            && getPropertyByKey(NoCodingPropertyAdmin.SKIPUNNEEDEDPAGES, NoCodingPropertyAdmin.SKIPUNNEEDEDPAGES_DEFAULT))
+        {
+            // Only load the response
+            setPage(null);
+            setWebResponse(getWebClient().loadWebResponse(webRequest));
+            pageSkipped = true;
+        }
+        else if (!webRequest.isXHR())
         {
             // Load and set page
             setPage(getWebClient().getPage(webRequest));
@@ -91,6 +125,43 @@ public class DomContext extends Context<SgmlPage>
         }
     }
 
+    /**
+     * Gets the {@link SgmlPage} of the current response. If it was skipped, it is built from the {@link WebResponse}
+     * now.
+     *
+     * @return The page of the current response
+     */
+    public SgmlPage getSgmlPage()
+    {
+        if (pageSkipped && getPage() == null)
+        {
+            XltLogger.runTimeLogger.debug("Generating skipped SgmlPage...");
+            try
+            {
+                final Page page = getWebClient().loadWebResponseInto(getWebResponse(), getWebClient().getCurrentWindow());
+                if (page instanceof SgmlPage)
+                {
+                    setPage((SgmlPage) page);
+                }
+            }
+            catch (FailingHttpStatusCodeException | IOException e)
+            {
+                throw new IllegalStateException("Cannot convert WebResponse to SgmlPage.", e);
+            }
+        }
+        return getPage();
+    }
+
+    /**
+     * Resets the {@link Context} and forgets a skipped page.
+     */
+    @Override
+    public void reset()
+    {
+        super.reset();
+        pageSkipped = false;
+    }
+
     /**
      * Appends {@link #getPage()} to the result browser, if it is an instance of {@link HtmlPage}. <br>
      * Otherwise, it creates a new {@link LightWeightPage} and appends it.
@@ -127,6 +198,17 @@ public class DomContext extends Context<SgmlPage>
         }
     }
 
+    /**
+     * XHRs are loaded into the current window of the {@link XltWebClient}, so they cannot be loaded concurrently.
+     *
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean canLoadXhrConcurrently()
+    {
+        return false;
+    }
+
     /**
      * Creates a new {@link DomContext} out of the current one.
      *
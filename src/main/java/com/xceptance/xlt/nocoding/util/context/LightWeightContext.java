@@ -15,6 +15,7 @@ import com.xceptance.xlt.api.util.XltProperties;
 import com.xceptance.xlt.engine.LightWeightPageImpl;
 import com.xceptance.xlt.engine.SessionImpl;
 import com.xceptance.xlt.engine.XltWebClient;
+import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
 import com.xceptance.xlt.nocoding.util.resolver.VariableResolver;
 import com.xceptance.xlt.nocoding.util.storage.DataStorage;
 
@@ -58,6 +59,20 @@ public class LightWeightContext extends Context<LightWeightPage>
         super(xltProperties, dataStorage);
     }
 
+    /**
+     * Creates a new {@link LightWeightContext}, with the provided {@link NoCodingPropertyAdmin} and {@link DataStorage}.
+     *
+     * @param propertyAdmin
+     *            The {@link NoCodingPropertyAdmin} to access the properties with
+     * @param dataStorage
+     *            The {@link DataStorage} you want to use
+     * @see Context#Context(NoCodingPropertyAdmin, DataStorage)
+     */
+    public LightWeightContext(final NoCodingPropertyAdmin propertyAdmin, final DataStorage dataStorage)
+    {
+        super(propertyAdmin, dataStorage);
+    }
+
     /**
      * Creates a new {@link LightWeightContext} out of the old {@link LightWeightContext}
      *
@@ -114,6 +129,16 @@ public class LightWeightContext extends Context<LightWeightPage>
         this.sgmlPage = sgmlPage;
     }
 
+    /**
+     * Resets the {@link Context} and the {@link SgmlPage}.
+     */
+    @Override
+    public void reset()
+    {
+        super.reset();
+        setSgmlPage(null);
+    }
+
     /**
      * Loads the {@link WebResponse} corresponding to the {@link WebRequest} and sets {@link #sgmlPage} to
      * <code>null</code>. <br>
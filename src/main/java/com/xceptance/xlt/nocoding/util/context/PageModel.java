@@ -0,0 +1,21 @@
+package com.xceptance.xlt.nocoding.util.context;
+
+import com.gargoylesoftware.htmlunit.SgmlPage;
+import com.gargoylesoftware.htmlunit.WebResponse;
+
+/**
+ * Describes what an action needs from the response of its request.
+ */
+public enum PageModel
+{
+    /**
+     * Only the {@link WebResponse} is needed, for example to validate the status code, headers, cookies or the content
+     * via regular expressions
+     */
+    WEB_RESPONSE,
+
+    /**
+     * An {@link SgmlPage} is needed, for example to evaluate XPath expressions
+     */
+    SGML_PAGE
+}
@@ -1,6 +1,7 @@
 package com.xceptance.xlt.nocoding.util.context;
 
 import java.io.IOException;
+import java.io.Reader;
 
 import org.apache.commons.lang3.NotImplementedException;
 
@@ -16,6 +17,9 @@ import com.xceptance.xlt.api.util.XltLogger;
 import com.xceptance.xlt.api.util.XltProperties;
 import com.xceptance.xlt.engine.SessionImpl;
 import com.xceptance.xlt.engine.XltWebClient;
+import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
+import com.xceptance.xlt.nocoding.util.ResponseContent;
+import com.xceptance.xlt.nocoding.util.html.HtmlDocument;
 import com.xceptance.xlt.nocoding.util.resolver.VariableResolver;
 import com.xceptance.xlt.nocoding.util.storage.DataStorage;
 
@@ -33,6 +37,11 @@ public class RequestContext extends Context<Void>
      */
     protected SgmlPage sgmlPage;
 
+    /**
+     * The lightweight tree of the HTML content
+     */
+    protected HtmlDocument htmlDocument;
+
     /**
      * Calls {@link RequestContext#LightWeightContext(XltProperties, DataStorage)}, with a new {@link DataStorage}.
      *
@@ -60,6 +69,20 @@ public class RequestContext extends Context<Void>
         super(xltProperties, dataStorage);
     }
 
+    /**
+     * Creates a new {@link RequestContext}, with the provided {@link NoCodingPropertyAdmin} and {@link DataStorage}.
+     *
+     * @param propertyAdmin
+     *            The {@link NoCodingPropertyAdmin} to access the properties with
+     * @param dataStorage
+     *            The {@link DataStorage} you want to use
+     * @see Context#Context(NoCodingPropertyAdmin, DataStorage)
+     */
+    public RequestContext(final NoCodingPropertyAdmin propertyAdmin, final DataStorage dataStorage)
+    {
+        super(propertyAdmin, dataStorage);
+    }
+
     /**
      * Creates a new {@link RequestContext} out of the old {@link RequestContext}
      *
@@ -116,6 +139,53 @@ public class RequestContext extends Context<Void>
         this.sgmlPage = sgmlPage;
     }
 
+    /**
+     * Gets the {@link HtmlDocument} if it was already parsed. Else, it parses the HtmlDocument from the content of the
+     * {@link WebResponse}. Unlike the {@link SgmlPage}, it is built without HtmlUnit.
+     *
+     * @return The lightweight tree of the HTML content
+     */
+    public HtmlDocument getHtmlDocument()
+    {
+        if (htmlDocument == null)
+        {
+            XltLogger.runTimeLogger.debug("Generating new HtmlDocument...");
+            try (final Reader reader = ResponseContent.openReader(getWebResponse()))
+            {
+                htmlDocument = HtmlDocument.parse(reader);
+            }
+            catch (final IOException e)
+            {
+                throw new IllegalStateException("Cannot convert WebResponse to HtmlDocument.", e);
+            }
+        }
+        return htmlDocument;
+    }
+
+    /**
+     * Sets the {@link WebResponse} and forgets the {@link HtmlDocument} of the previous one.
+     */
+    @Override
+    public void setWebResponse(final WebResponse webResponse)
+    {
+        if (getWebResponse() != webResponse)
+        {
+            htmlDocument = null;
+        }
+        super.setWebResponse(webResponse);
+    }
+
+    /**
+     * Resets the {@link Context} and the {@link SgmlPage}.
+     */
+    @Override
+    public void reset()
+    {
+        super.reset();
+        setSgmlPage(null);
+        htmlDocument = null;
+    }
+
     /**
      * Loads the {@link WebResponse} corresponding to the {@link WebRequest}.<br>
      *
@@ -0,0 +1,65 @@
+package com.xceptance.xlt.nocoding.util.html;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A compact, read-only tree of an HTML document. Unlike a {@link com.gargoylesoftware.htmlunit.html.HtmlPage}, it
+ * neither knows scripts, styles nor forms, but it can be built with a single pass over the content.<br>
+ * The tree only repairs simple markup errors, like unclosed list items or paragraphs. If the document needs further
+ * repairs, the tree may differ from the one of a browser and is therefore not {@link #isExact() exact}.
+ */
+public final class HtmlDocument
+{
+    private final HtmlNode root;
+
+    private final boolean exact;
+
+    private final boolean complete;
+
+    HtmlDocument(final HtmlNode root, final boolean exact, final boolean complete)
+    {
+        this.root = root;
+        this.exact = exact;
+        this.complete = complete;
+    }
+
+    /**
+     * Parses the HTML document.
+     *
+     * @param reader
+     *            The <code>Reader</code> with the HTML content
+     * @return The parsed {@link HtmlDocument}
+     * @throws IOException
+     *             If the content cannot be read
+     */
+    public static HtmlDocument parse(final Reader reader) throws IOException
+    {
+        return new HtmlTreeBuilder(reader).build();
+    }
+
+    /**
+     * @return The node of the document, whose children are the top level nodes
+     */
+    public HtmlNode getRoot()
+    {
+        return root;
+    }
+
+    /**
+     * @return <code>true</code> if the document did not need repairs, that the tree does not model
+     */
+    public boolean isExact()
+    {
+        return exact;
+    }
+
+    /**
+     * @return <code>true</code> if the document declares its html, head and body elements. Otherwise, a browser would
+     *         add them to the tree.
+     */
+    public boolean isComplete()
+    {
+        return complete;
+    }
+}
@@ -0,0 +1,174 @@
+package com.xceptance.xlt.nocoding.util.html;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A read-only node of an {@link HtmlDocument}. A node is either the document itself, an element or a text.
+ */
+public final class HtmlNode
+{
+    /**
+     * The type of a {@link HtmlNode}
+     */
+    public enum Type
+    {
+        DOCUMENT, ELEMENT, TEXT
+    }
+
+    private static final String[] NO_ATTRIBUTES = new String[0];
+
+    private final Type type;
+
+    /**
+     * The lower case name of an element, or the data of a text
+     */
+    private String value;
+
+    private final HtmlNode parent;
+
+    /**
+     * The position of the node in document order
+     */
+    private final int index;
+
+    /**
+     * The lower case names and the values of the attributes in alternating order
+     */
+    private String[] attributes = NO_ATTRIBUTES;
+
+    private List<HtmlNode> children;
+
+    HtmlNode(final Type type, final String value, final HtmlNode parent, final int index)
+    {
+        this.type = type;
+        this.value = value;
+        this.parent = parent;
+        this.index = index;
+        if (parent != null)
+        {
+            if (parent.children == null)
+            {
+                parent.children = new ArrayList<>(4);
+            }
+            parent.children.add(this);
+        }
+    }
+
+    public Type getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return The lower case name of the element, or <code>null</code> if the node is not an element
+     */
+    public String getName()
+    {
+        return type == Type.ELEMENT ? value : null;
+    }
+
+    public HtmlNode getParent()
+    {
+        return parent;
+    }
+
+    /**
+     * @return The position of the node in document order
+     */
+    public int getIndex()
+    {
+        return index;
+    }
+
+    public List<HtmlNode> getChildren()
+    {
+        return children != null ? Collections.unmodifiableList(children) : Collections.emptyList();
+    }
+
+    /**
+     * @param name
+     *            The lower case name of the attribute
+     * @return The value of the attribute, or <code>null</code> if the node does not have the attribute
+     */
+    public String getAttribute(final String name)
+    {
+        for (int i = 0; i < attributes.length; i += 2)
+        {
+            if (attributes[i].equals(name))
+            {
+                return attributes[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The values of all attributes
+     */
+    public List<String> getAttributeValues()
+    {
+        final List<String> values = new ArrayList<>(attributes.length / 2);
+        for (int i = 1; i < attributes.length; i += 2)
+        {
+            values.add(attributes[i]);
+        }
+        return values;
+    }
+
+    void appendText(final String text)
+    {
+        value += text;
+    }
+
+    void setAttributes(final String[] attributes)
+    {
+        this.attributes = attributes;
+    }
+
+    /**
+     * Gets the text content like {@link org.w3c.dom.Node#getTextContent()}, that is the data of a text or the
+     * concatenated data of all descendant texts.
+     *
+     * @return The text content of the node
+     */
+    public String getTextContent()
+    {
+        if (type == Type.TEXT)
+        {
+            return value;
+        }
+        if (children == null)
+        {
+            return "";
+        }
+        final StringBuilder textContent = new StringBuilder();
+        final Deque<HtmlNode> nodes = new ArrayDeque<>();
+        nodes.push(this);
+        while (!nodes.isEmpty())
+        {
+            final HtmlNode node = nodes.pop();
+            if (node.type == Type.TEXT)
+            {
+                textContent.append(node.value);
+            }
+            else if (node.children != null)
+            {
+                for (int i = node.children.size() - 1; i >= 0; i--)
+                {
+                    nodes.push(node.children.get(i));
+                }
+            }
+        }
+        return textContent.toString();
+    }
+
+    @Override
+    public String toString()
+    {
+        return type == Type.ELEMENT ? "<" + value + ">" : type == Type.TEXT ? value : "#document";
+    }
+}
@@ -0,0 +1,1007 @@
+package com.xceptance.xlt.nocoding.util.html;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.xceptance.xlt.nocoding.util.html.HtmlNode.Type;
+
+/**
+ * Builds an {@link HtmlDocument} with a single pass over the HTML content. Whenever the content needs a repair, that
+ * is not modeled here, the document is marked as not exact, so callers can fall back to a full HTML parser.
+ */
+final class HtmlTreeBuilder
+{
+    private static final Set<String> VOID_ELEMENTS = setOf("area", "base", "basefont", "bgsound", "br", "col", "embed", "frame", "hr",
+                                                           "img", "input", "keygen", "link", "meta", "param", "source", "track", "wbr");
+
+    /**
+     * Elements, whose content is text without markup or character references
+     */
+    private static final Set<String> RAW_TEXT_ELEMENTS = setOf("script", "style", "xmp", "iframe", "noembed", "noframes");
+
+    /**
+     * Elements, whose content is text without markup but with character references
+     */
+    private static final Set<String> ESCAPABLE_RAW_TEXT_ELEMENTS = setOf("title", "textarea");
+
+    /**
+     * Elements, whose handling depends on the browser or that change the parsing rules
+     */
+    private static final Set<String> UNSUPPORTED_ELEMENTS = setOf("noscript", "template", "svg", "math", "frameset", "plaintext",
+                                                                  "isindex", "image");
+
+    private static final Set<String> HEAD_ELEMENTS = setOf("title", "meta", "link", "style", "script", "base");
+
+    private static final Set<String> CLOSES_PARAGRAPH = setOf("address", "article", "aside", "blockquote", "center", "details",
+                                                              "dialog", "dir", "div", "dl", "fieldset", "figcaption", "figure", "footer",
+                                                              "form", "h1", "h2", "h3", "h4", "h5", "h6", "header", "hgroup", "hr",
+                                                              "listing", "main", "menu", "nav", "ol", "p", "pre", "section", "summary",
+                                                              "table", "ul", "li", "dd", "dt");
+
+    private static final Set<String> SCOPE_BARRIERS = setOf("applet", "caption", "html", "table", "td", "th", "marquee", "object",
+                                                            "button");
+
+    private static final Set<String> TABLE_SECTIONS = setOf("table", "thead", "tbody", "tfoot");
+
+    private static final Set<String> TABLE_SECTION_CONTENT = setOf("caption", "colgroup", "col", "thead", "tbody", "tfoot", "tr",
+                                                                   "script", "style", "form", "input");
+
+    private static final Set<String> TABLE_ROW_CONTENT = setOf("td", "th", "script", "style", "form", "input");
+
+    private static final Set<String> LIST_ITEMS = setOf("li");
+
+    private static final Set<String> LIST_BARRIERS = setOf("ul", "ol", "menu", "dir");
+
+    private static final Set<String> DEFINITION_ITEMS = setOf("dt", "dd");
+
+    private static final Set<String> DEFINITION_BARRIERS = setOf("dl");
+
+    private static final Set<String> OPTIONS = setOf("option");
+
+    private static final Set<String> OPTION_BARRIERS = setOf("select", "optgroup", "datalist");
+
+    private static final Set<String> OPTION_GROUPS = setOf("option", "optgroup");
+
+    private static final Set<String> SELECT = setOf("select");
+
+    private static final Set<String> TABLE_ROWS = setOf("tr");
+
+    private static final Set<String> TABLE_CELLS = setOf("td", "th");
+
+    private static final Set<String> TABLE_ROW_BARRIERS = setOf("tr");
+
+    private static final Set<String> TABLE_PARTS = setOf("thead", "tbody", "tfoot", "caption", "colgroup");
+
+    private static final Set<String> TABLE = setOf("table");
+
+    /**
+     * Elements, that a browser reopens, when they are closed too early
+     */
+    private static final Set<String> FORMATTING_ELEMENTS = setOf("a", "b", "big", "code", "em", "font", "i", "nobr", "s", "small",
+                                                                 "strike", "strong", "tt", "u");
+
+    private static final Map<String, Character> ENTITIES = new HashMap<>();
+
+    static
+    {
+        final String[] latin1 = {
+            "nbsp", "iexcl", "cent", "pound", "curren", "yen", "brvbar", "sect", "uml", "copy", "ordf", "laquo", "not", "shy", "reg",
+            "macr", "deg", "plusmn", "sup2", "sup3", "acute", "micro", "para", "middot", "cedil", "sup1", "ordm", "raquo", "frac14",
+            "frac12", "frac34", "iquest", "Agrave", "Aacute", "Acirc", "Atilde", "Auml", "Aring", "AElig", "Ccedil", "Egrave", "Eacute",
+            "Ecirc", "Euml", "Igrave", "Iacute", "Icirc", "Iuml", "ETH", "Ntilde", "Ograve", "Oacute", "Ocirc", "Otilde", "Ouml", "times",
+            "Oslash", "Ugrave", "Uacute", "Ucirc", "Uuml", "Yacute", "THORN", "szlig", "agrave", "aacute", "acirc", "atilde", "auml",
+            "aring", "aelig", "ccedil", "egrave", "eacute", "ecirc", "euml", "igrave", "iacute", "icirc", "iuml", "eth", "ntilde",
+            "ograve", "oacute", "ocirc", "otilde", "ouml", "divide", "oslash", "ugrave", "uacute", "ucirc", "uuml", "yacute", "thorn",
+            "yuml"
+        };
+        for (int i = 0; i < latin1.length; i++)
+        {
+            ENTITIES.put(latin1[i], (char) (160 + i));
+        }
+        final Object[] others = {
+            "quot", 34, "amp", 38, "apos", 39, "lt", 60, "gt", 62, "OElig", 338, "oelig", 339, "Scaron", 352, "scaron", 353, "Yuml", 376,
+            "fnof", 402, "circ", 710, "tilde", 732, "ensp", 8194, "emsp", 8195, "thinsp", 8201, "zwnj", 8204, "zwj", 8205, "lrm", 8206,
+            "rlm", 8207, "ndash", 8211, "mdash", 8212, "lsquo", 8216, "rsquo", 8217, "sbquo", 8218, "ldquo", 8220, "rdquo", 8221,
+            "bdquo", 8222, "dagger", 8224, "Dagger", 8225, "bull", 8226, "hellip", 8230, "permil", 8240, "prime", 8242, "Prime", 8243,
+            "lsaquo", 8249, "rsaquo", 8250, "euro", 8364, "trade", 8482, "larr", 8592, "uarr", 8593, "rarr", 8594, "darr", 8595, "harr",
+            8596
+        };
+        for (int i = 0; i < others.length; i += 2)
+        {
+            ENTITIES.put((String) others[i], (char) ((Integer) others[i + 1]).intValue());
+        }
+    }
+
+    private final char[] content;
+
+    private final int length;
+
+    private int position;
+
+    private final HtmlNode root;
+
+    private final List<HtmlNode> openElements = new ArrayList<>();
+
+    private final StringBuilder text = new StringBuilder();
+
+    private int nextIndex;
+
+    private boolean exact = true;
+
+    private HtmlNode html;
+
+    private HtmlNode head;
+
+    private HtmlNode body;
+
+    private boolean bodyClosed;
+
+    private boolean htmlClosed;
+
+    /**
+     * Creates a new {@link HtmlTreeBuilder} and reads the whole content.
+     *
+     * @param reader
+     *            The <code>Reader</code> with the HTML content
+     * @throws IOException
+     *             If the content cannot be read
+     */
+    HtmlTreeBuilder(final Reader reader) throws IOException
+    {
+        char[] buffer = new char[8192];
+        int size = 0;
+        int read;
+        while ((read = reader.read(buffer, size, buffer.length - size)) != -1)
+        {
+            size += read;
+            if (size == buffer.length)
+            {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        content = buffer;
+        length = size;
+        root = new HtmlNode(Type.DOCUMENT, null, null, nextIndex++);
+        openElements.add(root);
+    }
+
+    /**
+     * Builds the tree of the content.
+     *
+     * @return The {@link HtmlDocument}
+     */
+    HtmlDocument build()
+    {
+        while (position < length)
+        {
+            final char c = content[position];
+            if (c == '<' && position + 1 < length)
+            {
+                final char next = content[position + 1];
+                if (next == '!')
+                {
+                    flushText();
+                    skipMarkupDeclaration();
+                    continue;
+                }
+                if (next == '?')
+                {
+                    flushText();
+                    skipPast(">", position);
+                    continue;
+                }
+                if (next == '/')
+                {
+                    flushText();
+                    parseEndTag();
+                    continue;
+                }
+                if (isLetter(next))
+                {
+                    flushText();
+                    parseStartTag();
+                    continue;
+                }
+            }
+            if (c == '&')
+            {
+                decodeCharacterReference(text, length);
+                continue;
+            }
+            appendCharacter(text, c);
+        }
+        flushText();
+        return new HtmlDocument(root, exact, html != null && head != null && body != null);
+    }
+
+    /**
+     * Skips a comment, a CDATA section or a document type declaration.
+     */
+    private void skipMarkupDeclaration()
+    {
+        if (startsWith("<!--", position))
+        {
+            skipPast("-->", position + 4);
+        }
+        else
+        {
+            if (startsWith("<![CDATA[", position))
+            {
+                exact = false;
+            }
+            skipPast(">", position);
+        }
+    }
+
+    private void parseStartTag()
+    {
+        // Skip '<'
+        position++;
+        final int nameStart = position;
+        while (position < length && !isWhitespace(content[position]) && content[position] != '/' && content[position] != '>')
+        {
+            position++;
+        }
+        final String name = toLowerCase(nameStart, position);
+
+        final List<String> attributes = new ArrayList<>();
+        boolean selfClosing = false;
+        while (true)
+        {
+            skipWhitespace();
+            if (position >= length)
+            {
+                // Browsers drop an unfinished tag
+                exact = false;
+                return;
+            }
+            char c = content[position];
+            if (c == '>')
+            {
+                position++;
+                break;
+            }
+            if (c == '/')
+            {
+                position++;
+                if (position < length && content[position] == '>')
+                {
+                    selfClosing = true;
+                    position++;
+                    break;
+                }
+                continue;
+            }
+
+            // Read the name of the attribute
+            final int attributeStart = position;
+            while (position < length && !isWhitespace(c = content[position]) && c != '/' && c != '>'
+                   && (c != '=' || position == attributeStart))
+            {
+                if (c == '"' || c == '\'' || c == '<')
+                {
+                    exact = false;
+                }
+                position++;
+            }
+            final String attributeName = toLowerCase(attributeStart, position);
+
+            // Read the value of the attribute
+            skipWhitespace();
+            String attributeValue = "";
+            if (position < length && content[position] == '=')
+            {
+                position++;
+                skipWhitespace();
+                attributeValue = parseAttributeValue();
+            }
+
+            // The first attribute with the same name wins
+            if (indexOfAttribute(attributes, attributeName) < 0)
+            {
+                attributes.add(attributeName);
+                attributes.add(attributeValue);
+            }
+        }
+        handleStartTag(name, attributes.toArray(new String[attributes.size()]), selfClosing);
+    }
+
+    private String parseAttributeValue()
+    {
+        final StringBuilder value = new StringBuilder();
+        if (position >= length)
+        {
+            return "";
+        }
+        final char quote = content[position];
+        final int end;
+        if (quote == '"' || quote == '\'')
+        {
+            position++;
+            final int closingQuote = indexOf(String.valueOf(quote), position);
+            end = closingQuote < 0 ? length : closingQuote;
+        }
+        else
+        {
+            int i = position;
+            while (i < length && !isWhitespace(content[i]) && content[i] != '>')
+            {
+                i++;
+            }
+            end = i;
+        }
+
+        while (position < end)
+        {
+            final char c = content[position];
+            if (c == '&')
+            {
+                decodeCharacterReference(value, end);
+            }
+            else
+            {
+                appendCharacter(value, c);
+            }
+        }
+        if (position < length && (quote == '"' || quote == '\''))
+        {
+            // Skip the closing quote
+            position++;
+        }
+        return value.toString();
+    }
+
+    private void handleStartTag(final String name, final String[] attributes, final boolean selfClosing)
+    {
+        if (bodyClosed || UNSUPPORTED_ELEMENTS.contains(name) || name.indexOf(':') >= 0)
+        {
+            exact = false;
+        }
+
+        switch (name)
+        {
+            case "html":
+                if (html != null || getCurrentElement() != root || root.getChildren().size() > 0)
+                {
+                    // A browser merges the attributes into the existing element
+                    exact = false;
+                    return;
+                }
+                html = openElement(name, attributes);
+                return;
+
+            case "head":
+                if (head != null || getCurrentElement() != html)
+                {
+                    exact = false;
+                    return;
+                }
+                head = openElement(name, attributes);
+                return;
+
+            case "body":
+                if (getCurrentElement() == head && head != null)
+                {
+                    closeElement(openElements.size() - 1);
+                }
+                if (body != null || html == null || getCurrentElement() != html)
+                {
+                    exact = false;
+                    if (body != null)
+                    {
+                        return;
+                    }
+                }
+                body = openElement(name, attributes);
+                return;
+
+            default:
+                break;
+        }
+
+        // A browser closes the head or creates the body, if it finds content there
+        final HtmlNode current = getCurrentElement();
+        if ((current == head && head != null && !HEAD_ELEMENTS.contains(name)) || (current == html && html != null))
+        {
+            exact = false;
+        }
+
+        closeImpliedElements(name);
+        checkTableContent(name);
+
+        final HtmlNode element = openElement(name, attributes);
+        if (VOID_ELEMENTS.contains(name))
+        {
+            openElements.remove(openElements.size() - 1);
+            return;
+        }
+        if (selfClosing)
+        {
+            // The slash is ignored for elements, that are not void
+            exact = false;
+        }
+        if (RAW_TEXT_ELEMENTS.contains(name) || ESCAPABLE_RAW_TEXT_ELEMENTS.contains(name))
+        {
+            parseRawText(element, ESCAPABLE_RAW_TEXT_ELEMENTS.contains(name));
+        }
+        else if (("pre".equals(name) || "listing".equals(name)) && position < length
+                 && (content[position] == '\n' || content[position] == '\r'))
+        {
+            // Browsers drop a leading line break
+            exact = false;
+        }
+    }
+
+    /**
+     * Reads the content of a raw text element up to its end tag and closes the element.
+     *
+     * @param element
+     *            The raw text element
+     * @param escapable
+     *            Whether character references are decoded
+     */
+    private void parseRawText(final HtmlNode element, final boolean escapable)
+    {
+        final String endTag = "</" + element.getName();
+        int end = position;
+        while (true)
+        {
+            end = indexOfIgnoreCase(endTag, end);
+            if (end < 0 || end + endTag.length() >= length)
+            {
+                break;
+            }
+            final char next = content[end + endTag.length()];
+            if (isWhitespace(next) || next == '/' || next == '>')
+            {
+                break;
+            }
+            end++;
+        }
+        if (end < 0)
+        {
+            exact = false;
+            end = length;
+        }
+
+        if ("textarea".equals(element.getName()) && position < end && (content[position] == '\n' || content[position] == '\r'))
+        {
+            // Browsers drop a leading line break
+            exact = false;
+        }
+        while (position < end)
+        {
+            final char c = content[position];
+            if (escapable && c == '&')
+            {
+                decodeCharacterReference(text, end);
+            }
+            else
+            {
+                appendCharacter(text, c);
+            }
+        }
+        flushText();
+        skipPast(">", end);
+        closeElement(openElements.size() - 1);
+    }
+
+    private void parseEndTag()
+    {
+        // Skip '</'
+        position += 2;
+        if (position >= length || !isLetter(content[position]))
+        {
+            // Browsers treat this as comment or text
+            exact = false;
+            skipPast(">", position);
+            return;
+        }
+        final int nameStart = position;
+        while (position < length && !isWhitespace(content[position]) && content[position] != '/' && content[position] != '>')
+        {
+            position++;
+        }
+        final String name = toLowerCase(nameStart, position);
+        skipPast(">", position);
+
+        if (VOID_ELEMENTS.contains(name))
+        {
+            // Browsers turn "</br>" into a line break
+            if ("br".equals(name))
+            {
+                exact = false;
+            }
+            return;
+        }
+        if ("p".equals(name) && !isInScope("p"))
+        {
+            // Browsers create an empty paragraph
+            exact = false;
+            return;
+        }
+
+        for (int i = openElements.size() - 1; i > 0; i--)
+        {
+            final String openName = openElements.get(i).getName();
+            if (openName.equals(name))
+            {
+                closeElement(i);
+                if ("body".equals(name) || "html".equals(name))
+                {
+                    bodyClosed = true;
+                    htmlClosed |= "html".equals(name);
+                }
+                return;
+            }
+            if (SCOPE_BARRIERS.contains(openName) && !closesTablePart(name, openName))
+            {
+                // Browsers ignore the end tag, but might close some elements, if the start tag is out of scope
+                exact &= lastIndexOf(name) < 0;
+                return;
+            }
+        }
+        // An end tag without start tag is ignored
+    }
+
+    /**
+     * @param endTag
+     *            The name of the end tag
+     * @param openName
+     *            The name of an open element
+     * @return <code>true</code> if the end tag of a table part implicitly closes the open element
+     */
+    private static boolean closesTablePart(final String endTag, final String openName)
+    {
+        switch (endTag)
+        {
+            case "tr":
+                return TABLE_CELLS.contains(openName);
+            case "thead":
+            case "tbody":
+            case "tfoot":
+                return TABLE_CELLS.contains(openName) || TABLE_ROWS.contains(openName);
+            case "table":
+                return TABLE_CELLS.contains(openName) || TABLE_ROWS.contains(openName) || TABLE_PARTS.contains(openName);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Closes the elements, whose end tag may be omitted, if the element with the given name starts.
+     *
+     * @param name
+     *            The name of the starting element
+     */
+    private void closeImpliedElements(final String name)
+    {
+        if (CLOSES_PARAGRAPH.contains(name) && isInScope("p"))
+        {
+            if ("p".equals(name))
+            {
+                closeElement(lastIndexOf("p"));
+            }
+            else
+            {
+                exact = false;
+            }
+        }
+
+        switch (name)
+        {
+            case "li":
+                closeNearest(LIST_ITEMS, LIST_BARRIERS);
+                break;
+            case "dt":
+            case "dd":
+                closeNearest(DEFINITION_ITEMS, DEFINITION_BARRIERS);
+                break;
+            case "option":
+                closeNearest(OPTIONS, OPTION_BARRIERS);
+                break;
+            case "optgroup":
+                closeNearest(OPTION_GROUPS, SELECT);
+                break;
+            case "tr":
+                closeNearest(TABLE_CELLS, TABLE_ROW_BARRIERS);
+                closeNearest(TABLE_ROWS, TABLE_SECTIONS);
+                break;
+            case "td":
+            case "th":
+                closeNearest(TABLE_CELLS, TABLE_ROW_BARRIERS);
+                break;
+            case "thead":
+            case "tbody":
+            case "tfoot":
+            case "caption":
+            case "colgroup":
+                closeNearest(TABLE_CELLS, TABLE_ROW_BARRIERS);
+                closeNearest(TABLE_ROWS, TABLE_SECTIONS);
+                closeNearest(TABLE_PARTS, TABLE);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Verifies the element does not need to be moved out of a table or into a table section.
+     *
+     * @param name
+     *            The name of the starting element
+     */
+    private void checkTableContent(final String name)
+    {
+        final String currentName = getCurrentElement().getName();
+        if (currentName == null)
+        {
+            return;
+        }
+        if (TABLE_SECTIONS.contains(currentName))
+        {
+            if (!TABLE_SECTION_CONTENT.contains(name) || ("tr".equals(name) && "table".equals(currentName)))
+            {
+                exact = false;
+            }
+        }
+        else if ("tr".equals(currentName) && !TABLE_ROW_CONTENT.contains(name))
+        {
+            exact = false;
+        }
+    }
+
+    private void closeNearest(final Set<String> names, final Set<String> barriers)
+    {
+        for (int i = openElements.size() - 1; i > 0; i--)
+        {
+            final String openName = openElements.get(i).getName();
+            if (names.contains(openName))
+            {
+                closeElement(i);
+                return;
+            }
+            if (barriers.contains(openName) || SCOPE_BARRIERS.contains(openName))
+            {
+                return;
+            }
+        }
+    }
+
+    private boolean isInScope(final String name)
+    {
+        for (int i = openElements.size() - 1; i > 0; i--)
+        {
+            final String openName = openElements.get(i).getName();
+            if (openName.equals(name))
+            {
+                return true;
+            }
+            if (SCOPE_BARRIERS.contains(openName))
+            {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private int lastIndexOf(final String name)
+    {
+        for (int i = openElements.size() - 1; i > 0; i--)
+        {
+            if (openElements.get(i).getName().equals(name))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private HtmlNode openElement(final String name, final String[] attributes)
+    {
+        final HtmlNode element = new HtmlNode(Type.ELEMENT, name, getCurrentElement(), nextIndex++);
+        element.setAttributes(attributes);
+        openElements.add(element);
+        return element;
+    }
+
+    /**
+     * Closes the open element at the index and all elements opened after it.
+     *
+     * @param index
+     *            The index of the element in {@link #openElements}
+     */
+    private void closeElement(final int index)
+    {
+        for (int i = openElements.size() - 1; i > index; i--)
+        {
+            final String name = openElements.get(i).getName();
+            if (FORMATTING_ELEMENTS.contains(name))
+            {
+                // Browsers reopen the formatting element
+                exact = false;
+            }
+        }
+        while (openElements.size() > index)
+        {
+            openElements.remove(openElements.size() - 1);
+        }
+    }
+
+    private HtmlNode getCurrentElement()
+    {
+        return openElements.get(openElements.size() - 1);
+    }
+
+    /**
+     * Adds the collected text to the current element.
+     */
+    private void flushText()
+    {
+        if (text.length() == 0)
+        {
+            return;
+        }
+        final String data = text.toString();
+        text.setLength(0);
+
+        final HtmlNode parent = getCurrentElement();
+        final boolean blank = isBlank(data);
+        if (parent == root || parent == html)
+        {
+            if (blank && htmlClosed && body != null)
+            {
+                // Browsers add white space after the document to the body
+                final List<HtmlNode> bodyChildren = body.getChildren();
+                if (!bodyChildren.isEmpty() && bodyChildren.get(bodyChildren.size() - 1).getType() == Type.TEXT)
+                {
+                    bodyChildren.get(bodyChildren.size() - 1).appendText(data);
+                }
+                else
+                {
+                    new HtmlNode(Type.TEXT, data, body, nextIndex++);
+                }
+                return;
+            }
+            if (blank)
+            {
+                // Browsers drop other white space outside of the body
+                return;
+            }
+            if (parent == html || html != null)
+            {
+                exact = false;
+            }
+        }
+        else if (!blank && (bodyClosed || parent == head || TABLE_SECTIONS.contains(parent.getName())
+                            || "tr".equals(parent.getName())))
+        {
+            // Browsers move the text
+            exact = false;
+        }
+        new HtmlNode(Type.TEXT, data, parent, nextIndex++);
+    }
+
+    /**
+     * Decodes the character reference at the current position and appends it. If it is not a character reference,
+     * only the ampersand is appended.
+     *
+     * @param target
+     *            The builder to append to
+     * @param end
+     *            The end of the current text
+     */
+    private void decodeCharacterReference(final StringBuilder target, final int end)
+    {
+        // Skip '&'
+        position++;
+        if (position < end && content[position] == '#')
+        {
+            int i = position + 1;
+            final boolean hex = i < end && (content[i] == 'x' || content[i] == 'X');
+            if (hex)
+            {
+                i++;
+            }
+            final int digitStart = i;
+            while (i < end && Character.digit(content[i], hex ? 16 : 10) >= 0 && i - digitStart < 8)
+            {
+                i++;
+            }
+            if (i == digitStart || i >= end || content[i] != ';')
+            {
+                exact = false;
+                target.append('&');
+                return;
+            }
+            final int codePoint = Integer.parseInt(new String(content, digitStart, i - digitStart), hex ? 16 : 10);
+            if (codePoint == 0 || (codePoint >= 0x80 && codePoint <= 0x9F) || (codePoint >= 0xD800 && codePoint <= 0xDFFF)
+                || codePoint > Character.MAX_CODE_POINT)
+            {
+                // Browsers replace or remap these characters
+                exact = false;
+                target.append('&');
+                return;
+            }
+            target.appendCodePoint(codePoint);
+            position = i + 1;
+            return;
+        }
+
+        int i = position;
+        while (i < end && i - position < 32 && (isLetter(content[i]) || Character.isDigit(content[i])))
+        {
+            i++;
+        }
+        if (i == position)
+        {
+            target.append('&');
+            return;
+        }
+        final String name = new String(content, position, i - position);
+        if (i < end && content[i] == ';')
+        {
+            final Character character = ENTITIES.get(name);
+            if (character == null)
+            {
+                exact = false;
+                target.append('&');
+                return;
+            }
+            target.append(character.charValue());
+            position = i + 1;
+            return;
+        }
+        // Browsers decode some references without semicolon
+        for (int prefix = 2; prefix <= name.length(); prefix++)
+        {
+            if (ENTITIES.containsKey(name.substring(0, prefix)))
+            {
+                exact = false;
+                break;
+            }
+        }
+        target.append('&');
+    }
+
+    /**
+     * Appends the character at the current position and normalizes line breaks.
+     *
+     * @param target
+     *            The builder to append to
+     * @param c
+     *            The character at the current position
+     */
+    private void appendCharacter(final StringBuilder target, final char c)
+    {
+        position++;
+        if (c == '\r')
+        {
+            if (position < length && content[position] == '\n')
+            {
+                position++;
+            }
+            target.append('\n');
+        }
+        else
+        {
+            target.append(c);
+        }
+    }
+
+    private void skipWhitespace()
+    {
+        while (position < length && isWhitespace(content[position]))
+        {
+            position++;
+        }
+    }
+
+    private void skipPast(final String terminator, final int from)
+    {
+        final int index = indexOf(terminator, from);
+        position = index < 0 ? length : index + terminator.length();
+    }
+
+    private boolean startsWith(final String prefix, final int from)
+    {
+        if (from + prefix.length() > length)
+        {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++)
+        {
+            if (content[from + i] != prefix.charAt(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(final String string, final int from)
+    {
+        final char first = string.charAt(0);
+        for (int i = from; i <= length - string.length(); i++)
+        {
+            if (content[i] == first && startsWith(string, i))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOfIgnoreCase(final String string, final int from)
+    {
+        for (int i = from; i <= length - string.length(); i++)
+        {
+            int j = 0;
+            while (j < string.length() && Character.toLowerCase(content[i + j]) == string.charAt(j))
+            {
+                j++;
+            }
+            if (j == string.length())
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String toLowerCase(final int start, final int end)
+    {
+        final char[] name = new char[end - start];
+        for (int i = start; i < end; i++)
+        {
+            name[i - start] = Character.toLowerCase(content[i]);
+        }
+        return new String(name);
+    }
+
+    private static int indexOfAttribute(final List<String> attributes, final String name)
+    {
+        for (int i = 0; i < attributes.size(); i += 2)
+        {
+            if (attributes.get(i).equals(name))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isLetter(final char c)
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isWhitespace(final char c)
+    {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+
+    private static boolean isBlank(final String string)
+    {
+        for (int i = 0; i < string.length(); i++)
+        {
+            if (!isWhitespace(string.charAt(i)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> setOf(final String... names)
+    {
+        return new HashSet<>(Arrays.asList(names));
+    }
+}
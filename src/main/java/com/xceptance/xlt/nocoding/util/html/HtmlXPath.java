@@ -0,0 +1,849 @@
+package com.xceptance.xlt.nocoding.util.html;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.xceptance.xlt.nocoding.util.html.HtmlNode.Type;
+
+/**
+ * Evaluates the subset of XPath, that scripts typically use, on an {@link HtmlDocument}. Supported are:
+ * <ul>
+ * <li>the steps <code>name</code>, <code>*</code>, <code>.</code>, <code>..</code>, <code>@name</code>,
+ * <code>@*</code> and <code>text()</code>, separated by <code>/</code> or <code>//</code>,</li>
+ * <li>paths starting with <code>//</code>, <code>.</code> or <code>id('value')</code>, and</li>
+ * <li>predicates with positions, <code>last()</code>, comparisons of attributes, texts or child elements with
+ * literals, <code>contains</code>, <code>starts-with</code>, <code>normalize-space</code>, <code>not</code>,
+ * <code>and</code> and <code>or</code>.</li>
+ * </ul>
+ * Like for HTML pages of HtmlUnit, element and attribute names are case-insensitive. Every other expression cannot be
+ * compiled and has to be evaluated by a full XPath engine.
+ */
+public final class HtmlXPath
+{
+    /**
+     * The maximum number of cached expressions
+     */
+    static final int MAX_CACHE_SIZE = 1000;
+
+    /**
+     * The compiled expressions, including the ones that are not supported
+     */
+    private static final ConcurrentMap<String, HtmlXPath> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Marks an expression, that is not supported
+     */
+    private static final HtmlXPath UNSUPPORTED = new HtmlXPath(null, Collections.emptyList(), false);
+
+    /**
+     * Names, that are only part of the tree, if a browser adds them
+     */
+    private static final Set<String> STRUCTURAL_NAMES = new HashSet<>(Arrays.asList("html", "head", "body", "tbody"));
+
+    private static final Comparator<HtmlNode> DOCUMENT_ORDER = Comparator.comparingInt(HtmlNode::getIndex);
+
+    private final String startId;
+
+    private final List<Step> steps;
+
+    private final boolean structural;
+
+    private HtmlXPath(final String startId, final List<Step> steps, final boolean structural)
+    {
+        this.startId = startId;
+        this.steps = steps;
+        this.structural = structural;
+    }
+
+    /**
+     * Compiles the expression, if it is supported.
+     *
+     * @param expression
+     *            The XPath expression
+     * @return The compiled {@link HtmlXPath}, or <code>null</code> if the expression is not supported
+     */
+    public static HtmlXPath compile(final String expression)
+    {
+        HtmlXPath xPath = CACHE.get(expression);
+        if (xPath == null)
+        {
+            xPath = new Parser(expression).parse();
+            // Make room for the new expression
+            final Iterator<String> iterator = CACHE.keySet().iterator();
+            while (CACHE.size() >= MAX_CACHE_SIZE && iterator.hasNext())
+            {
+                iterator.next();
+                iterator.remove();
+            }
+            CACHE.putIfAbsent(expression, xPath);
+        }
+        return xPath != UNSUPPORTED ? xPath : null;
+    }
+
+    /**
+     * @return <code>true</code> if the result depends on the html, head and body elements, that browsers add to
+     *         incomplete documents
+     */
+    public boolean dependsOnDocumentStructure()
+    {
+        return structural;
+    }
+
+    /**
+     * Evaluates the expression on the document.
+     *
+     * @param document
+     *            The {@link HtmlDocument}
+     * @return The text contents of the found nodes in document order, or <code>null</code> if the result cannot be
+     *         expressed as text contents
+     */
+    public List<String> evaluate(final HtmlDocument document)
+    {
+        List<HtmlNode> nodes;
+        if (startId != null)
+        {
+            final HtmlNode element = findById(document.getRoot(), startId);
+            nodes = element != null ? Collections.singletonList(element) : Collections.emptyList();
+        }
+        else
+        {
+            nodes = Collections.singletonList(document.getRoot());
+        }
+
+        for (final Step step : steps)
+        {
+            nodes = step.apply(nodes);
+        }
+
+        final List<String> result = new ArrayList<>(nodes.size());
+        for (final HtmlNode node : nodes)
+        {
+            if (node.getType() == Type.DOCUMENT)
+            {
+                return null;
+            }
+            result.add(node.getTextContent());
+        }
+        return result;
+    }
+
+    private static HtmlNode findById(final HtmlNode root, final String id)
+    {
+        final Deque<HtmlNode> nodes = new ArrayDeque<>();
+        nodes.push(root);
+        while (!nodes.isEmpty())
+        {
+            final HtmlNode node = nodes.pop();
+            if (id.equals(node.getAttribute("id")))
+            {
+                return node;
+            }
+            final List<HtmlNode> children = node.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--)
+            {
+                nodes.push(children.get(i));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds all descendants of the node in document order.
+     */
+    private static void addDescendants(final HtmlNode node, final List<HtmlNode> target)
+    {
+        final Deque<HtmlNode> nodes = new ArrayDeque<>();
+        final List<HtmlNode> children = node.getChildren();
+        for (int i = children.size() - 1; i >= 0; i--)
+        {
+            nodes.push(children.get(i));
+        }
+        while (!nodes.isEmpty())
+        {
+            final HtmlNode descendant = nodes.pop();
+            target.add(descendant);
+            final List<HtmlNode> descendantChildren = descendant.getChildren();
+            for (int i = descendantChildren.size() - 1; i >= 0; i--)
+            {
+                nodes.push(descendantChildren.get(i));
+            }
+        }
+    }
+
+    /**
+     * Sorts the nodes in document order and removes duplicates.
+     */
+    private static List<HtmlNode> toDocumentOrder(final List<HtmlNode> nodes)
+    {
+        if (nodes.size() < 2)
+        {
+            return nodes;
+        }
+        nodes.sort(DOCUMENT_ORDER);
+        final List<HtmlNode> distinctNodes = new ArrayList<>(nodes.size());
+        HtmlNode previous = null;
+        for (final HtmlNode node : nodes)
+        {
+            if (node != previous)
+            {
+                distinctNodes.add(node);
+            }
+            previous = node;
+        }
+        return distinctNodes;
+    }
+
+    /**
+     * The kinds of location steps
+     */
+    private enum Axis
+    {
+        CHILD, DESCENDANT, DESCENDANT_OR_SELF, SELF, PARENT, ATTRIBUTE, TEXT
+    }
+
+    /**
+     * A location step with its node test and predicates
+     */
+    private static final class Step
+    {
+        private final Axis axis;
+
+        /**
+         * The lower case name of the element or attribute, or <code>null</code> for any name
+         */
+        private final String name;
+
+        private final List<Condition> predicates;
+
+        private Step(final Axis axis, final String name, final List<Condition> predicates)
+        {
+            this.axis = axis;
+            this.name = name;
+            this.predicates = predicates;
+        }
+
+        private List<HtmlNode> apply(final List<HtmlNode> context)
+        {
+            final List<HtmlNode> result = new ArrayList<>();
+            for (final HtmlNode node : context)
+            {
+                switch (axis)
+                {
+                    case CHILD:
+                        final List<HtmlNode> candidates = new ArrayList<>();
+                        for (final HtmlNode child : node.getChildren())
+                        {
+                            if (matches(child))
+                            {
+                                candidates.add(child);
+                            }
+                        }
+                        result.addAll(filter(candidates));
+                        break;
+
+                    case DESCENDANT:
+                        // Only used for predicates without positions
+                        final List<HtmlNode> descendants = new ArrayList<>();
+                        addDescendants(node, descendants);
+                        for (final HtmlNode descendant : descendants)
+                        {
+                            if (matches(descendant) && test(descendant, 1, 1))
+                            {
+                                result.add(descendant);
+                            }
+                        }
+                        break;
+
+                    case DESCENDANT_OR_SELF:
+                        result.add(node);
+                        addDescendants(node, result);
+                        break;
+
+                    case SELF:
+                        result.add(node);
+                        break;
+
+                    case PARENT:
+                        if (node.getParent() != null)
+                        {
+                            result.add(node.getParent());
+                        }
+                        break;
+
+                    case TEXT:
+                        for (final HtmlNode child : node.getChildren())
+                        {
+                            if (child.getType() == Type.TEXT)
+                            {
+                                result.add(child);
+                            }
+                        }
+                        break;
+
+                    case ATTRIBUTE:
+                        // Attributes are represented by text nodes with their value
+                        if (name == null)
+                        {
+                            for (final String value : node.getAttributeValues())
+                            {
+                                result.add(new HtmlNode(Type.TEXT, value, null, node.getIndex()));
+                            }
+                        }
+                        else if (node.getAttribute(name) != null)
+                        {
+                            result.add(new HtmlNode(Type.TEXT, node.getAttribute(name), null, node.getIndex()));
+                        }
+                        break;
+
+                    default:
+                        throw new IllegalStateException("Unknown axis: " + axis);
+                }
+            }
+            // Attributes of one element keep their order, and elements are already in document order
+            return context.size() > 1 && axis != Axis.ATTRIBUTE ? toDocumentOrder(result) : result;
+        }
+
+        private boolean matches(final HtmlNode node)
+        {
+            return node.getType() == Type.ELEMENT && (name == null || name.equals(node.getName()));
+        }
+
+        private List<HtmlNode> filter(List<HtmlNode> nodes)
+        {
+            for (final Condition predicate : predicates)
+            {
+                final List<HtmlNode> filtered = new ArrayList<>(nodes.size());
+                for (int i = 0; i < nodes.size(); i++)
+                {
+                    if (predicate.test(nodes.get(i), i + 1, nodes.size()))
+                    {
+                        filtered.add(nodes.get(i));
+                    }
+                }
+                nodes = filtered;
+            }
+            return nodes;
+        }
+
+        private boolean test(final HtmlNode node, final int position, final int size)
+        {
+            for (final Condition predicate : predicates)
+            {
+                if (!predicate.test(node, position, size))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A predicate of a location step
+     */
+    private interface Condition
+    {
+        boolean test(HtmlNode node, int position, int size);
+    }
+
+    /**
+     * The operand of a comparison or function in a predicate
+     */
+    private interface Operand
+    {
+        /**
+         * @return The string values of the node-set, or a single string for functions
+         */
+        List<String> values(HtmlNode node);
+    }
+
+    /**
+     * Parses an expression with recursive descent. If the expression is not supported, the rest of it is skipped and
+     * {@link HtmlXPath#UNSUPPORTED} is returned.
+     */
+    private static final class Parser
+    {
+        private final String expression;
+
+        private int position;
+
+        private boolean structural;
+
+        private boolean positional;
+
+        /**
+         * Whether a part of the expression is not supported
+         */
+        private boolean unsupported;
+
+        private Parser(final String expression)
+        {
+            this.expression = expression;
+        }
+
+        private HtmlXPath parse()
+        {
+            final List<Step> steps = new ArrayList<>();
+            String startId = null;
+
+            skipWhitespace();
+            if (consumeFunction("id"))
+            {
+                startId = parseLiteral();
+                expect(')');
+                if (!atEnd())
+                {
+                    parseSeparator(steps);
+                }
+            }
+            else if (expression.startsWith("//", position))
+            {
+                parseSeparator(steps);
+            }
+            else if (!expression.startsWith(".", position))
+            {
+                // Absolute and relative paths start at the document, whose structure is added by browsers
+                return UNSUPPORTED;
+            }
+
+            while (!atEnd())
+            {
+                final Step step = parseStep();
+                // Fuse "//" with a following step, whose predicates do not depend on the position
+                final int last = steps.size() - 1;
+                if (step.axis == Axis.CHILD && last >= 0 && steps.get(last).axis == Axis.DESCENDANT_OR_SELF && !positional)
+                {
+                    steps.set(last, new Step(Axis.DESCENDANT, step.name, step.predicates));
+                }
+                else
+                {
+                    steps.add(step);
+                }
+                positional = false;
+
+                skipWhitespace();
+                if (atEnd())
+                {
+                    break;
+                }
+                if (step.axis == Axis.ATTRIBUTE || step.axis == Axis.TEXT)
+                {
+                    return UNSUPPORTED;
+                }
+                parseSeparator(steps);
+            }
+            final boolean endsWithSeparator = !steps.isEmpty() && steps.get(steps.size() - 1).axis == Axis.DESCENDANT_OR_SELF;
+            if (unsupported || (steps.isEmpty() && startId == null) || endsWithSeparator)
+            {
+                return UNSUPPORTED;
+            }
+            return new HtmlXPath(startId, steps, structural);
+        }
+
+        private void parseSeparator(final List<Step> steps)
+        {
+            skipWhitespace();
+            if (expression.startsWith("//", position))
+            {
+                position += 2;
+                steps.add(new Step(Axis.DESCENDANT_OR_SELF, null, Collections.emptyList()));
+            }
+            else if (expression.startsWith("/", position))
+            {
+                position++;
+            }
+            else
+            {
+                unsupported();
+            }
+            skipWhitespace();
+        }
+
+        private Step parseStep()
+        {
+            skipWhitespace();
+            if (expression.startsWith("..", position))
+            {
+                position += 2;
+                structural = true;
+                return new Step(Axis.PARENT, null, Collections.emptyList());
+            }
+            if (expression.startsWith(".", position))
+            {
+                position++;
+                return new Step(Axis.SELF, null, Collections.emptyList());
+            }
+            if (expression.startsWith("@", position))
+            {
+                position++;
+                return new Step(Axis.ATTRIBUTE, consume('*') ? null : parseName(), Collections.emptyList());
+            }
+            if (consumeFunction("text"))
+            {
+                expect(')');
+                return new Step(Axis.TEXT, null, Collections.emptyList());
+            }
+
+            final String name;
+            if (consume('*'))
+            {
+                structural = true;
+                name = null;
+            }
+            else
+            {
+                name = parseElementName();
+            }
+            final List<Condition> predicates = new ArrayList<>();
+            skipWhitespace();
+            while (consume('['))
+            {
+                predicates.add(parseOr());
+                expect(']');
+                skipWhitespace();
+            }
+            return new Step(Axis.CHILD, name, predicates);
+        }
+
+        private Condition parseOr()
+        {
+            Condition condition = parseAnd();
+            while (consumeKeyword("or"))
+            {
+                final Condition left = condition;
+                final Condition right = parseAnd();
+                condition = (node, position, size) -> left.test(node, position, size) || right.test(node, position, size);
+            }
+            return condition;
+        }
+
+        private Condition parseAnd()
+        {
+            Condition condition = parseUnary();
+            while (consumeKeyword("and"))
+            {
+                final Condition left = condition;
+                final Condition right = parseUnary();
+                condition = (node, position, size) -> left.test(node, position, size) && right.test(node, position, size);
+            }
+            return condition;
+        }
+
+        private Condition parseUnary()
+        {
+            skipWhitespace();
+            if (consume('('))
+            {
+                final Condition condition = parseOr();
+                expect(')');
+                return condition;
+            }
+            if (position < expression.length() && Character.isDigit(expression.charAt(position)))
+            {
+                final int start = position;
+                while (position < expression.length() && Character.isDigit(expression.charAt(position)))
+                {
+                    position++;
+                }
+                final int index = Integer.parseInt(expression.substring(start, position));
+                positional = true;
+                return (node, position, size) -> position == index;
+            }
+            if (consumeFunction("last"))
+            {
+                expect(')');
+                positional = true;
+                return (node, position, size) -> position == size;
+            }
+            if (consumeFunction("not"))
+            {
+                final Condition condition = parseOr();
+                expect(')');
+                return (node, position, size) -> !condition.test(node, position, size);
+            }
+            if (consumeFunction("contains"))
+            {
+                final Operand operand = parseOperand();
+                expect(',');
+                final String literal = parseLiteral();
+                expect(')');
+                return (node, position, size) -> firstValue(operand, node).contains(literal);
+            }
+            if (consumeFunction("starts-with"))
+            {
+                final Operand operand = parseOperand();
+                expect(',');
+                final String literal = parseLiteral();
+                expect(')');
+                return (node, position, size) -> firstValue(operand, node).startsWith(literal);
+            }
+
+            final Operand operand = parseOperand();
+            skipWhitespace();
+            if (expression.startsWith("!=", position))
+            {
+                position += 2;
+                final String literal = parseLiteral();
+                return (node, position, size) -> {
+                    for (final String value : operand.values(node))
+                    {
+                        if (!value.equals(literal))
+                        {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            }
+            if (consume('='))
+            {
+                final String literal = parseLiteral();
+                return (node, position, size) -> operand.values(node).contains(literal);
+            }
+            // A node-set is true, if it is not empty, and a string, if it is not empty
+            return (node, position, size) -> {
+                final List<String> values = operand.values(node);
+                return !values.isEmpty() && !(operand instanceof StringFunction && values.get(0).isEmpty());
+            };
+        }
+
+        private Operand parseOperand()
+        {
+            skipWhitespace();
+            if (consume('@'))
+            {
+                if (consume('*'))
+                {
+                    return HtmlNode::getAttributeValues;
+                }
+                final String name = parseName();
+                return node -> {
+                    final String value = node.getAttribute(name);
+                    return value != null ? Collections.singletonList(value) : Collections.emptyList();
+                };
+            }
+            if (consumeFunction("text"))
+            {
+                expect(')');
+                return node -> {
+                    final List<String> values = new ArrayList<>();
+                    for (final HtmlNode child : node.getChildren())
+                    {
+                        if (child.getType() == Type.TEXT)
+                        {
+                            values.add(child.getTextContent());
+                        }
+                    }
+                    return values;
+                };
+            }
+            if (consumeFunction("normalize-space"))
+            {
+                skipWhitespace();
+                final Operand operand = expression.startsWith(")", position) ? null : parseOperand();
+                expect(')');
+                return (StringFunction) node -> Collections.singletonList(normalizeSpace(operand != null ? firstValue(operand, node)
+                                                                                                        : node.getTextContent()));
+            }
+            if (position < expression.length() && expression.charAt(position) == '.' && !expression.startsWith("..", position))
+            {
+                position++;
+                return node -> Collections.singletonList(node.getTextContent());
+            }
+
+            final String name = parseElementName();
+            return node -> {
+                final List<String> values = new ArrayList<>();
+                for (final HtmlNode child : node.getChildren())
+                {
+                    if (name.equals(child.getName()))
+                    {
+                        values.add(child.getTextContent());
+                    }
+                }
+                return values;
+            };
+        }
+
+        private String parseElementName()
+        {
+            final String name = parseName();
+            skipWhitespace();
+            if (STRUCTURAL_NAMES.contains(name) || expression.startsWith("(", position) || expression.startsWith(":", position))
+            {
+                // Added elements, unknown functions, axes and namespaces are not supported
+                unsupported();
+            }
+            return name;
+        }
+
+        private String parseName()
+        {
+            skipWhitespace();
+            final int start = position;
+            while (position < expression.length() && isNameCharacter(expression.charAt(position)))
+            {
+                position++;
+            }
+            if (start == position)
+            {
+                unsupported();
+                return "";
+            }
+            return expression.substring(start, position).toLowerCase();
+        }
+
+        private String parseLiteral()
+        {
+            skipWhitespace();
+            if (position >= expression.length())
+            {
+                unsupported();
+                return "";
+            }
+            final char quote = expression.charAt(position);
+            final int end = expression.indexOf(quote, position + 1);
+            if ((quote != '\'' && quote != '"') || end < 0)
+            {
+                unsupported();
+                return "";
+            }
+            final String literal = expression.substring(position + 1, end);
+            position = end + 1;
+            return literal;
+        }
+
+        /**
+         * Consumes the name of the function and the opening parenthesis.
+         */
+        private boolean consumeFunction(final String name)
+        {
+            skipWhitespace();
+            final int start = position;
+            if (!expression.regionMatches(true, position, name, 0, name.length()))
+            {
+                return false;
+            }
+            position += name.length();
+            if (position < expression.length() && isNameCharacter(expression.charAt(position)))
+            {
+                position = start;
+                return false;
+            }
+            skipWhitespace();
+            if (!consume('('))
+            {
+                position = start;
+                return false;
+            }
+            return true;
+        }
+
+        private boolean consumeKeyword(final String keyword)
+        {
+            skipWhitespace();
+            if (expression.regionMatches(true, position, keyword, 0, keyword.length())
+                && (position + keyword.length() >= expression.length()
+                    || !isNameCharacter(expression.charAt(position + keyword.length()))))
+            {
+                position += keyword.length();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean consume(final char c)
+        {
+            skipWhitespace();
+            if (position < expression.length() && expression.charAt(position) == c)
+            {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(final char c)
+        {
+            if (!consume(c))
+            {
+                unsupported();
+            }
+        }
+
+        /**
+         * Marks the expression as not supported and skips the rest of it, so the parsing ends.
+         */
+        private void unsupported()
+        {
+            unsupported = true;
+            position = expression.length();
+        }
+
+        private boolean atEnd()
+        {
+            skipWhitespace();
+            return position >= expression.length();
+        }
+
+        private void skipWhitespace()
+        {
+            while (position < expression.length() && Character.isWhitespace(expression.charAt(position)))
+            {
+                position++;
+            }
+        }
+
+        private static boolean isNameCharacter(final char c)
+        {
+            return Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '.';
+        }
+    }
+
+    /**
+     * An {@link Operand}, that is a string and not a node-set
+     */
+    private interface StringFunction extends Operand
+    {
+    }
+
+    private static String firstValue(final Operand operand, final HtmlNode node)
+    {
+        final List<String> values = operand.values(node);
+        return values.isEmpty() ? "" : values.get(0);
+    }
+
+    private static String normalizeSpace(final String value)
+    {
+        final StringBuilder normalized = new StringBuilder(value.length());
+        boolean space = false;
+        for (int i = 0; i < value.length(); i++)
+        {
+            final char c = value.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r')
+            {
+                space = normalized.length() > 0;
+            }
+            else
+            {
+                if (space)
+                {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+}
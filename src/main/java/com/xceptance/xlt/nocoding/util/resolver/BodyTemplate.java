@@ -0,0 +1,184 @@
+package com.xceptance.xlt.nocoding.util.resolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+
+import com.xceptance.xlt.api.util.XltLogger;
+import com.xceptance.xlt.nocoding.util.FileCache;
+import com.xceptance.xlt.nocoding.util.FileFinderUtils;
+import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
+import com.xceptance.xlt.nocoding.util.context.Context;
+
+/**
+ * The content of a body file as {@link VariableTemplate}. Every file is read and tokenized exactly once, and again if
+ * it changed, see {@link FileCache}, so its content exists only once per agent. For every request, the template is
+ * rendered segment by segment into a single buffer, that is large enough for the literal content, and decoded in the
+ * same step if needed.<br>
+ * The content follows the same rules as the body in the script, except that the values of the variables are resolved
+ * on their own, so the rendered body is never scanned again.
+ */
+public class BodyTemplate
+{
+    /**
+     * The loaded body templates by their file path
+     */
+    private static final FileCache<BodyTemplate> CACHE = new FileCache<>("Body file");
+
+    /**
+     * The tokenized content of the file
+     */
+    private final VariableTemplate template;
+
+    /**
+     * The length of all literal segments of the template
+     */
+    private final int literalLength;
+
+    /**
+     * Creates a new {@link BodyTemplate} out of the content.
+     *
+     * @param content
+     *            The content of the body file
+     */
+    BodyTemplate(final String content)
+    {
+        template = VariableTemplate.compile(content);
+        int length = 0;
+        for (final Object segment : template.getSegments())
+        {
+            if (segment instanceof String)
+            {
+                length += ((String) segment).length();
+            }
+        }
+        literalLength = length;
+    }
+
+    /**
+     * Gets the template of the body file from the cache or loads it. The file is searched at the specified path first,
+     * then in the directory provided in the properties.
+     *
+     * @param fileName
+     *            The path to the body file
+     * @param context
+     *            The current {@link Context}
+     * @return The template of the body file
+     * @throws IllegalArgumentException
+     *             if the file cannot be found
+     * @throws IllegalStateException
+     *             if the file cannot be read
+     */
+    public static BodyTemplate of(final String fileName, final Context<?> context)
+    {
+        final long checkInterval = context.getPropertyByKey(NoCodingPropertyAdmin.SCRIPTCHECKINTERVAL,
+                                                            NoCodingPropertyAdmin.SCRIPTCHECKINTERVAL_DEFAULT);
+        return get(findFile(fileName, context), checkInterval);
+    }
+
+    /**
+     * Gets the template of the body file from the cache or loads it, if this did not happen yet or the file changed.
+     *
+     * @param filePath
+     *            The path to the existing body file
+     * @param checkInterval
+     *            The minimum time in milliseconds between two checks if the file changed. A negative value disables the
+     *            check
+     * @return The template of the body file
+     * @throws IllegalStateException
+     *             if the file cannot be read
+     */
+    static BodyTemplate get(final String filePath, final long checkInterval)
+    {
+        try
+        {
+            return CACHE.get(filePath, path -> new BodyTemplate(read(path)), checkInterval);
+        }
+        catch (final Exception e)
+        {
+            throw new IllegalStateException("Failed to read body file " + filePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Removes all loaded body templates.
+     */
+    public static void clear()
+    {
+        CACHE.clear();
+    }
+
+    /**
+     * Renders the body into a single buffer.
+     *
+     * @param context
+     *            The current {@link Context}
+     * @param decode
+     *            Whether the rendered body is URL decoded
+     * @return The rendered body
+     * @throws UnsupportedEncodingException
+     */
+    public String render(final Context<?> context, final boolean decode) throws UnsupportedEncodingException
+    {
+        // Leave some room for the values of the variables
+        final StringBuilder builder = new StringBuilder(literalLength + literalLength / 8 + 16);
+        template.renderTo(builder, context.getResolver(), context);
+        final String body = builder.toString();
+        // Only bodies with an escape sequence or a plus change when they are decoded
+        if (decode && (body.indexOf('%') >= 0 || body.indexOf('+') >= 0))
+        {
+            return URLDecoder.decode(body, "UTF-8");
+        }
+        return body;
+    }
+
+    /**
+     * Finds the body file at the specified path or in the directory provided in the properties.
+     *
+     * @param fileName
+     *            The path to the body file
+     * @param context
+     *            The current {@link Context}
+     * @return The path to the existing file
+     */
+    private static String findFile(final String fileName, final Context<?> context)
+    {
+        if (FileFinderUtils.existsFileFor(fileName))
+        {
+            return fileName;
+        }
+        String directory = context.getPropertyByKey(NoCodingPropertyAdmin.DIRECTORY, NoCodingPropertyAdmin.DIRECTORY_DEFAULT);
+        if (!directory.endsWith(String.valueOf(File.separatorChar)))
+        {
+            directory = directory + File.separatorChar;
+        }
+        if (FileFinderUtils.existsFileFor(directory + fileName))
+        {
+            return directory + fileName;
+        }
+        throw new IllegalArgumentException("No body file found at " + fileName + " or " + directory + fileName);
+    }
+
+    /**
+     * Reads the content of the file or URL as UTF-8.
+     *
+     * @param filePath
+     *            The path to the file
+     * @return The content of the file
+     * @throws IOException
+     */
+    private static String read(final String filePath) throws IOException
+    {
+        XltLogger.runTimeLogger.debug("Loading body file " + filePath);
+        try (final InputStream stream = FileCache.openStream(filePath))
+        {
+            return IOUtils.toString(stream, StandardCharsets.UTF_8);
+        }
+    }
+
+}
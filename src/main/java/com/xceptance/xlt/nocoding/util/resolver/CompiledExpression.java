@@ -0,0 +1,435 @@
+package com.xceptance.xlt.nocoding.util.resolver;
+
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.xceptance.xlt.api.data.GeneralDataProvider;
+import com.xceptance.xlt.nocoding.util.LruCache;
+
+import bsh.EvalError;
+import bsh.Interpreter;
+import bsh.Parser;
+import bsh.UtilEvalError;
+
+/**
+ * A BeanShell expression, that is parsed once and can then be evaluated by any {@link Interpreter}.<br>
+ * Expressions that simply call a method of one of the built-in helpers <code>NOW</code>, <code>RANDOM</code>,
+ * <code>DATE</code> or <code>DATA</code> with literal arguments, like <code>RANDOM.Number(1,100)</code>, do not use
+ * BeanShell at all. Instead, the method is looked up once and invoked directly on the helper of the interpreter.
+ * Every other expression is evaluated with {@link Interpreter#eval(String)}.
+ */
+public abstract class CompiledExpression
+{
+    /**
+     * The maximum amount of expressions in {@link #CACHE}
+     */
+    static final int MAX_CACHE_SIZE = 10000;
+
+    /**
+     * Cache of the compiled expressions. Since expressions created at runtime are compiled as well, the least recently
+     * used expressions are removed, when the cache is full.
+     */
+    private static final LruCache<String, CompiledExpression> CACHE = new LruCache<>(MAX_CACHE_SIZE);
+
+    /**
+     * The classes of the built-in helpers by their name in the interpreter
+     */
+    private static final Map<String, Class<?>> BUILT_INS = new HashMap<>();
+
+    static
+    {
+        BUILT_INS.put("NOW", ParameterInterpreterNow.class);
+        BUILT_INS.put("RANDOM", ParameterInterpreterRandom.class);
+        BUILT_INS.put("DATE", Date.class);
+        BUILT_INS.put("DATA", GeneralDataProvider.class);
+    }
+
+    /**
+     * Matches the name of a built-in helper, that is optionally followed by a method call
+     */
+    private static final Pattern BUILT_IN_PATTERN = Pattern.compile("\\s*([A-Z]+)\\s*(?:\\.\\s*([A-Za-z_$][\\w$]*)\\s*\\((.*)\\))?\\s*;?\\s*",
+                                                                    Pattern.DOTALL);
+
+    /**
+     * Matches a literal integer argument
+     */
+    private static final Pattern INT_PATTERN = Pattern.compile("-?\\d{1,9}");
+
+    /**
+     * The expression as it was specified
+     */
+    private final String expression;
+
+    /**
+     * Creates a new {@link CompiledExpression}
+     *
+     * @param expression
+     *            The expression as it was specified
+     */
+    protected CompiledExpression(final String expression)
+    {
+        this.expression = expression;
+    }
+
+    /**
+     * Gets the compiled expression from the cache or compiles it.
+     *
+     * @param expression
+     *            The BeanShell expression
+     * @return The compiled expression
+     * @throws EvalError
+     *             if the expression cannot be parsed
+     */
+    public static CompiledExpression of(final String expression) throws EvalError
+    {
+        CompiledExpression compiledExpression = CACHE.get(expression);
+        if (compiledExpression == null)
+        {
+            compiledExpression = compile(expression);
+            CACHE.put(expression, compiledExpression);
+        }
+        return compiledExpression;
+    }
+
+    /**
+     * Compiles the expression without caching it.
+     *
+     * @param expression
+     *            The BeanShell expression
+     * @return The compiled expression
+     * @throws EvalError
+     *             if the expression cannot be parsed
+     */
+    public static CompiledExpression compile(final String expression) throws EvalError
+    {
+        final CompiledExpression builtIn = BuiltInExpression.parse(expression);
+        if (builtIn != null)
+        {
+            return builtIn;
+        }
+        return BeanShellExpression.parse(expression);
+    }
+
+    /**
+     * Evaluates the expression with the specified interpreter.
+     *
+     * @param interpreter
+     *            The {@link Interpreter} that holds the variables
+     * @return The value of the expression, or <code>null</code> if it has no value
+     * @throws EvalError
+     *             if the evaluation fails
+     */
+    public abstract Object evaluate(final Interpreter interpreter) throws EvalError;
+
+    /**
+     * @return <code>true</code> if the expression is evaluated without BeanShell, <code>false</code> otherwise
+     */
+    public boolean isBuiltIn()
+    {
+        return false;
+    }
+
+    public String getExpression()
+    {
+        return expression;
+    }
+
+    /**
+     * Evaluates the expression with {@link Interpreter#eval(String)}. This parses the expression again.
+     *
+     * @param interpreter
+     *            The {@link Interpreter} that holds the variables
+     * @return The value of the expression
+     * @throws EvalError
+     *             if the evaluation fails
+     */
+    protected Object interpret(final Interpreter interpreter) throws EvalError
+    {
+        return interpreter.eval(expression);
+    }
+
+    /**
+     * An expression, that calls a method of a built-in helper with literal arguments, or simply is the built-in helper.
+     */
+    static class BuiltInExpression extends CompiledExpression
+    {
+        /**
+         * The name of the helper in the interpreter
+         */
+        private final String name;
+
+        /**
+         * The method to invoke, or <code>null</code> if the helper itself is the value
+         */
+        private final Method method;
+
+        /**
+         * The arguments of the method
+         */
+        private final Object[] arguments;
+
+        private BuiltInExpression(final String expression, final String name, final Method method, final Object[] arguments)
+        {
+            super(expression);
+            this.name = name;
+            this.method = method;
+            this.arguments = arguments;
+        }
+
+        /**
+         * Compiles the expression if it is a plain call of a built-in helper.
+         *
+         * @param expression
+         *            The expression
+         * @return The compiled expression, or <code>null</code> if the expression needs BeanShell
+         */
+        private static BuiltInExpression parse(final String expression)
+        {
+            final Matcher matcher = BUILT_IN_PATTERN.matcher(expression);
+            if (!matcher.matches() || !BUILT_INS.containsKey(matcher.group(1)))
+            {
+                return null;
+            }
+            final String name = matcher.group(1);
+            // The helper itself
+            if (matcher.group(2) == null)
+            {
+                return new BuiltInExpression(expression, name, null, null);
+            }
+            final Object[] arguments = parseArguments(matcher.group(3));
+            if (arguments == null)
+            {
+                return null;
+            }
+            final Method method = findMethod(BUILT_INS.get(name), matcher.group(2), arguments);
+            if (method == null)
+            {
+                return null;
+            }
+            return new BuiltInExpression(expression, name, method, arguments);
+        }
+
+        /**
+         * Parses the literal arguments of a method call. Only integers, booleans and strings without escaped characters
+         * are supported.
+         *
+         * @param argumentList
+         *            The arguments separated by commas
+         * @return The parsed arguments, or <code>null</code> if any argument is not a supported literal
+         */
+        private static Object[] parseArguments(final String argumentList)
+        {
+            final List<Object> arguments = new ArrayList<>();
+            if (argumentList.trim().isEmpty())
+            {
+                return arguments.toArray();
+            }
+            int start = 0;
+            boolean inString = false;
+            for (int i = 0; i <= argumentList.length(); i++)
+            {
+                final char current = i < argumentList.length() ? argumentList.charAt(i) : ',';
+                if (current == '\\')
+                {
+                    return null;
+                }
+                else if (current == '"')
+                {
+                    inString = !inString;
+                }
+                else if (current == ',' && !inString)
+                {
+                    final Object argument = parseArgument(argumentList.substring(start, i).trim());
+                    if (argument == null)
+                    {
+                        return null;
+                    }
+                    arguments.add(argument);
+                    start = i + 1;
+                }
+            }
+            return inString ? null : arguments.toArray();
+        }
+
+        /**
+         * Parses a single literal argument.
+         *
+         * @param argument
+         *            The trimmed argument
+         * @return The value of the argument, or <code>null</code> if it is not a supported literal
+         */
+        private static Object parseArgument(final String argument)
+        {
+            if (argument.length() >= 2 && argument.startsWith("\"") && argument.endsWith("\""))
+            {
+                final String value = argument.substring(1, argument.length() - 1);
+                return value.indexOf('"') < 0 ? value : null;
+            }
+            else if (argument.equals("true") || argument.equals("false"))
+            {
+                return Boolean.valueOf(argument);
+            }
+            else if (INT_PATTERN.matcher(argument).matches())
+            {
+                return Integer.valueOf(argument);
+            }
+            return null;
+        }
+
+        /**
+         * Finds the only public method with the specified name, that accepts the arguments and returns a value.
+         *
+         * @param type
+         *            The class of the helper
+         * @param methodName
+         *            The name of the method
+         * @param arguments
+         *            The arguments
+         * @return The method, or <code>null</code> if there is no or more than one such method
+         */
+        private static Method findMethod(final Class<?> type, final String methodName, final Object[] arguments)
+        {
+            Method found = null;
+            for (final Method method : type.getMethods())
+            {
+                if (method.getName().equals(methodName) && method.getReturnType() != void.class
+                    && !Modifier.isStatic(method.getModifiers()) && accepts(method.getParameterTypes(), arguments))
+                {
+                    // Let BeanShell decide between overloaded methods
+                    if (found != null)
+                    {
+                        return null;
+                    }
+                    found = method;
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Checks if the parameter types accept the arguments without any conversion but unboxing.
+         */
+        private static boolean accepts(final Class<?>[] parameterTypes, final Object[] arguments)
+        {
+            if (parameterTypes.length != arguments.length)
+            {
+                return false;
+            }
+            for (int i = 0; i < arguments.length; i++)
+            {
+                final Class<?> parameterType = parameterTypes[i];
+                final Object argument = arguments[i];
+                final boolean accepted;
+                if (argument instanceof Integer)
+                {
+                    accepted = parameterType == int.class || parameterType == Integer.class;
+                }
+                else if (argument instanceof Boolean)
+                {
+                    accepted = parameterType == boolean.class || parameterType == Boolean.class;
+                }
+                else
+                {
+                    accepted = parameterType == String.class;
+                }
+                if (!accepted)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Object evaluate(final Interpreter interpreter) throws EvalError
+        {
+            final Object helper;
+            try
+            {
+                helper = interpreter.getNameSpace().getVariable(name);
+            }
+            catch (final UtilEvalError e)
+            {
+                return interpret(interpreter);
+            }
+            // The helper was replaced in this interpreter, so let BeanShell handle it
+            if (!BUILT_INS.get(name).isInstance(helper))
+            {
+                return interpret(interpreter);
+            }
+            if (method == null)
+            {
+                return helper;
+            }
+            try
+            {
+                return method.invoke(helper, arguments);
+            }
+            catch (final InvocationTargetException e)
+            {
+                throw new RuntimeException("Failed to evaluate " + getExpression(), e.getCause());
+            }
+            catch (final IllegalAccessException e)
+            {
+                return interpret(interpreter);
+            }
+        }
+
+        @Override
+        public boolean isBuiltIn()
+        {
+            return true;
+        }
+    }
+
+    /**
+     * An expression, that is evaluated with {@link Interpreter#eval(String)}. Its syntax is checked once, when it is
+     * compiled, but the parsed nodes are not kept, since BeanShell nodes store state while they are evaluated and must
+     * not be shared between interpreters.
+     */
+    static class BeanShellExpression extends CompiledExpression
+    {
+        private BeanShellExpression(final String expression)
+        {
+            super(expression);
+        }
+
+        /**
+         * Checks the syntax of the expression.
+         *
+         * @param expression
+         *            The expression
+         * @return The compiled expression
+         * @throws EvalError
+         *             if the expression cannot be parsed
+         */
+        private static BeanShellExpression parse(final String expression) throws EvalError
+        {
+            final String statements = expression.endsWith(";") ? expression : expression + ";";
+            final Parser parser = new Parser(new StringReader(statements));
+            boolean eof = false;
+            while (!eof)
+            {
+                eof = parser.Line();
+                parser.popNode();
+            }
+            return new BeanShellExpression(expression);
+        }
+
+        @Override
+        public Object evaluate(final Interpreter interpreter) throws EvalError
+        {
+            return interpret(interpreter);
+        }
+    }
+
+}
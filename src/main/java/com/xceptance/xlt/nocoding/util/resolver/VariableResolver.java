@@ -4,20 +4,19 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
-
 import com.xceptance.xlt.api.data.GeneralDataProvider;
+import com.xceptance.xlt.nocoding.util.Metrics;
 import com.xceptance.xlt.nocoding.util.context.Context;
 import com.xceptance.xlt.nocoding.util.storage.DataStorage;
 
 import bsh.EvalError;
 import bsh.Interpreter;
+import bsh.NameSpace;
 
 /**
  * Tries to resolve variables. A variable is specified as "${(.)*}". Resolves values from the inside to the outside by
  * first looking into the dataStorage, then tries resolving it via beanshell and lastly it looks into the property
- * files. If nothing is found, it returns the original string. If it finds a recursion, it throws an error.
+ * files. BeanShell expressions are compiled once to a {@link CompiledExpression}. If nothing is found, it returns the original string. If it finds a recursion, it throws an error.
  *
  * @author ckeiner
  */
@@ -26,15 +25,45 @@ public class VariableResolver
 
     public Interpreter interpreter;
 
+    /**
+     * The namespace of the interpreter with the helpers, that is the parent of the namespace of every iteration
+     */
+    private final NameSpace baseNameSpace;
+
+    /**
+     * The data provider, that is available as <code>DATA</code>
+     */
+    private final GeneralDataProvider dataProvider;
+
     public VariableResolver(final GeneralDataProvider dataProvider)
     {
         interpreter = new Interpreter();
+        baseNameSpace = interpreter.getNameSpace();
+        this.dataProvider = dataProvider;
+        reset();
+    }
+
+    public VariableResolver()
+    {
+        this(GeneralDataProvider.getInstance());
+    }
+
+    /**
+     * Resets the interpreter for a new test iteration, so that it can be reused instead of creating a new one. All
+     * variables, that were defined by expressions, are dropped, the helpers are set again, and <code>DATE</code> is set
+     * to the current date.
+     */
+    public void reset()
+    {
         try
         {
+            interpreter.setNameSpace(baseNameSpace);
             interpreter.set("NOW", new ParameterInterpreterNow());
             interpreter.set("RANDOM", new ParameterInterpreterRandom());
-            interpreter.set("DATE", new Date());
             interpreter.set("DATA", dataProvider);
+            // Variables of the iteration are stored in a child namespace, that is simply dropped with the next reset
+            interpreter.setNameSpace(new NameSpace(baseNameSpace, "iteration"));
+            interpreter.set("DATE", new Date());
         }
         catch (final EvalError e)
         {
@@ -42,13 +71,9 @@ public class VariableResolver
         }
     }
 
-    public VariableResolver()
-    {
-        this(GeneralDataProvider.getInstance());
-    }
-
     /**
-     * Resolves the string as long as it can resolve it, but throws an error if it detects recursion
+     * Resolves the string as long as it can resolve it, but throws an error if it detects recursion. The string is
+     * resolved with its pre-tokenized {@link VariableTemplate}, so it is only scanned once per JVM.
      *
      * @param toResolve
      * @param context
@@ -56,116 +81,73 @@ public class VariableResolver
      */
     public String resolveString(final String toResolve, final Context<?> context)
     {
-        final List<String> resolvedValues = new ArrayList<>();
-        String resolvedValue = resolveExpression(toResolve, false, context).getLeft();
-        resolvedValues.add(resolvedValue);
-        // As long as we can still resolve another value, continue
-        while (!resolvedValue.equals(resolveExpression(resolvedValue, false, context).getLeft()))
+        final Metrics metrics = context.getMetrics();
+        final long start = metrics.start();
+        try
         {
-            //
-            resolvedValue = resolveExpression(resolvedValue, false, context).getLeft();
-            if (!resolvedValues.isEmpty() && resolvedValues.contains(resolvedValue))
-            {
-                // If the last added value is what we have resolved, this isn't an error but intentional
-                if (resolvedValues.indexOf(resolvedValue) == resolvedValues.size() - 1)
-                {
-                    break;
-                }
-                else
-                {
-                    throw new IllegalArgumentException("Recursion found for variable: " + toResolve);
-                }
-            }
-            else
-            {
-                resolvedValues.add(resolvedValue);
-            }
+            return resolveAll(toResolve, context);
+        }
+        finally
+        {
+            metrics.stop(Metrics.RESOLVESTRING, start);
         }
-        return resolvedValue;
     }
 
     /**
-     * Resolves the string once
+     * Resolves the string, until it does not change anymore.
      *
-     * @param expression
-     * @param mustBeResolved
+     * @param toResolve
+     *            The string to resolve
      * @param context
-     * @return A pair consisting of the resolved value and the length of the expression that was resolved
+     *            The current {@link Context}
+     * @return The resolved string with no variables
      */
-    public Pair<String, Integer> resolveExpression(final String expression, final boolean mustBeResolved, final Context<?> context)
+    private String resolveAll(final String toResolve, final Context<?> context)
     {
-        String resolvedValue = "";
-        char current;
-        boolean isResolved = false;
-        boolean ignoreNextChars = false;
-        int index = 0;
-
-        // Main iteration over the string
-        for (; index < expression.length(); index++)
+        String resolvedValue = VariableTemplate.of(toResolve).render(this, context);
+        List<String> resolvedValues = null;
+        // As long as we can still resolve another value, continue
+        while (mightBeResolvable(resolvedValue))
         {
-            current = expression.charAt(index);
-            // if (current == '\\')
-            // {
-            // // Add the next char and increment index
-            // resolvedValue += expression.charAt(++index);
-            // }
-
-            // Change "mode", so every character that is following literally
-            if (current == '\'' && expression.substring(index + 1).contains("\'"))
-            {
-                ignoreNextChars = true;
-            }
-            // Stop ignoring every character that is following
-            else if (current == '\'' && ignoreNextChars)
+            final String nextValue = VariableTemplate.compile(resolvedValue).render(this, context);
+            // Nothing changed, so we are done
+            if (nextValue.equals(resolvedValue))
             {
-                ignoreNextChars = false;
+                break;
             }
-            // If we find a "}" and we don't want to ignore it and if we found a variable beforehand
-            else if (current == '}' && !ignoreNextChars && mustBeResolved)
+            if (resolvedValues == null)
             {
-                isResolved = true;
-                // Resolve it
-                final String resolved = resolveVariable(resolvedValue, context);
-                if (resolved == null)
-                {
-                    resolvedValue += current;
-                    continue;
-                }
-                else
-                {
-                    resolvedValue = resolved;
-                    // Exit the loop
-                    break;
-                }
-            }
-            // We found a variable start and there is a variable end
-            else if (current == '$' && expression.length() > index + 2 && expression.charAt(index + 1) == '{'
-                     && expression.substring(index + 2).contains("}"))
-            {
-                // Resolve the variable
-                final Pair<String, Integer> resolvedPair = resolveExpression(expression.substring(index + 2), true, context);
-                // Add it to the function output resolvedValue
-                resolvedValue += resolvedPair.getLeft();
-                // Increment index by length of the variableName plus 3
-                index += resolvedPair.getRight() + 2;
+                resolvedValues = new ArrayList<>();
+                resolvedValues.add(resolvedValue);
             }
-            else
+            // If we resolved this value before, we found a recursion
+            if (resolvedValues.contains(nextValue))
             {
-                resolvedValue += current;
+                throw new IllegalArgumentException("Recursion found for variable: " + toResolve);
             }
+            resolvedValues.add(nextValue);
+            resolvedValue = nextValue;
         }
+        return resolvedValue;
+    }
 
-        if (mustBeResolved && !isResolved)
-        {
-            resolvedValue = "${" + resolvedValue;
-        }
-
-        return new ImmutablePair<>(resolvedValue, index);
+    /**
+     * Checks if resolving the value again might change it. This is only the case, if it contains a variable or a
+     * quote.
+     *
+     * @param value
+     *            The value to check
+     * @return <code>true</code> if the value might change when resolving it, <code>false</code> otherwise
+     */
+    private boolean mightBeResolvable(final String value)
+    {
+        return value.indexOf('$') >= 0 || value.indexOf('\'') >= 0;
     }
 
     /**
-     * Asks the {@link DataStorage}, then beanshell, then the property files for the value of the variable. If none of
-     * these know the variable, it returns the variable with ${ at the beginning and } at the end
+     * Asks the {@link DataStorage}, then the shared variables of the agent, then beanshell, then the property files for
+     * the value of the variable. If none of these know the variable, it returns the variable with ${ at the beginning
+     * and } at the end
      *
      * @param variableName
      *            The name of the variable
@@ -173,16 +155,22 @@ public class VariableResolver
      * @return The value provided in either {@link DataStorage}, beanshell, or the property files. If no value was
      *         found, returns "${variableName}"
      */
-    private String resolveVariable(final String variableName, final Context<?> context)
+    String resolveVariable(final String variableName, final Context<?> context)
     {
         // Try to resolve it in the dataStorage
         String resolvedValue = context.getVariables().get(variableName);
+        // Then in the variables shared by all users
+        if (resolvedValue == null && context.getSharedVariables() != null)
+        {
+            resolvedValue = context.getSharedVariables().get(variableName);
+        }
         // If we didn't find it, let beanshell handle the variable
         if (resolvedValue == null && !variableName.equals("{") && !variableName.equals("}"))
         {
             try
             {
-                final Object beanShellEval = interpreter.eval(variableName);
+                // The expression is only parsed once, and calls of the built-in helpers skip beanshell completely
+                final Object beanShellEval = CompiledExpression.of(variableName).evaluate(interpreter);
                 // If beanshell found something, save it as a string and add it to the dataStorage
                 if (beanShellEval != null)
                 {
@@ -0,0 +1,325 @@
+package com.xceptance.xlt.nocoding.util.resolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.xceptance.xlt.nocoding.util.LruCache;
+import com.xceptance.xlt.nocoding.util.context.Context;
+
+/**
+ * A pre-tokenized string, that consists of literal segments and variable references. The string is scanned once, when
+ * the template is compiled. Afterwards, {@link #render(VariableResolver, Context)} only appends the literals and the
+ * values of the variables to a single {@link StringBuilder}.<br>
+ * The tokenization follows the rules of the {@link VariableResolver}: A variable is specified as "${(.)*}", variables
+ * can be nested in the name of another variable, and text between two single quotes does not close a variable.
+ */
+public class VariableTemplate
+{
+    /**
+     * The maximum amount of templates in {@link #CACHE}
+     */
+    static final int MAX_CACHE_SIZE = 10000;
+
+    /**
+     * Cache of the compiled templates. Since strings created at runtime are compiled as well, the least recently used
+     * templates are removed, when the cache is full. This way, the fixed set of strings of the scripts stays cached.
+     */
+    private static final LruCache<String, VariableTemplate> CACHE = new LruCache<>(MAX_CACHE_SIZE);
+
+    /**
+     * The segments of the template, either {@link String} literals or {@link VariableTemplate} variable names
+     */
+    private final List<Object> segments;
+
+    /**
+     * Creates a new {@link VariableTemplate} with the specified segments
+     *
+     * @param segments
+     *            The segments of the template
+     */
+    private VariableTemplate(final List<Object> segments)
+    {
+        this.segments = segments;
+    }
+
+    /**
+     * Gets the compiled template for the specified string from the cache or compiles it.
+     *
+     * @param expression
+     *            The string to compile
+     * @return The compiled template
+     */
+    public static VariableTemplate of(final String expression)
+    {
+        VariableTemplate template = CACHE.get(expression);
+        if (template == null)
+        {
+            template = compile(expression);
+            CACHE.put(expression, template);
+        }
+        return template;
+    }
+
+    /**
+     * @return The number of cached templates
+     */
+    static int getCacheSize()
+    {
+        return CACHE.size();
+    }
+
+    /**
+     * Compiles the specified string to a template without caching it.
+     *
+     * @param expression
+     *            The string to compile
+     * @return The compiled template
+     */
+    public static VariableTemplate compile(final String expression)
+    {
+        final List<Object> segments = new ArrayList<>();
+        new Tokenizer(expression).tokenize(0, false, segments);
+        return new VariableTemplate(segments);
+    }
+
+    /**
+     * Checks whether resolving the string always returns the string itself. This is the case, if it neither contains a
+     * variable nor a single quote, since resolving removes pairs of single quotes.
+     *
+     * @param expression
+     *            The string to check
+     * @return <code>true</code> if resolving never changes the string, <code>false</code> otherwise
+     */
+    public static boolean isConstant(final String expression)
+    {
+        return expression.indexOf('\'') < 0 && of(expression).isLiteral();
+    }
+
+    /**
+     * @return <code>true</code> if the template does not contain any variable, <code>false</code> otherwise
+     */
+    public boolean isLiteral()
+    {
+        return segments.isEmpty() || (segments.size() == 1 && segments.get(0) instanceof String);
+    }
+
+    /**
+     * Renders the template by resolving every variable once.
+     *
+     * @param resolver
+     *            The {@link VariableResolver} to resolve variables with
+     * @param context
+     *            The current {@link Context}
+     * @return The string with all variables resolved once
+     */
+    public String render(final VariableResolver resolver, final Context<?> context)
+    {
+        if (segments.isEmpty())
+        {
+            return "";
+        }
+        if (isLiteral())
+        {
+            return (String) segments.get(0);
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (final Object segment : segments)
+        {
+            if (segment instanceof String)
+            {
+                builder.append((String) segment);
+            }
+            else
+            {
+                final String variableName = ((VariableTemplate) segment).render(resolver, context);
+                builder.append(resolver.resolveVariable(variableName, context));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Renders the template into the builder. Other than {@link #render(VariableResolver, Context)}, the value of every
+     * variable is resolved completely on its own, so the rendered text never has to be scanned again.
+     *
+     * @param builder
+     *            The builder to append to
+     * @param resolver
+     *            The {@link VariableResolver} to resolve variables with
+     * @param context
+     *            The current {@link Context}
+     */
+    public void renderTo(final StringBuilder builder, final VariableResolver resolver, final Context<?> context)
+    {
+        for (final Object segment : segments)
+        {
+            if (segment instanceof String)
+            {
+                builder.append((String) segment);
+            }
+            else
+            {
+                final String variableName = ((VariableTemplate) segment).render(resolver, context);
+                final String value = resolver.resolveVariable(variableName, context);
+                // Only values with a variable or a quote can change when they are resolved again
+                builder.append(value.indexOf('$') >= 0 || value.indexOf('\'') >= 0 ? resolver.resolveString(value, context) : value);
+            }
+        }
+    }
+
+    /**
+     * Adds the names of all variables, that are referenced by this template, to the collection. Variables nested in
+     * the name of another variable are added as well.
+     *
+     * @param variableNames
+     *            The collection to add the names to
+     * @return <code>false</code> if the name of a variable is built from another variable, so it is only known at
+     *         runtime, <code>true</code> otherwise
+     */
+    public boolean collectVariableNames(final Collection<String> variableNames)
+    {
+        boolean isStatic = true;
+        for (final Object segment : segments)
+        {
+            if (segment instanceof VariableTemplate)
+            {
+                final VariableTemplate variable = (VariableTemplate) segment;
+                if (variable.isLiteral())
+                {
+                    variableNames.add(variable.segments.isEmpty() ? "" : (String) variable.segments.get(0));
+                }
+                else
+                {
+                    variable.collectVariableNames(variableNames);
+                    isStatic = false;
+                }
+            }
+        }
+        return isStatic;
+    }
+
+    /**
+     * @return The segments of the template, either {@link String} literals or {@link VariableTemplate} variable names
+     */
+    List<Object> getSegments()
+    {
+        return Collections.unmodifiableList(segments);
+    }
+
+    /**
+     * Splits a string into literals and variables in one pass.
+     */
+    private static class Tokenizer
+    {
+        private final String expression;
+
+        /**
+         * The position of the last single quote, so lookaheads do not need to scan the rest of the string
+         */
+        private final int lastQuote;
+
+        /**
+         * The position of the last closing curly brace
+         */
+        private final int lastBrace;
+
+        private Tokenizer(final String expression)
+        {
+            this.expression = expression;
+            lastQuote = expression.lastIndexOf('\'');
+            lastBrace = expression.lastIndexOf('}');
+        }
+
+        /**
+         * Tokenizes the expression beginning at <code>start</code> and adds the segments to <code>segments</code>.
+         *
+         * @param start
+         *            The index to start at
+         * @param isVariable
+         *            If the tokenizer is inside a variable, that ends with the next unquoted "}"
+         * @param segments
+         *            The list to add the segments to
+         * @return The index of the closing "}" of the variable or the length of the expression
+         */
+        private int tokenize(final int start, final boolean isVariable, final List<Object> segments)
+        {
+            final List<Object> target = isVariable ? new ArrayList<>() : segments;
+            final StringBuilder literal = new StringBuilder();
+            boolean ignoreNextChars = false;
+            int index = start;
+            for (; index < expression.length(); index++)
+            {
+                final char current = expression.charAt(index);
+                // Change "mode", so every character that is following literally
+                if (current == '\'' && lastQuote > index)
+                {
+                    ignoreNextChars = true;
+                }
+                // Stop ignoring every character that is following
+                else if (current == '\'' && ignoreNextChars)
+                {
+                    ignoreNextChars = false;
+                }
+                // The end of the variable
+                else if (current == '}' && !ignoreNextChars && isVariable)
+                {
+                    flush(literal, target);
+                    segments.add(new VariableTemplate(target));
+                    return index;
+                }
+                // We found a variable start and there is a variable end
+                else if (current == '$' && expression.length() > index + 2 && expression.charAt(index + 1) == '{'
+                         && lastBrace >= index + 2)
+                {
+                    flush(literal, target);
+                    index = tokenize(index + 2, true, target);
+                }
+                else
+                {
+                    literal.append(current);
+                }
+            }
+            flush(literal, target);
+            // A variable without an end is no variable
+            if (isVariable)
+            {
+                segments.add("${");
+                merge(segments);
+                for (final Object segment : target)
+                {
+                    segments.add(segment);
+                    merge(segments);
+                }
+            }
+            return index;
+        }
+
+        /**
+         * Adds the literal to the segments and empties it
+         */
+        private void flush(final StringBuilder literal, final List<Object> segments)
+        {
+            if (literal.length() > 0)
+            {
+                segments.add(literal.toString());
+                literal.setLength(0);
+                merge(segments);
+            }
+        }
+
+        /**
+         * Merges the last two segments, if both are literals
+         */
+        private void merge(final List<Object> segments)
+        {
+            final int last = segments.size() - 1;
+            if (last > 0 && segments.get(last) instanceof String && segments.get(last - 1) instanceof String)
+            {
+                segments.set(last - 1, (String) segments.get(last - 1) + segments.remove(last));
+            }
+        }
+    }
+
+}
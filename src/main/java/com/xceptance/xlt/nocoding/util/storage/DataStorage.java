@@ -5,11 +5,13 @@ import com.xceptance.xlt.nocoding.util.storage.unit.SingleStorage;
 import com.xceptance.xlt.nocoding.util.storage.unit.unique.DefaultKeyValueStorage;
 import com.xceptance.xlt.nocoding.util.storage.unit.unique.RecentKeyUniqueSingleStorage;
 import com.xceptance.xlt.nocoding.util.storage.unit.unique.UniqueSingleStorage;
-import com.xceptance.xlt.nocoding.util.storage.unit.unique.UniqueStorage;
+import com.xceptance.xlt.nocoding.util.storage.unit.unique.VariableScope;
 
 /**
  * Handles all data storage related matters. This means, the class saves variables, default
- * definitions/headers/parameters/static requests.
+ * definitions/headers/parameters/static requests.<br>
+ * The variables are organized in layers of {@link VariableScope}s: {@link #openScope()} creates a
+ * <code>DataStorage</code>, that shares all default storages, but has its own variable layer on top of the current one.
  *
  * @author ckeiner
  */
@@ -23,18 +25,69 @@ public class DataStorage
 
     protected UniqueSingleStorage defaultHeaders;
 
-    protected UniqueStorage variables;
+    protected VariableScope variables;
 
     protected DefaultKeyValueStorage defaultItems;
 
+    /**
+     * The <code>DataStorage</code>, this one was opened from, or <code>null</code>
+     */
+    protected final DataStorage parent;
+
     public DataStorage()
     {
         defaultCookies = new SingleStorage();
         defaultParameters = new DuplicateStorage();
         defaultStatics = new SingleStorage();
         defaultHeaders = new RecentKeyUniqueSingleStorage();
-        variables = new UniqueStorage();
+        variables = new VariableScope();
         defaultItems = new DefaultKeyValueStorage();
+        parent = null;
+    }
+
+    /**
+     * Creates a new {@link DataStorage}, that shares the default storages of the parent, but stores variables in a new
+     * layer on top of the variables of the parent.
+     *
+     * @param parent
+     *            The <code>DataStorage</code> to open the scope from
+     */
+    protected DataStorage(final DataStorage parent)
+    {
+        defaultCookies = parent.getDefaultCookies();
+        defaultParameters = parent.getDefaultParameters();
+        defaultStatics = parent.getDefaultStatics();
+        defaultHeaders = parent.getDefaultHeaders();
+        variables = parent.getVariables().openScope();
+        defaultItems = parent.getDefaultItems();
+        this.parent = parent;
+    }
+
+    /**
+     * Opens a new variable scope. Variables stored in the returned {@link DataStorage} stay invisible to this one, until
+     * they are exported via {@link #exportVariables()}.
+     *
+     * @return The new <code>DataStorage</code>
+     */
+    public DataStorage openScope()
+    {
+        return new DataStorage(this);
+    }
+
+    /**
+     * Writes all variables, that were changed in this scope, to the scope of the parent.
+     */
+    public void exportVariables()
+    {
+        variables.exportToParent();
+    }
+
+    /**
+     * @return The {@link DataStorage} this scope was opened from, or <code>null</code>
+     */
+    public DataStorage getParent()
+    {
+        return parent;
     }
 
     public SingleStorage getDefaultCookies()
@@ -57,7 +110,7 @@ public class DataStorage
         return defaultHeaders;
     }
 
-    public UniqueStorage getVariables()
+    public VariableScope getVariables()
     {
         return variables;
     }
@@ -0,0 +1,96 @@
+package com.xceptance.xlt.nocoding.util.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import com.xceptance.xlt.api.util.XltLogger;
+import com.xceptance.xlt.nocoding.util.FileCache;
+import com.xceptance.xlt.nocoding.util.storage.unit.unique.UniqueStorage;
+
+/**
+ * Loads variables, that are shared by all virtual users of an agent, from a properties file. Every file is loaded
+ * exactly once, even if many threads ask for it at the same time, and loaded again if it changed, see
+ * {@link FileCache}. Keys and values are interned and kept in a read-only {@link UniqueStorage}, so large immutable
+ * datasets like catalogs exist only once per agent instead of once per user.
+ */
+public class SharedVariables
+{
+    /**
+     * The single instance of the {@link SharedVariables}
+     */
+    private static final SharedVariables INSTANCE = new SharedVariables();
+
+    /**
+     * The loaded variables by their file path
+     */
+    private final FileCache<UniqueStorage> entries = new FileCache<>("Shared variables file");
+
+    /**
+     * @return The instance of the {@link SharedVariables}
+     */
+    public static SharedVariables getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the variables of the specified properties file, and loads them, if this did not happen yet or the file
+     * changed.
+     *
+     * @param filePath
+     *            The path or URL to the properties file
+     * @param checkInterval
+     *            The minimum time in milliseconds between two checks if the file changed. A negative value disables the
+     *            check
+     * @return A read-only {@link UniqueStorage} with the variables of the file
+     * @throws Exception
+     *             if the file cannot be read
+     */
+    public UniqueStorage get(final String filePath, final long checkInterval) throws Exception
+    {
+        return entries.get(filePath, SharedVariables::load, checkInterval);
+    }
+
+    /**
+     * Removes all loaded variables.
+     */
+    public void clear()
+    {
+        entries.clear();
+    }
+
+    /**
+     * Reads the properties file and interns its keys and values.
+     *
+     * @param filePath
+     *            The path or URL to the properties file
+     * @return A read-only {@link UniqueStorage} with the variables of the file
+     * @throws IOException
+     */
+    static UniqueStorage load(final String filePath) throws IOException
+    {
+        XltLogger.runTimeLogger.debug("Loading shared variables from " + filePath);
+        final Properties properties = new Properties();
+        try (final InputStream stream = FileCache.openStream(filePath);
+             final Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8))
+        {
+            properties.load(reader);
+        }
+
+        final Map<String, String> variables = new HashMap<>((int) (properties.size() / 0.75f) + 1);
+        for (final String name : properties.stringPropertyNames())
+        {
+            variables.put(name.intern(), properties.getProperty(name).intern());
+        }
+        XltLogger.runTimeLogger.info("Loaded " + variables.size() + " shared variables from " + filePath);
+        return new UniqueStorage(Collections.unmodifiableMap(variables));
+    }
+
+}
@@ -1,12 +1,19 @@
 package com.xceptance.xlt.nocoding.util.storage.unit;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.gargoylesoftware.htmlunit.util.NameValuePair;
 
 /**
- * A storage unit, that can have duplicate items.
+ * A storage unit, that can have duplicate items. The items keep their insertion order, and are additionally indexed by
+ * their name, so they can be found without iterating over all items.
  *
  * @author ckeiner
  */
@@ -17,6 +24,22 @@ public class DuplicateStorage
      */
     private final List<NameValuePair> items;
 
+    /**
+     * The items of {@link #items} by their name
+     */
+    private final Map<String, List<NameValuePair>> itemsByName = new HashMap<>();
+
+    /**
+     * Counts the changes made via the methods of the storage, so cached data derived from it can detect, that it is
+     * outdated
+     */
+    private int generation;
+
+    /**
+     * The items without duplicates, or <code>null</code> if they were not computed for the current generation
+     */
+    private List<NameValuePair> distinctItems;
+
     /**
      * Creates a new instance of {@link DuplicateStorage} and sets {@link #items} to a new {@link ArrayList}
      */
@@ -34,6 +57,10 @@ public class DuplicateStorage
     public DuplicateStorage(final List<NameValuePair> items)
     {
         this.items = items;
+        for (final NameValuePair item : items)
+        {
+            index(item);
+        }
     }
 
     /**
@@ -46,7 +73,10 @@ public class DuplicateStorage
      */
     public void store(final String itemName, final String value)
     {
-        getItems().add(new NameValuePair(itemName, value));
+        final NameValuePair item = new NameValuePair(itemName, value);
+        items.add(item);
+        index(item);
+        changed();
     }
 
     /**
@@ -59,14 +89,12 @@ public class DuplicateStorage
      */
     public List<String> get(final String itemName)
     {
-        final List<String> value = new ArrayList<>();
-        // Iterate over all items
-        for (final NameValuePair item : getItems())
+        final List<NameValuePair> namedItems = itemsByName.get(itemName);
+        final List<String> value = new ArrayList<>(namedItems != null ? namedItems.size() : 0);
+        if (namedItems != null)
         {
-            // If the name equals itemName
-            if (item.getName().equals(itemName))
+            for (final NameValuePair item : namedItems)
             {
-                // Save the value
                 value.add(item.getValue());
             }
         }
@@ -82,13 +110,14 @@ public class DuplicateStorage
      */
     public boolean remove(final String itemName)
     {
-        // Get the maximum amount of removable items
-        final int amountRemovableItems = getItems().size();
-        // Iterate over all elements
-        getItems().removeIf(item -> item.getName().equals(itemName));
-
-        // Return true if we removed at least one item and hence have an item less
-        return amountRemovableItems > getItems().size();
+        // Only iterate over the items, if there is an item with the name
+        if (itemsByName.remove(itemName) == null)
+        {
+            return false;
+        }
+        items.removeIf(item -> item.getName().equals(itemName));
+        changed();
+        return true;
     }
 
     /**
@@ -96,12 +125,78 @@ public class DuplicateStorage
      */
     public void clear()
     {
-        getItems().clear();
+        items.clear();
+        itemsByName.clear();
+        changed();
+    }
+
+    /**
+     * Adds every item to the parameters, that the parameters do not contain yet. The items without duplicates are only
+     * computed again, after the storage changed, so parameters without own items simply get all of them.
+     *
+     * @param parameters
+     *            The parameters to add the items to
+     */
+    public void mergeInto(final List<NameValuePair> parameters)
+    {
+        if (items.isEmpty())
+        {
+            return;
+        }
+        final List<NameValuePair> distinct = getDistinctItems();
+        if (parameters.isEmpty())
+        {
+            parameters.addAll(distinct);
+            return;
+        }
+        final Set<NameValuePair> containedParameters = new HashSet<>(parameters);
+        for (final NameValuePair item : distinct)
+        {
+            if (containedParameters.add(item))
+            {
+                parameters.add(item);
+            }
+        }
+    }
+
+    /**
+     * @return An unmodifiable list of the items in insertion order, whereas only the first of equal items is kept
+     */
+    public List<NameValuePair> getDistinctItems()
+    {
+        if (distinctItems == null)
+        {
+            final List<NameValuePair> distinct = new ArrayList<>(new LinkedHashSet<>(items));
+            distinctItems = Collections.unmodifiableList(distinct);
+        }
+        return distinctItems;
+    }
+
+    /**
+     * @return The number of changes made via the methods of this storage
+     */
+    public int getGeneration()
+    {
+        return generation;
     }
 
+    /**
+     * @return An unmodifiable view of all items in insertion order. Use the methods of the storage to change them.
+     */
     public List<NameValuePair> getItems()
     {
-        return items;
+        return Collections.unmodifiableList(items);
+    }
+
+    private void changed()
+    {
+        generation++;
+        distinctItems = null;
+    }
+
+    private void index(final NameValuePair item)
+    {
+        itemsByName.computeIfAbsent(item.getName(), name -> new ArrayList<>(1)).add(item);
     }
 
 }
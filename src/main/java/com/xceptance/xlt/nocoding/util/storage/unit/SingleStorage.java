@@ -1,6 +1,7 @@
 package com.xceptance.xlt.nocoding.util.storage.unit;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -15,6 +16,12 @@ public class SingleStorage
      */
     private final List<String> items;
 
+    /**
+     * Counts the changes made via the methods of the storage, so cached data derived from it can detect, that it is
+     * outdated
+     */
+    private int generation;
+
     /**
      * Creates a new instance of {@link SingleStorage} and sets {@link #items} to a new {@link ArrayList}
      */
@@ -42,7 +49,8 @@ public class SingleStorage
      */
     public void store(final String item)
     {
-        getItems().add(item);
+        items.add(item);
+        generation++;
     }
 
     /**
@@ -54,25 +62,11 @@ public class SingleStorage
      */
     public boolean remove(final String itemName)
     {
-        boolean removed = false;
-        // Get the maximum amount of removable items
-        int amountRemovableItems = getItems().size();
-        // Iterate over all elements
-        for (final String item : getItems())
+        final boolean removed = items.removeIf(item -> item.equals(itemName));
+        // Only a real change outdates the data derived from the storage
+        if (removed)
         {
-            // If the name equals itemName
-            if (item.equals(itemName))
-            {
-                // Remove the item
-                removed = getItems().remove(item);
-                // Decrement the amount of removable items
-                amountRemovableItems--;
-                // If we reached zero, there isn't an element left. Therefore, we want to quit the loop.
-                if (amountRemovableItems == 0)
-                {
-                    break;
-                }
-            }
+            generation++;
         }
         // Return if we removed at least one item
         return removed;
@@ -83,12 +77,24 @@ public class SingleStorage
      */
     public void clear()
     {
-        getItems().clear();
+        items.clear();
+        generation++;
     }
 
+    /**
+     * @return An unmodifiable view of all items in insertion order. Use the methods of the storage to change them.
+     */
     public List<String> getItems()
     {
-        return items;
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * @return The number of changes made via the methods of this storage
+     */
+    public int getGeneration()
+    {
+        return generation;
     }
 
 }
@@ -57,18 +57,14 @@ public class DefaultKeyValueStorage extends UniqueStorage
     @Override
     public String get(final String key)
     {
-        String value = null;
         // Look for the key in the config items
-        if (getItems().containsKey(key))
+        final String value = items.get(key);
+        if (value != null || items.containsKey(key))
         {
-            value = super.get(key);
+            return value;
         }
         // Search for the key in the fallback
-        else if (fallback.containsKey(key))
-        {
-            value = fallback.get(key);
-        }
-        return value;
+        return fallback.get(key);
     }
 
     /**
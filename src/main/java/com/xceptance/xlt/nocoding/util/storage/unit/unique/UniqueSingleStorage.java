@@ -1,5 +1,6 @@
 package com.xceptance.xlt.nocoding.util.storage.unit.unique;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -40,7 +41,7 @@ public class UniqueSingleStorage
      */
     public void store(final String item)
     {
-        getItems().add(item);
+        items.add(item);
     }
 
     /**
@@ -48,7 +49,7 @@ public class UniqueSingleStorage
      */
     public void clear()
     {
-        getItems().clear();
+        items.clear();
     }
 
     /**
@@ -61,11 +62,14 @@ public class UniqueSingleStorage
     public boolean remove(final String itemName)
     {
         // Return if we removed at least one item
-        return getItems().remove(itemName);
+        return items.remove(itemName);
     }
 
+    /**
+     * @return An unmodifiable view of all items. Use the methods of the storage to change them.
+     */
     public Set<String> getItems()
     {
-        return items;
+        return Collections.unmodifiableSet(items);
     }
 }
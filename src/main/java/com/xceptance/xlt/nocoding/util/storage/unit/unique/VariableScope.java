@@ -0,0 +1,200 @@
+package com.xceptance.xlt.nocoding.util.storage.unit.unique;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A layer of variables, that lies on top of an optional parent layer. Lookups walk the chain of layers, until a layer
+ * knows the variable, while writes only go to the current layer. So a nested scope, e.g. for an action or a
+ * subrequest, can store and remove variables without changing its parent, until it explicitly exports them via
+ * {@link #exportToParent()}.<br>
+ * Opening a scope only creates an empty layer, so it costs the same no matter how many variables the parents hold.
+ */
+public class VariableScope extends UniqueStorage
+{
+    /**
+     * The layer below this one, or <code>null</code> if this is the bottom layer
+     */
+    private final UniqueStorage parent;
+
+    /**
+     * Whether all variables were removed in this layer, so the parent is no longer visible
+     */
+    private boolean cleared;
+
+    /**
+     * Creates a new bottom layer without a parent.
+     */
+    public VariableScope()
+    {
+        this(null);
+    }
+
+    /**
+     * Creates a new empty layer on top of the parent.
+     *
+     * @param parent
+     *            The layer below, may be <code>null</code>
+     */
+    public VariableScope(final UniqueStorage parent)
+    {
+        super(new HashMap<String, String>());
+        this.parent = parent;
+    }
+
+    /**
+     * Creates a new empty layer on top of this one.
+     *
+     * @return The new {@link VariableScope}
+     */
+    public VariableScope openScope()
+    {
+        return new VariableScope(this);
+    }
+
+    /**
+     * Stores the variable in this layer only.
+     */
+    @Override
+    public void store(final String itemName, final String value)
+    {
+        items.put(itemName, value);
+    }
+
+    /**
+     * Returns the value of the variable in the nearest layer, that knows it.
+     */
+    @Override
+    public String get(final String itemName)
+    {
+        final String value = items.get(itemName);
+        // A null value marks a variable that was removed in this layer
+        if (value != null || items.containsKey(itemName) || !isParentVisible())
+        {
+            return value;
+        }
+        return parent.get(itemName);
+    }
+
+    /**
+     * Removes the variable from this layer and hides it in the parent layers.
+     */
+    @Override
+    public String remove(final String itemName)
+    {
+        final String value = get(itemName);
+        if (isParentVisible() && parent.get(itemName) != null)
+        {
+            items.put(itemName, null);
+        }
+        else
+        {
+            items.remove(itemName);
+        }
+        return value;
+    }
+
+    /**
+     * Removes all variables of this layer and hides all variables of the parent layers.
+     */
+    @Override
+    public void clear()
+    {
+        items.clear();
+        cleared = parent != null;
+    }
+
+    /**
+     * Writes all changes of this layer to the parent and empties this layer, so it shows the parent again. Does
+     * nothing, if there is no parent.
+     */
+    public void exportToParent()
+    {
+        if (parent == null)
+        {
+            return;
+        }
+        if (cleared)
+        {
+            parent.clear();
+            cleared = false;
+        }
+        for (final Map.Entry<String, String> entry : items.entrySet())
+        {
+            if (entry.getValue() == null)
+            {
+                parent.remove(entry.getKey());
+            }
+            else
+            {
+                parent.store(entry.getKey(), entry.getValue());
+            }
+        }
+        items.clear();
+    }
+
+    /**
+     * Writes the change of the variable in this layer to the parent. Does nothing, if there is no parent or this layer
+     * did not change the variable.
+     *
+     * @param itemName
+     *            The name of the variable
+     */
+    public void exportToParent(final String itemName)
+    {
+        if (parent == null || !items.containsKey(itemName))
+        {
+            return;
+        }
+        final String value = items.remove(itemName);
+        if (value == null)
+        {
+            parent.remove(itemName);
+        }
+        else
+        {
+            parent.store(itemName, value);
+        }
+        // The parent must still be hidden for the variable after a clear
+        if (cleared)
+        {
+            items.put(itemName, value);
+        }
+    }
+
+    /**
+     * @return An unmodifiable snapshot of all visible variables of all layers
+     */
+    @Override
+    public Map<String, String> getItems()
+    {
+        final Map<String, String> visible = isParentVisible() ? new HashMap<>(parent.getItems()) : new HashMap<String, String>();
+        for (final Map.Entry<String, String> entry : items.entrySet())
+        {
+            if (entry.getValue() == null)
+            {
+                visible.remove(entry.getKey());
+            }
+            else
+            {
+                visible.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(visible);
+    }
+
+    /**
+     * @return The layer below, or <code>null</code> if this is the bottom layer
+     */
+    public UniqueStorage getParent()
+    {
+        return parent;
+    }
+
+    private boolean isParentVisible()
+    {
+        return parent != null && !cleared;
+    }
+
+}
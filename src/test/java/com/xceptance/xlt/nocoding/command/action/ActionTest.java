@@ -40,8 +40,7 @@ public class ActionTest extends AbstractContextTest
         final String value = "TestName";
         context.getDefaultItems().store(configName, value);
 
-        final Action action = new Action();
-        action.fillDefaultData(context);
+        final Action action = new Action().prepare(context);
         Assert.assertNotNull(action.getActionItems());
         Assert.assertFalse(action.getActionItems().isEmpty());
         Assert.assertTrue(action.getActionItems().get(0) instanceof Request);
@@ -76,8 +75,7 @@ public class ActionTest extends AbstractContextTest
         final String configName = Constants.NAME;
         final String value = "TestName";
         context.getDefaultItems().store(configName, value);
-        final Action action = new Action();
-        action.fillDefaultData(context);
+        final Action action = new Action().prepare(context);
         Assert.assertEquals(value, action.getName());
 
         Assert.assertEquals(3, action.getActionItems().size());
@@ -103,8 +101,7 @@ public class ActionTest extends AbstractContextTest
         final String configName = Constants.NAME;
         final String value = "TestName";
         context.getDefaultItems().store(configName, value);
-        final Action action = new Action();
-        action.fillDefaultData(context);
+        final Action action = new Action().prepare(context);
 
         Assert.assertEquals(2, action.getActionItems().size());
         Assert.assertTrue(action.getActionItems().get(0) instanceof Request);
@@ -112,7 +109,7 @@ public class ActionTest extends AbstractContextTest
     }
 
     /**
-     * Verifies {@link Action} adds a default {@link Action#getName()} if no name is specified
+     * Verifies {@link Action} adds a default {@link Action#getName()} to its working copy if no name is specified
      */
     @Test
     public void testDefaultName()
@@ -122,9 +119,12 @@ public class ActionTest extends AbstractContextTest
         final String configName = Constants.NAME;
         final String value = "TestName";
         context.getDefaultItems().store(configName, value);
-        final Action action = new Action();
-        action.fillDefaultData(context);
+        final Action original = new Action();
+        final Action action = original.prepare(context);
         Assert.assertEquals(value, action.getName());
+        // The default data is only filled into the working copy
+        Assert.assertNull(original.getName());
+        Assert.assertTrue(original.getActionItems().isEmpty());
     }
 
     /**
@@ -145,7 +145,39 @@ public class ActionTest extends AbstractContextTest
 
         final Action action = new Action();
         action.execute(context);
-        Assert.assertEquals("TestName", action.getName());
+        Assert.assertEquals("TestName", context.getPreviousWebAction().getTimerName());
+        // The action itself stays untouched
+        Assert.assertNull(action.getName());
+    }
+
+    /**
+     * Verifies the default {@link Request} and {@link Response} are planned once, while the order is still asserted
+     */
+    @Test
+    public void testPlannedItems()
+    {
+        final Response response = new Response();
+        final List<AbstractActionSubItem> actionItems = new ArrayList<>();
+        actionItems.add(response);
+        final Action action = new Action("Planned", actionItems);
+
+        final List<AbstractActionSubItem> plannedItems = action.getPlannedItems();
+        Assert.assertSame(plannedItems, action.getPlannedItems());
+        Assert.assertEquals(2, plannedItems.size());
+        Assert.assertTrue(plannedItems.get(0) instanceof Request);
+        Assert.assertSame(response, plannedItems.get(1));
+        Assert.assertEquals(1, action.getActionItems().size());
+
+        actionItems.add(new Request());
+        try
+        {
+            new Action("Invalid", actionItems).getPlannedItems();
+            Assert.fail("The order of the items must be asserted");
+        }
+        catch (final IllegalArgumentException e)
+        {
+            Assert.assertEquals("Request cannot be defined after a response or subrequest.", e.getMessage());
+        }
     }
 
 }
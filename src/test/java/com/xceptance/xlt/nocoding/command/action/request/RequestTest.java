@@ -29,6 +29,7 @@ import com.xceptance.xlt.nocoding.command.Command;
 import com.xceptance.xlt.nocoding.command.storeDefault.StoreDefaultHeader;
 import com.xceptance.xlt.nocoding.command.storeDefault.StoreDefaultParameter;
 import com.xceptance.xlt.nocoding.util.Constants;
+import com.xceptance.xlt.nocoding.util.HeaderMap;
 import com.xceptance.xlt.nocoding.util.RecentKeyTreeMap;
 import com.xceptance.xlt.nocoding.util.context.Context;
 import com.xceptance.xlt.nocoding.util.storage.DataStorage;
@@ -502,7 +503,7 @@ public class RequestTest extends AbstractContextTest
 
     /**
      * Verifies {@link Request#setHeaders(Map)} does not change the type of {@link Request#getHeaders()}, so it stay
-     * {@link RecentKeyTreeMap}
+     * {@link HeaderMap}
      */
     @Test
     public void testSetHeaders()
@@ -510,12 +511,12 @@ public class RequestTest extends AbstractContextTest
         final Request request = new Request(null);
         Map<String, String> headers = null;
         request.setHeaders(headers);
-        Assert.assertTrue(request.getHeaders() instanceof RecentKeyTreeMap);
+        Assert.assertTrue(request.getHeaders() instanceof HeaderMap);
         Assert.assertTrue(request.getHeaders().isEmpty());
         headers = new HashMap<>();
         headers.put("Accept", "text/html");
         request.setHeaders(headers);
-        Assert.assertTrue(request.getHeaders() instanceof RecentKeyTreeMap);
+        Assert.assertTrue(request.getHeaders() instanceof HeaderMap);
         Assert.assertFalse(request.getHeaders().isEmpty());
     }
 
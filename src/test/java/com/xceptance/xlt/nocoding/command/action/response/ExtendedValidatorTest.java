@@ -21,7 +21,6 @@ import com.xceptance.xlt.nocoding.command.action.response.extractor.HeaderExtrac
 import com.xceptance.xlt.nocoding.command.action.response.extractor.RegexpExtractor;
 import com.xceptance.xlt.nocoding.command.action.response.validator.AbstractValidator;
 import com.xceptance.xlt.nocoding.command.action.response.validator.CountValidator;
-import com.xceptance.xlt.nocoding.command.action.response.validator.ExistsValidator;
 import com.xceptance.xlt.nocoding.command.action.response.validator.MatchesValidator;
 import com.xceptance.xlt.nocoding.command.action.response.validator.TextValidator;
 import com.xceptance.xlt.nocoding.util.context.Context;
@@ -122,8 +121,8 @@ public class ExtendedValidatorTest extends AbstractContextTest
         context.setWebResponse(webResponse);
         // Execute
         validator.execute(context);
-        // Assert that we validated with an exists validator
-        Assert.assertTrue(validator.getMethod() instanceof ExistsValidator);
+        // Assert that the default exists validator did not modify the validator
+        Assert.assertNull(validator.getMethod());
         // Build the validator, that validates the content of the header equals text
         validator = new Validator("HeaderValidation Text", new HeaderExtractor(header), new TextValidator(text));
         context.setWebResponse(webResponse);
@@ -165,8 +164,8 @@ public class ExtendedValidatorTest extends AbstractContextTest
         context.setWebResponse(webResponse);
         // Execute
         validator.execute(context);
-        // Assert that we validated with an exists validator
-        Assert.assertTrue(validator.getMethod() instanceof ExistsValidator);
+        // Assert that the default exists validator did not modify the validator
+        Assert.assertNull(validator.getMethod());
         // Build another validator that searches for the cookie and verifies the content equals text
         validator = new Validator("CookieValidation Text", new CookieExtractor(cookie), new TextValidator(text));
         context.setWebResponse(webResponse);
@@ -206,8 +205,8 @@ public class ExtendedValidatorTest extends AbstractContextTest
         context.setWebResponse(webResponse);
         // Execute
         validator.execute(context);
-        // Assert that we validated with an exists validator
-        Assert.assertTrue(validator.getMethod() instanceof ExistsValidator);
+        // Assert that the default exists validator did not modify the validator
+        Assert.assertNull(validator.getMethod());
         // Build a validator, that searches for the pattern and verifies text is the first match
         validator = new Validator("RegExpValidation Text", new RegexpExtractor(pattern), new TextValidator(text));
         context.setWebResponse(webResponse);
@@ -252,8 +251,8 @@ public class ExtendedValidatorTest extends AbstractContextTest
         context.setWebResponse(webResponse);
         // Execute
         validator.execute(context);
-        // Assert that we validated with an exists validator
-        Assert.assertTrue(validator.getMethod() instanceof ExistsValidator);
+        // Assert that the default exists validator did not modify the validator
+        Assert.assertNull(validator.getMethod());
         // Build the validator, that validates the content of the header equals text
         validator = new Validator("HeaderValidation Text", new HeaderExtractor(header), new TextValidator(text));
         context.setWebResponse(webResponse);
@@ -301,8 +300,8 @@ public class ExtendedValidatorTest extends AbstractContextTest
         context.setWebResponse(webResponse);
         // Execute
         validator.execute(context);
-        // Assert that we validated with an exists validator
-        Assert.assertTrue(validator.getMethod() instanceof ExistsValidator);
+        // Assert that the default exists validator did not modify the validator
+        Assert.assertNull(validator.getMethod());
         // Build another validator that searches for the cookie and verifies the content equals text
         validator = new Validator("CookieValidation Text", new CookieExtractor(cookie), new TextValidator(text));
         context.setWebResponse(webResponse);
@@ -348,8 +347,8 @@ public class ExtendedValidatorTest extends AbstractContextTest
         context.setWebResponse(webResponse);
         // Execute
         validator.execute(context);
-        // Assert that we validated with an exists validator
-        Assert.assertTrue(validator.getMethod() instanceof ExistsValidator);
+        // Assert that the default exists validator did not modify the validator
+        Assert.assertNull(validator.getMethod());
         // Build a validator, that searches for the pattern and verifies text is the first match
         validator = new Validator("RegExpValidation Text", new RegexpExtractor(pattern), new TextValidator(text));
         context.setWebResponse(webResponse);
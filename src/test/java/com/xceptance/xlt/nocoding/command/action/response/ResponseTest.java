@@ -44,37 +44,44 @@ public class ResponseTest extends AbstractContextTest
     }
 
     /**
-     * Verifies a {@link HttpCodeValidator} is added when {@link Response#Response(List)} is used and the specified
-     * {@link List} does not contain a {@link HttpResponseCodeValidator}.
+     * Verifies a default {@link HttpCodeValidator} is executed when {@link Response#Response(List)} is used and the
+     * specified {@link List} does not contain a {@link HttpResponseCodeValidator}, without adding it to the list.
      *
      * @throws Throwable
      */
     @Test
-    public void testFillDefaultWithResponseItems() throws Throwable
+    public void testDefaultWithResponseItems() throws Throwable
     {
         final Response response = new Response(new ArrayList<AbstractResponseSubItem>());
         response.execute(context);
         Assert.assertNotNull(response.getResponseItems());
-        Assert.assertEquals(1, response.getResponseItems().size());
-        Assert.assertTrue(response.getResponseItems().get(0) instanceof HttpCodeValidator);
+        Assert.assertTrue(response.getResponseItems().isEmpty());
     }
 
     /**
-     * Verifies no {@link HttpCodeValidator} is added when already specified
+     * Verifies no default {@link HttpCodeValidator} is executed when one is already specified
      *
      * @throws Throwable
      */
     @Test
     public void testDefaultResponseItemsSpecified() throws Throwable
     {
+        // The response has the status code 200, which the default validator expects
         final String httpcode = "303";
         final List<AbstractResponseSubItem> responseItems = new ArrayList<>();
         responseItems.add(new HttpCodeValidator(httpcode));
         final Response response = new Response(responseItems);
-        response.fillDefaultData(context);
-        Assert.assertNotNull(response.getResponseItems());
+        boolean failed = false;
+        try
+        {
+            response.execute(context);
+        }
+        catch (final AssertionError e)
+        {
+            failed = true;
+        }
+        Assert.assertTrue("The specified HttpCodeValidator must be executed", failed);
         Assert.assertEquals(1, response.getResponseItems().size());
-        Assert.assertTrue(response.getResponseItems().get(0) instanceof HttpCodeValidator);
         Assert.assertEquals(httpcode, ((HttpCodeValidator) response.getResponseItems().get(0)).getHttpcode());
     }
 
@@ -193,12 +193,21 @@ public class ValidatorTest extends AbstractContextTest
     public void testValidationNameEmptyGetsDefault() throws Throwable
     {
         final String validationName = "Validate Action-0";
-        // Build Validator with ExistsModule
+        // Build Validator with CountModule that fails
         final AbstractExtractor extractor = new RegexpExtractor(mockObjects.regexString, "0");
-        final AbstractValidator method = new ExistsValidator();
+        final AbstractValidator method = new CountValidator("2");
         final Validator validator = new Validator("", extractor, method);
-        executeInARequest(validator);
-        Assert.assertEquals(validationName, validator.getValidationName());
+        try
+        {
+            executeInARequest(validator);
+            Assert.fail("Validation should fail");
+        }
+        catch (final AssertionError e)
+        {
+            Assert.assertTrue(e.getMessage().startsWith("Validation Step \"" + validationName + "\""));
+        }
+        // The validator itself stays untouched
+        Assert.assertEquals("", validator.getValidationName());
     }
 
     /*
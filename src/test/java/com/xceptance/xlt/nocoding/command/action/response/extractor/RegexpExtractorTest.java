@@ -52,6 +52,19 @@ public class RegexpExtractorTest extends ExtractorTest
         Assert.assertEquals(mockObjects.regexStringExpected, result.get(0));
     }
 
+    /**
+     * Verifies {@link RegexpExtractor} removes pairs of single quotes from the pattern like any resolved string
+     */
+    @Test
+    public void testRegExpSelectorWithQuotes()
+    {
+        final AbstractExtractor extractor = new RegexpExtractor("'<title>'[\\s\\S]*?</title>");
+        extractor.execute(context);
+        final List<String> result = extractor.getResult();
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals(mockObjects.regexStringExpected, result.get(0));
+    }
+
     /**
      * Verifies {@link RegexpExtractor} finds nothing if the pattern results in nothing
      */
@@ -77,4 +90,17 @@ public class RegexpExtractorTest extends ExtractorTest
         Assert.assertEquals("<div class=\"contentWithClass>", result.get(0));
     }
 
+    /**
+     * Verifies {@link RegexpExtractor} stops after the requested number of matches
+     */
+    @Test
+    public void testRegExpSelectorMaxResults()
+    {
+        final AbstractExtractor extractor = new RegexpExtractor("<div");
+        Assert.assertTrue(extractor.extract(context).size() > 1);
+        final List<String> result = extractor.extract(context, 1);
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals("<div", result.get(0));
+    }
+
 }
@@ -0,0 +1,115 @@
+package com.xceptance.xlt.nocoding.command.action.response.extractor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link StreamingMatcher}
+ */
+public class StreamingMatcherTest
+{
+    /**
+     * Verifies the matches are the same as when matching the whole content, even if matches span multiple chunks
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSameMatchesAsWholeContent() throws IOException
+    {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+        {
+            content.append("<li id=\"item-").append(i).append("\">value-").append(i).append("</li>\n");
+        }
+        final String[] patterns = {"value-\\d+", "id=\"(item-\\d+)\"", "^<li", "(?m)^<li id=\"item-4\\d{3}\"", "</li>$", "(?<=value-)1\\d*",
+                                   "x*", "<li[^>]*>[^<]*</li>\\s*<li", "[\\s\\S]{10000}"};
+        for (final String pattern : patterns)
+        {
+            final List<String> expected = new ArrayList<>();
+            final Matcher matcher = Pattern.compile(pattern).matcher(content);
+            while (matcher.find())
+            {
+                expected.add(matcher.group());
+            }
+
+            final List<String> result = new ArrayList<>();
+            StreamingMatcher.find(Pattern.compile(pattern), new SmallChunkReader(content.toString(), 7), null, Integer.MAX_VALUE, result);
+            Assert.assertEquals(pattern, expected, result);
+        }
+    }
+
+    /**
+     * Verifies the matching group is added
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testGroup() throws IOException
+    {
+        final List<String> result = new ArrayList<>();
+        StreamingMatcher.find(Pattern.compile("id=\"(\\w+)\""), new StringReader("<a id=\"first\"><a id=\"second\">"), 1, 1, result);
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals("first", result.get(0));
+    }
+
+    /**
+     * Verifies the content is not read anymore, once enough matches were found
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testStopsEarly() throws IOException
+    {
+        final StringBuilder content = new StringBuilder("<html>token-1 token-2");
+        for (int i = 0; i < 100; i++)
+        {
+            content.append(new char[StreamingMatcher.CHUNK_SIZE]);
+        }
+        final SmallChunkReader reader = new SmallChunkReader(content.toString(), StreamingMatcher.CHUNK_SIZE);
+
+        final List<String> result = new ArrayList<>();
+        StreamingMatcher.find(Pattern.compile("token-\\d"), reader, null, 1, result);
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals("token-1", result.get(0));
+        Assert.assertEquals(1, reader.reads);
+    }
+
+    /**
+     * A reader, that returns at most the specified number of characters per read and counts the reads
+     */
+    private static class SmallChunkReader extends Reader
+    {
+        private final StringReader reader;
+
+        private final int chunkSize;
+
+        int reads;
+
+        SmallChunkReader(final String content, final int chunkSize)
+        {
+            reader = new StringReader(content);
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) throws IOException
+        {
+            reads++;
+            return reader.read(buffer, offset, Math.min(length, chunkSize));
+        }
+
+        @Override
+        public void close()
+        {
+            reader.close();
+        }
+    }
+}
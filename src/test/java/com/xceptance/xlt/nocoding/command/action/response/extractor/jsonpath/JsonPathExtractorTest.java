@@ -0,0 +1,124 @@
+package com.xceptance.xlt.nocoding.command.action.response.extractor.jsonpath;
+
+import java.net.URL;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.xceptance.xlt.nocoding.command.AbstractContextTest;
+import com.xceptance.xlt.nocoding.util.MockWebResponse;
+import com.xceptance.xlt.nocoding.util.context.Context;
+
+/**
+ * Tests {@link JsonPathExtractor}
+ */
+public class JsonPathExtractorTest extends AbstractContextTest
+{
+    private static final String JSON = "{\"geodata\": [" //
+                                       + "  {\"id\": 1, \"name\": \"Julie Sherman\", \"tags\": [\"a\", \"b\"]}," //
+                                       + "  {\"id\": 2, \"name\": \"Johnny Depp\", \"tags\": []}" //
+                                       + "]}";
+
+    public JsonPathExtractorTest(final Context<?> context)
+    {
+        super(context);
+    }
+
+    /**
+     * Verifies values are extracted as strings, and objects and arrays as JSON
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testExtract() throws Exception
+    {
+        context.setWebResponse(new MockWebResponse(JSON, new URL("http://localhost"), "application/json"));
+
+        List<String> result = new JsonPathExtractor("$.geodata[*].name").extract(context);
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals("Julie Sherman", result.get(0));
+        Assert.assertEquals("Johnny Depp", result.get(1));
+
+        result = new JsonPathExtractor("$.geodata[1].id").extract(context);
+        Assert.assertEquals("2", result.get(0));
+
+        result = new JsonPathExtractor("$.geodata[0].tags").extract(context);
+        Assert.assertEquals("[\"a\",\"b\"]", result.get(0));
+
+        result = new JsonPathExtractor("$.geodata[0].unknown").extract(context);
+        Assert.assertTrue(result.isEmpty());
+    }
+
+    /**
+     * Verifies the content of a response is parsed only once, and parsed again for a new response
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParsedOncePerResponse() throws Exception
+    {
+        context.setWebResponse(new MockWebResponse(JSON, new URL("http://localhost"), "application/json"));
+        new JsonPathExtractor("$.geodata[0].id").extract(context);
+        final JsonElement json = context.getJsonElement();
+        Assert.assertNotNull(json);
+        new JsonPathExtractor("$.geodata[1].id").extract(context);
+        Assert.assertSame(json, context.getJsonElement());
+
+        context.setWebResponse(new MockWebResponse("{\"id\": 3}", new URL("http://localhost"), "application/json"));
+        Assert.assertNull(context.getJsonElement());
+        Assert.assertEquals("3", new JsonPathExtractor("$.id").extract(context).get(0));
+    }
+
+    /**
+     * Verifies an expression with variables is resolved before it is compiled
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testExtractWithVariables() throws Exception
+    {
+        context.setWebResponse(new MockWebResponse(JSON, new URL("http://localhost"), "application/json"));
+        context.getVariables().store("index", "1");
+        Assert.assertEquals("Johnny Depp", new JsonPathExtractor("$.geodata[${index}].name").extract(context).get(0));
+    }
+
+    /**
+     * Verifies quoted names are resolved the same way with and without variables, so single quotes are removed and
+     * double quotes are kept
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testExtractWithQuotes() throws Exception
+    {
+        context.setWebResponse(new MockWebResponse(JSON, new URL("http://localhost"), "application/json"));
+        context.getVariables().store("index", "1");
+        Assert.assertEquals("Johnny Depp", new JsonPathExtractor("$[\"geodata\"][1][\"name\"]").extract(context).get(0));
+        Assert.assertEquals("Johnny Depp", new JsonPathExtractor("$[\"geodata\"][${index}][\"name\"]").extract(context).get(0));
+        Assert.assertEquals("Johnny Depp", new JsonPathExtractor("$.geodata[1].'name'").extract(context).get(0));
+        Assert.assertEquals("Johnny Depp", new JsonPathExtractor("$.geodata[${index}].'name'").extract(context).get(0));
+    }
+
+    /**
+     * Verifies an error is thrown, if the content is not JSON
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoJson() throws Exception
+    {
+        context.setWebResponse(new MockWebResponse("{\"geodata\": [", new URL("http://localhost"), "application/json"));
+        new JsonPathExtractor("$.geodata").extract(context);
+    }
+
+    /**
+     * Verifies an invalid expression is rejected, when the extractor is created
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidExpression()
+    {
+        new JsonPathExtractor("$.geodata[?(@.id == 1)]");
+    }
+}
@@ -0,0 +1,103 @@
+package com.xceptance.xlt.nocoding.command.action.response.extractor.jsonpath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests {@link JsonPath}
+ */
+public class JsonPathTest
+{
+    private final JsonElement json = JsonParser.parseString("{\"store\": {" //
+                                                            + "  \"book\": [" //
+                                                            + "    {\"title\": \"First\", \"price\": 8.95, \"0\": \"zero\"}," //
+                                                            + "    {\"title\": \"Second\", \"price\": 12.99}," //
+                                                            + "    {\"title\": \"Third\", \"price\": 22.99, \"isbn\": \"0-553\"}" //
+                                                            + "  ]," //
+                                                            + "  \"bicycle\": {\"color\": \"red\", \"price\": 19.95}," //
+                                                            + "  \"my key\": true" //
+                                                            + "}}");
+
+    /**
+     * Verifies members and indexes can be selected in dot and bracket notation
+     */
+    @Test
+    public void testMembersAndIndexes()
+    {
+        Assert.assertEquals("[\"red\"]", evaluate("$.store.bicycle.color"));
+        Assert.assertEquals("[\"red\"]", evaluate("$['store'][\"bicycle\"]['color']"));
+        Assert.assertEquals("[\"Second\"]", evaluate("$.store.book[1].title"));
+        Assert.assertEquals("[\"Third\"]", evaluate("$.store.book[-1].title"));
+        Assert.assertEquals("[true]", evaluate("$.store['my key']"));
+        Assert.assertEquals("[\"zero\"]", evaluate("$.store.book[0]['0']"));
+        Assert.assertEquals("[\"First\",\"Third\"]", evaluate("$.store.book[0,2].title"));
+        Assert.assertEquals("[\"red\",19.95]", evaluate("$.store.bicycle['color','price']"));
+    }
+
+    /**
+     * Verifies wildcards, slices and recursive descent
+     */
+    @Test
+    public void testWildcardsSlicesAndRecursiveDescent()
+    {
+        Assert.assertEquals("[\"First\",\"Second\",\"Third\"]", evaluate("$.store.book[*].title"));
+        Assert.assertEquals("[\"First\",\"Second\"]", evaluate("$.store.book[:2].title"));
+        Assert.assertEquals("[\"Second\",\"Third\"]", evaluate("$.store.book[1:].title"));
+        Assert.assertEquals("[\"Third\"]", evaluate("$.store.book[-1:].title"));
+        Assert.assertEquals("[8.95,12.99,22.99,19.95]", evaluate("$..price"));
+        Assert.assertEquals("[\"0-553\"]", evaluate("$..isbn"));
+        Assert.assertEquals("[\"red\",19.95]", evaluate("$.store.bicycle.*"));
+        Assert.assertEquals("[{\"title\":\"Third\",\"price\":22.99,\"isbn\":\"0-553\"}]", evaluate("$..book[2]"));
+    }
+
+    /**
+     * Verifies paths, that do not match, select nothing
+     */
+    @Test
+    public void testNoMatch()
+    {
+        Assert.assertEquals("[]", evaluate("$.store.car"));
+        Assert.assertEquals("[]", evaluate("$.store.book[5]"));
+        Assert.assertEquals("[]", evaluate("$.store.bicycle[0]"));
+        Assert.assertEquals("[]", evaluate("$.store.book.title"));
+    }
+
+    /**
+     * Verifies invalid and unsupported expressions are rejected
+     */
+    @Test
+    public void testInvalidExpressions()
+    {
+        final String[] expressions = {"store.book", "$.", "$.store[", "$.store[abc]", "$.book[?(@.price < 10)]", "$.book[0:2:1]",
+                                      "$['a',0]", "$store"};
+        for (final String expression : expressions)
+        {
+            try
+            {
+                JsonPath.compile(expression);
+                Assert.fail("Expression should be invalid: " + expression);
+            }
+            catch (final IllegalArgumentException e)
+            {
+                // expected
+            }
+        }
+    }
+
+    private String evaluate(final String expression)
+    {
+        final List<JsonElement> result = JsonPath.compile(expression).evaluate(json);
+        final List<String> strings = new ArrayList<>();
+        for (final JsonElement element : result)
+        {
+            strings.add(element.toString());
+        }
+        return "[" + String.join(",", strings) + "]";
+    }
+}
@@ -2,15 +2,19 @@ package com.xceptance.xlt.nocoding.command.action.response.extractor.xpath;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.List;
 
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.gargoylesoftware.htmlunit.FailingHttpStatusCodeException;
 import com.gargoylesoftware.htmlunit.SgmlPage;
 import com.gargoylesoftware.htmlunit.WebResponse;
+import com.xceptance.xlt.api.util.XltProperties;
 import com.xceptance.xlt.nocoding.util.MockWebResponse;
+import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
 import com.xceptance.xlt.nocoding.util.context.Context;
 import com.xceptance.xlt.nocoding.util.context.DomContext;
 import com.xceptance.xlt.nocoding.util.context.LightWeightContext;
@@ -26,6 +30,12 @@ public class HtmlXmlXpathExtractorTest extends AbstractXpathExtractorExecutorTes
 
     String xmlType = "text/xml";
 
+    @After
+    public void cleanUp()
+    {
+        XltProperties.getInstance().removeProperty(NoCodingPropertyAdmin.LIGHTWEIGHTXPATH);
+    }
+
     String xmlContent = "<data>" + " <employee>" + "   <name>John</name>" + "   <title>Manager</title>" + " </employee>" + " <employee>"
                         + "   <name>Sara</name>" + "   <title>Clerk</title>" + " </employee>" + "</data>";
 
@@ -60,6 +70,34 @@ public class HtmlXmlXpathExtractorTest extends AbstractXpathExtractorExecutorTes
         Assert.assertEquals(mockObjects.xpathStringExpected, results.get(0));
     }
 
+    /**
+     * Verifies HTML content is extracted the same way in every mode, although the request mode with the lightweight
+     * XPath does not build a page
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testXPathExtractionOfHtml() throws IOException
+    {
+        XltProperties.getInstance().setProperty(NoCodingPropertyAdmin.LIGHTWEIGHTXPATH, "true");
+        final String content = "<html><head><title>Title</title></head><body><ul id=\"list\"><li>one<li class=\"b\">two</ul></body></html>";
+        final WebResponse htmlResponse = new MockWebResponse(content, new URL("http://www.xceptance.net"), "text/html");
+        context.setWebResponse(htmlResponse);
+        if (context instanceof DomContext)
+        {
+            ((DomContext) context).setPage((SgmlPage) context.getWebClient()
+                                                             .loadWebResponseInto(htmlResponse, context.getWebClient().getCurrentWindow()));
+        }
+        else if (context instanceof RequestContext)
+        {
+            Assert.assertTrue(((RequestContext) context).getHtmlDocument().isExact());
+        }
+
+        final HtmlXmlXpathExtractorExecutor extractorExecutor = new HtmlXmlXpathExtractorExecutor("//*[@id='list']/li[@class='b' or 1]");
+        extractorExecutor.execute(context);
+        Assert.assertEquals(Arrays.asList("one", "two"), extractorExecutor.getResult());
+    }
+
     /**
      * Verifies you can get XML Content.
      *
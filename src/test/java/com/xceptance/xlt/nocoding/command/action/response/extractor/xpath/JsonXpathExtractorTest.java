@@ -7,6 +7,7 @@ import java.util.List;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.w3c.dom.Document;
 
 import com.gargoylesoftware.htmlunit.WebResponse;
 import com.xceptance.xlt.nocoding.util.MockWebResponse;
@@ -75,6 +76,33 @@ public class JsonXpathExtractorTest extends AbstractXpathExtractorExecutorTest
         Assert.assertEquals("37.336453", lat1);
     }
 
+    /**
+     * Verifies the Json Content of a response is converted only once, and converted again for a new response
+     *
+     * @throws MalformedURLException
+     */
+    @Test
+    public void testDocumentReusedPerResponse() throws MalformedURLException
+    {
+        context.setWebResponse(jsonResponse);
+        new JsonXpathExtractorExecutor("//latitude").execute(context);
+        final Document document = context.getJsonDocument();
+        Assert.assertNotNull(document);
+
+        final JsonXpathExtractorExecutor xpathResponse = new JsonXpathExtractorExecutor("//name");
+        xpathResponse.execute(context);
+        Assert.assertSame(document, context.getJsonDocument());
+        Assert.assertEquals("Julie Sherman", xpathResponse.getResult().get(0));
+
+        // A new response discards the document
+        context.setWebResponse(new MockWebResponse("{\"name\": \"Other\"}", url, jsonType));
+        Assert.assertNull(context.getJsonDocument());
+        final JsonXpathExtractorExecutor newXpathResponse = new JsonXpathExtractorExecutor("//name");
+        newXpathResponse.execute(context);
+        Assert.assertNotSame(document, context.getJsonDocument());
+        Assert.assertEquals("Other", newXpathResponse.getResult().get(0));
+    }
+
     /**
      * Verifies an error is thrown when the Json Content is faulty
      */
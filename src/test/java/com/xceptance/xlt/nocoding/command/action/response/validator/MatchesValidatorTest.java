@@ -35,6 +35,21 @@ public class MatchesValidatorTest extends ValidationMethodTest
         method.execute(context);
     }
 
+    /**
+     * Verifies {@link MatchesValidator} removes pairs of single quotes from the pattern like any resolved string
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMatchesValidatorWithQuotes() throws Exception
+    {
+        final List<String> result = new ArrayList<>();
+        result.add("value=test");
+        final AbstractValidator method = new MatchesValidator("value='test'");
+        method.setExpressionToValidate(result);
+        method.execute(context);
+    }
+
     /**
      * Verifies {@link MatchesValidator} matches the content of the first result with the expected content, which is
      * hidden behind a variable.
@@ -0,0 +1,138 @@
+package com.xceptance.xlt.nocoding.command.action.subrequest;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.xceptance.xlt.api.util.XltProperties;
+import com.xceptance.xlt.nocoding.XltMockWebConnection;
+import com.xceptance.xlt.nocoding.command.AbstractContextTest;
+import com.xceptance.xlt.nocoding.command.action.AbstractActionSubItem;
+import com.xceptance.xlt.nocoding.command.action.request.Request;
+import com.xceptance.xlt.nocoding.command.action.response.AbstractResponseSubItem;
+import com.xceptance.xlt.nocoding.command.action.response.HttpCodeValidator;
+import com.xceptance.xlt.nocoding.command.action.response.Response;
+import com.xceptance.xlt.nocoding.command.action.response.extractor.RegexpExtractor;
+import com.xceptance.xlt.nocoding.command.action.response.store.ResponseStore;
+import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
+import com.xceptance.xlt.nocoding.util.context.Context;
+
+/**
+ * Tests {@link ParallelXhrSubrequests}
+ */
+public class ParallelXhrSubrequestsTest extends AbstractContextTest
+{
+    private XltMockWebConnection webConnection;
+
+    public ParallelXhrSubrequestsTest(final Context<?> context)
+    {
+        super(context);
+    }
+
+    /**
+     * Sets the answers to the main page and the XHRs, and loads the main page
+     *
+     * @throws Exception
+     */
+    @Before
+    public void init() throws Exception
+    {
+        XltProperties.getInstance().setProperty(NoCodingPropertyAdmin.DOWNLOADTHREADS, "2");
+        XltProperties.getInstance().setProperty(NoCodingPropertyAdmin.USERAGENTUID, "false");
+
+        context.getWebClient().setTimerName("Parallel-TimerName");
+        webConnection = new XltMockWebConnection(context.getWebClient());
+        webConnection.setResponse(new URL("http://localhost/main"), "<html><body>main</body></html>");
+        webConnection.setResponse(new URL("http://localhost/first"), "<html><body>value-first</body></html>");
+        webConnection.setResponse(new URL("http://localhost/second"), "<html><body>value-second</body></html>");
+        webConnection.setResponse(new URL("http://localhost/error"), "<html><body>error</body></html>", 500, "Internal Server Error",
+                                  "text/html", new ArrayList<>());
+        context.getWebClient().setWebConnection(webConnection);
+        context.setWebResponse(webConnection.getResponse(new WebRequest(new URL("http://localhost/main"))));
+    }
+
+    @After
+    public void cleanUp()
+    {
+        XltProperties.getInstance().removeProperty(NoCodingPropertyAdmin.DOWNLOADTHREADS);
+        XltProperties.getInstance().removeProperty(NoCodingPropertyAdmin.USERAGENTUID);
+        StaticContentDownloader.getInstance(1, 0).shutdown();
+    }
+
+    /**
+     * Verifies all XHRs are loaded, and the stored variables are merged in the order of the subrequests
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testExecute() throws Exception
+    {
+        final List<XhrSubrequest> subrequests = new ArrayList<>();
+        subrequests.add(buildSubrequest("first", "http://localhost/first"));
+        subrequests.add(buildSubrequest("second", "http://localhost/second"));
+
+        new ParallelXhrSubrequests(subrequests).execute(context);
+
+        Assert.assertEquals("value-first", context.getVariables().get("first"));
+        Assert.assertEquals("value-second", context.getVariables().get("second"));
+        // The second subrequest is handled last
+        Assert.assertEquals("value-second", context.getVariables().get("shared"));
+        Assert.assertEquals(3, webConnection.getRequestCount());
+        Assert.assertEquals("XMLHttpRequest", webConnection.getLastAdditionalHeaders().get("X-Requested-With"));
+        Assert.assertEquals("http://localhost/main", webConnection.getLastAdditionalHeaders().get("Referer"));
+    }
+
+    /**
+     * Verifies a failing validation of one subrequest does not prevent the preceding subrequests from being handled
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFailingSubrequest() throws Exception
+    {
+        final List<XhrSubrequest> subrequests = new ArrayList<>();
+        subrequests.add(buildSubrequest("first", "http://localhost/first"));
+        subrequests.add(buildSubrequest("error", "http://localhost/error"));
+
+        try
+        {
+            new ParallelXhrSubrequests(subrequests).execute(context);
+            Assert.fail("Subrequest should have failed");
+        }
+        catch (final Exception | AssertionError e)
+        {
+            // Depending on the context, either loading the response or validating the status code fails
+        }
+        // The response of the first subrequest was still handled
+        Assert.assertEquals("value-first", context.getVariables().get("first"));
+    }
+
+    /**
+     * Builds a {@link XhrSubrequest}, that stores the response as variable with its name and as variable "shared"
+     *
+     * @param name
+     *            The name of the subrequest and the variable
+     * @param url
+     *            The URL to load
+     * @return The <code>XhrSubrequest</code>
+     */
+    private XhrSubrequest buildSubrequest(final String name, final String url)
+    {
+        final List<AbstractResponseSubItem> responseItems = new ArrayList<>();
+        responseItems.add(new HttpCodeValidator("200"));
+        responseItems.add(new ResponseStore(name, new RegexpExtractor("value-\\w+")));
+        responseItems.add(new ResponseStore("shared", new RegexpExtractor("value-\\w+")));
+
+        final List<AbstractActionSubItem> actionItems = new ArrayList<>();
+        actionItems.add(new Request(url));
+        actionItems.add(new Response(responseItems));
+        return new XhrSubrequest(name, actionItems);
+    }
+
+}
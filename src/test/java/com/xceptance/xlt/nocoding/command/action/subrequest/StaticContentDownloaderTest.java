@@ -0,0 +1,199 @@
+package com.xceptance.xlt.nocoding.command.action.subrequest;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.xceptance.xlt.engine.XltWebClient;
+import com.xceptance.xlt.nocoding.XltMockWebConnection;
+
+/**
+ * Tests {@link StaticContentDownloader}
+ */
+public class StaticContentDownloaderTest
+{
+    private XltWebClient webClient;
+
+    private CountingWebConnection webConnection;
+
+    @Before
+    public void setup()
+    {
+        webClient = new XltWebClient();
+        webClient.setTimerName("Test");
+        webConnection = new CountingWebConnection(webClient);
+        webConnection.setDefaultResponse("");
+        webClient.setWebConnection(webConnection);
+    }
+
+    @After
+    public void cleanUp()
+    {
+        StaticContentDownloader.getInstance(1, 0).shutdown();
+        webClient.close();
+    }
+
+    /**
+     * Verifies the downloader of a user is reused as long as the configuration does not change
+     */
+    @Test
+    public void testInstancePerConfiguration()
+    {
+        final StaticContentDownloader downloader = StaticContentDownloader.getInstance(4, 2);
+        Assert.assertTrue(downloader.isParallelModeEnabled());
+        Assert.assertSame(downloader, StaticContentDownloader.getInstance(4, 2));
+        Assert.assertNotSame(downloader, StaticContentDownloader.getInstance(4, 1));
+        Assert.assertFalse(StaticContentDownloader.getInstance(1, 0).isParallelModeEnabled());
+    }
+
+    /**
+     * Verifies the download threads belong to the thread group of the user, so all requests are recorded in the session
+     * of the user
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testThreadsOfUser() throws Exception
+    {
+        final StaticContentDownloader downloader = StaticContentDownloader.getInstance(2, 1);
+        Assert.assertTrue(downloader.isParallelModeEnabled());
+
+        final StaticContentDownloader.Batch batch = downloader.startBatch(webClient, false);
+        final Set<ThreadGroup> threadGroups = ConcurrentHashMap.newKeySet();
+        webConnection.onRequest = () -> threadGroups.add(Thread.currentThread().getThreadGroup());
+        for (int i = 0; i < 4; i++)
+        {
+            batch.addRequest(new URL("http://host-a/" + i));
+        }
+        batch.waitForCompletion();
+        Assert.assertEquals(4, webConnection.requestCount.get());
+        Assert.assertEquals(1, webConnection.maxActiveRequestsPerHost.get("host-a").get());
+        Assert.assertEquals(Collections.singleton(Thread.currentThread().getThreadGroup()), threadGroups);
+    }
+
+    /**
+     * Verifies all URLs of multiple batches are loaded by the same downloader
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatches() throws Exception
+    {
+        final StaticContentDownloader downloader = StaticContentDownloader.getInstance(3, 0);
+        for (int i = 0; i < 3; i++)
+        {
+            final StaticContentDownloader.Batch batch = downloader.startBatch(webClient, false);
+            for (int j = 0; j < 5; j++)
+            {
+                batch.addRequest(new URL("http://localhost/" + i + "/" + j));
+            }
+            batch.waitForCompletion();
+            Assert.assertEquals(5 * (i + 1), webConnection.requestCount.get());
+        }
+        Assert.assertTrue(webConnection.maxActiveRequests.get() <= 3);
+    }
+
+    /**
+     * Verifies the number of parallel requests to the same host is limited
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMaxRequestsPerHost() throws Exception
+    {
+        final StaticContentDownloader.Batch batch = StaticContentDownloader.getInstance(4, 1).startBatch(webClient, false);
+        for (int i = 0; i < 4; i++)
+        {
+            batch.addRequest(new URL("http://host-a/" + i));
+            batch.addRequest(new URL("http://host-b/" + i));
+        }
+        batch.waitForCompletion();
+        Assert.assertEquals(8, webConnection.requestCount.get());
+        Assert.assertEquals(1, webConnection.maxActiveRequestsPerHost.get("host-a").get());
+        Assert.assertEquals(1, webConnection.maxActiveRequestsPerHost.get("host-b").get());
+    }
+
+    /**
+     * Verifies the requests waiting for a free thread are bounded, and all requests are loaded nonetheless
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBoundedPendingRequests() throws Exception
+    {
+        final StaticContentDownloader downloader = StaticContentDownloader.getInstance(4, 0);
+        final StaticContentDownloader.Batch batch = downloader.startBatch(webClient, false);
+        final int requestCount = StaticContentDownloader.MAX_PENDING_REQUESTS + 20;
+        for (int i = 0; i < requestCount; i++)
+        {
+            batch.addRequest(new URL("http://localhost/" + i));
+            Assert.assertTrue(downloader.getPendingRequestCount() <= StaticContentDownloader.MAX_PENDING_REQUESTS);
+        }
+        batch.waitForCompletion();
+        Assert.assertEquals(requestCount, webConnection.requestCount.get());
+    }
+
+    /**
+     * Web connection that counts the requests and tracks the maximum number of parallel requests
+     */
+    private static class CountingWebConnection extends XltMockWebConnection
+    {
+        private final AtomicInteger requestCount = new AtomicInteger();
+
+        private final AtomicInteger activeRequests = new AtomicInteger();
+
+        private final AtomicInteger maxActiveRequests = new AtomicInteger();
+
+        private final Map<String, AtomicInteger> activeRequestsPerHost = new ConcurrentHashMap<>();
+
+        private final Map<String, AtomicInteger> maxActiveRequestsPerHost = new ConcurrentHashMap<>();
+
+        private volatile Runnable onRequest;
+
+        public CountingWebConnection(final XltWebClient client)
+        {
+            super(client);
+        }
+
+        @Override
+        public WebResponse getResponse(final WebRequest settings) throws IOException
+        {
+            if (onRequest != null)
+            {
+                onRequest.run();
+            }
+            final String host = settings.getUrl().getHost();
+            final AtomicInteger activeRequestsToHost = activeRequestsPerHost.computeIfAbsent(host, h -> new AtomicInteger());
+            final AtomicInteger maxActiveRequestsToHost = maxActiveRequestsPerHost.computeIfAbsent(host, h -> new AtomicInteger());
+            maxActiveRequests.accumulateAndGet(activeRequests.incrementAndGet(), Math::max);
+            maxActiveRequestsToHost.accumulateAndGet(activeRequestsToHost.incrementAndGet(), Math::max);
+            try
+            {
+                Thread.sleep(20);
+                return super.getResponse(settings);
+            }
+            catch (final InterruptedException e)
+            {
+                throw new IOException(e);
+            }
+            finally
+            {
+                activeRequestsToHost.decrementAndGet();
+                activeRequests.decrementAndGet();
+                requestCount.incrementAndGet();
+            }
+        }
+    }
+
+}
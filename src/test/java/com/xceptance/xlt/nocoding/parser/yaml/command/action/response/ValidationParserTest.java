@@ -9,6 +9,7 @@ import com.xceptance.xlt.nocoding.command.action.response.Validator;
 import com.xceptance.xlt.nocoding.command.action.response.extractor.CookieExtractor;
 import com.xceptance.xlt.nocoding.command.action.response.extractor.HeaderExtractor;
 import com.xceptance.xlt.nocoding.command.action.response.extractor.RegexpExtractor;
+import com.xceptance.xlt.nocoding.command.action.response.extractor.jsonpath.JsonPathExtractor;
 import com.xceptance.xlt.nocoding.command.action.response.validator.AbstractValidator;
 import com.xceptance.xlt.nocoding.command.action.response.validator.CountValidator;
 import com.xceptance.xlt.nocoding.command.action.response.validator.MatchesValidator;
@@ -50,6 +51,37 @@ public class ValidationParserTest
         Assert.assertEquals(validationExpression, ((MatchesValidator) validator.getMethod()).getValidationExpression());
     }
 
+    /**
+     * Verifies an invalid regular expression is rejected, when the validation is parsed
+     *
+     * @throws Exception
+     */
+    @Test(expected = ParserException.class)
+    public void testInvalidRegExpValidation() throws Exception
+    {
+        final String yamlSpec = "- val_Name_1 : \n" //
+                                + "    " + Constants.REGEXP + " : \"(unclosed\"\n";
+
+        final Node validationContent = YamlParserTestHelper.parseToNode(yamlSpec);
+        new ValidationParser().parse(validationContent.getStartMark(), validationContent);
+    }
+
+    /**
+     * Verifies an invalid regular expression of {@link MatchesValidator} is rejected, when the validation is parsed
+     *
+     * @throws Exception
+     */
+    @Test(expected = ParserException.class)
+    public void testInvalidMatchesValidation() throws Exception
+    {
+        final String yamlSpec = "- val_Name_1 : \n" //
+                                + "    " + Constants.HEADER + " : HeaderName\n" //
+                                + "    " + Constants.MATCHES + " : \"(unclosed\"\n";
+
+        final Node validationContent = YamlParserTestHelper.parseToNode(yamlSpec);
+        new ValidationParser().parse(validationContent.getStartMark(), validationContent);
+    }
+
     /**
      * Verifies {@link CookieExtractor} and {@link TextValidator} can be parsed
      *
@@ -76,6 +108,44 @@ public class ValidationParserTest
 
     }
 
+    /**
+     * Verifies {@link JsonPathExtractor} and {@link TextValidator} can be parsed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testJsonPathTextValidation() throws Exception
+    {
+        final String extractionExpression = "$.geodata[0].name";
+        final String validationExpression = "Julie";
+        final String yamlSpec = "- val_Name_1 : \n" //
+                                + "    " + Constants.JSONPATH + " : " + extractionExpression + "\n" //
+                                + "    " + Constants.TEXT + " : " + validationExpression + "\n";
+
+        final Node validationContent = YamlParserTestHelper.parseToNode(yamlSpec);
+
+        final Validator validator = new ValidationParser().parse(validationContent.getStartMark(), validationContent).get(0);
+
+        Assert.assertTrue(validator.getExtractor() instanceof JsonPathExtractor);
+        Assert.assertEquals(extractionExpression, validator.getExtractor().getExtractionExpression());
+        Assert.assertTrue(validator.getMethod() instanceof TextValidator);
+    }
+
+    /**
+     * Verifies an invalid JsonPath cannot be parsed
+     *
+     * @throws Exception
+     */
+    @Test(expected = ParserException.class)
+    public void testInvalidJsonPathValidation() throws Exception
+    {
+        final String yamlSpec = "- val_Name_1 : \n" //
+                                + "    " + Constants.JSONPATH + " : $.geodata[\n";
+
+        final Node validationContent = YamlParserTestHelper.parseToNode(yamlSpec);
+        new ValidationParser().parse(validationContent.getStartMark(), validationContent);
+    }
+
     /**
      * Verifies {@link HeaderExtractor} and no {@link AbstractValidator} can be parsed
      *
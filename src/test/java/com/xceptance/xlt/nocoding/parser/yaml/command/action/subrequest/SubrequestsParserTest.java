@@ -1,11 +1,18 @@
 package com.xceptance.xlt.nocoding.parser.yaml.command.action.subrequest;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.yaml.snakeyaml.parser.ParserException;
 
+import com.xceptance.xlt.nocoding.command.Command;
+import com.xceptance.xlt.nocoding.command.action.AbstractActionSubItem;
+import com.xceptance.xlt.nocoding.command.action.Action;
+import com.xceptance.xlt.nocoding.command.action.subrequest.ParallelXhrSubrequests;
+import com.xceptance.xlt.nocoding.command.action.subrequest.StaticSubrequest;
+import com.xceptance.xlt.nocoding.command.action.subrequest.XhrSubrequest;
 import com.xceptance.xlt.nocoding.parser.AbstractParserTest;
 import com.xceptance.xlt.nocoding.parser.Parser;
 import com.xceptance.xlt.nocoding.parser.yaml.YamlParser;
@@ -23,6 +30,8 @@ public class SubrequestsParserTest extends AbstractParserTest
 
     protected final String fileStaticSubrequests = path + "staticSubrequests.yml";
 
+    protected final String fileParallelXhrSubrequests = path + "parallelXhrSubrequests.yml";
+
     protected final String fileSyntaxErrorSubrequests = path + "syntaxErrorSubrequests.yml";
 
     protected final String fileSyntaxErrorSubrequestsObjectNotArray = path + "syntaxErrorSubrequestsObjectNotArray.yml";
@@ -59,6 +68,26 @@ public class SubrequestsParserTest extends AbstractParserTest
         parser.parse(fileStaticSubrequests);
     }
 
+    /**
+     * Verifies the XHR subrequests of a block with "Parallel" are grouped at the position of the first one
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testParallelXhrSubrequestsParsing() throws IOException
+    {
+        final Parser parser = new YamlParser();
+        final List<Command> commands = parser.parse(fileParallelXhrSubrequests);
+        final List<AbstractActionSubItem> actionItems = ((Action) commands.get(0)).getActionItems();
+        Assert.assertEquals(3, actionItems.size());
+        Assert.assertTrue(actionItems.get(1) instanceof ParallelXhrSubrequests);
+        Assert.assertTrue(actionItems.get(2) instanceof StaticSubrequest);
+        final List<XhrSubrequest> subrequests = ((ParallelXhrSubrequests) actionItems.get(1)).getSubrequests();
+        Assert.assertEquals(2, subrequests.size());
+        Assert.assertEquals("xhr_name_1", subrequests.get(0).getName());
+        Assert.assertEquals("xhr_name_2", subrequests.get(1).getName());
+    }
+
     /**
      * Verifies an error happens when "Subrequests" has an invalid tag
      *
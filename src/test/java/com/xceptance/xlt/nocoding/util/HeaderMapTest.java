@@ -0,0 +1,126 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link HeaderMap}
+ */
+public class HeaderMapTest
+{
+    /**
+     * Verifies names are case-insensitive, the most recent capitalization is kept, and the insertion order is kept
+     */
+    @Test
+    public void testPutRecentKeys()
+    {
+        final Map<String, String> headers = new HeaderMap();
+        Assert.assertNull(headers.put("Accept", "text/html"));
+        Assert.assertNull(headers.put("Cookie", "a=b"));
+        Assert.assertEquals("text/html", headers.put("ACCEPT", "application/json"));
+
+        Assert.assertEquals(2, headers.size());
+        Assert.assertEquals("application/json", headers.get("accept"));
+        Assert.assertTrue(headers.containsKey("cOOkie"));
+        Assert.assertEquals(Arrays.asList("ACCEPT", "Cookie"), new ArrayList<>(headers.keySet()));
+    }
+
+    /**
+     * Verifies the map can be serialized like the {@link RecentKeyTreeMap} it replaces, so requests can still be cloned
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSerialization() throws Exception
+    {
+        final HeaderMap headers = new HeaderMap();
+        headers.put("Accept", "text/html");
+        headers.put("Cookie", "a=b");
+        // Create the cached entry set before serializing
+        headers.entrySet().iterator();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            out.writeObject(headers);
+        }
+        final HeaderMap copy;
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            copy = (HeaderMap) in.readObject();
+        }
+
+        Assert.assertEquals(headers, copy);
+        Assert.assertEquals(Arrays.asList("Accept", "Cookie"), new ArrayList<>(copy.keySet()));
+        Assert.assertEquals("a=b", copy.get("COOKIE"));
+        copy.put("accept", "application/json");
+        Assert.assertEquals("application/json", copy.get("Accept"));
+        Assert.assertEquals("text/html", headers.get("Accept"));
+    }
+
+    /**
+     * Verifies the map grows beyond its initial capacity and behaves like a case-insensitive map
+     */
+    @Test
+    public void testManyHeaders()
+    {
+        final Map<String, String> headers = new HeaderMap(1);
+        final Map<String, String> expected = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < 100; i++)
+        {
+            headers.put("X-Header-" + i, "value" + i);
+            expected.put("X-Header-" + i, "value" + i);
+        }
+        for (int i = 0; i < 100; i += 3)
+        {
+            Assert.assertEquals("value" + i, headers.remove("x-header-" + i));
+            expected.remove("X-Header-" + i);
+        }
+        Assert.assertEquals(expected.size(), headers.size());
+        for (final Entry<String, String> entry : expected.entrySet())
+        {
+            Assert.assertEquals(entry.getValue(), headers.get(entry.getKey().toUpperCase()));
+        }
+        Assert.assertNull(headers.get("X-Header-0"));
+        Assert.assertNull(headers.remove("X-Header-0"));
+    }
+
+    /**
+     * Verifies entries can be changed and removed while iterating
+     */
+    @Test
+    public void testIterator()
+    {
+        final Map<String, String> source = new LinkedHashMap<>();
+        source.put("A", "1");
+        source.put("B", "2");
+        source.put("C", "3");
+        final Map<String, String> headers = new HeaderMap(source);
+        Assert.assertEquals(source, headers);
+
+        final Iterator<Entry<String, String>> iterator = headers.entrySet().iterator();
+        iterator.next().setValue("changed");
+        iterator.next();
+        iterator.remove();
+        Assert.assertEquals("C", iterator.next().getKey());
+        Assert.assertFalse(iterator.hasNext());
+
+        Assert.assertEquals("{A=changed, C=3}", headers.toString());
+        Assert.assertNull(headers.get("b"));
+        headers.clear();
+        Assert.assertTrue(headers.isEmpty());
+        Assert.assertNull(headers.get("a"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.xceptance.xlt.nocoding.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link LruCache}
+ */
+public class LruCacheTest
+{
+    /**
+     * Verifies a cached value is found and not replaced by a later value with the same key
+     */
+    @Test
+    public void testGetAndPut()
+    {
+        final LruCache<String, String> cache = new LruCache<>(10);
+        Assert.assertNull(cache.get("a"));
+        cache.put("a", "1");
+        cache.put("a", "2");
+        Assert.assertEquals("1", cache.get("a"));
+        Assert.assertEquals(1, cache.size());
+    }
+
+    /**
+     * Verifies the cache stays bounded and removes the least recently used values first
+     */
+    @Test
+    public void testEvictLeastRecentlyUsed()
+    {
+        final LruCache<Integer, Integer> cache = new LruCache<>(8);
+        for (int i = 0; i < 8; i++)
+        {
+            cache.put(i, i);
+        }
+        // Use the oldest value again
+        Assert.assertEquals(Integer.valueOf(0), cache.get(0));
+        cache.put(8, 8);
+
+        Assert.assertTrue(cache.size() <= 8);
+        Assert.assertEquals(Integer.valueOf(0), cache.get(0));
+        Assert.assertEquals(Integer.valueOf(8), cache.get(8));
+        Assert.assertNull(cache.get(1));
+    }
+}
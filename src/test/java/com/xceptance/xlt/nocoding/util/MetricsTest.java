@@ -0,0 +1,80 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xceptance.xlt.api.util.XltProperties;
+import com.xceptance.xlt.nocoding.command.action.response.validator.ExistsValidator;
+import com.xceptance.xlt.nocoding.util.context.Context;
+import com.xceptance.xlt.nocoding.util.context.LightWeightContext;
+
+/**
+ * Tests {@link Metrics}
+ */
+public class MetricsTest
+{
+    @After
+    public void cleanUp()
+    {
+        XltProperties.getInstance().removeProperty(NoCodingPropertyAdmin.METRICS);
+    }
+
+    /**
+     * Verifies nothing is measured by default
+     */
+    @Test
+    public void testDisabledByDefault()
+    {
+        final Context<?> context = new LightWeightContext(XltProperties.getInstance());
+        Assert.assertSame(Metrics.DISABLED, context.getMetrics());
+
+        context.resolveString("${a}");
+        Assert.assertEquals(0, context.getMetrics().getCount(Metrics.RESOLVESTRING));
+    }
+
+    /**
+     * Verifies the hot paths are counted by name and the counts start at zero again after a report
+     */
+    @Test
+    public void testMeasure()
+    {
+        XltProperties.getInstance().setProperty(NoCodingPropertyAdmin.METRICS, "true");
+        final Context<?> context = new LightWeightContext(XltProperties.getInstance());
+        final Metrics metrics = context.getMetrics();
+        Assert.assertTrue(metrics.isEnabled());
+
+        context.getVariables().store("a", "1");
+        context.resolveString("${a}");
+        context.resolveString("${a}");
+        final ExistsValidator validator = new ExistsValidator();
+        validator.setExpressionToValidate(Arrays.asList("1"));
+        validator.execute(context);
+        Assert.assertEquals(2, metrics.getCount(Metrics.RESOLVESTRING));
+        Assert.assertEquals(1, metrics.getCount(Metrics.VALIDATE + ".ExistsValidator"));
+
+        metrics.report();
+        Assert.assertEquals(0, metrics.getCount(Metrics.RESOLVESTRING));
+    }
+
+    /**
+     * Verifies a shared counter reports only its increase since the previous report, and counts from zero after a reset
+     */
+    @Test
+    public void testSharedCounter()
+    {
+        final AtomicLong value = new AtomicLong(3);
+        final Metrics.SharedCounter counter = new Metrics.SharedCounter("Counter", value::get);
+        Assert.assertEquals(3, counter.takeIncrease());
+        Assert.assertEquals(0, counter.takeIncrease());
+
+        value.addAndGet(2);
+        Assert.assertEquals(2, counter.takeIncrease());
+
+        value.set(1);
+        Assert.assertEquals(1, counter.takeIncrease());
+    }
+}
@@ -0,0 +1,68 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link PatternCache}
+ */
+public class PatternCacheTest
+{
+    /**
+     * Verifies a pattern is compiled once and then taken from the cache
+     */
+    @Test
+    public void testHitsAndMisses()
+    {
+        final PatternCache cache = new PatternCache(10);
+        final Pattern pattern = cache.getPattern("value-\\d+");
+        Assert.assertEquals("value-\\d+", pattern.pattern());
+        Assert.assertSame(pattern, cache.getPattern("value-\\d+"));
+        Assert.assertSame(pattern, cache.getPattern("value-\\d+"));
+        Assert.assertNotSame(pattern, cache.getPattern("other"));
+
+        Assert.assertEquals(2, cache.getHits());
+        Assert.assertEquals(2, cache.getMisses());
+        Assert.assertEquals(2, cache.size());
+    }
+
+    /**
+     * Verifies the cache never holds more than its maximum size
+     */
+    @Test
+    public void testBounded()
+    {
+        final PatternCache cache = new PatternCache(10);
+        for (int i = 0; i < 100; i++)
+        {
+            Assert.assertEquals("value-" + i, cache.getPattern("value-" + i).pattern());
+        }
+        Assert.assertEquals(10, cache.size());
+        Assert.assertEquals(100, cache.getMisses());
+    }
+
+    /**
+     * Verifies only expressions without variables are compiled in advance
+     */
+    @Test
+    public void testStaticPattern()
+    {
+        final PatternCache cache = new PatternCache(10);
+        Assert.assertNotNull(cache.getStaticPattern("value-\\d+"));
+        Assert.assertNull(cache.getStaticPattern("value-${id}"));
+        Assert.assertNull(cache.getStaticPattern("value='(.*?)'"));
+        Assert.assertNull(cache.getStaticPattern(null));
+    }
+
+    /**
+     * Verifies an invalid expression is rejected
+     */
+    @Test(expected = PatternSyntaxException.class)
+    public void testInvalidPattern()
+    {
+        new PatternCache(10).getPattern("value-(");
+    }
+}
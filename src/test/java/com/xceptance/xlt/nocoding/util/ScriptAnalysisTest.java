@@ -0,0 +1,177 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xceptance.xlt.nocoding.command.Command;
+import com.xceptance.xlt.nocoding.command.action.Action;
+import com.xceptance.xlt.nocoding.command.action.response.Response;
+import com.xceptance.xlt.nocoding.command.action.response.store.AbstractResponseStore;
+import com.xceptance.xlt.nocoding.command.action.subrequest.ParallelXhrSubrequests;
+import com.xceptance.xlt.nocoding.parser.yaml.YamlParser;
+import com.xceptance.xlt.nocoding.util.context.PageModel;
+
+/**
+ * Tests {@link ScriptAnalysis}
+ */
+public class ScriptAnalysisTest
+{
+    /**
+     * Verifies an extraction, whose variable is never referenced, is unused, and a referenced one is not
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testUnusedStore() throws IOException
+    {
+        final ScriptAnalysis analysis = analyze("- Action :\n" //
+                                                + "    Request :\n" //
+                                                + "        Url : http://localhost/first\n" //
+                                                + "    Response :\n" //
+                                                + "        Store :\n" //
+                                                + "            - used :\n" //
+                                                + "                Regex : value\n" //
+                                                + "            - unused :\n" //
+                                                + "                Regex : value\n" //
+                                                + "- Action :\n" //
+                                                + "    Request :\n" //
+                                                + "        Url : http://localhost/${used}\n");
+
+        final List<AbstractResponseStore> stores = getStores(analysis.getScript().get(0));
+        Assert.assertFalse(analysis.hasDynamicReferences());
+        Assert.assertTrue(analysis.getConsumedVariables().contains("used"));
+        Assert.assertEquals(1, analysis.getProducers("used").size());
+        Assert.assertFalse(analysis.isUnused(stores.get(0)));
+        Assert.assertTrue(analysis.isUnused(stores.get(1)));
+    }
+
+    /**
+     * Verifies no extraction is unused, if the name of a referenced variable is built from another variable
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testDynamicReference() throws IOException
+    {
+        final ScriptAnalysis analysis = analyze("- Store :\n" //
+                                                + "    - name : unused\n" //
+                                                + "- Action :\n" //
+                                                + "    Request :\n" //
+                                                + "        Url : http://localhost/first\n" //
+                                                + "    Response :\n" //
+                                                + "        Store :\n" //
+                                                + "            - unused :\n" //
+                                                + "                Regex : value\n" //
+                                                + "- Action :\n" //
+                                                + "    Request :\n" //
+                                                + "        Url : http://localhost/${${name}}\n");
+
+        Assert.assertTrue(analysis.hasDynamicReferences());
+        Assert.assertFalse(analysis.isUnused(getStores(analysis.getScript().get(1)).get(0)));
+    }
+
+    /**
+     * Verifies parallel subrequests are dependent, if a request references a variable of an earlier subrequest
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testDependentParallelSubrequests() throws IOException
+    {
+        final ScriptAnalysis analysis = analyze(parallelScript("${first}"));
+        Assert.assertFalse(analysis.isIndependent(getParallelSubrequests(analysis.getScript().get(0))));
+    }
+
+    /**
+     * Verifies parallel subrequests are independent, if no request references a variable of the group
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testIndependentParallelSubrequests() throws IOException
+    {
+        final ScriptAnalysis analysis = analyze(parallelScript("second"));
+        Assert.assertTrue(analysis.isIndependent(getParallelSubrequests(analysis.getScript().get(0))));
+    }
+
+    /**
+     * Verifies only actions with an XPath extraction, also in their subrequests, need a page
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testPageModel() throws IOException
+    {
+        final ScriptAnalysis analysis = analyze("- Action :\n" //
+                                                + "    Request :\n" //
+                                                + "        Url : http://localhost/first\n" //
+                                                + "    Response :\n" //
+                                                + "        Httpcode : 200\n" //
+                                                + "        Validate :\n" //
+                                                + "            - regex :\n" //
+                                                + "                Regex : value\n" //
+                                                + "- Action :\n" //
+                                                + "    Request :\n" //
+                                                + "        Url : http://localhost/second\n" //
+                                                + "    Response :\n" //
+                                                + "        Store :\n" //
+                                                + "            - title :\n" //
+                                                + "                XPath : //title\n" //
+                                                + "- Action :\n" //
+                                                + "    Request :\n" //
+                                                + "        Url : http://localhost/third\n" //
+                                                + "    Subrequests :\n" //
+                                                + "        - Xhr :\n" //
+                                                + "            Request :\n" //
+                                                + "                Url : http://localhost/xhr\n" //
+                                                + "            Response :\n" //
+                                                + "                Validate :\n" //
+                                                + "                    - title :\n" //
+                                                + "                        XPath : //title\n");
+
+        Assert.assertEquals(PageModel.WEB_RESPONSE, analysis.getPageModel((Action) analysis.getScript().get(0)));
+        Assert.assertEquals(PageModel.SGML_PAGE, analysis.getPageModel((Action) analysis.getScript().get(1)));
+        Assert.assertEquals(PageModel.SGML_PAGE, analysis.getPageModel((Action) analysis.getScript().get(2)));
+        Assert.assertEquals(PageModel.SGML_PAGE, analysis.getPageModel(new Action()));
+    }
+
+    private static String parallelScript(final String secondPath)
+    {
+        return "- Action :\n" //
+               + "    Request :\n" //
+               + "        Url : http://localhost/main\n" //
+               + "    Subrequests :\n" //
+               + "        - Parallel : true\n" //
+               + "        - Xhr :\n" //
+               + "            Request :\n" //
+               + "                Url : http://localhost/first\n" //
+               + "            Response :\n" //
+               + "                Store :\n" //
+               + "                    - first :\n" //
+               + "                        Regex : value\n" //
+               + "        - Xhr :\n" //
+               + "            Request :\n" //
+               + "                Url : http://localhost/" + secondPath + "\n";
+    }
+
+    private static ScriptAnalysis analyze(final String script) throws IOException
+    {
+        return new ScriptAnalysis(new YamlParser().parse(new StringReader(script)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<AbstractResponseStore> getStores(final Command action)
+    {
+        final Response response = (Response) ((Action) action).getActionItems().get(1);
+        return (List<AbstractResponseStore>) (List<?>) response.getResponseItems();
+    }
+
+    private static ParallelXhrSubrequests getParallelSubrequests(final Command action)
+    {
+        return (ParallelXhrSubrequests) ((Action) action).getActionItems().get(1);
+    }
+}
@@ -0,0 +1,206 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.xceptance.xlt.nocoding.command.Command;
+import com.xceptance.xlt.nocoding.command.store.Store;
+import com.xceptance.xlt.nocoding.parser.Parser;
+
+/**
+ * Tests {@link ScriptCache}
+ */
+public class ScriptCacheTest
+{
+    private File file;
+
+    private CountingParser parser;
+
+    @Before
+    public void init() throws IOException
+    {
+        file = File.createTempFile("script", ".yml");
+        write("first");
+        parser = new CountingParser();
+        ScriptCache.getInstance().clear();
+    }
+
+    @After
+    public void cleanUp()
+    {
+        ScriptCache.getInstance().clear();
+        file.delete();
+    }
+
+    /**
+     * Verifies the file is parsed only once, even if many threads request it at the same time
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParsedOnceConcurrently() throws Exception
+    {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try
+        {
+            final List<Callable<List<Command>>> tasks = new ArrayList<>();
+            for (int i = 0; i < 32; i++)
+            {
+                tasks.add(() -> ScriptCache.getInstance().getOrParse(file.getPath(), parser, -1));
+            }
+            final List<Future<List<Command>>> results = executor.invokeAll(tasks);
+            final List<Command> first = results.get(0).get();
+            for (final Future<List<Command>> result : results)
+            {
+                Assert.assertSame(first, result.get());
+            }
+            Assert.assertEquals(1, parser.count.get());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifies an unchanged file is not parsed again
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testUnchangedFileNotParsedAgain() throws Exception
+    {
+        final List<Command> first = ScriptCache.getInstance().getOrParse(file.getPath(), parser, 0);
+        final List<Command> second = ScriptCache.getInstance().getOrParse(file.getPath(), parser, 0);
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, parser.count.get());
+    }
+
+    /**
+     * Verifies a changed file is parsed again
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testChangedFileParsedAgain() throws Exception
+    {
+        final List<Command> first = ScriptCache.getInstance().getOrParse(file.getPath(), parser, 0);
+        Assert.assertEquals("first", ((Store) first.get(0)).getValue());
+        write("second line");
+        final List<Command> second = ScriptCache.getInstance().getOrParse(file.getPath(), parser, 0);
+        Assert.assertEquals("second line", ((Store) second.get(0)).getValue());
+        Assert.assertEquals(2, parser.count.get());
+    }
+
+    /**
+     * Verifies a change, that happens while the file is parsed, is found by the next check
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testChangedWhileParsing() throws Exception
+    {
+        parser.afterRead = () -> {
+            try
+            {
+                write("changed while parsing");
+            }
+            catch (final IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        };
+        final List<Command> first = ScriptCache.getInstance().getOrParse(file.getPath(), parser, 0);
+        Assert.assertEquals("first", ((Store) first.get(0)).getValue());
+        parser.afterRead = null;
+        final List<Command> second = ScriptCache.getInstance().getOrParse(file.getPath(), parser, 0);
+        Assert.assertEquals("changed while parsing", ((Store) second.get(0)).getValue());
+        Assert.assertEquals(2, parser.count.get());
+    }
+
+    /**
+     * Verifies a disabled check never parses the file again
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDisabledCheck() throws Exception
+    {
+        final List<Command> first = ScriptCache.getInstance().getOrParse(file.getPath(), parser, -1);
+        write("second line");
+        final List<Command> second = ScriptCache.getInstance().getOrParse(file.getPath(), parser, -1);
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, parser.count.get());
+    }
+
+    /**
+     * Verifies the cached script cannot be modified
+     *
+     * @throws Exception
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testScriptIsUnmodifiable() throws Exception
+    {
+        ScriptCache.getInstance().getOrParse(file.getPath(), parser, -1).clear();
+    }
+
+    private void write(final String content) throws IOException
+    {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parser that stores the content of the file in a single {@link Store} and counts its invocations
+     */
+    private static class CountingParser implements Parser
+    {
+        private final AtomicInteger count = new AtomicInteger();
+
+        private volatile Runnable afterRead;
+
+        @Override
+        public List<Command> parse(final Reader reader) throws IOException
+        {
+            count.incrementAndGet();
+            try
+            {
+                final List<Command> commands = new ArrayList<>();
+                commands.add(new Store("content", IOUtils.toString(reader)));
+                if (afterRead != null)
+                {
+                    afterRead.run();
+                }
+                return commands;
+            }
+            finally
+            {
+                reader.close();
+            }
+        }
+
+        @Override
+        public List<String> getExtensions()
+        {
+            return Collections.singletonList("yml");
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.gargoylesoftware.htmlunit.util.NameValuePair;
+import com.gargoylesoftware.htmlunit.util.UrlUtils;
+
+/**
+ * Tests {@link UrlBuilder}
+ */
+public class UrlBuilderTest
+{
+    private final List<NameValuePair> parameters = Arrays.asList(new NameValuePair("q", "red+shoe%21"), new NameValuePair("page", "2"));
+
+    /**
+     * Verifies the parameters are appended like {@link UrlUtils#getUrlWithNewQuery(URL, String)} does
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testAppendQuery() throws Exception
+    {
+        final String[] urls =
+            {
+                "https://www.xceptance.net", "https://www.xceptance.net/search", "https://user:pw@localhost:8080/search?lang=en",
+                "https://www.xceptance.net/search?lang=en#results"
+            };
+        for (final String urlString : urls)
+        {
+            final URL url = new URL(urlString);
+            final String query = (url.getQuery() != null ? url.getQuery() + "&" : "") + "q=red+shoe%21&page=2";
+            final URL expected = UrlUtils.getUrlWithNewQuery(url, query);
+            Assert.assertEquals(expected.toString(), UrlBuilder.appendQuery(url, parameters, false).toString());
+        }
+    }
+
+    /**
+     * Verifies the parameters are decoded while they are appended
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testAppendDecodedQuery() throws Exception
+    {
+        final URL url = UrlBuilder.appendQuery(new URL("https://www.xceptance.net/search"), parameters, true);
+        Assert.assertEquals("q=red shoe!&page=2", url.getQuery());
+    }
+
+    /**
+     * Verifies the URL is returned unchanged if there are no parameters
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testNoParameters() throws Exception
+    {
+        final URL url = new URL("https://www.xceptance.net/search?lang=en");
+        Assert.assertSame(url, UrlBuilder.appendQuery(url, new ArrayList<NameValuePair>(), false));
+        Assert.assertSame(url, UrlBuilder.appendQuery(url, null, true));
+    }
+
+}
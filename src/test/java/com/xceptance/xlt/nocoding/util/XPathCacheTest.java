@@ -0,0 +1,76 @@
+package com.xceptance.xlt.nocoding.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link XPathCache}
+ */
+public class XPathCacheTest
+{
+    /**
+     * Verifies an expression is compiled once per thread
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCompiledOncePerThread() throws Exception
+    {
+        final XPathCache cache = XPathCache.getInstance();
+        final long misses = XPathCache.getMisses();
+        final long hits = XPathCache.getHits();
+
+        final XPathExpression expression = cache.getExpression("//testCompiledOncePerThread");
+        Assert.assertSame(expression, cache.getExpression("//testCompiledOncePerThread"));
+        Assert.assertSame(cache, XPathCache.getInstance());
+        Assert.assertEquals(misses + 1, XPathCache.getMisses());
+        Assert.assertEquals(hits + 1, XPathCache.getHits());
+
+        // Another thread compiles its own expression
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            final Future<XPathExpression> otherExpression = executor.submit(() -> XPathCache.getInstance()
+                                                                                            .getExpression("//testCompiledOncePerThread"));
+            Assert.assertNotSame(expression, otherExpression.get());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Verifies the cache of a thread never holds more than its maximum size
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBounded() throws Exception
+    {
+        final XPathCache cache = XPathCache.getInstance();
+        for (int i = 0; i < XPathCache.MAX_SIZE + 10; i++)
+        {
+            cache.getExpression("//testBounded[" + i + "]");
+        }
+        Assert.assertEquals(XPathCache.MAX_SIZE, cache.size());
+    }
+
+    /**
+     * Verifies an invalid expression is rejected
+     *
+     * @throws Exception
+     */
+    @Test(expected = XPathExpressionException.class)
+    public void testInvalidExpression() throws Exception
+    {
+        XPathCache.getInstance().getExpression("//[");
+    }
+}
@@ -0,0 +1,90 @@
+package com.xceptance.xlt.nocoding.util.context;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xceptance.xlt.api.util.XltProperties;
+import com.xceptance.xlt.engine.XltWebClient;
+import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
+import com.xceptance.xlt.nocoding.util.resolver.VariableResolver;
+
+/**
+ * Tests {@link ContextPool}
+ */
+public class ContextPoolTest
+{
+    @After
+    public void cleanUp()
+    {
+        ContextPool.getInstance().clear();
+    }
+
+    /**
+     * Verifies the context of a thread is reused and reset
+     */
+    @Test
+    public void testContextIsReusedAndReset()
+    {
+        final Context<?> context = ContextPool.getInstance().getContext(NoCodingPropertyAdmin.LIGHTWEIGHT, XltProperties.getInstance());
+        final VariableResolver resolver = context.getResolver();
+        final XltWebClient webClient = context.getWebClient();
+        context.getVariables().store("name", "value");
+        context.getDefaultItems().store("url", "https://localhost");
+        context.setActionIndex(3);
+        Assert.assertEquals("1", context.resolveString("${m = 1}"));
+
+        final Context<?> reusedContext = ContextPool.getInstance().getContext(NoCodingPropertyAdmin.LIGHTWEIGHT,
+                                                                              XltProperties.getInstance());
+        Assert.assertSame(context, reusedContext);
+        Assert.assertSame(resolver, reusedContext.getResolver());
+        Assert.assertNotSame(webClient, reusedContext.getWebClient());
+        Assert.assertNull(reusedContext.getVariables().get("name"));
+        Assert.assertNull(reusedContext.getDefaultItems().get("url"));
+        Assert.assertEquals(0, reusedContext.getActionIndex());
+        Assert.assertNull(reusedContext.getWebResponse());
+        // Variables of beanshell are reset, while the helpers are still available
+        Assert.assertEquals("${m}", reusedContext.resolveString("${m}"));
+        Assert.assertEquals("3", reusedContext.resolveString("${RANDOM.Number(3,3)}"));
+    }
+
+    /**
+     * Verifies every mode gets its own context
+     */
+    @Test
+    public void testContextPerMode()
+    {
+        final XltProperties properties = XltProperties.getInstance();
+        Assert.assertTrue(ContextPool.getInstance().getContext(NoCodingPropertyAdmin.LIGHTWEIGHT, properties) instanceof LightWeightContext);
+        Assert.assertTrue(ContextPool.getInstance().getContext(NoCodingPropertyAdmin.DOM, properties) instanceof DomContext);
+        Assert.assertTrue(ContextPool.getInstance().getContext(NoCodingPropertyAdmin.REQUEST, properties) instanceof RequestContext);
+    }
+
+    /**
+     * Verifies contexts are not shared between threads
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testContextPerThread() throws InterruptedException
+    {
+        final Context<?> context = ContextPool.getInstance().getContext(NoCodingPropertyAdmin.REQUEST, XltProperties.getInstance());
+        final Context<?>[] otherContext = new Context<?>[1];
+        final Thread thread = new Thread(() -> otherContext[0] = ContextPool.getInstance().getContext(NoCodingPropertyAdmin.REQUEST,
+                                                                                                      XltProperties.getInstance()));
+        thread.start();
+        thread.join();
+        Assert.assertNotNull(otherContext[0]);
+        Assert.assertNotSame(context, otherContext[0]);
+    }
+
+    /**
+     * Verifies an unknown mode is rejected
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testUnknownMode()
+    {
+        ContextPool.createContext("unknown", new NoCodingPropertyAdmin(XltProperties.getInstance()));
+    }
+
+}
@@ -1,9 +1,16 @@
 package com.xceptance.xlt.nocoding.util.context;
 
+import java.net.URL;
+
+import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.gargoylesoftware.htmlunit.WebRequest;
 import com.xceptance.xlt.api.util.XltProperties;
+import com.xceptance.xlt.nocoding.XltMockWebConnection;
+import com.xceptance.xlt.nocoding.util.NoCodingPropertyAdmin;
 
 public class DomContextTest
 {
@@ -16,6 +23,12 @@ public class DomContextTest
         context = new DomContext(XltProperties.getInstance());
     }
 
+    @After
+    public void cleanUp()
+    {
+        XltProperties.getInstance().removeProperty(NoCodingPropertyAdmin.SKIPUNNEEDEDPAGES);
+    }
+
     @Test
     public void testGetSgmlPage()
     {
@@ -28,4 +41,31 @@ public class DomContextTest
         context.setPage(null);
     }
 
+    /**
+     * Verifies the page is not built, if the action only needs the response, and is built once it is requested
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSkipUnneededPage() throws Exception
+    {
+        XltProperties.getInstance().setProperty(NoCodingPropertyAdmin.SKIPUNNEEDEDPAGES, "true");
+        final XltMockWebConnection webConnection = new XltMockWebConnection(context.getWebClient());
+        webConnection.setResponse(new URL("http://localhost/main"), "<html><body><h1>main</h1></body></html>");
+        context.getWebClient().setWebConnection(webConnection);
+
+        context.setRequiredPageModel(PageModel.WEB_RESPONSE);
+        context.loadWebResponse(new WebRequest(new URL("http://localhost/main")));
+        Assert.assertNull(context.getPage());
+        Assert.assertEquals(200, context.getWebResponse().getStatusCode());
+
+        Assert.assertNotNull(((DomContext) context).getSgmlPage());
+        Assert.assertEquals(1, ((DomContext) context).getSgmlPage().getByXPath("//h1").size());
+
+        // The page is built immediately, if it is needed
+        context.setRequiredPageModel(PageModel.SGML_PAGE);
+        context.loadWebResponse(new WebRequest(new URL("http://localhost/main")));
+        Assert.assertNotNull(context.getPage());
+    }
+
 }
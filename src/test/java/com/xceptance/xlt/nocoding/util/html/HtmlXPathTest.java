@@ -0,0 +1,171 @@
+package com.xceptance.xlt.nocoding.util.html;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.gargoylesoftware.htmlunit.MockWebConnection;
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.html.DomNode;
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+
+/**
+ * Tests {@link HtmlXPath} and {@link HtmlDocument} by comparing their results with the ones of HtmlUnit
+ */
+public class HtmlXPathTest
+{
+    private static final String CONTENT = "<!DOCTYPE html>\n" //
+                                          + "<html lang=\"en\">\n" //
+                                          + "<head>\n" //
+                                          + "  <title>Posters &amp; More</title>\n" //
+                                          + "  <meta charset=\"utf-8\">\n" //
+                                          + "  <script>var a = '<div>';</script>\n" //
+                                          + "</head>\n" //
+                                          + "<body class=\"shop\">\n" //
+                                          + "<!-- navigation -->\n" //
+                                          + "<div id=\"categoryMenu\">\n" //
+                                          + "  <ul class=\"nav\">\n" //
+                                          + "    <li class=\"topCategory0\"><a href=\"/c?id=1&amp;page=2\">Transport</a>\n" //
+                                          + "      <ul class=\"dropdown-menu\">\n" //
+                                          + "        <li><a href=\"/c/air\">Air</a>\n" //
+                                          + "        <li><a href=\"/c/sea\">Sea &#8211; &#x41;</a>\n" //
+                                          + "      </ul>\n" //
+                                          + "    <li class=\"topCategory1\"><a href=\"/c/world\">World of Nature</a></li>\n" //
+                                          + "  </ul>\n" //
+                                          + "</div>\n" //
+                                          + "<h1 id=\"titleIndex\">Check out our new panorama posters</h1>\n" //
+                                          + "<p>First<br>paragraph\n" //
+                                          + "<p class=\"second\">Second <b>bold</b> paragraph</p>\n" //
+                                          + "<table id=\"products\">\n" //
+                                          + "  <tbody>\n" //
+                                          + "    <tr><td>Name<td>Price\n" //
+                                          + "    <tr><td id=\"product0\">Grand Canyon</td><td>9,99&nbsp;&euro;</td></tr>\n" //
+                                          + "  </tbody>\n" //
+                                          + "</table>\n" //
+                                          + "<select id=\"selectStyle\"><option value=\"1\">Matte" //
+                                          + "<option value=\"2\" selected>Gloss</select>\n" //
+                                          + "<input type=\"hidden\" name=\"CSRFToken\" value=\"abc123\">\n" //
+                                          + "<textarea name=\"comment\">A &lt;b&gt; comment</textarea>\n" //
+                                          + "<dl><dt>Size<dd>16 x 12<dt>Finish<dd>Matte</dl>\n" //
+                                          + "</body>\n" //
+                                          + "</html>\n";
+
+    private static final String[] EXPRESSIONS = {
+        "//title", "//TITLE", "//script", "//a", "//a/@href", "//a/text()", "//li", "//li[1]", "//li[last()]", "//ul/li[2]/a",
+        "//*[@class='topCategory0']/a", "//*[@id='categoryMenu']//ul[@class='dropdown-menu']/li", "//*[@id='categoryMenu']/ul/li",
+        "//*[@id='titleIndex']", "id('titleIndex')", "id('product0')", "id('missing')", "//p", "//p/text()", "//p[@class]",
+        "//p[not(@class)]", "//p[contains(., 'bold')]", "//p[b='bold']", "//td", "//tr[2]/td[2]", "//td[@id='product0']/../td",
+        "//option", "//option[@selected]/@value", "//input[@name='CSRFToken']/@value", "//textarea", "//dt", "//dd[2]",
+        "//a[starts-with(@href, '/c/')]", "//a[text()='Air' or text()='Sea – A']", "//li[@class and a]",
+        "//a[normalize-space()='World of Nature']", "//*[@id='categoryMenu']//a", "//ul//li//a", "//div//*", "//li/@*",
+        "//a[contains(@href,'sea')]/text()", ".//h1", "//h1/.", "//*[@lang]", "//li[position()=1]", "/html/body/div", "//a | //p",
+        "//tbody/tr"
+    };
+
+    private static HtmlPage page;
+
+    private static HtmlDocument document;
+
+    @BeforeClass
+    public static void init() throws IOException
+    {
+        final WebClient webClient = new WebClient();
+        webClient.getOptions().setJavaScriptEnabled(false);
+        final MockWebConnection connection = new MockWebConnection();
+        connection.setDefaultResponse(CONTENT, 200, "OK", "text/html", StandardCharsets.UTF_8, new ArrayList<>());
+        webClient.setWebConnection(connection);
+        page = webClient.getPage(new URL("http://localhost/"));
+        document = HtmlDocument.parse(new StringReader(CONTENT));
+    }
+
+    /**
+     * Verifies the document can be parsed without repairs, that are not modeled
+     */
+    @Test
+    public void testDocumentIsExact()
+    {
+        Assert.assertTrue(document.isExact());
+        Assert.assertTrue(document.isComplete());
+    }
+
+    /**
+     * Verifies every supported expression has the same result as in HtmlUnit
+     */
+    @Test
+    public void testSameResultAsHtmlUnit()
+    {
+        int supported = 0;
+        for (final String expression : EXPRESSIONS)
+        {
+            final HtmlXPath xPath = HtmlXPath.compile(expression);
+            if (xPath == null)
+            {
+                continue;
+            }
+            supported++;
+            final List<String> expected = new ArrayList<>();
+            for (final Object node : page.getByXPath(expression))
+            {
+                expected.add(((DomNode) node).getTextContent());
+            }
+            Assert.assertEquals(expression, expected, xPath.evaluate(document));
+        }
+        Assert.assertEquals(EXPRESSIONS.length - 4, supported);
+    }
+
+    /**
+     * Verifies expressions, that depend on the structure added by browsers or use unsupported syntax, are not compiled
+     */
+    @Test
+    public void testUnsupportedExpressions()
+    {
+        Assert.assertNull(HtmlXPath.compile("/html/body/div"));
+        Assert.assertNull(HtmlXPath.compile("//tbody/tr"));
+        Assert.assertNull(HtmlXPath.compile("//a | //p"));
+        Assert.assertNull(HtmlXPath.compile("//li[position()=1]"));
+        Assert.assertNull(HtmlXPath.compile("div/p"));
+        Assert.assertNull(HtmlXPath.compile("//a/@href/.."));
+        Assert.assertNull(HtmlXPath.compile("//ancestor::div"));
+        Assert.assertNull(HtmlXPath.compile("//a[@id='x"));
+        Assert.assertNull(HtmlXPath.compile("//li[1"));
+        Assert.assertNull(HtmlXPath.compile("id("));
+        Assert.assertNull(HtmlXPath.compile("//li[not(@class]"));
+        Assert.assertTrue(HtmlXPath.compile("//*[@id='x']").dependsOnDocumentStructure());
+        Assert.assertFalse(HtmlXPath.compile("//div[@id='x']").dependsOnDocumentStructure());
+    }
+
+    /**
+     * Verifies content, that browsers repair in ways the document does not model, is marked as not exact
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testRepairsAreDetected() throws IOException
+    {
+        Assert.assertTrue(parse("<div><p>text</div>").isExact());
+        Assert.assertFalse(parse("<div><p>text</div>").isComplete());
+        Assert.assertTrue(parse("<ul><li>one<li>two</ul>").isExact());
+        Assert.assertFalse(parse("<table><tr><td>cell</td></tr></table>").isExact());
+        Assert.assertFalse(parse("<table><tbody>text<tr><td>cell</td></tr></tbody></table>").isExact());
+        Assert.assertFalse(parse("<p>one<div>two</div></p>").isExact());
+        Assert.assertFalse(parse("<b><i>text</b></i>").isExact());
+        Assert.assertFalse(parse("<div/>").isExact());
+        Assert.assertFalse(parse("<p>&unknown;</p>").isExact());
+        Assert.assertFalse(parse("<p>&copy 2020</p>").isExact());
+        Assert.assertFalse(parse("<noscript><p>text</p></noscript>").isExact());
+        Assert.assertTrue(parse("<a href=\"?a=1&b=2\">link</a>").isExact());
+        Assert.assertEquals("?a=1&b=2", parse("<a href=\"?a=1&b=2\">link</a>").getRoot().getChildren().get(0).getAttribute("href"));
+    }
+
+    private static HtmlDocument parse(final String content) throws IOException
+    {
+        return HtmlDocument.parse(new StringReader(content));
+    }
+}
@@ -0,0 +1,107 @@
+package com.xceptance.xlt.nocoding.util.resolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.xceptance.xlt.api.util.XltProperties;
+import com.xceptance.xlt.nocoding.command.action.request.Request;
+import com.xceptance.xlt.nocoding.util.context.Context;
+import com.xceptance.xlt.nocoding.util.context.LightWeightContext;
+
+/**
+ * Tests {@link BodyTemplate}
+ */
+public class BodyTemplateTest
+{
+    private File file;
+
+    private Context<?> context;
+
+    @Before
+    public void init() throws IOException
+    {
+        file = File.createTempFile("body", ".json");
+        Files.write(file.toPath(), "{\"sku\": \"${sku}\", \"name\": \"${name}\", \"count\": 2%2B1}".getBytes(StandardCharsets.UTF_8));
+        context = new LightWeightContext(XltProperties.getInstance());
+        context.getVariables().store("sku", "4711");
+        context.getVariables().store("name", "${product}");
+        context.getVariables().store("product", "Café");
+        BodyTemplate.clear();
+    }
+
+    @After
+    public void cleanUp()
+    {
+        BodyTemplate.clear();
+        file.delete();
+    }
+
+    /**
+     * Verifies the file is loaded once and the values of the variables are resolved completely
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRender() throws Exception
+    {
+        final BodyTemplate template = BodyTemplate.of(file.getPath(), context);
+        Assert.assertSame(template, BodyTemplate.of(file.getPath(), context));
+
+        Assert.assertEquals("{\"sku\": \"4711\", \"name\": \"Café\", \"count\": 2%2B1}", template.render(context, false));
+        Assert.assertEquals("{\"sku\": \"4711\", \"name\": \"Café\", \"count\": 2+1}", template.render(context, true));
+    }
+
+    /**
+     * Verifies a changed file is loaded again
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testChangedFileLoadedAgain() throws Exception
+    {
+        final BodyTemplate first = BodyTemplate.get(file.getPath(), 0);
+        Assert.assertSame(first, BodyTemplate.get(file.getPath(), 0));
+
+        Files.write(file.toPath(), "sku=${sku}".getBytes(StandardCharsets.UTF_8));
+        final BodyTemplate second = BodyTemplate.get(file.getPath(), 0);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals("sku=4711", second.render(context, false));
+    }
+
+    /**
+     * Verifies a request sends the rendered body file as body
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRequestWithBodyFile() throws Exception
+    {
+        final Request request = new Request("https://www.xceptance.net");
+        request.setHttpMethod("POST");
+        request.setEncodeBody("true");
+        request.setBodyFile("${file}");
+        context.getVariables().store("file", file.getPath());
+
+        final WebRequest webRequest = request.prepareWebRequest(context);
+        Assert.assertEquals("{\"sku\": \"4711\", \"name\": \"Café\", \"count\": 2%2B1}", webRequest.getRequestBody());
+        Assert.assertEquals("${file}", request.getBodyFile());
+    }
+
+    /**
+     * Verifies a missing file is reported
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingFile()
+    {
+        BodyTemplate.of(file.getPath() + ".missing", context);
+    }
+
+}
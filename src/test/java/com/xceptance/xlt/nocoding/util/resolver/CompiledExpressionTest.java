@@ -0,0 +1,171 @@
+package com.xceptance.xlt.nocoding.util.resolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import bsh.EvalError;
+import bsh.Interpreter;
+
+/**
+ * Tests {@link CompiledExpression}
+ */
+public class CompiledExpressionTest
+{
+    private Interpreter interpreter;
+
+    @Before
+    public void setup()
+    {
+        interpreter = new VariableResolver().interpreter;
+    }
+
+    /**
+     * Verifies method calls of built-in helpers with literal arguments do not use BeanShell
+     *
+     * @throws EvalError
+     */
+    @Test
+    public void testBuiltIn() throws EvalError
+    {
+        final CompiledExpression expression = CompiledExpression.compile("RANDOM.Number(1, 100)");
+        Assert.assertTrue(expression.isBuiltIn());
+        final int value = (Integer) expression.evaluate(interpreter);
+        Assert.assertTrue(value >= 1 && value <= 100);
+
+        Assert.assertTrue(CompiledExpression.compile("RANDOM.String(\"abc\", 5)").isBuiltIn());
+        Assert.assertTrue(CompiledExpression.compile("NOW").isBuiltIn());
+        Assert.assertSame(interpreter.get("DATE"), CompiledExpression.compile("DATE").evaluate(interpreter));
+    }
+
+    /**
+     * Verifies everything but plain calls of built-in helpers is evaluated with BeanShell
+     *
+     * @throws EvalError
+     */
+    @Test
+    public void testBeanShell() throws EvalError
+    {
+        CompiledExpression expression = CompiledExpression.compile("RANDOM.Number(1, 2) + 10");
+        Assert.assertFalse(expression.isBuiltIn());
+        final int value = (Integer) expression.evaluate(interpreter);
+        Assert.assertTrue(value >= 11 && value <= 12);
+
+        // Arguments that do not match the parameter types are left to BeanShell
+        expression = CompiledExpression.compile("RANDOM.Number(\"1\")");
+        Assert.assertFalse(expression.isBuiltIn());
+
+        expression = CompiledExpression.compile("UNKNOWN.Number(1)");
+        Assert.assertFalse(expression.isBuiltIn());
+    }
+
+    /**
+     * Verifies the compiled expression can be evaluated multiple times and keeps the state in the interpreter
+     *
+     * @throws EvalError
+     */
+    @Test
+    public void testKeepState() throws EvalError
+    {
+        final CompiledExpression expression = CompiledExpression.compile("i = i + 1");
+        interpreter.set("i", 0);
+        Assert.assertEquals(1, expression.evaluate(interpreter));
+        Assert.assertEquals(2, expression.evaluate(interpreter));
+        Assert.assertEquals(2, interpreter.get("i"));
+    }
+
+    /**
+     * Verifies multiple statements and return statements are evaluated like {@link Interpreter#eval(String)} does
+     *
+     * @throws EvalError
+     */
+    @Test
+    public void testStatements() throws EvalError
+    {
+        Assert.assertEquals(3, CompiledExpression.compile("a = 1; b = 2; a + b").evaluate(interpreter));
+        Assert.assertEquals(2, CompiledExpression.compile("a = 2; return a; a + 1").evaluate(interpreter));
+        Assert.assertNull(CompiledExpression.compile("").evaluate(interpreter));
+        Assert.assertNull(CompiledExpression.compile("unknownVariable").evaluate(interpreter));
+    }
+
+    /**
+     * Verifies a replaced built-in helper is resolved by BeanShell
+     *
+     * @throws EvalError
+     */
+    @Test
+    public void testReplacedBuiltIn() throws EvalError
+    {
+        final CompiledExpression expression = CompiledExpression.compile("NOW");
+        CompiledExpression.compile("NOW = \"replaced\"").evaluate(interpreter);
+        Assert.assertEquals("replaced", expression.evaluate(interpreter));
+    }
+
+    /**
+     * Verifies syntax errors are reported when compiling the expression
+     *
+     * @throws EvalError
+     */
+    @Test(expected = EvalError.class)
+    public void testSyntaxError() throws EvalError
+    {
+        CompiledExpression.compile("(1 + ");
+    }
+
+    /**
+     * Verifies expressions are cached
+     *
+     * @throws EvalError
+     */
+    @Test
+    public void testCache() throws EvalError
+    {
+        Assert.assertSame(CompiledExpression.of("RANDOM.Email()"), CompiledExpression.of("RANDOM.Email()"));
+        Assert.assertNotSame(CompiledExpression.compile("1 + 1"), CompiledExpression.compile("1 + 1"));
+    }
+
+    /**
+     * Verifies cached expressions can be evaluated by many interpreters at the same time
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testConcurrentEvaluation() throws Exception
+    {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try
+        {
+            final List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < 16; i++)
+            {
+                final int x = i;
+                tasks.add(() -> {
+                    final Interpreter interpreter = new VariableResolver().interpreter;
+                    interpreter.set("x", x);
+                    for (int j = 0; j < 200; j++)
+                    {
+                        Assert.assertEquals(x * 2 + 1, CompiledExpression.of("x * 2 + 1").evaluate(interpreter));
+                        Assert.assertEquals((long) x, CompiledExpression.of("(long) x").evaluate(interpreter));
+                        Assert.assertEquals(x, CompiledExpression.of("int[] a = new int[] {x}; a[0]").evaluate(interpreter));
+                    }
+                    return null;
+                });
+            }
+            for (final Future<Void> result : executor.invokeAll(tasks))
+            {
+                result.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.xceptance.xlt.nocoding.util.resolver;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.xceptance.xlt.api.util.XltProperties;
+import com.xceptance.xlt.nocoding.util.context.Context;
+import com.xceptance.xlt.nocoding.util.context.LightWeightContext;
+
+/**
+ * Tests {@link VariableTemplate}
+ */
+public class VariableTemplateTest
+{
+    private Context<?> context;
+
+    @Before
+    public void setup()
+    {
+        context = new LightWeightContext(XltProperties.getInstance());
+    }
+
+    /**
+     * Verifies a string without variables is a single literal
+     */
+    @Test
+    public void testLiteral()
+    {
+        final VariableTemplate template = VariableTemplate.compile("{\"json\": \"no variables\"}");
+        Assert.assertTrue(template.isLiteral());
+        Assert.assertEquals("{\"json\": \"no variables\"}", template.render(context.getResolver(), context));
+    }
+
+    /**
+     * Verifies literals and variables are split into separate segments
+     */
+    @Test
+    public void testSegments()
+    {
+        final List<Object> segments = VariableTemplate.compile("{\"id\": \"${id}\", \"name\": \"${name}\"}").getSegments();
+        Assert.assertEquals(5, segments.size());
+        Assert.assertEquals("{\"id\": \"", segments.get(0));
+        Assert.assertTrue(segments.get(1) instanceof VariableTemplate);
+        Assert.assertEquals("\", \"name\": \"", segments.get(2));
+        Assert.assertTrue(segments.get(3) instanceof VariableTemplate);
+        Assert.assertEquals("\"}", segments.get(4));
+    }
+
+    /**
+     * Verifies a variable without an end stays a literal
+     */
+    @Test
+    public void testUnfinishedVariable()
+    {
+        final VariableTemplate template = VariableTemplate.compile("Text${a");
+        Assert.assertTrue(template.isLiteral());
+        Assert.assertEquals("Text${a", template.render(context.getResolver(), context));
+    }
+
+    /**
+     * Verifies variables are resolved when rendering, including variables in variable names
+     */
+    @Test
+    public void testRender()
+    {
+        context.getVariables().store("host", "localhost");
+        context.getVariables().store("blub", "s");
+        final VariableTemplate template = VariableTemplate.compile("https://${ho${blub}t}/${host}");
+        Assert.assertFalse(template.isLiteral());
+        Assert.assertEquals("https://localhost/localhost", template.render(context.getResolver(), context));
+    }
+
+    /**
+     * Verifies the same template is rendered with the current values
+     */
+    @Test
+    public void testRenderTwice()
+    {
+        final VariableTemplate template = VariableTemplate.of("id=${id}");
+        context.getVariables().store("id", "1");
+        Assert.assertEquals("id=1", template.render(context.getResolver(), context));
+        context.getVariables().store("id", "2");
+        Assert.assertEquals("id=2", template.render(context.getResolver(), context));
+        Assert.assertSame(template, VariableTemplate.of("id=${id}"));
+    }
+
+    /**
+     * Verifies the cache stays bounded, when strings created at runtime are compiled, and keeps the templates, that are
+     * used again and again
+     */
+    @Test
+    public void testCacheIsBounded()
+    {
+        final VariableTemplate template = VariableTemplate.of("name=${name}");
+        for (int i = 0; i < 2 * VariableTemplate.MAX_CACHE_SIZE; i++)
+        {
+            VariableTemplate.of("http://localhost/" + i + "?id=${id}");
+            if (i % 100 == 0)
+            {
+                Assert.assertSame(template, VariableTemplate.of("name=${name}"));
+            }
+        }
+        Assert.assertTrue(VariableTemplate.getCacheSize() <= VariableTemplate.MAX_CACHE_SIZE);
+        Assert.assertSame(template, VariableTemplate.of("name=${name}"));
+    }
+
+}
@@ -1,11 +1,14 @@
 package com.xceptance.xlt.nocoding.util.storage;
 
+import java.util.Arrays;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import com.gargoylesoftware.htmlunit.HttpMethod;
 import com.xceptance.xlt.api.util.XltProperties;
+import com.xceptance.xlt.nocoding.command.action.subrequest.StaticSubrequest;
 import com.xceptance.xlt.nocoding.util.Constants;
 import com.xceptance.xlt.nocoding.util.context.Context;
 import com.xceptance.xlt.nocoding.util.context.LightWeightContext;
@@ -163,4 +166,25 @@ public class DataStorageTest
 
     }
 
+    /**
+     * Verifies the static subrequest for the default statics is only built again, after the default statics changed
+     */
+    @Test
+    public void defaultStaticSubrequest()
+    {
+        Assert.assertNull(context.getDefaultStaticSubrequest());
+
+        context.getDefaultStatics().store("https://www.xceptance.net/a.css");
+        final StaticSubrequest subrequest = context.getDefaultStaticSubrequest();
+        Assert.assertEquals(Arrays.asList("https://www.xceptance.net/a.css"), subrequest.getUrls());
+        Assert.assertSame(subrequest, context.getDefaultStaticSubrequest());
+
+        context.getDefaultStatics().store("https://www.xceptance.net/b.js");
+        Assert.assertEquals(Arrays.asList("https://www.xceptance.net/a.css"), subrequest.getUrls());
+        Assert.assertEquals(Arrays.asList("https://www.xceptance.net/a.css", "https://www.xceptance.net/b.js"),
+                            context.getDefaultStaticSubrequest().getUrls());
+
+        context.getDefaultStatics().clear();
+        Assert.assertNull(context.getDefaultStaticSubrequest());
+    }
 }
@@ -0,0 +1,102 @@
+package com.xceptance.xlt.nocoding.util.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.xceptance.xlt.api.util.XltProperties;
+import com.xceptance.xlt.nocoding.util.context.Context;
+import com.xceptance.xlt.nocoding.util.context.LightWeightContext;
+import com.xceptance.xlt.nocoding.util.storage.unit.unique.UniqueStorage;
+
+/**
+ * Tests {@link SharedVariables}
+ */
+public class SharedVariablesTest
+{
+    private File file;
+
+    @Before
+    public void init() throws IOException
+    {
+        file = File.createTempFile("shared", ".properties");
+        Files.write(file.toPath(), "sku1 = Sock\nsku2 = Sock\nname = Café\n".getBytes(StandardCharsets.UTF_8));
+        SharedVariables.getInstance().clear();
+    }
+
+    @After
+    public void cleanUp()
+    {
+        SharedVariables.getInstance().clear();
+        file.delete();
+    }
+
+    /**
+     * Verifies the file is loaded only once and its values are interned
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLoadedOnce() throws Exception
+    {
+        final UniqueStorage variables = SharedVariables.getInstance().get(file.getPath(), -1);
+        Assert.assertSame(variables, SharedVariables.getInstance().get(file.getPath(), -1));
+
+        Assert.assertEquals(3, variables.getItems().size());
+        Assert.assertEquals("Café", variables.get("name"));
+        Assert.assertSame(variables.get("sku1"), variables.get("sku2"));
+    }
+
+    /**
+     * Verifies a changed file is loaded again
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testChangedFileLoadedAgain() throws Exception
+    {
+        final UniqueStorage first = SharedVariables.getInstance().get(file.getPath(), 0);
+        Assert.assertSame(first, SharedVariables.getInstance().get(file.getPath(), 0));
+
+        Files.write(file.toPath(), "sku1 = Shoe\n".getBytes(StandardCharsets.UTF_8));
+        final UniqueStorage second = SharedVariables.getInstance().get(file.getPath(), 0);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals("Shoe", second.get("sku1"));
+        Assert.assertEquals(1, second.getItems().size());
+    }
+
+    /**
+     * Verifies the shared variables cannot be changed
+     *
+     * @throws Exception
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() throws Exception
+    {
+        SharedVariables.getInstance().get(file.getPath(), -1).store("sku1", "Shoe");
+    }
+
+    /**
+     * Verifies the variables of the user are resolved before the shared variables
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testResolve() throws Exception
+    {
+        final Context<?> context = new LightWeightContext(XltProperties.getInstance());
+        context.setSharedVariables(SharedVariables.getInstance().get(file.getPath(), -1));
+        Assert.assertEquals("Sock Café", context.resolveString("${sku1} ${name}"));
+
+        context.getVariables().store("sku1", "Shoe");
+        Assert.assertEquals("Shoe", context.resolveString("${sku1}"));
+        Assert.assertEquals("Sock", context.buildNewContext().resolveString("${sku2}"));
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.xceptance.xlt.nocoding.util.storage.unit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gargoylesoftware.htmlunit.util.NameValuePair;
+
+/**
+ * Tests {@link DuplicateStorage}
+ */
+public class DuplicateStorageTest
+{
+    private DuplicateStorage storage;
+
+    @Before
+    public void init()
+    {
+        storage = new DuplicateStorage();
+        storage.store("a", "1");
+        storage.store("b", "2");
+        storage.store("a", "3");
+    }
+
+    /**
+     * Verifies items with the same name are found in insertion order, and removing a name removes all of its items
+     */
+    @Test
+    public void testGetAndRemove()
+    {
+        Assert.assertEquals(Arrays.asList("1", "3"), storage.get("a"));
+        Assert.assertTrue(storage.get("c").isEmpty());
+
+        Assert.assertTrue(storage.remove("a"));
+        Assert.assertFalse(storage.remove("a"));
+        Assert.assertTrue(storage.get("a").isEmpty());
+        Assert.assertEquals(Arrays.asList(new NameValuePair("b", "2")), storage.getItems());
+
+        storage.clear();
+        Assert.assertTrue(storage.getItems().isEmpty());
+        Assert.assertTrue(storage.get("b").isEmpty());
+    }
+
+    /**
+     * Verifies only items, that the parameters do not contain, are added in insertion order
+     */
+    @Test
+    public void testMergeInto()
+    {
+        storage.store("b", "2");
+        final List<NameValuePair> parameters = new ArrayList<>();
+        parameters.add(new NameValuePair("a", "3"));
+        parameters.add(new NameValuePair("c", "4"));
+
+        storage.mergeInto(parameters);
+        Assert.assertEquals(Arrays.asList(new NameValuePair("a", "3"), new NameValuePair("c", "4"), new NameValuePair("a", "1"),
+                                          new NameValuePair("b", "2")),
+                            parameters);
+    }
+
+    /**
+     * Verifies the items without duplicates are reused until the storage changes
+     */
+    @Test
+    public void testDistinctItemsPerGeneration()
+    {
+        storage.store("b", "2");
+        final int generation = storage.getGeneration();
+        final List<NameValuePair> distinct = storage.getDistinctItems();
+        Assert.assertEquals(Arrays.asList(new NameValuePair("a", "1"), new NameValuePair("b", "2"), new NameValuePair("a", "3")),
+                            distinct);
+        Assert.assertSame(distinct, storage.getDistinctItems());
+
+        final List<NameValuePair> parameters = new ArrayList<>();
+        storage.mergeInto(parameters);
+        Assert.assertEquals(distinct, parameters);
+        Assert.assertEquals(generation, storage.getGeneration());
+
+        storage.remove("a");
+        Assert.assertNotEquals(generation, storage.getGeneration());
+        Assert.assertEquals(Arrays.asList(new NameValuePair("b", "2")), storage.getDistinctItems());
+    }
+
+    /**
+     * Verifies the items cannot be changed without updating the index
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testItemsAreUnmodifiable()
+    {
+        storage.getItems().add(new NameValuePair("c", "4"));
+    }
+}
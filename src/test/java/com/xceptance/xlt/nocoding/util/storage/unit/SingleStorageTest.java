@@ -0,0 +1,48 @@
+package com.xceptance.xlt.nocoding.util.storage.unit;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link SingleStorage}
+ */
+public class SingleStorageTest
+{
+    private SingleStorage storage;
+
+    @Before
+    public void init()
+    {
+        storage = new SingleStorage();
+        storage.store("a");
+        storage.store("b");
+        storage.store("a");
+    }
+
+    /**
+     * Verifies removing an item removes all of its occurrences and only a real change increases the generation
+     */
+    @Test
+    public void testRemove()
+    {
+        final int generation = storage.getGeneration();
+        Assert.assertFalse(storage.remove("c"));
+        Assert.assertEquals(generation, storage.getGeneration());
+
+        Assert.assertTrue(storage.remove("a"));
+        Assert.assertNotEquals(generation, storage.getGeneration());
+        Assert.assertEquals(Arrays.asList("b"), storage.getItems());
+    }
+
+    /**
+     * Verifies the items cannot be changed without increasing the generation
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testItemsAreUnmodifiable()
+    {
+        storage.getItems().remove("a");
+    }
+}
@@ -0,0 +1,31 @@
+package com.xceptance.xlt.nocoding.util.storage.unit.unique;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link UniqueSingleStorage}
+ */
+public class UniqueSingleStorageTest
+{
+    /**
+     * Verifies the items can only be changed via the methods of the storage
+     */
+    @Test
+    public void testItemsAreUnmodifiable()
+    {
+        final UniqueSingleStorage storage = new UniqueSingleStorage();
+        storage.store("Accept");
+        try
+        {
+            storage.getItems().remove("Accept");
+            Assert.fail("The items must not be modifiable");
+        }
+        catch (final UnsupportedOperationException e)
+        {
+            Assert.assertTrue(storage.getItems().contains("Accept"));
+        }
+        Assert.assertTrue(storage.remove("Accept"));
+        Assert.assertTrue(storage.getItems().isEmpty());
+    }
+}
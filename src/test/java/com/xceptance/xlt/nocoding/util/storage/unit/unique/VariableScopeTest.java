@@ -0,0 +1,126 @@
+package com.xceptance.xlt.nocoding.util.storage.unit.unique;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.xceptance.xlt.nocoding.util.storage.DataStorage;
+
+/**
+ * Tests {@link VariableScope}
+ */
+public class VariableScopeTest
+{
+    private VariableScope parent;
+
+    private VariableScope scope;
+
+    @Before
+    public void init()
+    {
+        parent = new VariableScope();
+        parent.store("a", "1");
+        parent.store("b", "2");
+        scope = parent.openScope();
+    }
+
+    /**
+     * Verifies lookups walk the chain and writes stay in the current layer
+     */
+    @Test
+    public void testLookupAndStore()
+    {
+        Assert.assertEquals("1", scope.get("a"));
+        scope.store("a", "3");
+        scope.store("c", "4");
+
+        Assert.assertEquals("3", scope.get("a"));
+        Assert.assertEquals("4", scope.get("c"));
+        Assert.assertEquals("1", parent.get("a"));
+        Assert.assertNull(parent.get("c"));
+        Assert.assertEquals(3, scope.getItems().size());
+        Assert.assertEquals(2, parent.getItems().size());
+    }
+
+    /**
+     * Verifies removing and clearing hides the variables of the parent without changing it
+     */
+    @Test
+    public void testRemoveAndClear()
+    {
+        Assert.assertEquals("1", scope.remove("a"));
+        Assert.assertNull(scope.get("a"));
+        Assert.assertEquals("1", parent.get("a"));
+
+        scope.clear();
+        Assert.assertNull(scope.get("b"));
+        Assert.assertTrue(scope.getItems().isEmpty());
+        Assert.assertEquals("2", parent.get("b"));
+
+        scope.store("c", "4");
+        Assert.assertEquals("4", scope.get("c"));
+        Assert.assertNull(scope.get("a"));
+    }
+
+    /**
+     * Verifies exporting writes all changes to the parent
+     */
+    @Test
+    public void testExport()
+    {
+        scope.store("a", "3");
+        scope.remove("b");
+        scope.store("c", "4");
+        scope.exportToParent();
+
+        Assert.assertEquals("3", parent.get("a"));
+        Assert.assertNull(parent.get("b"));
+        Assert.assertEquals("4", parent.get("c"));
+        Assert.assertEquals(2, parent.getItems().size());
+        Assert.assertEquals(parent.getItems(), scope.getItems());
+
+        scope.clear();
+        scope.store("d", "5");
+        scope.exportToParent();
+        Assert.assertEquals(1, parent.getItems().size());
+        Assert.assertEquals("5", parent.get("d"));
+    }
+
+    /**
+     * Verifies only the named variable is exported
+     */
+    @Test
+    public void testExportSingleVariable()
+    {
+        scope.store("a", "3");
+        scope.store("c", "4");
+        scope.exportToParent("c");
+
+        Assert.assertEquals("1", parent.get("a"));
+        Assert.assertEquals("4", parent.get("c"));
+        Assert.assertEquals("3", scope.get("a"));
+    }
+
+    /**
+     * Verifies nested scopes of a {@link DataStorage} share the default storages, but not the variables
+     */
+    @Test
+    public void testDataStorageScopes()
+    {
+        final DataStorage storage = new DataStorage();
+        final DataStorage action = storage.openScope();
+        final DataStorage subrequest = action.openScope();
+
+        Assert.assertSame(storage.getDefaultHeaders(), subrequest.getDefaultHeaders());
+        Assert.assertSame(storage, action.getParent());
+
+        subrequest.getVariables().store("x", "1");
+        Assert.assertNull(action.getVariables().get("x"));
+        subrequest.exportVariables();
+        Assert.assertEquals("1", action.getVariables().get("x"));
+        Assert.assertNull(storage.getVariables().get("x"));
+        action.exportVariables();
+        Assert.assertEquals("1", storage.getVariables().get("x"));
+    }
+
+}